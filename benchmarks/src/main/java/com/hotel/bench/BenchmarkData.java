@@ -0,0 +1,144 @@
+package com.hotel.bench;
+
+import com.hotel.model.Booking;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic rooms and bookings for the benchmarks, the same for the same seed.
+ *
+ * Bookings are spread round-robin over the rooms; each room's stays follow each other with
+ * gaps of up to three nights, so there are no double bookings. The history is dated so that it ends
+ * {@link #HORIZON_DAYS} after {@link #TODAY} whatever its size: stays before today are checked out,
+ * later ones are confirmed and about one in twenty is cancelled. Row sets are in-memory {@link CachedRowSet}s
+ * with the column names the DAOs select, so mapping code reads them as it reads a driver's.
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 42;
+    public static final int ROOMS = 2_000;
+    public static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+    public static final int HORIZON_DAYS = 60;
+
+    // Mean stay of four nights plus a mean gap of one and a half
+    private static final double MEAN_DAYS_PER_STAY = 5.5;
+
+    private static final String[] ROOM_TYPES = { "Single", "Double", "Twin", "Suite", "Deluxe" };
+    private static final String[] ROOM_STATUSES = { "Available", "Available", "Available", "Occupied", "Maintenance" };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Bookings ordered by booking id.
+     */
+    public static List<Booking> bookings(int count, int rooms, long seed) {
+        Random random = new Random(seed);
+        long staysPerRoom = (count + rooms - 1) / rooms;
+        long firstDay = TODAY.toEpochDay() + HORIZON_DAYS - (long) (staysPerRoom * MEAN_DAYS_PER_STAY);
+        long[] nextFree = new long[rooms];
+        for (int room = 0; room < rooms; room++) {
+            nextFree[room] = firstDay + random.nextInt(4);
+        }
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int room = i % rooms;
+            long checkIn = nextFree[room] + random.nextInt(4);
+            long checkOut = checkIn + 1 + random.nextInt(7);
+            nextFree[room] = checkOut;
+
+            Booking booking = new Booking();
+            booking.setBookingId(i + 1);
+            booking.setRoomId(room + 1);
+            booking.setCustomerId(1 + random.nextInt(Math.max(1, count / 3)));
+            booking.setCheckInDate(LocalDate.ofEpochDay(checkIn));
+            booking.setCheckOutDate(LocalDate.ofEpochDay(checkOut));
+            if (random.nextInt(20) == 0) {
+                booking.setBookingStatus("Cancelled");
+            } else if (checkOut <= TODAY.toEpochDay()) {
+                booking.setBookingStatus("Checked-out");
+            } else {
+                booking.setBookingStatus("Confirmed");
+            }
+            booking.setNumberOfAdults(1 + random.nextInt(3));
+            booking.setNumberOfKids(random.nextInt(4) == 0 ? 1 + random.nextInt(2) : 0);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    /**
+     * Rows of {@code SELECT room_id, room_number, type, price, status, floor FROM rooms}.
+     */
+    public static CachedRowSet roomRows(int count, long seed) throws SQLException {
+        Random random = new Random(seed);
+        CachedRowSet rows = rowSet(
+                new String[] { "room_id", "room_number", "type", "price", "status", "floor" },
+                new int[] { Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.VARCHAR, Types.INTEGER });
+        for (int i = 0; i < count; i++) {
+            int floor = 1 + i / 100;
+            rows.moveToInsertRow();
+            rows.updateInt(1, i + 1);
+            rows.updateString(2, String.valueOf(floor * 100 + i % 100));
+            rows.updateString(3, ROOM_TYPES[random.nextInt(ROOM_TYPES.length)]);
+            rows.updateBigDecimal(4, BigDecimal.valueOf(4_000 + random.nextInt(26_000), 2));
+            rows.updateString(5, ROOM_STATUSES[random.nextInt(ROOM_STATUSES.length)]);
+            rows.updateInt(6, floor);
+            rows.insertRow();
+        }
+        return finish(rows);
+    }
+
+    /**
+     * Rows of the booking list query: the booking columns plus status and guest counts.
+     */
+    public static CachedRowSet bookingRows(List<Booking> bookings) throws SQLException {
+        CachedRowSet rows = rowSet(
+                new String[] { "booking_id", "room_id", "customer_id", "check_in_date", "check_out_date",
+                        "booking_status", "number_of_adults", "number_of_kids" },
+                new int[] { Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.DATE, Types.DATE,
+                        Types.VARCHAR, Types.INTEGER, Types.INTEGER });
+        for (Booking booking : bookings) {
+            rows.moveToInsertRow();
+            rows.updateInt(1, booking.getBookingId());
+            rows.updateInt(2, booking.getRoomId());
+            rows.updateInt(3, booking.getCustomerId());
+            rows.updateDate(4, Date.valueOf(booking.getCheckInDate()));
+            rows.updateDate(5, Date.valueOf(booking.getCheckOutDate()));
+            rows.updateString(6, booking.getBookingStatus());
+            rows.updateInt(7, booking.getNumberOfAdults());
+            rows.updateInt(8, booking.getNumberOfKids());
+            rows.insertRow();
+        }
+        return finish(rows);
+    }
+
+    private static CachedRowSet rowSet(String[] names, int[] types) throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(names.length);
+        for (int i = 0; i < names.length; i++) {
+            metaData.setColumnName(i + 1, names[i]);
+            metaData.setColumnLabel(i + 1, names[i]);
+            metaData.setColumnType(i + 1, types[i]);
+        }
+        CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+        rows.setMetaData(metaData);
+        return rows;
+    }
+
+    private static CachedRowSet finish(CachedRowSet rows) throws SQLException {
+        rows.moveToCurrentRow();
+        rows.beforeFirst();
+        return rows;
+    }
+}
@@ -0,0 +1,166 @@
+package com.hotel.controllers;
+
+import com.hotel.bench.BenchmarkData;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.model.Booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pagination behind the table views: {@link KeysetPager} moving over the booking list ordered by
+ * check-in date, with the keyset seek done on a sorted in-memory copy instead of MySQL. This measures
+ * the page bookkeeping and cursor handling; the database side is covered by the query plan check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class PagingBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int rows;
+
+    @Param({ "25", "100" })
+    public int pageSize;
+
+    private SortedTable table;
+    private KeysetPager<Booking> pager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        table = new SortedTable(BenchmarkData.bookings(rows, BenchmarkData.ROOMS, BenchmarkData.SEED));
+        pager = new KeysetPager<>();
+        pager.load(table, table, pageSize);
+    }
+
+    @Benchmark
+    public List<Booking> loadFirstPage() throws SQLException {
+        return pager.load(table, table, pageSize).getItems();
+    }
+
+    @Benchmark
+    public List<Booking> nextPage() throws SQLException {
+        KeysetPager.View<Booking> view = pager.next();
+        return (view.getPageNumber() < view.getTotalPages() ? view : pager.first()).getItems();
+    }
+
+    @Benchmark
+    public List<Booking> lastThenPrevious() throws SQLException {
+        pager.last();
+        return pager.previous().getItems();
+    }
+
+    @Benchmark
+    public List<Booking> refresh() throws SQLException {
+        return pager.refresh().getItems();
+    }
+
+    /**
+     * Bookings ordered by (check_in_date, booking_id), answering the same page requests as
+     * {@code KeysetQuery}: one row past the page size is read to learn whether another page follows.
+     */
+    static class SortedTable implements KeysetPager.Counter, KeysetPager.Fetcher<Booking> {
+        private final Booking[] bookings;
+        private final long[] sortKeys;
+        private final int[] ids;
+
+        SortedTable(List<Booking> unsorted) {
+            List<Booking> sorted = new ArrayList<>(unsorted);
+            sorted.sort(Comparator.comparing(Booking::getCheckInDate).thenComparingInt(Booking::getBookingId));
+            bookings = sorted.toArray(new Booking[0]);
+            sortKeys = new long[bookings.length];
+            ids = new int[bookings.length];
+            for (int i = 0; i < bookings.length; i++) {
+                sortKeys[i] = bookings[i].getCheckInDate().toEpochDay();
+                ids[i] = bookings[i].getBookingId();
+            }
+        }
+
+        @Override
+        public int count() {
+            return bookings.length;
+        }
+
+        @Override
+        public Page<Booking> fetch(PageRequest request) {
+            boolean forward = request.getDirection() == PageRequest.Direction.FORWARD;
+            Page.Cursor anchor = request.getAnchor();
+            int position;
+            if (anchor == null) {
+                position = forward ? 0 : bookings.length - 1;
+            } else {
+                long sortKey = ((LocalDate) anchor.getSortValue()).toEpochDay();
+                int insertion = search(sortKey, anchor.getId());
+                boolean found = insertion >= 0;
+                int at = found ? insertion : -insertion - 1;
+                if (forward) {
+                    position = found && !request.isInclusive() ? at + 1 : at;
+                } else {
+                    position = found && request.isInclusive() ? at : at - 1;
+                }
+            }
+
+            List<Booking> items = new ArrayList<>(request.getPageSize());
+            List<Page.Cursor> cursors = new ArrayList<>(request.getPageSize());
+            boolean more = false;
+            int step = forward ? 1 : -1;
+            for (int i = position; i >= 0 && i < bookings.length; i += step) {
+                if (items.size() == request.getPageSize()) {
+                    more = true;
+                    break;
+                }
+                items.add(bookings[i]);
+                cursors.add(new Page.Cursor(bookings[i].getCheckInDate(), ids[i]));
+            }
+            if (!forward) {
+                Collections.reverse(items);
+                Collections.reverse(cursors);
+            }
+            Page.Cursor first = cursors.isEmpty() ? null : cursors.get(0);
+            Page.Cursor last = cursors.isEmpty() ? null : cursors.get(cursors.size() - 1);
+            boolean hasPrevious = forward ? anchor != null : more;
+            boolean hasNext = forward ? more : anchor != null;
+            return new Page<>(items, first, last, hasPrevious, hasNext);
+        }
+
+        // Same contract as Arrays.binarySearch, over the (sort key, id) pairs
+        private int search(long sortKey, int id) {
+            int low = 0;
+            int high = bookings.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = sortKeys[mid] != sortKey ? Long.compare(sortKeys[mid], sortKey) : Integer.compare(ids[mid], id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
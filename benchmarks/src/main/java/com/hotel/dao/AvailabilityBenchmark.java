@@ -0,0 +1,85 @@
+package com.hotel.dao;
+
+import com.hotel.bench.BenchmarkData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The availability filter behind the booking form's room list: which rooms are free for a stay,
+ * answered from {@link RoomAvailabilityIndex} over {@code bookings} synthetic bookings in 2,000 rooms.
+ * Queries cycle through stays of one to seven nights starting in the next
+ * {@link BenchmarkData#HORIZON_DAYS} days.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class AvailabilityBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int bookings;
+
+    private RoomAvailabilityIndex index;
+    private List<Integer> roomIds;
+    private LocalDate[] checkIns;
+    private LocalDate[] checkOuts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new RoomAvailabilityIndex();
+        index.reload(BenchmarkData.bookings(bookings, BenchmarkData.ROOMS, BenchmarkData.SEED));
+        roomIds = new ArrayList<>(BenchmarkData.ROOMS);
+        for (int room = 1; room <= BenchmarkData.ROOMS; room++) {
+            roomIds.add(room);
+        }
+        Random random = new Random(BenchmarkData.SEED);
+        checkIns = new LocalDate[QUERIES];
+        checkOuts = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            checkIns[i] = BenchmarkData.TODAY.plusDays(random.nextInt(BenchmarkData.HORIZON_DAYS));
+            checkOuts[i] = checkIns[i].plusDays(1 + random.nextInt(7));
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> findAvailableRooms() throws SQLException {
+        int i = next++ & (QUERIES - 1);
+        return index.findAvailableRoomIds(roomIds, checkIns[i], checkOuts[i]);
+    }
+
+    @Benchmark
+    public Set<Integer> findBookedRooms() throws SQLException {
+        int i = next++ & (QUERIES - 1);
+        return index.findBookedRoomIds(checkIns[i], checkOuts[i]);
+    }
+
+    @Benchmark
+    public boolean isRoomAvailable() throws SQLException {
+        int i = next++ & (QUERIES - 1);
+        return index.isAvailable(1 + i % BenchmarkData.ROOMS, checkIns[i], checkOuts[i]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.hotel.dao.impl;
+
+import com.hotel.bench.BenchmarkData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.rowset.CachedRowSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a whole result set to model objects with the DAOs' row mappers, as a list query does after
+ * the rows have arrived. Each operation reads every row once; divide by {@code rows} for the cost per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class RowMappingBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int rows;
+
+    private CachedRowSet roomRows;
+    private CachedRowSet bookingRows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        roomRows = BenchmarkData.roomRows(rows, BenchmarkData.SEED);
+        bookingRows = BenchmarkData.bookingRows(BenchmarkData.bookings(rows, BenchmarkData.ROOMS, BenchmarkData.SEED));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        roomRows.close();
+        bookingRows.close();
+    }
+
+    @Benchmark
+    public void mapRooms(Blackhole blackhole) throws SQLException {
+        roomRows.beforeFirst();
+        while (roomRows.next()) {
+            blackhole.consume(RoomDAOImpl.mapRowToRoom(roomRows));
+        }
+    }
+
+    @Benchmark
+    public void mapBookings(Blackhole blackhole) throws SQLException {
+        bookingRows.beforeFirst();
+        while (bookingRows.next()) {
+            blackhole.consume(BookingDAOImpl.mapRowToBooking(bookingRows));
+        }
+    }
+
+    @Benchmark
+    public void mapBookingListRows(Blackhole blackhole) throws SQLException {
+        bookingRows.beforeFirst();
+        while (bookingRows.next()) {
+            blackhole.consume(BookingDAOImpl.mapListRowToBooking(bookingRows));
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.hotel;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import com.hotel.controllers.MainController;
+import com.hotel.jfr.FlightRecording;
+import com.hotel.util.DatabaseConnection;
+import com.hotel.util.QueryMetrics;
+import com.hotel.util.RevenueRollupBackfill;
+import com.hotel.util.SchemaMigrator;
 
 public class MainApp extends Application {
 
@@ -17,7 +31,59 @@ public class MainApp extends Application {
     public void start(Stage stage) throws IOException {
         primaryStage = stage; 
         primaryStage.setTitle("Hotel Management System - Login");
-        showLoginScreen();
+        FlightRecording.startIfConfigured();
+        String metricsFile = System.getProperty("hotel.metrics.file");
+        if (metricsFile != null) {
+            QueryMetrics.getInstance().startPeriodicDump(Paths.get(metricsFile), Long.getLong("hotel.metrics.dumpSeconds", 60));
+        }
+        migrateThenShowLogin();
+    }
+
+    // Migrating can wait up to a minute for another instance's lock, so it runs off the FX thread.
+    // The login screen is only shown once the schema is current; a failed migration ends the app.
+    private void migrateThenShowLogin() {
+        Label statusLabel = new Label("Updating database schema...");
+        VBox progressPane = new VBox(10, new ProgressIndicator(), statusLabel);
+        progressPane.setAlignment(Pos.CENTER);
+        primaryStage.setScene(new Scene(progressPane, 400, 350));
+        primaryStage.show();
+
+        Task<Integer> migration = new Task<>() {
+            @Override
+            protected Integer call() throws SQLException, IOException {
+                return new SchemaMigrator().migrate();
+            }
+        };
+        migration.setOnSucceeded(event -> {
+            RevenueRollupBackfill.startInBackground();
+            try {
+                showLoginScreen();
+            } catch (IOException e) {
+                System.err.println("Could not load the login screen: " + e.getMessage());
+                e.printStackTrace();
+                showStartupErrorAndExit("Could not load the login screen: " + e.getMessage());
+            }
+        });
+        migration.setOnFailed(event -> {
+            Throwable error = migration.getException();
+            System.err.println("Schema migration failed: " + error.getMessage());
+            error.printStackTrace();
+            showStartupErrorAndExit("The database schema could not be updated, so the application cannot start.\n\n"
+                    + error.getMessage());
+        });
+        Thread thread = new Thread(migration, "schema-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void showStartupErrorAndExit(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.initOwner(primaryStage);
+        alert.setTitle("Startup Error");
+        alert.setHeaderText("Hotel Management System cannot start");
+        alert.setContentText(message);
+        alert.showAndWait();
+        Platform.exit();
     }
 
     public static void showLoginScreen() throws IOException {
@@ -89,13 +155,13 @@ public class MainApp extends Application {
     }
 
 
-    public static void main(String[] args) {
-        // Optional: Add shutdown hook to close DB connection
-        // Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-        //     System.out.println("Application shutting down. Closing DB connection.");
-        //     DatabaseConnection.closeConnection();
-        // }));
+    @Override
+    public void stop() {
+        System.out.println("Application shutting down. Closing DB connection pool.");
+        DatabaseConnection.closeConnection();
+    }
 
+    public static void main(String[] args) {
         launch(args);
     }
 } 
@@ -0,0 +1,429 @@
+package com.hotel.analytics;
+
+import com.hotel.dao.AnalyticsDAO;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar snapshot of bookings, invoices and payments for ad-hoc analytics.
+ *
+ * Every attribute is held in its own primitive column: ids as ints, dates as epoch days, amounts as
+ * cents and strings as dictionary codes. A booking takes about 40 bytes and a payment about 24, so
+ * millions of rows fit in a small heap, and queries are scans over arrays rather than object graphs.
+ * Each invoice and payment also carries the room type code of its booking, resolved when it is
+ * appended, so grouping by room type needs no join at query time.
+ *
+ * {@link #refresh()} appends the rows added since the previous refresh, so the first call loads
+ * everything and later calls are cheap. Auto-increment ids are handed out at insert time but rows
+ * become visible at commit, so a refresh may see id 11 before id 10 commits; each refresh therefore
+ * re-reads the last {@value #RESCAN_IDS} ids of every table and skips rows already loaded. A row
+ * whose transaction stays open longer than that many later inserts, and changes to rows already
+ * loaded such as a booking being cancelled, are only seen after {@link #reload()}. Queries run
+ * under a read lock and may run concurrently; a refresh blocks them while it appends.
+ */
+public class AnalyticsStore {
+
+    /**
+     * Query over the columns, run under the store's read lock. Must not keep references to the columns.
+     */
+    public interface Query<T> {
+        T run(Bookings bookings, Invoices invoices, Payments payments);
+    }
+
+    private static final int FETCH_SIZE = 5000;
+    private static final int RESCAN_IDS = 1000; // Ids below the highest loaded one that may still commit
+    private static final String CANCELLED = "Cancelled";
+
+    private final AnalyticsDAO analyticsDAO;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary roomTypes = new Dictionary();
+    private final Bookings bookings = new Bookings(roomTypes);
+    private final Invoices invoices = new Invoices(roomTypes);
+    private final Payments payments = new Payments(roomTypes);
+
+    public AnalyticsStore(AnalyticsDAO analyticsDAO) {
+        this.analyticsDAO = analyticsDAO;
+    }
+
+    /**
+     * Appends the bookings, invoices and payments added since the last refresh, including rows
+     * that committed late within the last {@value #RESCAN_IDS} ids.
+     *
+     * @return the number of rows appended
+     */
+    public int refresh() throws SQLException {
+        lock.writeLock().lock();
+        try {
+            long started = System.nanoTime();
+            int sizeBefore = bookings.size() + invoices.size() + payments.size();
+            // Bookings first, so new invoices find their booking's room type
+            analyticsDAO.streamBookings(rescanFrom(bookings.lastId), FETCH_SIZE, bookings::append);
+            analyticsDAO.streamInvoices(rescanFrom(invoices.lastId), FETCH_SIZE,
+                    (invoiceId, bookingId, issueDay, roomCostCents, serviceCostCents, totalCents, paidCents, status) ->
+                            invoices.append(invoiceId, bookingId, issueDay, roomCostCents, serviceCostCents, totalCents,
+                                    paidCents, status, bookings.roomTypeOf(bookingId)));
+            analyticsDAO.streamPayments(rescanFrom(payments.lastId), FETCH_SIZE,
+                    (paymentId, invoiceId, paymentDay, amountCents, method) ->
+                            payments.append(paymentId, invoiceId, paymentDay, amountCents, method,
+                                    invoices.roomTypeOf(invoiceId)));
+            int rows = bookings.size() + invoices.size() + payments.size() - sizeBefore;
+            System.out.println("Analytics store refreshed: " + rows + " rows appended in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms, " + bookings.size() + " bookings, "
+                    + invoices.size() + " invoices, " + payments.size() + " payments, "
+                    + getMemoryBytes() / 1024 + " KB");
+            return rows;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int rescanFrom(int lastId) {
+        return Math.max(0, lastId - RESCAN_IDS);
+    }
+
+    /**
+     * Discards every row and loads them all again.
+     */
+    public int reload() throws SQLException {
+        lock.writeLock().lock();
+        try {
+            roomTypes.clear();
+            bookings.clear();
+            invoices.clear();
+            payments.clear();
+            return refresh();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs an ad-hoc query over the columns.
+     */
+    public <T> T read(Query<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.run(bookings, invoices, payments);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Invoiced amounts per room type, for invoices issued in [from, toExclusive).
+     */
+    public Map<String, BigDecimal> revenueByRoomType(LocalDate from, LocalDate toExclusive) {
+        return read((bookings, invoices, payments) -> {
+            long[] cents = Selection.all(invoices.size())
+                    .whereBetween(invoices.issueDay, day(from), day(toExclusive))
+                    .sumBy(invoices.roomType, roomTypes.size(), invoices.totalCents);
+            return byRoomType(cents);
+        });
+    }
+
+    /**
+     * Payments taken per room type in [from, toExclusive).
+     */
+    public Map<String, BigDecimal> paymentsByRoomType(LocalDate from, LocalDate toExclusive) {
+        return read((bookings, invoices, payments) -> {
+            long[] cents = Selection.all(payments.size())
+                    .whereBetween(payments.paymentDay, day(from), day(toExclusive))
+                    .sumBy(payments.roomType, roomTypes.size(), payments.amountCents);
+            return byRoomType(cents);
+        });
+    }
+
+    /**
+     * Number of non-cancelled bookings per length of stay, for check-ins in [from, toExclusive).
+     * Index n counts stays of n nights; the last index counts stays of maxNights or more.
+     */
+    public long[] lengthOfStayHistogram(LocalDate from, LocalDate toExclusive, int maxNights) {
+        return read((bookings, invoices, payments) -> {
+            Selection stays = Selection.all(bookings.size())
+                    .whereBetween(bookings.checkInDay, day(from), day(toExclusive))
+                    .whereNotEquals(bookings.status, bookings.statuses.codeOf(CANCELLED));
+            long[] histogram = new long[maxNights + 1];
+            int[] nights = bookings.nights.values();
+            for (int i = 0; i < stays.size(); i++) {
+                histogram[Math.max(0, Math.min(nights[stays.row(i)], maxNights))]++;
+            }
+            return histogram;
+        });
+    }
+
+    /**
+     * Cancellation rate by how far ahead bookings were made, for check-ins in [from, toExclusive).
+     * Bookings cancelled since they were loaded still count as booked until {@link #reload()}.
+     *
+     * @param bucketStarts ascending lead times in days at which buckets start, e.g. 0, 7, 30, 90
+     */
+    public List<LeadTimeBucket> cancellationRateByLeadTime(LocalDate from, LocalDate toExclusive, int... bucketStarts) {
+        return read((bookings, invoices, payments) -> {
+            Selection arrivals = Selection.all(bookings.size())
+                    .whereBetween(bookings.checkInDay, day(from), day(toExclusive));
+            int cancelled = bookings.statuses.codeOf(CANCELLED);
+            List<LeadTimeBucket> buckets = new ArrayList<>(bucketStarts.length);
+            for (int i = 0; i < bucketStarts.length; i++) {
+                int end = i + 1 < bucketStarts.length ? bucketStarts[i + 1] : Integer.MAX_VALUE;
+                Selection bucket = arrivals.whereBetween(bookings.leadDays, bucketStarts[i], end);
+                buckets.add(new LeadTimeBucket(bucketStarts[i], end == Integer.MAX_VALUE ? end : end - 1,
+                        bucket.size(), bucket.whereEquals(bookings.status, cancelled).size()));
+            }
+            return buckets;
+        });
+    }
+
+    /**
+     * Approximate heap used by the columns.
+     */
+    public long getMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return bookings.memoryBytes() + invoices.memoryBytes() + payments.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, BigDecimal> byRoomType(long[] cents) {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (int code = 0; code < cents.length; code++) {
+            if (cents[code] != 0) {
+                String roomType = roomTypes.decode(code);
+                result.put(roomType == null ? "Unknown" : roomType, BigDecimal.valueOf(cents[code], 2));
+            }
+        }
+        return result;
+    }
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * Maps ids to row numbers. Ids are auto-increment keys, so a dense array is both small and fast.
+     */
+    private static final class RowIndex {
+        private int[] rows = new int[0];
+
+        void put(int id, int row) {
+            if (id < 0) {
+                return;
+            }
+            if (id >= rows.length) {
+                int oldLength = rows.length;
+                rows = Arrays.copyOf(rows, Math.max(id + 1, oldLength * 2));
+                Arrays.fill(rows, oldLength, rows.length, -1);
+            }
+            rows[id] = row;
+        }
+
+        int get(int id) {
+            return id >= 0 && id < rows.length ? rows[id] : -1;
+        }
+
+        void clear() {
+            rows = new int[0];
+        }
+
+        long memoryBytes() {
+            return 4L * rows.length;
+        }
+    }
+
+    /**
+     * Booking columns. nights and leadDays are derived when a row is appended; leadDays is
+     * {@link AnalyticsDAO#NO_DAY} when the creation time is unknown.
+     */
+    public static final class Bookings {
+        public final IntColumn bookingId = new IntColumn();
+        public final IntColumn roomId = new IntColumn();
+        public final IntColumn customerId = new IntColumn();
+        public final IntColumn checkInDay = new IntColumn();
+        public final IntColumn checkOutDay = new IntColumn();
+        public final IntColumn createdDay = new IntColumn();
+        public final IntColumn nights = new IntColumn();
+        public final IntColumn leadDays = new IntColumn();
+        public final IntColumn status = new IntColumn();
+        public final IntColumn roomType = new IntColumn();
+        public final Dictionary statuses = new Dictionary();
+        public final Dictionary roomTypes;
+        private final RowIndex rowById = new RowIndex();
+        private int lastId;
+
+        private Bookings(Dictionary roomTypes) {
+            this.roomTypes = roomTypes;
+        }
+
+        public int size() {
+            return bookingId.size();
+        }
+
+        private void append(int id, int room, int customer, int checkIn, int checkOut, int created,
+                            String bookingStatus, String type) {
+            if (rowById.get(id) >= 0) {
+                return; // Re-read by the rescan margin
+            }
+            rowById.put(id, size());
+            bookingId.append(id);
+            roomId.append(room);
+            customerId.append(customer);
+            checkInDay.append(checkIn);
+            checkOutDay.append(checkOut);
+            createdDay.append(created);
+            boolean datesKnown = checkIn != AnalyticsDAO.NO_DAY && checkOut != AnalyticsDAO.NO_DAY;
+            nights.append(datesKnown ? checkOut - checkIn : 0);
+            leadDays.append(checkIn != AnalyticsDAO.NO_DAY && created != AnalyticsDAO.NO_DAY
+                    ? checkIn - created : AnalyticsDAO.NO_DAY);
+            status.append(statuses.encode(bookingStatus));
+            roomType.append(roomTypes.encode(type));
+            lastId = Math.max(lastId, id);
+        }
+
+        private int roomTypeOf(int id) {
+            int row = rowById.get(id);
+            return row < 0 ? roomTypes.encode(null) : roomType.get(row);
+        }
+
+        private void clear() {
+            for (IntColumn column : new IntColumn[] {bookingId, roomId, customerId, checkInDay, checkOutDay,
+                    createdDay, nights, leadDays, status, roomType}) {
+                column.clear();
+            }
+            statuses.clear();
+            rowById.clear();
+            lastId = 0;
+        }
+
+        private long memoryBytes() {
+            return bookingId.memoryBytes() * 10 + rowById.memoryBytes();
+        }
+    }
+
+    /**
+     * Invoice columns. roomType is the room type code of the invoice's booking.
+     */
+    public static final class Invoices {
+        public final IntColumn invoiceId = new IntColumn();
+        public final IntColumn bookingId = new IntColumn();
+        public final IntColumn issueDay = new IntColumn();
+        public final LongColumn roomCostCents = new LongColumn();
+        public final LongColumn serviceCostCents = new LongColumn();
+        public final LongColumn totalCents = new LongColumn();
+        public final LongColumn paidCents = new LongColumn();
+        public final IntColumn status = new IntColumn();
+        public final IntColumn roomType = new IntColumn();
+        public final Dictionary statuses = new Dictionary();
+        public final Dictionary roomTypes;
+        private final RowIndex rowById = new RowIndex();
+        private int lastId;
+
+        private Invoices(Dictionary roomTypes) {
+            this.roomTypes = roomTypes;
+        }
+
+        public int size() {
+            return invoiceId.size();
+        }
+
+        private void append(int id, int booking, int issue, long roomCost, long serviceCost, long total, long paid,
+                            String invoiceStatus, int roomTypeCode) {
+            if (rowById.get(id) >= 0) {
+                return; // Re-read by the rescan margin
+            }
+            rowById.put(id, size());
+            invoiceId.append(id);
+            bookingId.append(booking);
+            issueDay.append(issue);
+            roomCostCents.append(roomCost);
+            serviceCostCents.append(serviceCost);
+            totalCents.append(total);
+            paidCents.append(paid);
+            status.append(statuses.encode(invoiceStatus));
+            roomType.append(roomTypeCode);
+            lastId = Math.max(lastId, id);
+        }
+
+        private int roomTypeOf(int id) {
+            int row = rowById.get(id);
+            return row < 0 ? roomTypes.encode(null) : roomType.get(row);
+        }
+
+        private void clear() {
+            for (IntColumn column : new IntColumn[] {invoiceId, bookingId, issueDay, status, roomType}) {
+                column.clear();
+            }
+            for (LongColumn column : new LongColumn[] {roomCostCents, serviceCostCents, totalCents, paidCents}) {
+                column.clear();
+            }
+            statuses.clear();
+            rowById.clear();
+            lastId = 0;
+        }
+
+        private long memoryBytes() {
+            return invoiceId.memoryBytes() * 5 + totalCents.memoryBytes() * 4 + rowById.memoryBytes();
+        }
+    }
+
+    /**
+     * Payment columns. roomType is the room type code of the booking the payment's invoice is for.
+     */
+    public static final class Payments {
+        public final IntColumn paymentId = new IntColumn();
+        public final IntColumn invoiceId = new IntColumn();
+        public final IntColumn paymentDay = new IntColumn();
+        public final LongColumn amountCents = new LongColumn();
+        public final IntColumn method = new IntColumn();
+        public final IntColumn roomType = new IntColumn();
+        public final Dictionary methods = new Dictionary();
+        public final Dictionary roomTypes;
+        private final RowIndex rowById = new RowIndex();
+        private int lastId;
+
+        private Payments(Dictionary roomTypes) {
+            this.roomTypes = roomTypes;
+        }
+
+        public int size() {
+            return paymentId.size();
+        }
+
+        private void append(int id, int invoice, int day, long amount, String paymentMethod, int roomTypeCode) {
+            if (rowById.get(id) >= 0) {
+                return; // Re-read by the rescan margin
+            }
+            rowById.put(id, size());
+            paymentId.append(id);
+            invoiceId.append(invoice);
+            paymentDay.append(day);
+            amountCents.append(amount);
+            method.append(methods.encode(paymentMethod));
+            roomType.append(roomTypeCode);
+            lastId = Math.max(lastId, id);
+        }
+
+        private void clear() {
+            for (IntColumn column : new IntColumn[] {paymentId, invoiceId, paymentDay, method, roomType}) {
+                column.clear();
+            }
+            amountCents.clear();
+            methods.clear();
+            rowById.clear();
+            lastId = 0;
+        }
+
+        private long memoryBytes() {
+            return paymentId.memoryBytes() * 5 + amountCents.memoryBytes() + rowById.memoryBytes();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the distinct values of a string column as small int codes, in order of first appearance.
+ * Statuses and room types have only a handful of values, so a column of codes is far smaller than
+ * a column of strings, and filtering compares ints.
+ */
+public final class Dictionary {
+
+    public static final int ABSENT = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    // Returns the code of the value, adding it if it is new; null is a value of its own
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    // Returns the code of the value, or ABSENT if no row has it
+    public int codeOf(String value) {
+        return codes.getOrDefault(value, ABSENT);
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public void clear() {
+        codes.clear();
+        values.clear();
+    }
+}
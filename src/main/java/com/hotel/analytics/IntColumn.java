@@ -0,0 +1,55 @@
+package com.hotel.analytics;
+
+import java.util.Arrays;
+
+/**
+ * A growable column of ints.
+ */
+public final class IntColumn {
+
+    private int[] values;
+    private int size;
+
+    public IntColumn() {
+        this(1024);
+    }
+
+    public IntColumn(int initialCapacity) {
+        this.values = new int[Math.max(16, initialCapacity)];
+    }
+
+    public void append(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int row) {
+        return values[row];
+    }
+
+    public void set(int row, int value) {
+        if (row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        values[row] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public long memoryBytes() {
+        return 4L * values.length;
+    }
+
+    // The backing array for scans; only the first size() entries are rows
+    int[] values() {
+        return values;
+    }
+}
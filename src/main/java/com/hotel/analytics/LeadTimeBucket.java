@@ -0,0 +1,34 @@
+package com.hotel.analytics;
+
+/**
+ * Bookings made between minDays and maxDays (inclusive) before check-in, and how many were cancelled.
+ * maxDays is Integer.MAX_VALUE for the last, open-ended bucket.
+ */
+public class LeadTimeBucket {
+    private final int minDays;
+    private final int maxDays;
+    private final long bookings;
+    private final long cancelled;
+
+    public LeadTimeBucket(int minDays, int maxDays, long bookings, long cancelled) {
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+        this.bookings = bookings;
+        this.cancelled = cancelled;
+    }
+
+    public int getMinDays() { return minDays; }
+    public int getMaxDays() { return maxDays; }
+    public long getBookings() { return bookings; }
+    public long getCancelled() { return cancelled; }
+
+    public double getCancellationRate() {
+        return bookings == 0 ? 0.0 : (double) cancelled / bookings;
+    }
+
+    @Override
+    public String toString() {
+        String range = maxDays == Integer.MAX_VALUE ? minDays + "+ days" : minDays + "-" + maxDays + " days";
+        return String.format("%s: %d bookings, %.1f%% cancelled", range, bookings, 100 * getCancellationRate());
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.analytics;
+
+import java.util.Arrays;
+
+/**
+ * A growable column of longs.
+ */
+public final class LongColumn {
+
+    private long[] values;
+    private int size;
+
+    public LongColumn() {
+        this(1024);
+    }
+
+    public LongColumn(int initialCapacity) {
+        this.values = new long[Math.max(16, initialCapacity)];
+    }
+
+    public void append(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    public long get(int row) {
+        return values[row];
+    }
+
+    public void set(int row, long value) {
+        if (row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        values[row] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public long memoryBytes() {
+        return 8L * values.length;
+    }
+
+    // The backing array for scans; only the first size() entries are rows
+    long[] values() {
+        return values;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hotel.analytics;
+
+/**
+ * An ordered set of row numbers of one table, and the scan operators over it.
+ *
+ * Filters return a new, smaller selection. They are written as straight loops over the backing
+ * arrays without branches in the loop body, which the JIT compiles to tight, unrolled code.
+ * Aggregates read the selected rows of value columns and group by an int key column, usually
+ * dictionary codes, into plain arrays indexed by key.
+ */
+public final class Selection {
+
+    private final int[] rows;
+    private final int size;
+
+    private Selection(int[] rows, int size) {
+        this.rows = rows;
+        this.size = size;
+    }
+
+    /**
+     * Selects every row of a table with the given number of rows.
+     */
+    public static Selection all(int rowCount) {
+        int[] rows = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = i;
+        }
+        return new Selection(rows, rowCount);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int row(int index) {
+        return rows[index];
+    }
+
+    // Keeps the rows whose value lies in [from, toExclusive)
+    public Selection whereBetween(IntColumn column, int from, int toExclusive) {
+        int[] values = column.values();
+        int[] kept = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int row = rows[i];
+            int value = values[row];
+            kept[count] = row;
+            count += (value >= from & value < toExclusive) ? 1 : 0;
+        }
+        return new Selection(kept, count);
+    }
+
+    public Selection whereEquals(IntColumn column, int value) {
+        int[] values = column.values();
+        int[] kept = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int row = rows[i];
+            kept[count] = row;
+            count += values[row] == value ? 1 : 0;
+        }
+        return new Selection(kept, count);
+    }
+
+    public Selection whereNotEquals(IntColumn column, int value) {
+        int[] values = column.values();
+        int[] kept = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int row = rows[i];
+            kept[count] = row;
+            count += values[row] != value ? 1 : 0;
+        }
+        return new Selection(kept, count);
+    }
+
+    public long sum(LongColumn column) {
+        long[] values = column.values();
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[rows[i]];
+        }
+        return sum;
+    }
+
+    /**
+     * Counts the selected rows per key.
+     *
+     * @param keys key column with values in [0, keyCount)
+     */
+    public long[] countBy(IntColumn keys, int keyCount) {
+        int[] keyValues = keys.values();
+        long[] counts = new long[keyCount];
+        for (int i = 0; i < size; i++) {
+            counts[keyValues[rows[i]]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Sums a value column per key over the selected rows.
+     *
+     * @param keys key column with values in [0, keyCount)
+     */
+    public long[] sumBy(IntColumn keys, int keyCount, LongColumn values) {
+        int[] keyValues = keys.values();
+        long[] valueArray = values.values();
+        long[] sums = new long[keyCount];
+        for (int i = 0; i < size; i++) {
+            int row = rows[i];
+            sums[keyValues[row]] += valueArray[row];
+        }
+        return sums;
+    }
+}
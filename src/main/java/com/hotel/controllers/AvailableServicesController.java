@@ -1,8 +1,8 @@
 package com.hotel.controllers;
 
-import com.hotel.dao.ServiceDAO;
-import com.hotel.dao.impl.ServiceDAOImpl;
 import com.hotel.model.Service;
+import com.hotel.jfr.ControllerPhaseEvent;
+import com.hotel.service.BillingService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -12,9 +12,7 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.SQLException;
-import java.util.List;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
 
 
 public class AvailableServicesController implements Initializable {
@@ -41,7 +39,7 @@ public class AvailableServicesController implements Initializable {
     @FXML private Label pageInfoLabel;
     @FXML private Label statusLabel;
 
-    private ServiceDAO serviceDAO = new ServiceDAOImpl();
+    private final BillingService billingService = BillingService.getInstance();
     private ObservableList<Service> servicesData;
     private Service selectedService;
     
@@ -50,12 +48,13 @@ public class AvailableServicesController implements Initializable {
     private int currentPage = 1;
     private int totalItems = 0;
     private int totalPages = 0;
+    private final KeysetPager<Service> pager = new KeysetPager<>();
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        setupTableColumns();
-        setupPaginationControls();
-        loadServices();
+        ControllerPhaseEvent.run(this, "setupTableColumns", this::setupTableColumns);
+        ControllerPhaseEvent.run(this, "setupPaginationControls", this::setupPaginationControls);
+        ControllerPhaseEvent.run(this, "loadServices", this::loadServices);
         
         // Set up selection model
         servicesTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
@@ -101,7 +100,6 @@ public class AvailableServicesController implements Initializable {
         // Add listener to items per page combo box
         itemsPerPageCombo.valueProperty().addListener((obs, oldValue, newValue) -> {
             if (newValue != null && !newValue.equals(oldValue)) {
-                currentPage = 1; // Reset to first page when changing page size
                 loadServices();
             }
         });
@@ -114,64 +112,44 @@ public class AvailableServicesController implements Initializable {
         
         // Set up search field listener
         searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            currentPage = 1;
             loadServices();
         });
     }
     
+    /**
+     * Counts the services matching the search field and shows the first page.
+     * Filtering and paging run in SQL, so only the rows on screen are fetched.
+     */
     private void loadServices() {
+        String searchText = searchField.getText();
+        int itemsPerPage = itemsPerPageCombo.getValue() != null ? 
+            itemsPerPageCombo.getValue() : ITEMS_PER_PAGE;
+        showPage(() -> pager.load(
+            () -> billingService.countServices(searchText),
+            request -> billingService.findServicePage(searchText, request),
+            itemsPerPage));
+    }
+
+    /**
+     * Reloads the current page after a service was added, changed or deleted.
+     */
+    private void refreshServices() {
+        showPage(pager::refresh);
+    }
+
+    private void showPage(KeysetPager.Step<Service> step) {
         try {
-            // Get all services from the database
-            List<Service> allServices = serviceDAO.getAllServices();
-            
-            // Apply filters to get filtered list
-            List<Service> filteredServices = filterServices(allServices);
-            
-            // Update total items and pages
-            totalItems = filteredServices.size();
-            int itemsPerPage = itemsPerPageCombo.getValue() != null ? 
-                itemsPerPageCombo.getValue() : ITEMS_PER_PAGE;
-            totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
-            
-            // Ensure current page is within bounds
-            if (currentPage > totalPages && totalPages > 0) {
-                currentPage = totalPages;
-            } else if (currentPage < 1) {
-                currentPage = 1;
-            }
-            
-            // Calculate pagination
-            int fromIndex = (currentPage - 1) * itemsPerPage;
-            int toIndex = Math.min(fromIndex + itemsPerPage, totalItems);
-            
-            // Get sublist for current page
-            List<Service> pagedServices = filteredServices.subList(fromIndex, toIndex);
-            
-            // Update the table
-            servicesData.setAll(pagedServices);
-            
-            // Update pagination controls
+            KeysetPager.View<Service> view = step.run();
+            currentPage = view.getPageNumber();
+            totalItems = view.getTotalItems();
+            totalPages = view.getTotalPages();
+            servicesData.setAll(view.getItems());
             updatePaginationControls();
-            
         } catch (SQLException e) {
             showError("Error loading services: " + e.getMessage());
             e.printStackTrace();
         }
     }
-    
-    
-    private List<Service> filterServices(List<Service> services) {
-        String searchTerm = searchField.getText().toLowerCase();
-        
-        return services.stream()
-            .filter(service -> 
-                searchTerm.isEmpty() || 
-                (service.getServiceName() != null && service.getServiceName().toLowerCase().contains(searchTerm)) ||
-                (service.getDescription() != null && service.getDescription().toLowerCase().contains(searchTerm)) ||
-                String.valueOf(service.getPrice()).contains(searchTerm) ||
-                String.valueOf(service.getServiceId()).contains(searchTerm))
-            .collect(Collectors.toList());
-    }
 
     @FXML
     private void handleAddService() {
@@ -182,9 +160,9 @@ public class AvailableServicesController implements Initializable {
                 service.setPrice(new BigDecimal(priceField.getText().trim()));
                 service.setDescription(descriptionArea.getText().trim());
                 
-                serviceDAO.addService(service);
+                billingService.addService(service);
                 clearFields();
-                loadServices();
+                refreshServices();
                 showSuccess("Service added successfully");
             } catch (SQLException e) {
                 showError("Could not add service: " + e.getMessage());
@@ -211,8 +189,8 @@ public class AvailableServicesController implements Initializable {
                 selectedService.setPrice(BigDecimal.valueOf(price));
                 selectedService.setDescription(description);
 
-                serviceDAO.updateService(selectedService);
-                loadServices();
+                billingService.updateService(selectedService);
+                refreshServices();
                 clearFields();
                 showSuccess("Service updated successfully");
                 
@@ -240,8 +218,8 @@ public class AvailableServicesController implements Initializable {
             alert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.OK) {
                     try {
-                        serviceDAO.deleteService(selectedService.getServiceId());
-                        loadServices();
+                        billingService.deleteService(selectedService.getServiceId());
+                        refreshServices();
                         clearFields();
                         showSuccess("Service deleted successfully");
                     } catch (SQLException e) {
@@ -341,48 +319,45 @@ public class AvailableServicesController implements Initializable {
     
     @FXML
     private void handleFirstPage() {
-        currentPage = 1;
-        loadServices();
+        if (currentPage != 1 && totalPages > 0) {
+            showPage(pager::first);
+        }
     }
     
     @FXML
     private void handlePrevPage() {
         if (currentPage > 1) {
-            currentPage--;
-            loadServices();
+            showPage(pager::previous);
         }
     }
     
     @FXML
     private void handleNextPage() {
         if (currentPage < totalPages) {
-            currentPage++;
-            loadServices();
+            showPage(pager::next);
         }
     }
     
     @FXML
     private void handleLastPage() {
-        currentPage = totalPages;
-        loadServices();
+        if (currentPage != totalPages && totalPages > 0) {
+            showPage(pager::last);
+        }
     }
     
     @FXML
     private void handleSearch() {
-        currentPage = 1; // Reset to first page when searching
         loadServices();
     }
     
     @FXML
     private void handleClearFilters() {
         searchField.clear();
-        currentPage = 1;
         loadServices();
     }
     
     @FXML
     private void handleRefresh() {
-        currentPage = 1;
         searchField.clear();
         loadServices();
     }
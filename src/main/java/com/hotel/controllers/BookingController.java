@@ -1,14 +1,15 @@
 package com.hotel.controllers;
 
 import com.hotel.model.Booking;
+import com.hotel.model.BookingDetails;
 import com.hotel.model.Room;
 import com.hotel.model.Customer;
-import com.hotel.dao.BookingDAO;
-import com.hotel.dao.RoomDAO;
-import com.hotel.dao.CustomerDAO;
-import com.hotel.dao.impl.BookingDAOImpl;
-import com.hotel.dao.impl.RoomDAOImpl;
-import com.hotel.dao.impl.CustomerDAOImpl;
+import com.hotel.service.AvailabilityService;
+import com.hotel.service.ReservationService;
+import com.hotel.service.Stay;
+import com.hotel.service.ValidationException;
+import com.hotel.util.SearchPipeline;
+import com.hotel.jfr.ControllerPhaseEvent;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -21,7 +22,6 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import javafx.application.Platform;
 import javafx.scene.control.Alert.AlertType;
@@ -57,13 +57,17 @@ public class BookingController {
     
     // Pagination variables
     private static final int ITEMS_PER_PAGE = 30;
+    private static final long SEARCH_DEBOUNCE_MILLIS = 300;
     private int currentPage = 1;
     private int totalItems = 0;
     private int totalPages = 0;
+    private final KeysetPager<Booking> pager = new KeysetPager<>();
+    private final SearchPipeline<KeysetPager.View<Booking>> searchPipeline =
+            new SearchPipeline<>(SEARCH_DEBOUNCE_MILLIS, this::showView, this::showLoadError);
 
-    private BookingDAO bookingDAO;
-    private RoomDAO roomDAO;
-    private CustomerDAO customerDAO;
+    private ReservationService reservationService;
+    private AvailabilityService availabilityService;
+    private int roomSearches;
 
     private ObservableList<Booking> bookingList = FXCollections.observableArrayList();
     private ObservableList<Room> availableRoomList = FXCollections.observableArrayList();
@@ -71,10 +75,9 @@ public class BookingController {
 
     public void initialize() {
         try {
-            // Instantiate DAOs first
-            bookingDAO = new BookingDAOImpl();
-            roomDAO = new RoomDAOImpl();
-            customerDAO = new CustomerDAOImpl();
+            // Instantiate services first
+            reservationService = ReservationService.getInstance();
+            availabilityService = AvailabilityService.getInstance();
 
             // Initialize UI components
             statusMessageLabel.setText("");
@@ -144,20 +147,9 @@ public class BookingController {
                     (obs, oldSelection, newSelection) -> showBookingDetails(newSelection));
 
             // Add filter listeners
-            searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-                currentPage = 1;
-                applyFilters();
-            });
-            
-            filterStartDate.valueProperty().addListener((observable, oldValue, newValue) -> {
-                currentPage = 1;
-                applyFilters();
-            });
-            
-            filterEndDate.valueProperty().addListener((observable, oldValue, newValue) -> {
-                currentPage = 1;
-                applyFilters();
-            });
+            searchField.textProperty().addListener((observable, oldValue, newValue) -> applyFilters());
+            filterStartDate.valueProperty().addListener((observable, oldValue, newValue) -> applyFilters());
+            filterEndDate.valueProperty().addListener((observable, oldValue, newValue) -> applyFilters());
             
             // Add listeners to date pickers to refresh available rooms
             checkInDatePicker.valueProperty().addListener((observable, oldValue, newValue) -> loadAvailableRooms());
@@ -168,7 +160,7 @@ public class BookingController {
             checkOutDatePicker.setValue(LocalDate.now().plusDays(1));
 
             // Load initial data
-            loadInitialData();
+            ControllerPhaseEvent.run(this, "loadInitialData", this::loadInitialData);
             
         } catch (Exception e) {
             showError("Error initializing booking controller: " + e.getMessage());
@@ -187,61 +179,53 @@ public class BookingController {
         }
     }
     
+    /**
+     * Searches the rooms free for the picked dates in the background and shows them when the
+     * newest search completes. Called on the JavaFX thread whenever a date changes.
+     */
     private void loadAvailableRooms() {
-        try {
-            System.out.println("Loading available rooms...");
-            
-            // Clear the current list
-            availableRoomList.clear();
-            
-            // Get dates from date pickers
-            LocalDate checkIn = checkInDatePicker.getValue();
-            LocalDate checkOut = checkOutDatePicker.getValue();
-            
-            // If dates aren't selected, use current date and next day
-            if (checkIn == null) checkIn = LocalDate.now();
-            if (checkOut == null) checkOut = checkIn.plusDays(1);
-            
-            // Ensure check-out is after check-in
-            if (checkOut.isBefore(checkIn.plusDays(1))) {
-                checkOut = checkIn.plusDays(1);
-                checkOutDatePicker.setValue(checkOut);
-            }
-            
-            System.out.println("Checking availability from " + checkIn + " to " + checkOut);
-            
-            // Get available rooms from the database
-            List<Room> availableRooms = bookingDAO.getAllAvailableRooms(checkIn, checkOut);
-            System.out.println("Found " + availableRooms.size() + " available rooms");
-            
-            // Update the available rooms list on the JavaFX Application Thread
-            Room selectedRoom = roomNumberComboBox.getValue();
-            Platform.runLater(() -> {
-                try {
+        System.out.println("Loading available rooms...");
+
+        // Clear the current list
+        availableRoomList.clear();
+
+        Stay stay = availabilityService.correct(checkInDatePicker.getValue(), checkOutDatePicker.getValue());
+        if (checkOutDatePicker.getValue() != null && !stay.getCheckOut().equals(checkOutDatePicker.getValue())) {
+            // Triggers a new search through the date listener
+            checkOutDatePicker.setValue(stay.getCheckOut());
+        }
+
+        System.out.println("Checking availability from " + stay.getCheckIn() + " to " + stay.getCheckOut());
+
+        int search = ++roomSearches;
+        availabilityService.findAvailableRoomsAsync(stay).whenComplete((availableRooms, failure) ->
+                Platform.runLater(() -> {
+                    if (search != roomSearches) {
+                        return; // the dates changed while this search ran
+                    }
+                    if (failure != null) {
+                        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                        String errorMsg = "Error loading available rooms: " + cause.getMessage();
+                        System.err.println(errorMsg);
+                        cause.printStackTrace();
+                        showError(errorMsg);
+                        return;
+                    }
+                    System.out.println("Found " + availableRooms.size() + " available rooms");
+                    Room selectedRoom = roomNumberComboBox.getValue();
                     availableRoomList.setAll(availableRooms);
-                    
+
                     // Update the selected room if it's no longer available
                     if (selectedRoom != null && !availableRoomList.contains(selectedRoom)) {
                         roomNumberComboBox.setValue(null);
                     }
-                    
+
                     if (availableRooms.isEmpty()) {
                         showStatusMessage("No available rooms found for selected dates.", false);
                     } else {
                         showStatusMessage(availableRooms.size() + " rooms available", true);
                     }
-                } catch (Exception e) {
-                    System.err.println("Error updating available rooms UI: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
-            
-        } catch (SQLException e) {
-            String errorMsg = "Error loading available rooms: " + e.getMessage();
-            System.err.println(errorMsg);
-            e.printStackTrace();
-            showError(errorMsg);
-        }
+                }));
     }
 
     private void loadCustomers() {
@@ -251,8 +235,8 @@ public class BookingController {
             // Clear the current list
             customerList.clear();
             
-            // Get customers from DAO
-            List<Customer> customers = customerDAO.findAll();
+            // Get customers from the reservation service
+            List<Customer> customers = reservationService.getCustomers();
             System.out.println("Found " + customers.size() + " customers");
             
             // Update the customers list on the JavaFX Application Thread
@@ -287,24 +271,16 @@ public class BookingController {
         if (booking != null) {
             bookingIdField.setText(String.valueOf(booking.getBookingId()));
             try {
-                // Find and select the room
-                List<Booking> roomBookings = bookingDAO.findByRoomId(booking.getRoomId());
-                if (!roomBookings.isEmpty()) {
-                    Room room = roomDAO.findById(booking.getRoomId()).orElse(null);
-                    if (room != null) {
-                        roomNumberComboBox.setValue(room);
-                    }
+                BookingDetails details = reservationService.findBookingDetails(booking);
+                Room room = details.getRoom();
+                Customer customer = details.getCustomer();
+                if (room != null) {
+                    roomNumberComboBox.setValue(room);
                 }
-                
-                // Find and select the customer
-                List<Booking> customerBookings = bookingDAO.findByCustomerId(booking.getCustomerId());
-                if (!customerBookings.isEmpty()) {
-                    Customer customer = customerDAO.findById(booking.getCustomerId()).orElse(null);
-                    if (customer != null) {
-                        customerComboBox.setValue(customer);
-                    }
+                if (customer != null) {
+                    customerComboBox.setValue(customer);
                 }
-                
+
                 checkInDatePicker.setValue(booking.getCheckInDate());
                 checkOutDatePicker.setValue(booking.getCheckOutDate());
                 numberOfAdultsSpinner.getValueFactory().setValue(booking.getNumberOfAdults());
@@ -319,28 +295,21 @@ public class BookingController {
 
     @FXML
     private void handleAddBooking() {
-        if (!validateInput()) {
-            return;
-        }
-
         try {
             Booking booking = new Booking();
-            booking.setRoomId(roomNumberComboBox.getValue().getRoomId());
-            booking.setCustomerId(customerComboBox.getValue().getCustomerId());
-            booking.setCheckInDate(checkInDatePicker.getValue());
-            booking.setCheckOutDate(checkOutDatePicker.getValue());
-            booking.setNumberOfAdults(numberOfAdultsSpinner.getValue());
-            booking.setNumberOfKids(numberOfKidsSpinner.getValue());
-
-            if (bookingDAO.addBooking(booking)) {
+            bindFormTo(booking);
+
+            if (reservationService.addBooking(booking)) {
                 showSuccess("Booking added successfully!");
                 
                 // Reload data and stay on the current page
-                loadBookings();
+                refreshBookings();
                 handleClearFields();
             } else {
                 showError("Failed to add booking");
             }
+        } catch (ValidationException e) {
+            showAlert(Alert.AlertType.ERROR, e.getSummary(), e.getMessage());
         } catch (SQLException e) {
             showError("Error adding booking: " + e.getMessage());
             e.printStackTrace();
@@ -355,26 +324,22 @@ public class BookingController {
             return;
         }
 
-        if (!validateInput()) {
-            return;
-        }
-
         try {
-            selectedBooking.setRoomId(roomNumberComboBox.getValue().getRoomId());
-            selectedBooking.setCustomerId(customerComboBox.getValue().getCustomerId());
-            selectedBooking.setCheckInDate(checkInDatePicker.getValue());
-            selectedBooking.setCheckOutDate(checkOutDatePicker.getValue());
-            selectedBooking.setNumberOfAdults(numberOfAdultsSpinner.getValue());
-            selectedBooking.setNumberOfKids(numberOfKidsSpinner.getValue());
-
-            if (bookingDAO.updateBooking(selectedBooking)) {
+            Booking changed = new Booking();
+            changed.setBookingId(selectedBooking.getBookingId());
+            changed.setBookingStatus(selectedBooking.getBookingStatus());
+            bindFormTo(changed);
+
+            if (reservationService.updateBooking(changed)) {
                 showSuccess("Booking updated successfully!");
                 
                 // Reload data and stay on the current page
-                loadBookings();
+                refreshBookings();
             } else {
                 showError("Failed to update booking");
             }
+        } catch (ValidationException e) {
+            showAlert(Alert.AlertType.ERROR, e.getSummary(), e.getMessage());
         } catch (SQLException e) {
             showError("Error updating booking: " + e.getMessage());
             e.printStackTrace();
@@ -394,32 +359,16 @@ public class BookingController {
         statusMessageLabel.setText("");
     }
 
-    private boolean validateInput() {
-        String errorMessage = "";
-        if (roomNumberComboBox.getValue() == null) {
-            errorMessage += "Room must be selected.\n";
-        }
-        if (customerComboBox.getValue() == null) {
-            errorMessage += "Customer must be selected.\n";
-        }
-        if (checkInDatePicker.getValue() == null) {
-            errorMessage += "Check-in date is required.\n";
-        }
-        if (checkOutDatePicker.getValue() == null) {
-            errorMessage += "Check-out date is required.\n";
-        }
-        if (checkInDatePicker.getValue() != null && checkOutDatePicker.getValue() != null) {
-            if (checkOutDatePicker.getValue().isBefore(checkInDatePicker.getValue()) || checkOutDatePicker.getValue().isEqual(checkInDatePicker.getValue())) {
-                errorMessage += "Check-out date must be after check-in date.\n";
-            }
-        }
-
-        if (errorMessage.length() == 0) {
-            return true;
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Invalid Input", errorMessage);
-            return false;
-        }
+    // A room or customer that is not selected is left as 0, which the service rejects
+    private void bindFormTo(Booking booking) {
+        Room room = roomNumberComboBox.getValue();
+        Customer customer = customerComboBox.getValue();
+        booking.setRoomId(room != null ? room.getRoomId() : 0);
+        booking.setCustomerId(customer != null ? customer.getCustomerId() : 0);
+        booking.setCheckInDate(checkInDatePicker.getValue());
+        booking.setCheckOutDate(checkOutDatePicker.getValue());
+        booking.setNumberOfAdults(numberOfAdultsSpinner.getValue());
+        booking.setNumberOfKids(numberOfKidsSpinner.getValue());
     }
 
     private void showError(String message) {
@@ -452,7 +401,6 @@ public class BookingController {
         // Add listener for items per page changes
         itemsPerPageCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
-                currentPage = 1; // Reset to first page when changing items per page
                 loadBookings();
             }
         });
@@ -470,32 +418,28 @@ public class BookingController {
     @FXML
     private void handleFirstPage() {
         if (currentPage != 1 && totalPages > 0) {
-            currentPage = 1;
-            loadBookings();
+            showPage(pager::first);
         }
     }
 
     @FXML
     private void handlePrevPage() {
         if (currentPage > 1) {
-            currentPage--;
-            loadBookings();
+            showPage(pager::previous);
         }
     }
 
     @FXML
     private void handleNextPage() {
         if (currentPage < totalPages) {
-            currentPage++;
-            loadBookings();
+            showPage(pager::next);
         }
     }
 
     @FXML
     private void handleLastPage() {
         if (currentPage != totalPages && totalPages > 0) {
-            currentPage = totalPages;
-            loadBookings();
+            showPage(pager::last);
         }
     }
     
@@ -528,98 +472,59 @@ public class BookingController {
         }
     }
     
-    private List<Booking> filterBookings(List<Booking> allBookings) {
-        String searchText = searchField.getText().toLowerCase();
+    /**
+     * Re-runs the search after the filter fields settle. Called on every keystroke or date pick,
+     * so the query is debounced and runs in the background.
+     */
+    private void applyFilters() {
+        searchPipeline.submit(filteredLoad()::run);
+    }
+
+    /**
+     * Counts the bookings matching the filter fields and shows the first page.
+     * Filtering and paging run in SQL, so only the rows on screen are fetched.
+     */
+    private void loadBookings() {
+        showPage(filteredLoad());
+    }
+
+    private KeysetPager.Step<Booking> filteredLoad() {
+        // Read the controls here on the FX thread; the step itself runs on a search thread
+        String searchText = searchField.getText();
         LocalDate startDate = filterStartDate.getValue();
         LocalDate endDate = filterEndDate.getValue();
-        
-        return allBookings.stream()
-            .filter(booking -> {
-                // Apply search filter
-                boolean matchesSearch = searchText.isEmpty() ||
-                    String.valueOf(booking.getBookingId()).contains(searchText) ||
-                    String.valueOf(booking.getRoomId()).toLowerCase().contains(searchText) ||
-                    String.valueOf(booking.getCustomerId()).toLowerCase().contains(searchText);
-                
-                // Apply date range filter
-                boolean matchesDate = true;
-                if (startDate != null) {
-                    matchesDate = !booking.getCheckInDate().isBefore(startDate);
-                }
-                if (endDate != null) {
-                    matchesDate = matchesDate && !booking.getCheckInDate().isAfter(endDate);
-                }
-                
-                return matchesSearch && matchesDate;
-            })
-            .collect(Collectors.toList());
+        int itemsPerPage = itemsPerPageCombo != null && itemsPerPageCombo.getValue() != null
+                ? itemsPerPageCombo.getValue() : ITEMS_PER_PAGE;
+        return () -> pager.load(
+                () -> reservationService.countBookings(searchText, startDate, endDate),
+                request -> reservationService.findPage(searchText, startDate, endDate, request),
+                itemsPerPage);
     }
-    
-    private void loadBookings() {
-        try {
-            System.out.println("Loading bookings...");
-            
-            // Get all bookings from the database
-            List<Booking> allBookings = bookingDAO.findAll();
-            System.out.println("Found " + allBookings.size() + " bookings in database");
-            
-            if (allBookings.isEmpty()) {
-                System.out.println("No bookings found in the database");
-            }
-            
-            // Apply any active filters
-            List<Booking> filteredBookings = filterBookings(allBookings);
-            System.out.println("After filtering: " + filteredBookings.size() + " bookings");
-            
-            // Update total items and pages
-            totalItems = filteredBookings.size();
-            int itemsPerPage = itemsPerPageCombo != null ? itemsPerPageCombo.getValue() : ITEMS_PER_PAGE;
-            totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
-            
-            System.out.println("Total items: " + totalItems + ", items per page: " + itemsPerPage + ", total pages: " + totalPages);
-            
-            // Ensure current page is within bounds
-            if (currentPage > totalPages && totalPages > 0) {
-                currentPage = totalPages;
-            } else if (currentPage < 1) {
-                currentPage = 1;
-            }
-            
-            // Calculate pagination
-            int fromIndex = (currentPage - 1) * itemsPerPage;
-            int toIndex = Math.min(fromIndex + itemsPerPage, filteredBookings.size());
-            
-            System.out.println("Showing items from index " + fromIndex + " to " + toIndex);
-            
-            // Get the sublist for the current page
-            List<Booking> pagedBookings = filteredBookings.subList(
-                Math.min(fromIndex, filteredBookings.size()),
-                Math.min(toIndex, filteredBookings.size())
-            );
-            
-            // Update the table with paginated data
-            Platform.runLater(() -> {
-                try {
-                    bookingList.setAll(pagedBookings);
-                    System.out.println("Updated table with " + pagedBookings.size() + " bookings");
-                    
-                    // Update pagination controls
-                    updatePaginationControls();
-                    
-                    // Update status label
-                    updateStatusLabel();
-                } catch (Exception e) {
-                    System.err.println("Error updating UI: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
-            
-        } catch (SQLException e) {
-            String errorMsg = "Error loading bookings: " + e.getMessage();
-            System.err.println(errorMsg);
-            e.printStackTrace();
-            showError(errorMsg);
-        }
+
+    /**
+     * Reloads the current page after a booking was added, changed or deleted.
+     */
+    private void refreshBookings() {
+        showPage(pager::refresh);
+    }
+
+    private void showPage(KeysetPager.Step<Booking> step) {
+        searchPipeline.submitNow(step::run);
+    }
+
+    private void showView(KeysetPager.View<Booking> view) {
+        currentPage = view.getPageNumber();
+        totalItems = view.getTotalItems();
+        totalPages = view.getTotalPages();
+        bookingList.setAll(view.getItems());
+        updatePaginationControls();
+    }
+
+    private void showLoadError(Exception e) {
+        String errorMsg = "Error loading bookings: " + e.getMessage();
+        System.err.println(errorMsg);
+        e.printStackTrace();
+        showError(errorMsg);
     }
     
     @FXML
@@ -638,16 +543,11 @@ public class BookingController {
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                if (bookingDAO.deleteBooking(selectedBooking.getBookingId())) {
+                if (reservationService.deleteBooking(selectedBooking.getBookingId())) {
                     showSuccess("Booking deleted successfully!");
                     
-                    // Check if we need to go back a page if this was the last item on the current page
-                    if (bookingList.size() == 1 && currentPage > 1) {
-                        currentPage--;
-                    }
-                    
-                    // Reload data
-                    loadBookings();
+                    // Reload data; the pager steps back if this page is now empty
+                    refreshBookings();
                     handleClearFields();
                 } else {
                     showError("Failed to delete booking");
@@ -679,51 +579,6 @@ public class BookingController {
 
     @FXML
     private void handleRefresh() {
-        currentPage = 1; // Reset to first page when refreshing
         loadBookings();
     }
-    
-
-
-    private void applyFilters() {
-        try {
-            // Get all bookings from the database
-            List<Booking> allBookings = bookingDAO.findAll();
-            
-            // Apply filters to get filtered list
-            List<Booking> filteredBookings = filterBookings(allBookings);
-            
-            // Update total items and pages
-            totalItems = filteredBookings.size();
-            int itemsPerPage = itemsPerPageCombo.getValue();
-            totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
-            
-            // Ensure current page is within bounds
-            if (currentPage > totalPages && totalPages > 0) {
-                currentPage = totalPages;
-            } else if (currentPage < 1) {
-                currentPage = 1;
-            }
-            
-            // Calculate pagination
-            int fromIndex = (currentPage - 1) * itemsPerPage;
-            int toIndex = Math.min(fromIndex + itemsPerPage, filteredBookings.size());
-            
-            // Get the sublist for the current page
-            List<Booking> pagedBookings = filteredBookings.subList(
-                Math.min(fromIndex, filteredBookings.size()),
-                Math.min(toIndex, filteredBookings.size())
-            );
-            
-            // Update the table with paginated data
-            bookingList.setAll(pagedBookings);
-            
-            // Update pagination controls
-            updatePaginationControls();
-            
-        } catch (SQLException e) {
-            showError("Error applying filters: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-} 
\ No newline at end of file
+}
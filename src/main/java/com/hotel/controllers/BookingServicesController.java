@@ -1,14 +1,11 @@
 package com.hotel.controllers;
 
-import com.hotel.dao.BookingDAO;
-import com.hotel.dao.BookingServiceDAO;
-import com.hotel.dao.ServiceDAO;
-import com.hotel.dao.impl.BookingDAOImpl;
-import com.hotel.dao.impl.BookingServiceDAOImpl;
-import com.hotel.dao.impl.ServiceDAOImpl;
 import com.hotel.model.Booking;
 import com.hotel.model.BookingService;
 import com.hotel.model.Service;
+import com.hotel.service.BillingService;
+import com.hotel.service.ReservationService;
+import com.hotel.service.ValidationException;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -52,19 +49,17 @@ public class BookingServicesController implements Initializable {
     @FXML private MenuItem editMenuItem;
     @FXML private MenuItem deleteMenuItem;
     
-    private BookingServiceDAO bookingServiceDAO;
-    private BookingDAO bookingDAO;
-    private ServiceDAO serviceDAO;
+    private BillingService billingService;
+    private ReservationService reservationService;
     
     private ObservableList<BookingService> bookingServicesData;
     private BookingService selectedBookingService;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Initialize DAOs
-        bookingServiceDAO = new BookingServiceDAOImpl();
-        bookingDAO = new BookingDAOImpl();
-        serviceDAO = new ServiceDAOImpl();
+        // Initialize services
+        billingService = BillingService.getInstance();
+        reservationService = ReservationService.getInstance();
         
         // Initialize data lists
         bookingServicesData = FXCollections.observableArrayList();
@@ -119,7 +114,7 @@ public class BookingServicesController implements Initializable {
     
     private void setupBookingComboBox() {
         try {
-            List<Booking> bookings = bookingDAO.getAllBookings();
+            List<Booking> bookings = reservationService.getBookings();
             bookingComboBox.setItems(FXCollections.observableArrayList(bookings));
             
             // Custom cell factory to display booking info
@@ -164,7 +159,7 @@ public class BookingServicesController implements Initializable {
     
     private void setupServiceComboBox() {
         try {
-            List<Service> services = serviceDAO.getAllServices();
+            List<Service> services = billingService.getServices();
             serviceComboBox.setItems(FXCollections.observableArrayList(services));
             
             // Custom cell factory to display service info
@@ -207,7 +202,7 @@ public class BookingServicesController implements Initializable {
     
     private void loadBookingServices() {
         try {
-            List<BookingService> bookingServices = bookingServiceDAO.getAllBookingServicesWithDetails();
+            List<BookingService> bookingServices = billingService.getServiceCharges();
             bookingServicesData.clear();
             bookingServicesData.addAll(bookingServices);
             bookingServicesTable.setItems(bookingServicesData);
@@ -246,43 +241,41 @@ public class BookingServicesController implements Initializable {
     
     @FXML
     private void handleAddBookingService() {
-        if (isInputValid()) {
-            try {
-                BookingService bookingService = new BookingService();
-                bookingService.setBookingId(bookingComboBox.getValue().getBookingId());
-                bookingService.setServiceId(serviceComboBox.getValue().getServiceId());
-                bookingService.setQuantity(quantitySpinner.getValue());
-                bookingService.setServiceDate(Date.valueOf(serviceDatePicker.getValue()));
-                
-                bookingServiceDAO.addBookingService(bookingService);
-                handleClearFields();
-                loadBookingServices();
-                
-                showAlert(Alert.AlertType.INFORMATION, "Success", 
-                        "Booking Service Added", 
-                        "The booking service was successfully added.");
-            } catch (SQLException e) {
-                showDatabaseError("Could not add booking service", e);
-            }
+        try {
+            BookingService bookingService = new BookingService();
+            bindFormTo(bookingService);
+            
+            billingService.addServiceCharge(bookingService);
+            handleClearFields();
+            loadBookingServices();
+            
+            showAlert(Alert.AlertType.INFORMATION, "Success", 
+                    "Booking Service Added", 
+                    "The booking service was successfully added.");
+        } catch (ValidationException e) {
+            showInvalidFields(e);
+        } catch (SQLException e) {
+            showDatabaseError("Could not add booking service", e);
         }
     }
     
     @FXML
     private void handleUpdateBookingService() {
-        if (selectedBookingService != null && isInputValid()) {
+        if (selectedBookingService != null) {
             try {
-                selectedBookingService.setBookingId(bookingComboBox.getValue().getBookingId());
-                selectedBookingService.setServiceId(serviceComboBox.getValue().getServiceId());
-                selectedBookingService.setQuantity(quantitySpinner.getValue());
-                selectedBookingService.setServiceDate(Date.valueOf(serviceDatePicker.getValue()));
+                BookingService changed = new BookingService();
+                changed.setBookingServiceId(selectedBookingService.getBookingServiceId());
+                bindFormTo(changed);
                 
-                bookingServiceDAO.updateBookingService(selectedBookingService);
+                billingService.updateServiceCharge(changed);
                 handleClearFields();
                 loadBookingServices();
                 
                 showAlert(Alert.AlertType.INFORMATION, "Success", 
                         "Booking Service Updated", 
                         "The booking service was successfully updated.");
+            } catch (ValidationException e) {
+                showInvalidFields(e);
             } catch (SQLException e) {
                 showDatabaseError("Could not update booking service", e);
             }
@@ -299,7 +292,7 @@ public class BookingServicesController implements Initializable {
             
             if (alert.showAndWait().get() == ButtonType.OK) {
                 try {
-                    bookingServiceDAO.deleteBookingService(selectedBookingService.getBookingServiceId());
+                    billingService.deleteServiceCharge(selectedBookingService.getBookingServiceId());
                     handleClearFields();
                     loadBookingServices();
                     
@@ -333,32 +326,18 @@ public class BookingServicesController implements Initializable {
         }
     }
     
-    private boolean isInputValid() {
-        String errorMessage = "";
-        
-        if (bookingComboBox.getValue() == null) {
-            errorMessage += "Please select a booking.\n";
-        }
-        
-        if (serviceComboBox.getValue() == null) {
-            errorMessage += "Please select a service.\n";
-        }
-        
-        if (quantitySpinner.getValue() == null || quantitySpinner.getValue() < 1) {
-            errorMessage += "Quantity must be at least 1.\n";
-        }
-        
-        if (serviceDatePicker.getValue() == null) {
-            errorMessage += "Please select a service date.\n";
-        }
-        
-        if (errorMessage.length() == 0) {
-            return true;
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Invalid Fields", 
-                    "Please correct invalid fields", errorMessage);
-            return false;
-        }
+    // A booking or service that is not selected is left as 0, which the service rejects
+    private void bindFormTo(BookingService bookingService) {
+        Booking booking = bookingComboBox.getValue();
+        Service service = serviceComboBox.getValue();
+        bookingService.setBookingId(booking != null ? booking.getBookingId() : 0);
+        bookingService.setServiceId(service != null ? service.getServiceId() : 0);
+        bookingService.setQuantity(quantitySpinner.getValue() != null ? quantitySpinner.getValue() : 0);
+        bookingService.setServiceDate(serviceDatePicker.getValue() != null ? Date.valueOf(serviceDatePicker.getValue()) : null);
+    }
+    
+    private void showInvalidFields(ValidationException e) {
+        showAlert(Alert.AlertType.ERROR, "Invalid Fields", e.getSummary(), e.getMessage());
     }
     
     private void showDatabaseError(String message, Exception e) {
@@ -1,8 +1,9 @@
 package com.hotel.controllers;
 
 import com.hotel.model.Customer;
-import com.hotel.dao.CustomerDAO;
-import com.hotel.dao.impl.CustomerDAOImpl;
+import com.hotel.service.CustomerService;
+import com.hotel.util.SearchPipeline;
+import com.hotel.jfr.ControllerPhaseEvent;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -12,8 +13,6 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.SpinnerValueFactory;
 
 import java.sql.SQLException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 public class CustomerController {
 
@@ -45,17 +44,21 @@ public class CustomerController {
     @FXML private Label pageInfoLabel;
     @FXML private Label statusLabel;
 
-    private CustomerDAO customerDAO;
+    private CustomerService customerService;
     private ObservableList<Customer> customerList = FXCollections.observableArrayList();
     
     // Pagination variables
     private static final int ITEMS_PER_PAGE = 10;
+    private static final long SEARCH_DEBOUNCE_MILLIS = 300;
     private int currentPage = 1;
     private int totalItems = 0;
     private int totalPages = 0;
+    private final KeysetPager<Customer> pager = new KeysetPager<>();
+    private final SearchPipeline<KeysetPager.View<Customer>> searchPipeline =
+        new SearchPipeline<>(SEARCH_DEBOUNCE_MILLIS, this::showView, this::showLoadError);
 
     public void initialize() {
-        customerDAO = new CustomerDAOImpl();
+        customerService = CustomerService.getInstance();
         statusMessageLabel.setText("");
         
         // Initialize pagination controls
@@ -100,7 +103,7 @@ public class CustomerController {
         filterKidsComboBox.valueProperty().addListener((observable, oldValue, newValue) -> applyFilters());
 
         // Load initial data
-        loadCustomers();
+        ControllerPhaseEvent.run(this, "loadCustomers", this::loadCustomers);
         
         // Set up selection listener for the table
         customersTableView.getSelectionModel().selectedItemProperty().addListener(
@@ -111,72 +114,76 @@ public class CustomerController {
             });
     }
 
+    /**
+     * Re-runs the search after the filter fields settle. Called on every keystroke or selection,
+     * so the query is debounced and runs in the background.
+     */
+    private void applyFilters() {
+        searchPipeline.submit(filteredLoad()::run);
+    }
+
+    /**
+     * Counts the customers matching the filter fields and shows the first page.
+     * Filtering and paging run in SQL, so only the rows on screen are fetched.
+     */
     private void loadCustomers() {
-        try {
-            // Get all customers from the database
-            List<Customer> allCustomers = customerDAO.findAll();
-            
-            // Apply filters to get filtered list
-            List<Customer> filteredCustomers = filterCustomers(allCustomers);
-            
-            // Update total items and pages
-            totalItems = filteredCustomers.size();
-            int itemsPerPage = itemsPerPageCombo.getValue() != null ? 
-                itemsPerPageCombo.getValue() : ITEMS_PER_PAGE;
-            totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
-            
-            // Ensure current page is within bounds
-            if (currentPage > totalPages && totalPages > 0) {
-                currentPage = totalPages;
-            } else if (currentPage < 1) {
-                currentPage = 1;
-            }
-            
-            // Calculate pagination
-            int fromIndex = (currentPage - 1) * itemsPerPage;
-            int toIndex = Math.min(fromIndex + itemsPerPage, totalItems);
-            
-            // Get sublist for current page
-            List<Customer> pagedCustomers = filteredCustomers.subList(fromIndex, toIndex);
-            
-            // Update the table
-            customerList.setAll(pagedCustomers);
-            customersTableView.setItems(customerList);
-            
-            // Update pagination controls
-            updatePaginationControls();
-            
-            System.out.println(String.format("Showing items from index %d to %d", fromIndex, toIndex));
-            
-        } catch (SQLException e) {
-            setStatusMessage("Error loading customers: " + e.getMessage(), false);
-            e.printStackTrace();
+        showPage(filteredLoad());
+    }
+
+    private KeysetPager.Step<Customer> filteredLoad() {
+        // Read the controls here on the FX thread; the step itself runs on a search thread
+        String searchText = searchField.getText();
+        String adultsFilter = filterAdultsComboBox.getValue();
+        String kidsFilter = filterKidsComboBox.getValue();
+        Integer minAdults = lowerBound(adultsFilter);
+        Integer maxAdults = upperBound(adultsFilter);
+        Integer minKids = lowerBound(kidsFilter);
+        Integer maxKids = upperBound(kidsFilter);
+        int itemsPerPage = itemsPerPageCombo.getValue() != null ?
+            itemsPerPageCombo.getValue() : ITEMS_PER_PAGE;
+        return () -> pager.load(
+            () -> customerService.countCustomers(searchText, minAdults, maxAdults, minKids, maxKids),
+            request -> customerService.findPage(searchText, minAdults, maxAdults, minKids, maxKids, request),
+            itemsPerPage);
+    }
+
+    /**
+     * Reloads the current page after a customer was added, changed or deleted.
+     */
+    private void refreshCustomers() {
+        showPage(pager::refresh);
+    }
+
+    private void showPage(KeysetPager.Step<Customer> step) {
+        searchPipeline.submitNow(step::run);
+    }
+
+    private void showView(KeysetPager.View<Customer> view) {
+        currentPage = view.getPageNumber();
+        totalItems = view.getTotalItems();
+        totalPages = view.getTotalPages();
+        customerList.setAll(view.getItems());
+        updatePaginationControls();
+    }
+
+    private void showLoadError(Exception e) {
+        setStatusMessage("Error loading customers: " + e.getMessage(), false);
+        e.printStackTrace();
+    }
+
+    // Filter options are "Any", an exact count, or a count with "+" meaning at least
+    private static Integer lowerBound(String filter) {
+        if (filter == null || filter.isEmpty() || filter.equals("Any")) {
+            return null;
         }
+        return Integer.valueOf(filter.endsWith("+") ? filter.substring(0, filter.length() - 1) : filter);
     }
-    
-    private List<Customer> filterCustomers(List<Customer> customers) {
-        String searchTerm = searchField.getText().toLowerCase();
-        String adultsFilter = filterAdultsComboBox.getValue() != null ? filterAdultsComboBox.getValue() : "";
-        String kidsFilter = filterKidsComboBox.getValue() != null ? filterKidsComboBox.getValue() : "";
-        
-        return customers.stream()
-            .filter(customer -> 
-                (searchTerm.isEmpty() || 
-                 (customer.getFirstName() != null && customer.getFirstName().toLowerCase().contains(searchTerm)) ||
-                 (customer.getLastName() != null && customer.getLastName().toLowerCase().contains(searchTerm)) ||
-                 (customer.getEmail() != null && customer.getEmail().toLowerCase().contains(searchTerm)) ||
-                 (customer.getPhoneNumber() != null && customer.getPhoneNumber().toLowerCase().contains(searchTerm))))
-            .filter(customer -> 
-                adultsFilter.isEmpty() || 
-                adultsFilter.equals("Any") ||
-                (adultsFilter.equals("4+") && customer.getNumberOfAdults() >= 4) ||
-                String.valueOf(customer.getNumberOfAdults()).equals(adultsFilter))
-            .filter(customer -> 
-                kidsFilter.isEmpty() ||
-                kidsFilter.equals("Any") ||
-                (kidsFilter.equals("3+") && customer.getNumberOfKids() >= 3) ||
-                String.valueOf(customer.getNumberOfKids()).equals(kidsFilter))
-            .collect(Collectors.toList());
+
+    private static Integer upperBound(String filter) {
+        if (filter == null || filter.isEmpty() || filter.equals("Any") || filter.endsWith("+")) {
+            return null;
+        }
+        return Integer.valueOf(filter);
     }
     
     private void setupPaginationControls() {
@@ -188,7 +195,6 @@ public class CustomerController {
         // Add listener to items per page combo box
         itemsPerPageCombo.valueProperty().addListener((obs, oldValue, newValue) -> {
             if (newValue != null && !newValue.equals(oldValue)) {
-                currentPage = 1; // Reset to first page when changing page size
                 loadCustomers();
             }
         });
@@ -206,32 +212,28 @@ public class CustomerController {
     @FXML
     private void handleFirstPage() {
         if (currentPage != 1 && totalPages > 0) {
-            currentPage = 1;
-            loadCustomers();
+            showPage(pager::first);
         }
     }
 
     @FXML
     private void handlePrevPage() {
         if (currentPage > 1) {
-            currentPage--;
-            loadCustomers();
+            showPage(pager::previous);
         }
     }
 
     @FXML
     private void handleNextPage() {
         if (currentPage < totalPages) {
-            currentPage++;
-            loadCustomers();
+            showPage(pager::next);
         }
     }
 
     @FXML
     private void handleLastPage() {
         if (currentPage != totalPages && totalPages > 0) {
-            currentPage = totalPages;
-            loadCustomers();
+            showPage(pager::last);
         }
     }
     
@@ -296,13 +298,13 @@ public class CustomerController {
         );
 
         try {
-            if (customerDAO == null) {
+            if (customerService == null) {
                 setStatusMessage("Error: Customer service not available.", false);
                 return;
             }
-            boolean success = customerDAO.addCustomer(newCustomer);
+            boolean success = customerService.addCustomer(newCustomer);
             if (success) {
-                loadCustomers();
+                refreshCustomers();
                 handleClearFields();
                 setStatusMessage("Customer added successfully!", true);
             } else {
@@ -339,13 +341,13 @@ public class CustomerController {
         );
 
         try {
-            if (customerDAO == null) {
+            if (customerService == null) {
                 setStatusMessage("Error: Customer service not available.", false);
                 return;
             }
-            boolean success = customerDAO.updateCustomer(updatedCustomer);
+            boolean success = customerService.updateCustomer(updatedCustomer);
             if (success) {
-                loadCustomers();
+                refreshCustomers();
                 setStatusMessage("Customer updated successfully!", true);
             } else {
                 setStatusMessage("Failed to update customer.", false);
@@ -375,13 +377,13 @@ public class CustomerController {
 
         if (alert.showAndWait().get() == ButtonType.OK) {
             try {
-                if (customerDAO == null) {
+                if (customerService == null) {
                     setStatusMessage("Error: Customer service not available.", false);
                     return;
                 }
-                boolean success = customerDAO.deleteCustomer(selectedCustomer.getCustomerId());
+                boolean success = customerService.deleteCustomer(selectedCustomer.getCustomerId());
                 if (success) {
-                    loadCustomers();
+                    refreshCustomers();
                     handleClearFields();
                     setStatusMessage("Customer deleted successfully!", true);
                 } else {
@@ -457,7 +459,6 @@ public class CustomerController {
 
     @FXML
     private void handleSearch() {
-        currentPage = 1; // Reset to first page when searching
         loadCustomers();
     }
 
@@ -466,40 +467,11 @@ public class CustomerController {
         searchField.clear();
         filterAdultsComboBox.getSelectionModel().clearSelection();
         filterKidsComboBox.getSelectionModel().clearSelection();
-        currentPage = 1; // Reset to first page when clearing filters
         loadCustomers();
     }
 
     @FXML
     private void handleRefresh() {
-        currentPage = 1; // Reset to first page when refreshing
         loadCustomers();
     }
-
-    private void applyFilters() {
-        String searchText = searchField.getText().toLowerCase();
-        String adultsFilter = filterAdultsComboBox.getValue();
-        String kidsFilter = filterKidsComboBox.getValue();
-
-        ObservableList<Customer> filteredList = customerList.filtered(customer -> {
-            boolean matchesSearch = searchText.isEmpty() ||
-                String.valueOf(customer.getCustomerId()).contains(searchText) ||
-                customer.getFirstName().toLowerCase().contains(searchText) ||
-                customer.getLastName().toLowerCase().contains(searchText) ||
-                customer.getEmail().toLowerCase().contains(searchText) ||
-                customer.getPhoneNumber().toLowerCase().contains(searchText);
-
-            boolean matchesAdults = adultsFilter.equals("Any") ||
-                (adultsFilter.equals("4+") && customer.getNumberOfAdults() >= 4) ||
-                String.valueOf(customer.getNumberOfAdults()).equals(adultsFilter);
-
-            boolean matchesKids = kidsFilter.equals("Any") ||
-                (kidsFilter.equals("3+") && customer.getNumberOfKids() >= 3) ||
-                String.valueOf(customer.getNumberOfKids()).equals(kidsFilter);
-
-            return matchesSearch && matchesAdults && matchesKids;
-        });
-
-        customersTableView.setItems(filteredList);
-    }
-} 
\ No newline at end of file
+}
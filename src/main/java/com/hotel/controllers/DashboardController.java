@@ -3,16 +3,26 @@ package com.hotel.controllers;
 import com.hotel.dao.DashboardDAO;
 import com.hotel.dao.impl.DashboardDAOImpl;
 import com.hotel.models.DashboardSummary;
+import com.hotel.util.QueryMetrics;
+import com.hotel.jfr.ViewUpdateEvent;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ProgressBar;
+import javafx.stage.Stage;
 import java.net.URL;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class DashboardController implements Initializable {
     // Room Status Labels
@@ -48,59 +58,176 @@ public class DashboardController implements Initializable {
     private static final DecimalFormat CURRENCY_FORMAT = new DecimalFormat("$#,##0.00");
     private static final DecimalFormat RATING_FORMAT = new DecimalFormat("#.#");
 
+    // Auto-refresh period; override with -Dhotel.dashboard.refreshSeconds=N, 0 disables it
+    private static final long DEFAULT_REFRESH_SECONDS = Long.getLong("hotel.dashboard.refreshSeconds", 30);
+    private static final double PROGRESS_EPSILON = 0.0005;
+
+    // One daemon thread runs the queries for all dashboard instances; it also ticks the timers
+    private static final ScheduledExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long refreshSeconds = DEFAULT_REFRESH_SECONDS;
+    private ScheduledFuture<?> refreshTimer;
+    // Confined to the JavaFX thread
+    private boolean refreshInFlight;
+    private boolean manualRefreshPending;
+
     public DashboardController() {
-        this.dashboardDAO = new DashboardDAOImpl();
+        this.dashboardDAO = QueryMetrics.instrument(DashboardDAO.class, new DashboardDAOImpl());
     }
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
-        refreshDashboard();
+        // Run the timer only while the view is attached; MainController drops it on navigation
+        lastUpdatedLabel.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                startAutoRefresh();
+            } else {
+                stopAutoRefresh();
+            }
+        });
+        refreshDashboard(true);
     }
 
     @FXML
     private void handleRefreshDashboard() {
-        refreshDashboard();
+        refreshDashboard(true);
+    }
+
+    /**
+     * Changes the auto-refresh period; 0 or less turns auto-refresh off.
+     */
+    public void setRefreshInterval(long seconds) {
+        refreshSeconds = seconds;
+        stopAutoRefresh();
+        if (lastUpdatedLabel.getScene() != null) {
+            startAutoRefresh();
+        }
+    }
+
+    private void startAutoRefresh() {
+        if (refreshTimer != null || refreshSeconds <= 0) {
+            return;
+        }
+        refreshTimer = REFRESH_EXECUTOR.scheduleWithFixedDelay(
+                () -> Platform.runLater(() -> refreshDashboard(false)),
+                refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    private void stopAutoRefresh() {
+        if (refreshTimer != null) {
+            refreshTimer.cancel(false);
+            refreshTimer = null;
+        }
+    }
+
+    /**
+     * Fetches the summary in the background and shows it. Runs on the JavaFX thread.
+     * A manual refresh requested while one is running is run once when it finishes;
+     * an automatic one is dropped, as is an automatic one while the dashboard is not on screen.
+     */
+    private void refreshDashboard(boolean manual) {
+        if (refreshInFlight) {
+            manualRefreshPending |= manual;
+            return;
+        }
+        if (!manual && !isOnScreen()) {
+            return;
+        }
+        refreshInFlight = true;
+        REFRESH_EXECUTOR.execute(() -> {
+            DashboardSummary summary = null;
+            Exception failure = null;
+            try {
+                summary = dashboardDAO.getDashboardSummary();
+            } catch (Exception e) {
+                failure = e;
+            }
+            DashboardSummary result = summary;
+            Exception error = failure;
+            Platform.runLater(() -> finishRefresh(manual, result, error));
+        });
     }
 
-    private void refreshDashboard() {
-        try {
-            DashboardSummary summary = dashboardDAO.getDashboardSummary();
-            updateDashboardUI(summary);
+    private void finishRefresh(boolean manual, DashboardSummary summary, Exception failure) {
+        refreshInFlight = false;
+        if (failure != null) {
+            failure.printStackTrace();
+            if (manual) {
+                showError("Dashboard Error", "Failed to refresh dashboard data: " + failure.getMessage());
+            } else {
+                System.err.println("Dashboard auto-refresh failed: " + failure.getMessage());
+            }
+        } else {
+            ViewUpdateEvent.run(this, "updateDashboardUI", !manual, () -> updateDashboardUI(summary));
             lastUpdatedLabel.setText("Last Updated: " + LocalDateTime.now().format(TIME_FORMATTER));
-        } catch (Exception e) {
-            showError("Dashboard Error", "Failed to refresh dashboard data: " + e.getMessage());
-            e.printStackTrace();
         }
+        if (manualRefreshPending) {
+            manualRefreshPending = false;
+            refreshDashboard(true);
+        }
+    }
+
+    private boolean isOnScreen() {
+        Scene scene = lastUpdatedLabel.getScene();
+        if (scene == null || scene.getWindow() == null || !scene.getWindow().isShowing()) {
+            return false;
+        }
+        if (scene.getWindow() instanceof Stage && ((Stage) scene.getWindow()).isIconified()) {
+            return false;
+        }
+        for (Node node = lastUpdatedLabel; node != null; node = node.getParent()) {
+            if (!node.isVisible()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void updateDashboardUI(DashboardSummary summary) {
+        // Only touch controls whose value changed, so an idle dashboard causes no relayout
         // Update room status
-        availableRoomsLabel.setText(String.valueOf(summary.getAvailableRooms()));
-        cleaningRoomsLabel.setText(String.valueOf(summary.getCleaningRooms()));
-        maintenanceRoomsLabel.setText(String.valueOf(summary.getMaintenanceRooms()));
-        outOfServiceRoomsLabel.setText(String.valueOf(summary.getOutOfServiceRooms()));
-        bookedRoomsLabel.setText(String.valueOf(summary.getBookedRooms()));
-        occupiedRoomsLabel.setText(String.valueOf(summary.getOccupiedRooms()));
-        totalRoomsLabel.setText(String.valueOf(summary.getTotalRooms()));
+        setText(availableRoomsLabel, String.valueOf(summary.getAvailableRooms()));
+        setText(cleaningRoomsLabel, String.valueOf(summary.getCleaningRooms()));
+        setText(maintenanceRoomsLabel, String.valueOf(summary.getMaintenanceRooms()));
+        setText(outOfServiceRoomsLabel, String.valueOf(summary.getOutOfServiceRooms()));
+        setText(bookedRoomsLabel, String.valueOf(summary.getBookedRooms()));
+        setText(occupiedRoomsLabel, String.valueOf(summary.getOccupiedRooms()));
+        setText(totalRoomsLabel, String.valueOf(summary.getTotalRooms()));
         
         // Update staff and bookings
-        totalStaffLabel.setText(String.valueOf(summary.getTotalStaff()));
-        todaysBookingsLabel.setText(String.valueOf(summary.getTodaysBookings()));
-        todaysCheckInsLabel.setText(String.valueOf(summary.getTodaysCheckIns()));
-        todaysCheckOutsLabel.setText(String.valueOf(summary.getTodaysCheckOuts()));
+        setText(totalStaffLabel, String.valueOf(summary.getTotalStaff()));
+        setText(todaysBookingsLabel, String.valueOf(summary.getTodaysBookings()));
+        setText(todaysCheckInsLabel, String.valueOf(summary.getTodaysCheckIns()));
+        setText(todaysCheckOutsLabel, String.valueOf(summary.getTodaysCheckOuts()));
         
         // Update feedback and revenue
-        avgFeedbackRatingLabel.setText(RATING_FORMAT.format(summary.getAvgFeedbackRating30Days()) + " / 5.0");
-        todaysRevenueLabel.setText(CURRENCY_FORMAT.format(summary.getTodaysRevenue()));
-        revenueLast30DaysLabel.setText(CURRENCY_FORMAT.format(summary.getRevenueLast30Days()));
+        setText(avgFeedbackRatingLabel, RATING_FORMAT.format(summary.getAvgFeedbackRating30Days()) + " / 5.0");
+        setText(todaysRevenueLabel, CURRENCY_FORMAT.format(summary.getTodaysRevenue()));
+        setText(revenueLast30DaysLabel, CURRENCY_FORMAT.format(summary.getRevenueLast30Days()));
         
         // Update progress bars
         double occupancyRate = summary.getTotalRooms() > 0 ? 
             (double) (summary.getOccupiedRooms() + summary.getBookedRooms()) / summary.getTotalRooms() : 0;
-        roomOccupancyProgress.setProgress(occupancyRate);
+        setProgress(roomOccupancyProgress, occupancyRate);
         
         double ratingProgress = summary.getAvgFeedbackRating30Days() / 5.0;
-        feedbackRatingProgress.setProgress(ratingProgress);
+        setProgress(feedbackRatingProgress, ratingProgress);
+    }
+
+    private static void setText(Label label, String text) {
+        if (!text.equals(label.getText())) {
+            label.setText(text);
+        }
+    }
+
+    private static void setProgress(ProgressBar bar, double progress) {
+        if (Math.abs(bar.getProgress() - progress) > PROGRESS_EPSILON) {
+            bar.setProgress(progress);
+        }
     }
 
     private void showError(String title, String content) {
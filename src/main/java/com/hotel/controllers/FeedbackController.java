@@ -1,14 +1,12 @@
 package com.hotel.controllers;
 
-import com.hotel.dao.CustomerDAO;
-import com.hotel.dao.BookingDAO;
-import com.hotel.dao.FeedbackDAO;
-import com.hotel.dao.impl.CustomerDAOImpl;
-import com.hotel.dao.impl.BookingDAOImpl;
-import com.hotel.dao.impl.FeedbackDAOImpl;
 import com.hotel.model.Customer;
 import com.hotel.model.Booking;
 import com.hotel.models.Feedback;
+import com.hotel.service.CustomerService;
+import com.hotel.service.FeedbackService;
+import com.hotel.service.ReservationService;
+import com.hotel.jfr.ControllerPhaseEvent;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -41,15 +39,15 @@ public class FeedbackController implements Initializable {
     // ObservableList to hold the filtered feedback
     private ObservableList<Feedback> feedbackList = FXCollections.observableArrayList();
 
-    private final FeedbackDAO feedbackDAO = new FeedbackDAOImpl();
-    private final CustomerDAO customerDAO = new CustomerDAOImpl();
-    private final BookingDAO bookingDAO = new BookingDAOImpl();
+    private final FeedbackService feedbackService = FeedbackService.getInstance();
+    private final CustomerService customerService = CustomerService.getInstance();
+    private final ReservationService reservationService = ReservationService.getInstance();
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
-        setupTableColumns();
-        setupComboBoxes();
-        loadFeedbackData();
+        ControllerPhaseEvent.run(this, "setupTableColumns", this::setupTableColumns);
+        ControllerPhaseEvent.run(this, "setupComboBoxes", this::setupComboBoxes);
+        ControllerPhaseEvent.run(this, "loadFeedbackData", this::loadFeedbackData);
     }
 
     private void setupTableColumns() {
@@ -91,7 +89,7 @@ public class FeedbackController implements Initializable {
         
         // Load customer data
         try {
-            List<Customer> customers = customerDAO.findAll();
+            List<Customer> customers = customerService.getCustomers();
             ObservableList<String> customerOptions = FXCollections.observableArrayList();
             customerOptions.add("Select Customer");
             customers.forEach(customer -> 
@@ -103,7 +101,7 @@ public class FeedbackController implements Initializable {
         
         // Load booking data
         try {
-            List<Booking> bookings = bookingDAO.getAllBookings();
+            List<Booking> bookings = reservationService.getBookings();
             ObservableList<String> bookingOptions = FXCollections.observableArrayList();
             bookingOptions.add("Select Booking");
             bookings.forEach(booking -> 
@@ -116,7 +114,7 @@ public class FeedbackController implements Initializable {
     }
 
     private void loadFeedbackData() {
-        List<Feedback> feedbacks = feedbackDAO.getAllFeedback();
+        List<Feedback> feedbacks = feedbackService.getFeedback();
         feedbackList.setAll(feedbacks);
         feedbackTable.setItems(feedbackList);
     }
@@ -125,7 +123,7 @@ public class FeedbackController implements Initializable {
         String searchText = searchField.getText().toLowerCase();
         Integer selectedRating = filterRatingComboBox.getValue();
         
-        List<Feedback> filteredList = feedbackDAO.getAllFeedback().stream()
+        List<Feedback> filteredList = feedbackService.getFeedback().stream()
             .filter(feedback -> {
                 // Filter by search text (in customer name or comments)
                 boolean matchesSearch = searchText.isEmpty() ||
@@ -156,7 +154,7 @@ public class FeedbackController implements Initializable {
             String selectedCustomer = customerComboBox.getValue();
             if (selectedCustomer != null && !selectedCustomer.equals("Select Customer")) {
                 // Extract customer ID from the display string
-                List<Customer> customers = customerDAO.findAll();
+                List<Customer> customers = customerService.getCustomers();
                 Customer selectedCustomerObj = customers.stream()
                     .filter(c -> (c.getFirstName() + " " + c.getLastName()).equals(selectedCustomer))
                     .findFirst().orElse(null);
@@ -176,7 +174,7 @@ public class FeedbackController implements Initializable {
             feedback.setComments(commentsArea.getText());
             feedback.setFeedbackDate(Timestamp.valueOf(LocalDateTime.now()));
 
-            feedbackDAO.addFeedback(feedback);
+            feedbackService.addFeedback(feedback);
             
             // Clear form and refresh table
             clearForm();
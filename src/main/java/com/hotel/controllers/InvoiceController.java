@@ -1,11 +1,14 @@
 package com.hotel.controllers;
 
-import com.hotel.dao.InvoiceDAO;
-import com.hotel.dao.impl.InvoiceDAOImpl;
 import com.hotel.model.Invoice;
 import com.hotel.model.BookingService;
+import com.hotel.service.BillingService;
+import com.hotel.util.InvoiceBatchExporter;
+import com.hotel.util.InvoicePdfRenderer;
+import com.hotel.jfr.ControllerPhaseEvent;
 
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
@@ -13,11 +16,6 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
 import java.io.File;
 import java.io.IOException;
@@ -26,6 +24,7 @@ import java.net.URL;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -49,17 +48,21 @@ public class InvoiceController implements Initializable {
     @FXML private TextField searchField;
     @FXML private ComboBox<String> statusFilterComboBox;
     @FXML private Label statusLabel;
+    // Optional issue date range for the batch export
+    @FXML private DatePicker batchFromDatePicker;
+    @FXML private DatePicker batchToDatePicker;
     
-    private final InvoiceDAO invoiceDAO = new InvoiceDAOImpl();
+    private final BillingService billingService = BillingService.getInstance();
     private ObservableList<Invoice> invoiceList = FXCollections.observableArrayList();
     private FilteredList<Invoice> filteredInvoices;
+    private Task<InvoiceBatchExporter.Result> batchExportTask;
     
     @Override
     public void initialize(URL url, ResourceBundle rb) {
-        setupTableColumns();
-        setupFilters();
-        setupTableSelectionListener();
-        loadInvoiceData();
+        ControllerPhaseEvent.run(this, "setupTableColumns", this::setupTableColumns);
+        ControllerPhaseEvent.run(this, "setupFilters", this::setupFilters);
+        ControllerPhaseEvent.run(this, "setupTableSelectionListener", this::setupTableSelectionListener);
+        ControllerPhaseEvent.run(this, "loadInvoiceData", this::loadInvoiceData);
     }
     
     private void setupTableColumns() {
@@ -182,7 +185,7 @@ public class InvoiceController implements Initializable {
     
     private void loadInvoiceData() {
         try {
-            List<Invoice> invoices = invoiceDAO.getAllInvoices();
+            List<Invoice> invoices = billingService.getInvoicesWithDetails();
             invoiceList.setAll(invoices);
             
             // Initialize filtered list
@@ -243,9 +246,9 @@ public class InvoiceController implements Initializable {
         
         try {
             // Get detailed invoice data
-            Invoice invoiceDetails = invoiceDAO.getInvoiceDetails(selectedInvoice.getInvoiceId());
+            Invoice invoiceDetails = billingService.getInvoiceDetails(selectedInvoice.getInvoiceId());
             List<BookingService> bookingServices = 
-                    invoiceDAO.getBookingServicesForBooking(invoiceDetails.getBookingId());
+                    billingService.getServiceChargesForBooking(invoiceDetails.getBookingId());
             
             // Create file chooser
             FileChooser fileChooser = new FileChooser();
@@ -268,145 +271,79 @@ public class InvoiceController implements Initializable {
     }
     
     private void generatePdf(File file, Invoice invoice, List<BookingService> services) throws IOException {
-        PDDocument document = new PDDocument();
-        try {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-            try {
-                float margin = 50;
-                float yStart = page.getMediaBox().getHeight() - margin;
-                float yPosition = yStart;
-                int fontSize = 12;
-                
-                // Hotel Name and Invoice Title
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 18);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Hotel Management System");
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Invoice No: " + invoice.getInvoiceId());
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Customer Name: " + invoice.getCustomerName());
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Room Number: " + invoice.getRoomNumber());
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Issue Date: " + formatDate(invoice.getIssueDate()));
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Due Date: " + formatDate(invoice.getDueDate()));
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Services:");
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                for (BookingService service : services) {
-                    BigDecimal price = service.getServicePrice();
-                    BigDecimal total = price.multiply(BigDecimal.valueOf(service.getQuantity()));
-                    contentStream.beginText();
-                    contentStream.setFont(PDType1Font.HELVETICA, fontSize);
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(service.getServiceName() + " x " + service.getQuantity() + " = " + formatCurrency(total));
-                    contentStream.endText();
-                    
-                    yPosition -= 20;
-                }
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Room Cost: " + formatCurrency(invoice.getRoomCost()));
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Service Cost: " + formatCurrency(invoice.getServiceCost()));
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Total Amount: " + formatCurrency(invoice.getTotalAmount()));
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Paid Amount: " + formatCurrency(invoice.getPaidAmount()));
-                contentStream.endText();
-                
-                yPosition -= 20;
-                
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, fontSize);
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Balance Due: " + formatCurrency(invoice.getBalanceDue()));
-                contentStream.endText();
-            } finally {
-                if (contentStream != null) {
-                    contentStream.close();
-                }
-            }
-        } finally {
-            if (document != null) {
-                document.save(file);
-                document.close();
-            }
-        }
+        InvoicePdfRenderer.render(invoice, services, file);
     }
     
-    private String formatDate(java.sql.Date date) {
-        if (date == null) return "N/A";
-        return new SimpleDateFormat("yyyy-MM-dd").format(date);
+    /**
+     * Exports every invoice matching the status filter and the optional issue date range
+     * to one ZIP file, rendering in the background.
+     */
+    @FXML
+    private void handleExportBatchToPdf() {
+        if (batchExportTask != null) {
+            batchExportTask.cancel();
+            return;
+        }
+        String statusFilter = statusFilterComboBox.getValue();
+        String status = statusFilter == null || "All".equals(statusFilter) ? null : statusFilter;
+        LocalDate issuedFrom = batchFromDatePicker != null ? batchFromDatePicker.getValue() : null;
+        LocalDate issuedTo = batchToDatePicker != null ? batchToDatePicker.getValue() : null;
+        
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Invoice PDFs");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("ZIP Files", "*.zip"));
+        fileChooser.setInitialFileName("Invoices.zip");
+        File file = fileChooser.showSaveDialog(invoiceTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        Task<InvoiceBatchExporter.Result> task = new Task<>() {
+            @Override
+            protected InvoiceBatchExporter.Result call() throws Exception {
+                return billingService.exportInvoices(issuedFrom, issuedTo, status, InvoiceBatchExporter.Output.ZIP,
+                        file,
+                        (done, total) -> {
+                            updateProgress(done, total);
+                            updateMessage("Exported " + done + " of " + total + " invoices");
+                        },
+                        this::isCancelled);
+            }
+        };
+        batchExportTask = task;
+        statusLabel.textProperty().bind(task.messageProperty());
+        
+        task.setOnSucceeded(event -> {
+            finishBatchExport();
+            InvoiceBatchExporter.Result result = task.getValue();
+            statusLabel.setText(String.format("Exported %d invoices in %.1f s (%.1f per second)",
+                    result.getWritten(), result.getRenderMillis() / 1000.0, result.getInvoicesPerSecond()));
+            if (!result.getFailures().isEmpty()) {
+                showAlert(Alert.AlertType.WARNING, "Batch Export", 
+                        result.getFailures().size() + " invoices could not be exported",
+                        String.join("\n", result.getFailures()));
+            }
+        });
+        task.setOnCancelled(event -> {
+            finishBatchExport();
+            statusLabel.setText("Batch export cancelled");
+        });
+        task.setOnFailed(event -> {
+            finishBatchExport();
+            statusLabel.setText("Batch export failed");
+            showAlert(Alert.AlertType.ERROR, "PDF Generation Error", 
+                    "Failed to export invoices", task.getException().getMessage());
+        });
+        
+        Thread thread = new Thread(task, "invoice-batch-export");
+        thread.setDaemon(true);
+        thread.start();
     }
     
-    private String formatCurrency(BigDecimal amount) {
-        if (amount == null) return "N/A";
-        return NumberFormat.getCurrencyInstance().format(amount);
+    private void finishBatchExport() {
+        batchExportTask = null;
+        statusLabel.textProperty().unbind();
     }
     
     private void showAlert(Alert.AlertType type, String title, String header, String content) {
@@ -0,0 +1,148 @@
+package com.hotel.controllers;
+
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Pagination state behind the first/previous/next/last controls of a table view.
+ *
+ * The row count is queried only when the filter changes or the data is refreshed; moving
+ * between pages fetches just the requested page, seeking from the cursors of the page on screen.
+ * Operations may run on a background thread; each returns an immutable {@link View} to display.
+ *
+ * @param <T> the row type
+ */
+class KeysetPager<T> {
+
+    /**
+     * Counts the rows matching a filter.
+     */
+    interface Counter {
+        int count() throws SQLException;
+    }
+
+    /**
+     * Fetches one page of the rows matching a filter.
+     */
+    interface Fetcher<T> {
+        Page<T> fetch(PageRequest request) throws SQLException;
+    }
+
+    /**
+     * One pager operation, e.g. {@code pager::next}, for controllers to run and display uniformly.
+     */
+    interface Step<T> {
+        View<T> run() throws SQLException;
+    }
+
+    /**
+     * What to show after an operation: the rows plus the numbers for the page label.
+     */
+    static class View<T> {
+        private final List<T> items;
+        private final int pageNumber;
+        private final int totalItems;
+        private final int totalPages;
+
+        View(List<T> items, int pageNumber, int totalItems, int totalPages) {
+            this.items = items;
+            this.pageNumber = pageNumber;
+            this.totalItems = totalItems;
+            this.totalPages = totalPages;
+        }
+
+        List<T> getItems() { return items; }
+        int getPageNumber() { return pageNumber; }
+        int getTotalItems() { return totalItems; }
+        int getTotalPages() { return totalPages; }
+    }
+
+    private Counter counter;
+    private Fetcher<T> fetcher;
+    private int pageSize;
+    private int pageNumber = 1;
+    private int totalItems;
+    private Page<T> page;
+
+    /**
+     * Switches to a new filter or page size and shows its first page. The counter and fetcher
+     * should capture the filter values, so paging keeps using the filter that was counted.
+     * The pager is left unchanged if either query fails.
+     */
+    synchronized View<T> load(Counter counter, Fetcher<T> fetcher, int pageSize) throws SQLException {
+        int count = counter.count();
+        Page<T> firstPage = fetcher.fetch(PageRequest.first(pageSize));
+        this.counter = counter;
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.totalItems = count;
+        this.pageNumber = 1;
+        this.page = firstPage;
+        return view();
+    }
+
+    /**
+     * Re-counts and reloads the page on screen, e.g. after a row was added or deleted.
+     */
+    synchronized View<T> refresh() throws SQLException {
+        totalItems = counter.count();
+        if (page == null || page.isEmpty() || pageNumber == 1) {
+            return show(1, PageRequest.first(pageSize));
+        }
+        int number = Math.min(pageNumber, getTotalPages());
+        Page<T> reloaded = fetcher.fetch(PageRequest.startingAt(page.getFirst(), pageSize));
+        if (reloaded.isEmpty()) {
+            // Everything from this page on was deleted
+            return last();
+        }
+        pageNumber = number;
+        page = reloaded;
+        return view();
+    }
+
+    synchronized View<T> first() throws SQLException {
+        return show(1, PageRequest.first(pageSize));
+    }
+
+    synchronized View<T> next() throws SQLException {
+        if (page == null || !page.hasNext()) {
+            return view();
+        }
+        return show(pageNumber + 1, PageRequest.after(page.getLast(), pageSize));
+    }
+
+    synchronized View<T> previous() throws SQLException {
+        if (page == null || !page.hasPrevious()) {
+            return view();
+        }
+        return show(Math.max(1, pageNumber - 1), PageRequest.before(page.getFirst(), pageSize));
+    }
+
+    synchronized View<T> last() throws SQLException {
+        int totalPages = getTotalPages();
+        if (totalPages <= 1) {
+            return first();
+        }
+        // Size the last page so page boundaries match those reached by paging forward
+        int lastPageSize = totalItems - (totalPages - 1) * pageSize;
+        return show(totalPages, PageRequest.last(lastPageSize));
+    }
+
+    private int getTotalPages() {
+        return pageSize == 0 ? 0 : (int) Math.ceil((double) totalItems / pageSize);
+    }
+
+    private View<T> show(int number, PageRequest request) throws SQLException {
+        page = fetcher.fetch(request);
+        pageNumber = number;
+        return view();
+    }
+
+    private View<T> view() {
+        List<T> items = page == null ? List.of() : page.getItems();
+        return new View<>(items, pageNumber, totalItems, getTotalPages());
+    }
+}
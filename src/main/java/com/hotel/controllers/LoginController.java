@@ -4,6 +4,7 @@ import com.hotel.MainApp;
 import com.hotel.dao.UserDAO; // Assuming you'll create an implementation like UserDAOImpl
 import com.hotel.dao.impl.UserDAOImpl;
 import com.hotel.model.User;
+import com.hotel.util.QueryMetrics;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -26,7 +27,7 @@ public class LoginController {
 
     public LoginController() {
         try {
-            userDAO = new UserDAOImpl();
+            userDAO = QueryMetrics.instrument(UserDAO.class, new UserDAOImpl());
         } catch (Exception e) {
             System.err.println("Error initializing LoginController: " + e.getMessage());
         }
@@ -68,7 +69,7 @@ public class LoginController {
         // --- DAO Logic (Now active) ---
         try {
             if (userDAO == null) {
-                userDAO = new UserDAOImpl(); // Initialize if null
+                userDAO = QueryMetrics.instrument(UserDAO.class, new UserDAOImpl()); // Initialize if null
             }
             Optional<User> userOptional = userDAO.findByUsername(username);
 
@@ -1,6 +1,7 @@
 package com.hotel.controllers;
 
 import java.io.IOException;
+import com.hotel.jfr.ViewLoadEvent;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -73,9 +74,12 @@ public class MainController {
      * @param fxmlFile The FXML file to load
      */
     private void loadView(String fxmlFile) {
+        ViewLoadEvent event = new ViewLoadEvent();
+        event.begin();
+        FXMLLoader loader = null;
         try {
             // Load the FXML file
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/hotel/fxml/" + fxmlFile));
+            loader = new FXMLLoader(getClass().getResource("/com/hotel/fxml/" + fxmlFile));
             if (loader.getLocation() == null) {
                 throw new IOException("FXML file not found: " + fxmlFile);
             }
@@ -88,11 +92,21 @@ public class MainController {
             
             // Controller can be accessed here if needed
         } catch (IOException e) {
+            event.failed = true;
             e.printStackTrace();
             showErrorAlert("Error loading view: " + fxmlFile + "\nError: " + e.getMessage());
         } catch (Exception e) {
+            event.failed = true;
             e.printStackTrace();
             showErrorAlert("Unexpected error loading view: " + fxmlFile + "\nError: " + e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object controller = loader != null ? loader.getController() : null;
+                event.fxml = fxmlFile;
+                event.controller = controller != null ? controller.getClass().getSimpleName() : null;
+                event.commit();
+            }
         }
     }
     
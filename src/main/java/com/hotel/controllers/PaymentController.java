@@ -1,11 +1,14 @@
 package com.hotel.controllers;
 
-import com.hotel.dao.PaymentDAO;
-import com.hotel.dao.impl.PaymentDAOImpl;
 import com.hotel.model.Invoice;
 import com.hotel.model.Payment;
+import com.hotel.service.BillingService;
+import com.hotel.service.ValidationException;
 import com.hotel.util.AlertUtil;
+import com.hotel.jfr.ControllerPhaseEvent;
+import com.hotel.jfr.ExportEvent;
 
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -16,14 +19,6 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
 import javafx.util.StringConverter;
 
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.ss.usermodel.IndexedColors;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -45,8 +40,8 @@ import java.util.ResourceBundle;
 
 public class PaymentController implements Initializable {
 
-    // DAO
-    private final PaymentDAO paymentDAO = new PaymentDAOImpl();
+    // Service
+    private final BillingService billingService = BillingService.getInstance();
     
     // Form fields
     @FXML private ComboBox<Invoice> invoiceComboBox;
@@ -82,20 +77,21 @@ public class PaymentController implements Initializable {
     // Data
     private ObservableList<Payment> payments = FXCollections.observableArrayList();
     private ObservableList<Invoice> invoices = FXCollections.observableArrayList();
+    private PaymentExportTask exportTask;
     
     @Override
     public void initialize(URL url, ResourceBundle rb) {
-        initializePaymentMethodComboBox();
-        initializeInvoiceComboBox();
-        initializeTableColumns();
-        setupListeners();
+        ControllerPhaseEvent.run(this, "initializePaymentMethodComboBox", this::initializePaymentMethodComboBox);
+        ControllerPhaseEvent.run(this, "initializeInvoiceComboBox", this::initializeInvoiceComboBox);
+        ControllerPhaseEvent.run(this, "initializeTableColumns", this::initializeTableColumns);
+        ControllerPhaseEvent.run(this, "setupListeners", this::setupListeners);
         
         // Set default date to today
         paymentDatePicker.setValue(LocalDate.now());
         
         // Load data
-        loadInvoices();
-        loadPayments();
+        ControllerPhaseEvent.run(this, "loadInvoices", this::loadInvoices);
+        ControllerPhaseEvent.run(this, "loadPayments", this::loadPayments);
     }
     
     private void initializePaymentMethodComboBox() {
@@ -119,7 +115,7 @@ public class PaymentController implements Initializable {
                     setText(String.format("Invoice #%d - %s - $%.2f", 
                             invoice.getInvoiceId(), 
                             invoice.getCustomerName(),
-                            invoice.getBalanceDue().doubleValue()));
+                            billingService.balanceDue(invoice).doubleValue()));
                 }
             }
         });
@@ -208,7 +204,7 @@ public class PaymentController implements Initializable {
                 updateInvoiceDetails(newVal);
                 
                 // Set default payment amount to balance due
-                amountField.setText(String.format("%.2f", newVal.getBalanceDue().doubleValue()));
+                amountField.setText(String.format("%.2f", billingService.balanceDue(newVal).doubleValue()));
             } else {
                 clearInvoiceDetails();
             }
@@ -225,7 +221,7 @@ public class PaymentController implements Initializable {
         roomNumberLabel.setText(invoice.getRoomNumber());
         invoiceStatusLabel.setText(invoice.getInvoiceStatus());
         invoiceTotalLabel.setText(String.format("$%.2f", invoice.getTotalAmount().doubleValue()));
-        balanceDueLabel.setText(String.format("$%.2f", invoice.getBalanceDue().doubleValue()));
+        balanceDueLabel.setText(String.format("$%.2f", billingService.balanceDue(invoice).doubleValue()));
         
         // Set text color based on invoice status
         String status = invoice.getInvoiceStatus();
@@ -249,7 +245,7 @@ public class PaymentController implements Initializable {
     
     private void loadInvoices() {
         try {
-            List<Invoice> invoiceList = paymentDAO.getAllInvoices();
+            List<Invoice> invoiceList = billingService.getInvoices();
             invoices.clear();
             invoices.addAll(invoiceList);
             invoiceComboBox.setItems(invoices);
@@ -264,7 +260,7 @@ public class PaymentController implements Initializable {
     
     private void loadPayments() {
         try {
-            List<Payment> paymentList = paymentDAO.getAllPayments();
+            List<Payment> paymentList = billingService.getPayments();
             payments.clear();
             payments.addAll(paymentList);
         } catch (SQLException e) {
@@ -275,53 +271,9 @@ public class PaymentController implements Initializable {
     @FXML
     private void handleRecordPayment() {
         try {
-            // Validate input
-            Invoice selectedInvoice = invoiceComboBox.getValue();
-            if (selectedInvoice == null) {
-                AlertUtil.showWarningAlert("Validation Error", "No Invoice Selected", "Please select an invoice for this payment.");
-                return;
-            }
-            
-            if (paymentDatePicker.getValue() == null) {
-                AlertUtil.showWarningAlert("Validation Error", "No Date Selected", "Please select a payment date.");
-                return;
-            }
-            
-            String amountText = amountField.getText().trim();
-            if (amountText.isEmpty()) {
-                AlertUtil.showWarningAlert("Validation Error", "Amount Required", "Please enter a payment amount.");
-                return;
-            }
-            
-            BigDecimal amount;
-            try {
-                amount = new BigDecimal(amountText);
-                if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-                    AlertUtil.showWarningAlert("Validation Error", "Invalid Amount", "Payment amount must be greater than zero.");
-                    return;
-                }
-            } catch (NumberFormatException e) {
-                AlertUtil.showWarningAlert("Validation Error", "Invalid Amount", "Please enter a valid number for the amount.");
-                return;
-            }
-            
-            String paymentMethod = paymentMethodComboBox.getValue();
-            if (paymentMethod == null || paymentMethod.isEmpty()) {
-                AlertUtil.showWarningAlert("Validation Error", "Payment Method Required", "Please select a payment method.");
-                return;
-            }
-            
-            // Create payment object
-            Payment payment = new Payment();
-            payment.setInvoiceId(selectedInvoice.getInvoiceId());
-            payment.setPaymentDate(Date.valueOf(paymentDatePicker.getValue()));
-            payment.setAmount(amount);
-            payment.setPaymentMethod(paymentMethod);
-            payment.setTransactionId(transactionIdField.getText().trim());
-            payment.setNotes(notesArea.getText().trim());
-            
-            // Save to database
-            paymentDAO.addPayment(payment);
+            billingService.recordPayment(invoiceComboBox.getValue(), paymentDatePicker.getValue(),
+                    amountField.getText(), paymentMethodComboBox.getValue(),
+                    transactionIdField.getText(), notesArea.getText());
             
             // Show success message
             AlertUtil.showInformationAlert("Success", "Payment Recorded", 
@@ -334,6 +286,8 @@ public class PaymentController implements Initializable {
             // Clear form
             handleClearFields();
             
+        } catch (ValidationException e) {
+            AlertUtil.showWarningAlert("Validation Error", e.getSummary(), e.getMessage());
         } catch (SQLException e) {
             AlertUtil.showErrorAlert("Database Error", "Failed to record payment", e.getMessage());
         }
@@ -355,6 +309,11 @@ public class PaymentController implements Initializable {
     
     @FXML
     private void handleExportToExcel() {
+        if (exportTask != null) {
+            // The button reads "Cancel export" while an export runs
+            exportTask.cancel();
+            return;
+        }
         if (payments.isEmpty()) {
             AlertUtil.showWarningAlert("No Data", "No Payments to Export", 
                     "There are no payment records to export to Excel.");
@@ -369,76 +328,43 @@ public class PaymentController implements Initializable {
         
         File file = fileChooser.showSaveDialog(paymentTable.getScene().getWindow());
         if (file != null) {
-            try {
-                generateExcel(file);
-                AlertUtil.showInformationAlert("Success", "Excel File Generated", 
-                        "Payment records have been exported to Excel successfully.");
-            } catch (IOException e) {
-                AlertUtil.showErrorAlert("Export Error", "Failed to generate Excel file", e.getMessage());
-            }
+            generateExcel(file);
         }
     }
     
-    private void generateExcel(File file) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Payment Records");
-            
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                "Payment ID", "Invoice ID", "Customer", "Room", "Payment Date", 
-                "Amount", "Method", "Transaction ID", "Notes", "Invoice Status"
-            };
-            
-            // Create header cell style
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-            
-            // Add headers
-            for (int i = 0; i < headers.length; i++) {
-                org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
-            // Create data rows
-            int rowNum = 1;
-            for (Payment payment : payments) {
-                Row row = sheet.createRow(rowNum++);
-                
-                row.createCell(0).setCellValue(payment.getPaymentId());
-                row.createCell(1).setCellValue(payment.getInvoiceId());
-                row.createCell(2).setCellValue(payment.getCustomerName());
-                row.createCell(3).setCellValue(payment.getRoomNumber());
-                
-                org.apache.poi.ss.usermodel.Cell dateCell = row.createCell(4);
-                if (payment.getPaymentDate() != null) {
-                    dateCell.setCellValue(payment.getPaymentDate().toString());
-                }
-                
-                org.apache.poi.ss.usermodel.Cell amountCell = row.createCell(5);
-                if (payment.getAmount() != null) {
-                    amountCell.setCellValue(payment.getAmount().doubleValue());
-                }
-                
-                row.createCell(6).setCellValue(payment.getPaymentMethod());
-                row.createCell(7).setCellValue(payment.getTransactionId());
-                row.createCell(8).setCellValue(payment.getNotes());
-                row.createCell(9).setCellValue(payment.getInvoiceStatus());
-            }
-            
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            // Write to file
-            try (FileOutputStream outputStream = new FileOutputStream(file)) {
-                workbook.write(outputStream);
-            }
-        }
+    private void generateExcel(File file) {
+        PaymentExportTask task = new PaymentExportTask(billingService, file);
+        exportTask = task;
+        String buttonText = exportToExcelButton.getText();
+        exportToExcelButton.textProperty().bind(Bindings.createStringBinding(
+                () -> String.format("Cancel export (%.0f%%)", Math.max(0, task.getProgress()) * 100),
+                task.progressProperty()));
+        
+        task.setOnSucceeded(event -> {
+            finishExport(buttonText);
+            AlertUtil.showInformationAlert("Success", "Excel File Generated", 
+                    "Payment records have been exported to Excel successfully.");
+        });
+        task.setOnCancelled(event -> {
+            finishExport(buttonText);
+            AlertUtil.showInformationAlert("Export Cancelled", "Excel Export Cancelled", 
+                    "The export was cancelled and no file was written.");
+        });
+        task.setOnFailed(event -> {
+            finishExport(buttonText);
+            AlertUtil.showErrorAlert("Export Error", "Failed to generate Excel file", 
+                    task.getException().getMessage());
+        });
+        
+        Thread thread = new Thread(task, "payment-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void finishExport(String buttonText) {
+        exportTask = null;
+        exportToExcelButton.textProperty().unbind();
+        exportToExcelButton.setText(buttonText);
     }
     
     @FXML
@@ -473,6 +399,27 @@ public class PaymentController implements Initializable {
     }
     
     private void generatePdf(File file, Payment payment) throws IOException {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            writeReceiptPdf(file, payment);
+            failed = false;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.document = "Payment receipt";
+                event.format = "PDF";
+                event.target = file.getPath();
+                event.records = 1;
+                event.bytes = file.length();
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private void writeReceiptPdf(File file, Payment payment) throws IOException {
         PDDocument document = new PDDocument();
         try {
             PDPage page = new PDPage(PDRectangle.A4);
@@ -0,0 +1,196 @@
+package com.hotel.controllers;
+
+import com.hotel.model.Payment;
+import com.hotel.service.BillingService;
+import com.hotel.jfr.ExportEvent;
+
+import javafx.concurrent.Task;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ * Background export of all payments to an .xlsx file with bounded memory use.
+ *
+ * Rows are read from the database through a cursor and written through a streaming workbook
+ * that keeps only the last {@link #ROW_WINDOW} rows in memory and flushes older ones to a
+ * temporary file. Column widths are sized from the first {@link #WIDTH_SAMPLE_ROWS} rows instead
+ * of auto-sizing, which would need every cell in memory. A cancelled export deletes the partial file.
+ * The value is the number of rows written.
+ */
+class PaymentExportTask extends Task<Integer> {
+
+    private static final int ROW_WINDOW = 100;
+    private static final int FETCH_SIZE = 500;
+    private static final int WIDTH_SAMPLE_ROWS = 200;
+    private static final int MAX_COLUMN_CHARS = 60;
+    private static final int PROGRESS_EVERY_ROWS = 250;
+
+    private static final String[] HEADERS = {
+        "Payment ID", "Invoice ID", "Customer", "Room", "Payment Date",
+        "Amount", "Method", "Transaction ID", "Notes", "Invoice Status"
+    };
+
+    private final BillingService billingService;
+    private final File file;
+
+    PaymentExportTask(BillingService billingService, File file) {
+        this.billingService = billingService;
+        this.file = file;
+    }
+
+    @Override
+    protected Integer call() throws Exception {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        Integer rows = null;
+        try {
+            rows = exportPayments();
+            return rows;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.document = "Payment records";
+                event.format = "Excel";
+                event.target = file.getPath();
+                event.records = rows != null ? rows : 0;
+                event.bytes = file.length();
+                event.failed = rows == null;
+                event.commit();
+            }
+        }
+    }
+
+    private int exportPayments() throws Exception {
+        updateMessage("Counting payments...");
+        int total = billingService.countPayments();
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Payment Records");
+            int[] columnChars = new int[HEADERS.length];
+
+            // Create header cell style
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(HEADERS[i]);
+                cell.setCellStyle(headerStyle);
+                columnChars[i] = HEADERS[i].length();
+            }
+
+            int[] rowNum = {1};
+            billingService.streamPayments(FETCH_SIZE, payment -> {
+                if (isCancelled()) {
+                    return false;
+                }
+                int written = rowNum[0]++;
+                String[] values = toCellValues(payment);
+                writeRow(sheet.createRow(written), payment, values);
+                if (written <= WIDTH_SAMPLE_ROWS) {
+                    for (int i = 0; i < values.length; i++) {
+                        columnChars[i] = Math.max(columnChars[i], values[i].length());
+                    }
+                    if (written == WIDTH_SAMPLE_ROWS) {
+                        applyColumnWidths(sheet, columnChars);
+                    }
+                }
+                if (written % PROGRESS_EVERY_ROWS == 0) {
+                    updateProgress(written, total);
+                    updateMessage("Exported " + written + " of " + total + " payments");
+                }
+                return true;
+            });
+            int rows = rowNum[0] - 1;
+            if (rows < WIDTH_SAMPLE_ROWS) {
+                applyColumnWidths(sheet, columnChars);
+            }
+
+            if (isCancelled()) {
+                return rows;
+            }
+            updateMessage("Writing " + file.getName() + "...");
+            try (OutputStream outputStream = new FileOutputStream(file)) {
+                workbook.write(outputStream);
+            }
+            if (isCancelled()) {
+                deletePartialFile();
+                return rows;
+            }
+            updateProgress(total, total);
+            updateMessage("Exported " + rows + " payments");
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            deletePartialFile();
+            throw e;
+        } finally {
+            workbook.dispose(); // Deletes the temporary row files
+            workbook.close();
+        }
+    }
+
+    private static String[] toCellValues(Payment payment) {
+        return new String[] {
+            String.valueOf(payment.getPaymentId()),
+            String.valueOf(payment.getInvoiceId()),
+            nullToEmpty(payment.getCustomerName()),
+            nullToEmpty(payment.getRoomNumber()),
+            payment.getPaymentDate() != null ? payment.getPaymentDate().toString() : "",
+            payment.getAmount() != null ? payment.getAmount().toPlainString() : "",
+            nullToEmpty(payment.getPaymentMethod()),
+            nullToEmpty(payment.getTransactionId()),
+            nullToEmpty(payment.getNotes()),
+            nullToEmpty(payment.getInvoiceStatus())
+        };
+    }
+
+    private static void writeRow(Row row, Payment payment, String[] values) {
+        row.createCell(0).setCellValue(payment.getPaymentId());
+        row.createCell(1).setCellValue(payment.getInvoiceId());
+        row.createCell(2).setCellValue(values[2]);
+        row.createCell(3).setCellValue(values[3]);
+        row.createCell(4).setCellValue(values[4]);
+        Cell amountCell = row.createCell(5);
+        if (payment.getAmount() != null) {
+            amountCell.setCellValue(payment.getAmount().doubleValue());
+        }
+        for (int i = 6; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private static void applyColumnWidths(SXSSFSheet sheet, int[] columnChars) {
+        for (int i = 0; i < columnChars.length; i++) {
+            // Width is in 1/256ths of a character; pad for the cell margins
+            sheet.setColumnWidth(i, (Math.min(columnChars[i], MAX_COLUMN_CHARS) + 2) * 256);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private void deletePartialFile() {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            System.err.println("Could not delete partial export " + file + ": " + e.getMessage());
+        }
+    }
+}
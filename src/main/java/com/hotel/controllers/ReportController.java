@@ -1,61 +1,76 @@
 package com.hotel.controllers;
 
-import com.hotel.model.Booking; // Import Booking model
-// Import necessary models (e.g., a custom ReportRow class or use Booking)
-// Import DAOs (BookingDAO, RoomDAO, CustomerDAO)
-
+import com.hotel.analytics.AnalyticsStore;
+import com.hotel.analytics.LeadTimeBucket;
+import com.hotel.dao.AnalyticsDAO;
+import com.hotel.dao.ReportDAO;
+import com.hotel.dao.impl.AnalyticsDAOImpl;
+import com.hotel.dao.impl.ReportDAOImpl;
+import com.hotel.model.OccupancyReportRow;
+import com.hotel.util.DatabaseConnection;
+import com.hotel.util.OccupancyReportEngine;
+import com.hotel.util.QueryMetrics;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class ReportController {
 
     @FXML private DatePicker startDatePicker;
     @FXML private DatePicker endDatePicker;
-    @FXML private TableView<Booking> reportTableView; // Or use a custom ReportRow class
+    @FXML private TableView<OccupancyReportRow> reportTableView;
     @FXML private Label statusMessageLabel;
+    @FXML private Spinner<Integer> parallelismSpinner; // Optional: views without it use the default parallelism
 
-    // Define TableColumns based on ReportView.fxml fx:id attributes
-    @FXML private TableColumn<Booking, Integer> colReportBookingId; // Adjust type if using custom class
-    @FXML private TableColumn<Booking, Integer> colReportRoomNumber;
-    @FXML private TableColumn<Booking, String> colReportCustomerName; // This will require a join or lookup
-    @FXML private TableColumn<Booking, LocalDate> colReportCheckIn;
-    @FXML private TableColumn<Booking, LocalDate> colReportCheckOut;
+    // Lead times in days at which the cancellation buckets under the report start
+    private static final int[] LEAD_TIME_BUCKETS = {0, 7, 30, 90};
 
-    // private BookingDAO bookingDAO;
-    // private CustomerDAO customerDAO; // Needed to get customer names
+    private OccupancyReportEngine reportEngine;
+    private AnalyticsStore analyticsStore;
+    private Task<Report> reportTask;
 
-    private ObservableList<Booking> reportData = FXCollections.observableArrayList(); // Or ObservableList<ReportRow>
+    private ObservableList<OccupancyReportRow> reportData = FXCollections.observableArrayList();
 
     public void initialize() {
-        // Instantiate necessary DAOs
-        // bookingDAO = new BookingDAOImpl();
-        // customerDAO = new CustomerDAOImpl();
+        reportEngine = new OccupancyReportEngine(QueryMetrics.instrument(ReportDAO.class, new ReportDAOImpl()));
+        analyticsStore = new AnalyticsStore(QueryMetrics.instrument(AnalyticsDAO.class, new AnalyticsDAOImpl()));
 
         statusMessageLabel.setText("");
 
-        // Setup TableView columns - Adjust PropertyValueFactory based on the class used (Booking or ReportRow)
-        colReportBookingId.setCellValueFactory(new PropertyValueFactory<>("bookingId"));
-        colReportRoomNumber.setCellValueFactory(new PropertyValueFactory<>("roomNumber"));
-        colReportCheckIn.setCellValueFactory(new PropertyValueFactory<>("checkInDate"));
-        colReportCheckOut.setCellValueFactory(new PropertyValueFactory<>("checkOutDate"));
-
-        // Special handling for Customer Name (if not directly in Booking model)
-        // This might require a custom CellValueFactory or a dedicated ReportRow class
-        // that includes the customer name obtained via a join.
-        // Simple placeholder - requires implementation:
-        // colReportCustomerName.setCellValueFactory(cellData -> {
-        //     int customerId = cellData.getValue().getCustomerId();
-        //     // TODO: Look up customer name using customerDAO (inefficient here, better in query)
-        //     return new javafx.beans.property.SimpleStringProperty("Customer " + customerId);
-        // });
+        if (parallelismSpinner != null) {
+            parallelismSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(
+                    1, DatabaseConnection.getPoolMaxSize(), reportEngine.getParallelism()));
+            parallelismSpinner.valueProperty().addListener((obs, oldValue, newValue) -> {
+                if (newValue != null) {
+                    reportEngine.setParallelism(newValue);
+                }
+            });
+        }
 
+        // Columns are built here as the report shape no longer matches the booking columns of the view
+        List<TableColumn<OccupancyReportRow, ?>> columns = List.of(
+                column("Date", row -> row.getDate()),
+                column("Room Type", row -> row.getRoomType()),
+                column("Floor", row -> row.getFloor()),
+                column("Rooms", row -> row.getRoomsAvailable()),
+                column("Sold", row -> row.getRoomNightsSold()),
+                textColumn("Occupancy %", row -> String.format("%.1f", row.getOccupancyPercent())),
+                column("ADR", row -> row.getAdr()),
+                column("RevPAR", row -> row.getRevpar()),
+                column("Arrivals", row -> row.getArrivals()),
+                textColumn("Avg LOS", row -> String.format("%.2f", row.getAverageLengthOfStay())),
+                column("Revenue", row -> row.getRoomRevenue()));
+        reportTableView.getColumns().setAll(columns);
 
         reportTableView.setItems(reportData);
         System.out.println("ReportController initialized.");
@@ -81,38 +96,83 @@ public class ReportController {
     }
 
     private void loadReportData(LocalDate startDate, LocalDate endDate) {
+        if (reportTask != null) {
+            reportTask.cancel();
+        }
         reportData.clear();
-        statusMessageLabel.setText("");
-        // TODO: Implement DAO logic to fetch report data (likely Bookings within date range)
-        // You'll need a query that potentially joins Bookings, Customers, Rooms
-         setStatusMessage("Placeholder: Load report data here (Bookings from " + startDate + " to " + endDate + ")", true);
-
-        /*
-        if (bookingDAO == null) { setStatusMessage("Error: Booking service not available.", false); return; }
-        try {
-            // Ideally, have a DAO method that fetches data specifically for the report, perhaps joining tables.
-            // Example using existing DAO method (might need refinement):
-            List<Booking> bookings = bookingDAO.findByDateRange(startDate, endDate);
-
-            // If you need customer names or room types, you'd either:
-            // 1. Modify the DAO query to return a custom object/map with joined data.
-            // 2. Perform lookups here (less efficient for large datasets).
-
-            reportData.setAll(bookings); // Use bookings directly if TableView is <Booking>
-
-             if (reportData.isEmpty()) {
-                 setStatusMessage("No bookings found for the selected date range.", true);
-             } else {
-                 setStatusMessage("Report generated successfully.", true);
-             }
-
-        } catch (SQLException e) {
-            setStatusMessage("Database error generating report: " + e.getMessage(), false);
-            e.printStackTrace();
+        setStatusMessage("Generating report from " + startDate + " to " + endDate + "...", true);
+
+        Task<Report> task = new Task<>() {
+            @Override
+            protected Report call() throws Exception {
+                OccupancyReportEngine.Result occupancy = reportEngine.run(startDate, endDate);
+                // A refresh only appends new bookings; cancellations of loaded ones need a reload
+                analyticsStore.reload();
+                return new Report(occupancy, analyticsStore.cancellationRateByLeadTime(
+                        startDate, endDate.plusDays(1), LEAD_TIME_BUCKETS));
+            }
+        };
+        reportTask = task;
+
+        task.setOnSucceeded(event -> {
+            if (reportTask != task) {
+                return;
+            }
+            reportTask = null;
+            OccupancyReportEngine.Result result = task.getValue().occupancy;
+            reportData.setAll(result.getRows());
+            if (result.getStays() == 0) {
+                setStatusMessage("No stays found for the selected date range.", true);
+            } else {
+                OccupancyReportRow totals = result.getTotals();
+                String cancellations = task.getValue().cancellations.stream()
+                        .map(LeadTimeBucket::toString)
+                        .collect(Collectors.joining("; "));
+                setStatusMessage(String.format("%d stays: occupancy %.1f%%, ADR %s, RevPAR %s, avg stay %.2f nights, "
+                                + "room revenue %s (%d ms)%nCancellations by lead time: %s",
+                        result.getStays(), totals.getOccupancyPercent(), totals.getAdr(), totals.getRevpar(),
+                        totals.getAverageLengthOfStay(), totals.getRoomRevenue(), result.getMillis(),
+                        cancellations), true);
+            }
+        });
+        task.setOnFailed(event -> {
+            if (reportTask != task) {
+                return;
+            }
+            reportTask = null;
+            setStatusMessage("Database error generating report: " + task.getException().getMessage(), false);
+            task.getException().printStackTrace();
+        });
+
+        Thread thread = new Thread(task, "occupancy-report");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * The occupancy report and the cancellation rates for the same arrivals.
+     */
+    private static final class Report {
+        final OccupancyReportEngine.Result occupancy;
+        final List<LeadTimeBucket> cancellations;
+
+        Report(OccupancyReportEngine.Result occupancy, List<LeadTimeBucket> cancellations) {
+            this.occupancy = occupancy;
+            this.cancellations = cancellations;
         }
-        */
     }
 
+    private static <T> TableColumn<OccupancyReportRow, T> column(String title, Function<OccupancyReportRow, T> value) {
+        TableColumn<OccupancyReportRow, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(cellData -> new SimpleObjectProperty<>(value.apply(cellData.getValue())));
+        return column;
+    }
+
+    private static TableColumn<OccupancyReportRow, String> textColumn(String title, Function<OccupancyReportRow, String> value) {
+        TableColumn<OccupancyReportRow, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(cellData -> new SimpleStringProperty(value.apply(cellData.getValue())));
+        return column;
+    }
 
     private void setStatusMessage(String message, boolean success) {
          statusMessageLabel.setText(message);
@@ -126,31 +186,4 @@ public class ReportController {
         alert.setContentText(message);
         alert.showAndWait();
     }
-
-    // Optional: Define a simple inner class or separate class for report rows if needed
-    /*
-    public static class ReportRow {
-        private final int bookingId;
-        private final int roomNumber;
-        private final String customerName;
-        private final LocalDate checkInDate;
-        private final LocalDate checkOutDate;
-        // Add more fields as needed
-
-        public ReportRow(int bookingId, int roomNumber, String customerName, LocalDate checkInDate, LocalDate checkOutDate) {
-            this.bookingId = bookingId;
-            this.roomNumber = roomNumber;
-            this.customerName = customerName;
-            this.checkInDate = checkInDate;
-            this.checkOutDate = checkOutDate;
-        }
-
-        // Add Getters
-        public int getBookingId() { return bookingId; }
-        public int getRoomNumber() { return roomNumber; }
-        public String getCustomerName() { return customerName; }
-        public LocalDate getCheckInDate() { return checkInDate; }
-        public LocalDate getCheckOutDate() { return checkOutDate; }
-    }
-    */
-} 
\ No newline at end of file
+}
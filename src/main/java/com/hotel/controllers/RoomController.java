@@ -1,7 +1,8 @@
 package com.hotel.controllers;
 
 import com.hotel.model.Room;
-import com.hotel.dao.impl.RoomDAOImpl;
+import com.hotel.jfr.ControllerPhaseEvent;
+import com.hotel.service.AvailabilityService;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -14,8 +15,6 @@ import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.SQLException;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.ResourceBundle;
 // Unused imports removed
 
@@ -48,13 +47,14 @@ public class RoomController implements Initializable {
     @FXML private Button lastPageButton;
     @FXML private ComboBox<Integer> itemsPerPageCombo;
 
-    private RoomDAOImpl roomDAO;
+    private AvailabilityService availabilityService;
     
     // Pagination
     private static final int ITEMS_PER_PAGE = 30;
     private int currentPage = 1;
     private int totalItems = 0;
     private int totalPages = 0;
+    private final KeysetPager<Room> pager = new KeysetPager<>();
     private final ObservableList<String> statusOptions = FXCollections.observableArrayList(
         "Available", "Booked", "Cleaning", "Out of Service"
     );
@@ -66,8 +66,8 @@ public class RoomController implements Initializable {
     @Override
     public void initialize(URL url, ResourceBundle rb) {
         try {
-            // Initialize the DAO
-            roomDAO = new RoomDAOImpl();
+            // Initialize the service
+            availabilityService = AvailabilityService.getInstance();
 
             // Initialize the status options
             statusComboBox.setItems(statusOptions);
@@ -86,25 +86,21 @@ public class RoomController implements Initializable {
             itemsPerPageCombo.setValue(ITEMS_PER_PAGE);
             itemsPerPageCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
                 if (newVal != null) {
-                    currentPage = 1; // Reset to first page when changing items per page
                     loadRoomData();
                 }
             });
 
             // Set up search field listener
             searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-                currentPage = 1;
                 loadRoomData();
             });
 
             // Set up filter combo box listeners
             filterTypeComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
-                currentPage = 1;
                 loadRoomData();
             });
 
             filterStatusComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
-                currentPage = 1;
                 loadRoomData();
             });
 
@@ -122,7 +118,7 @@ public class RoomController implements Initializable {
             setupPaginationControls();
             
             // Load initial data
-            loadRoomData();
+            ControllerPhaseEvent.run(this, "loadRoomData", this::loadRoomData);
             
         } catch (Exception e) {
             e.printStackTrace();
@@ -138,7 +134,6 @@ public class RoomController implements Initializable {
         // Add listener for items per page changes
         itemsPerPageCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
-                currentPage = 1; // Reset to first page when changing items per page
                 loadRoomData();
             }
         });
@@ -153,32 +148,28 @@ public class RoomController implements Initializable {
     @FXML
     private void handleFirstPage() {
         if (currentPage != 1 && totalPages > 0) {
-            currentPage = 1;
-            loadRoomData();
+            showPage(pager::first);
         }
     }
 
     @FXML
     private void handlePrevPage() {
         if (currentPage > 1) {
-            currentPage--;
-            loadRoomData();
+            showPage(pager::previous);
         }
     }
 
     @FXML
     private void handleNextPage() {
         if (currentPage < totalPages) {
-            currentPage++;
-            loadRoomData();
+            showPage(pager::next);
         }
     }
 
     @FXML
     private void handleLastPage() {
         if (currentPage != totalPages && totalPages > 0) {
-            currentPage = totalPages;
-            loadRoomData();
+            showPage(pager::last);
         }
     }
 
@@ -209,44 +200,30 @@ public class RoomController implements Initializable {
         }
     }
     
+    /**
+     * Counts the rooms matching the filter fields and shows the first page.
+     * Filtering and paging run in SQL, so only the rows on screen are fetched.
+     */
     private void loadRoomData() {
+        String searchText = searchField.getText();
+        String typeFilter = filterTypeComboBox.getValue();
+        String statusFilter = filterStatusComboBox.getValue();
+        int itemsPerPage = itemsPerPageCombo.getValue() != null ? itemsPerPageCombo.getValue() : ITEMS_PER_PAGE;
+        showPage(() -> pager.load(
+                () -> availabilityService.countRooms(searchText, typeFilter, statusFilter),
+                request -> availabilityService.findRoomPage(searchText, typeFilter, statusFilter, request),
+                itemsPerPage));
+    }
+
+    private void showPage(KeysetPager.Step<Room> step) {
         try {
-            // Get all rooms from the database
-            List<Room> allRooms = roomDAO.findAll();
-            
-            // Apply filters
-            List<Room> filteredRooms = filterRooms(allRooms);
-            
-            // Update total items and pages
-            totalItems = filteredRooms.size();
-            totalPages = (int) Math.ceil((double) totalItems / itemsPerPageCombo.getValue());
-            
-            // Ensure current page is within bounds
-            if (currentPage > totalPages && totalPages > 0) {
-                currentPage = totalPages;
-            } else if (currentPage < 1) {
-                currentPage = 1;
-            }
-            
-            // Calculate pagination
-            int fromIndex = (currentPage - 1) * itemsPerPageCombo.getValue();
-            int toIndex = Math.min(fromIndex + itemsPerPageCombo.getValue(), filteredRooms.size());
-            
-            // Get the sublist for the current page
-            List<Room> pagedRooms = filteredRooms.subList(
-                Math.min(fromIndex, filteredRooms.size()),
-                Math.min(toIndex, filteredRooms.size())
-            );
-            
-            // Update the table with paginated data
-            roomTable.setItems(FXCollections.observableArrayList(pagedRooms));
-            
-            // Update pagination controls
+            KeysetPager.View<Room> view = step.run();
+            currentPage = view.getPageNumber();
+            totalItems = view.getTotalItems();
+            totalPages = view.getTotalPages();
+            roomTable.setItems(FXCollections.observableArrayList(view.getItems()));
             updatePaginationControls();
-            
-            // Update status label
             updateStatusLabel();
-            
         } catch (SQLException e) {
             e.printStackTrace();
             showError("Error loading room data: " + e.getMessage());
@@ -255,7 +232,7 @@ public class RoomController implements Initializable {
 
     private void showRoomDetails(Room room) {
         if (room != null) {
-            roomNumberLabel.setText(String.valueOf(room.getRoomNumber()));
+            roomNumberLabel.setText(room.getRoomNumber());
             typeLabel.setText(room.getType());
             floorLabel.setText(String.valueOf(room.getFloor()));
             priceLabel.setText(String.format("$%.2f", room.getPrice()));
@@ -286,8 +263,8 @@ public class RoomController implements Initializable {
         }
 
         try {
-            if (roomDAO.updateRoomStatus(selectedRoom.getRoomNumber(), newStatus)) {
-                loadRoomData(); // Refresh the table
+            if (availabilityService.updateRoomStatus(selectedRoom.getRoomNumber(), newStatus)) {
+                showPage(pager::refresh); // Refresh the table
                 showSuccess("Room status updated successfully");
             } else {
                 showError("Failed to update room status");
@@ -317,38 +294,6 @@ public class RoomController implements Initializable {
 
     @FXML
     private void handleRefresh() {
-        currentPage = 1; // Reset to first page on refresh
         loadRoomData();
     }
-
-    private List<Room> filterRooms(List<Room> rooms) {
-        String searchText = searchField.getText().toLowerCase();
-        String typeFilter = filterTypeComboBox.getValue();
-        String statusFilter = filterStatusComboBox.getValue();
-        
-        if (searchText.isEmpty() && typeFilter == null && statusFilter == null) {
-            return rooms;
-        }
-        
-        List<Room> filteredList = new ArrayList<>();
-        
-        for (Room room : rooms) {
-            boolean matchesSearch = searchText.isEmpty() ||
-                    room.getRoomNumber().toLowerCase().contains(searchText) ||
-                    room.getType().toLowerCase().contains(searchText) ||
-                    String.valueOf(room.getFloor()).contains(searchText) ||
-                    room.getStatus().toLowerCase().contains(searchText);
-
-            boolean matchesType = typeFilter == null || typeFilter.equals(room.getType());
-            boolean matchesStatus = statusFilter == null || statusFilter.equals(room.getStatus());
-
-            if (matchesSearch && matchesType && matchesStatus) {
-                filteredList.add(room);
-            }
-        }
-        
-        return filteredList;
-    }
-    
-
-}
\ No newline at end of file
+}
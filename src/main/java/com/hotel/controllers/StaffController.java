@@ -1,7 +1,8 @@
 package com.hotel.controllers;
 
 import com.hotel.model.Staff;
-import com.hotel.dao.impl.StaffDAOImpl;
+import com.hotel.jfr.ControllerPhaseEvent;
+import com.hotel.service.StaffService;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -39,7 +40,7 @@ public class StaffController implements Initializable {
     @FXML private TextField searchField;
     @FXML private ComboBox<String> filterPositionComboBox;
 
-    private StaffDAOImpl staffDAO;
+    private StaffService staffService;
     private ObservableList<Staff> staffList;
     private final ObservableList<String> positions = FXCollections.observableArrayList(
         "Admin", "Manager", "Receptionist", "Housekeeper", "Maintenance", "Chef"
@@ -47,7 +48,7 @@ public class StaffController implements Initializable {
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
-        staffDAO = new StaffDAOImpl();
+        staffService = StaffService.getInstance();
 
         // Initialize position combo boxes
         positionComboBox.setItems(positions);
@@ -72,7 +73,7 @@ public class StaffController implements Initializable {
             (observable, oldValue, newValue) -> showStaffDetails(newValue));
 
         // Load initial data
-        loadStaffData();
+        ControllerPhaseEvent.run(this, "loadStaffData", this::loadStaffData);
     }
 
     @FXML
@@ -85,7 +86,7 @@ public class StaffController implements Initializable {
             Staff staff = new Staff();
             populateStaffFromFields(staff);
 
-            if (staffDAO.addStaff(staff)) {
+            if (staffService.addStaff(staff)) {
                 loadStaffData();
                 clearFields();
                 showSuccess("Staff member added successfully");
@@ -114,7 +115,7 @@ public class StaffController implements Initializable {
         try {
             populateStaffFromFields(selectedStaff);
 
-            if (staffDAO.updateStaff(selectedStaff)) {
+            if (staffService.updateStaff(selectedStaff)) {
                 loadStaffData();
                 clearFields();
                 showSuccess("Staff member updated successfully");
@@ -143,7 +144,7 @@ public class StaffController implements Initializable {
 
         if (alert.showAndWait().get() == ButtonType.OK) {
             try {
-                if (staffDAO.deleteStaff(selectedStaff.getUserId())) {
+                if (staffService.deleteStaff(selectedStaff.getUserId())) {
                     loadStaffData();
                     clearFields();
                     showSuccess("Staff member deleted successfully");
@@ -163,7 +164,7 @@ public class StaffController implements Initializable {
 
     private void loadStaffData() {
         try {
-            staffList = FXCollections.observableArrayList(staffDAO.findAll());
+            staffList = FXCollections.observableArrayList(staffService.getStaff());
             staffTable.setItems(staffList);
         } catch (SQLException e) {
             showError("Error loading staff data: " + e.getMessage());
@@ -0,0 +1,32 @@
+package com.hotel.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Streams bookings, invoices and payments in id order as primitives, for loading the columnar
+ * analytics store. Dates are epoch days, or {@link #NO_DAY} when missing; amounts are in cents.
+ * Each stream starts after a given id, so a store can append only the rows added since its last load.
+ */
+public interface AnalyticsDAO {
+
+    int NO_DAY = Integer.MIN_VALUE;
+
+    interface BookingRowHandler {
+        void booking(int bookingId, int roomId, int customerId, int checkInDay, int checkOutDay, int createdDay,
+                     String status, String roomType);
+    }
+
+    interface InvoiceRowHandler {
+        void invoice(int invoiceId, int bookingId, int issueDay, long roomCostCents, long serviceCostCents,
+                     long totalCents, long paidCents, String status);
+    }
+
+    interface PaymentRowHandler {
+        void payment(int paymentId, int invoiceId, int paymentDay, long amountCents, String method);
+    }
+
+    // Each returns the number of rows passed to the handler
+    int streamBookings(int afterBookingId, int fetchSize, BookingRowHandler handler) throws SQLException;
+    int streamInvoices(int afterInvoiceId, int fetchSize, InvoiceRowHandler handler) throws SQLException;
+    int streamPayments(int afterPaymentId, int fetchSize, PaymentRowHandler handler) throws SQLException;
+}
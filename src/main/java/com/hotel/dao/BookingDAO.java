@@ -1,6 +1,9 @@
 package com.hotel.dao;
 
 import com.hotel.model.Booking;
+import com.hotel.model.BookingDetails;
+import com.hotel.model.Room;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
@@ -12,9 +15,25 @@ public interface BookingDAO {
     boolean addBooking(Booking booking) throws SQLException;
     boolean updateBooking(Booking booking) throws SQLException;
     boolean deleteBooking(int bookingId) throws SQLException;
+    // Steps of a booking write run on the caller's connection, inside its transaction; once the caller
+    // has committed it must call bookingCommitted so the in-memory availability and counters follow
+    boolean lockRoom(Connection conn, int roomId) throws SQLException; // false if the room does not exist
+    boolean hasOverlappingBooking(Connection conn, Booking booking) throws SQLException; // Ignores the booking itself and bookings that no longer hold the room
+    boolean insertBooking(Connection conn, Booking booking) throws SQLException;
+    boolean updateBooking(Connection conn, Booking booking) throws SQLException;
+    void bookingCommitted(Booking booking, boolean created);
+    boolean updateBookingStatus(int bookingId, String newStatus) throws SQLException; // Check-in, check-out, cancel
     List<Booking> findByDateRange(LocalDate startDate, LocalDate endDate) throws SQLException; // For reports
     List<Booking> findByCustomerId(int customerId) throws SQLException;
     List<Booking> findByRoomNumber(int roomNumber) throws SQLException;
+    List<Booking> findByRoomId(int roomId) throws SQLException;
+    List<Booking> getAllBookings() throws SQLException; // With guest name and room number, latest check-in first
+    // Booking, room and customer in one round trip
+    Optional<BookingDetails> findBookingDetails(int bookingId) throws SQLException;
+    List<Room> getAllAvailableRooms(LocalDate checkIn, LocalDate checkOut) throws SQLException;
+    // Paged listing: search matches an id exactly or a guest name prefix; dates bound the check-in date
+    Page<Booking> findPage(String searchText, LocalDate checkInFrom, LocalDate checkInTo, PageRequest pageRequest) throws SQLException;
+    int countBookings(String searchText, LocalDate checkInFrom, LocalDate checkInTo) throws SQLException;
     // Dashboard methods
     
     int getCheckedInGuestsCount() throws SQLException;
@@ -12,4 +12,8 @@ public interface CustomerDAO {
     boolean updateCustomer(Customer customer) throws SQLException;
     boolean deleteCustomer(int customerId) throws SQLException;
     List<Customer> findByName(String name) throws SQLException; // Example specific query
+    // Paged listing: search matches the id exactly or a name/email/phone prefix; null bounds are open
+    Page<Customer> findPage(String searchText, Integer minAdults, Integer maxAdults, Integer minKids, Integer maxKids,
+                            PageRequest pageRequest) throws SQLException;
+    int countCustomers(String searchText, Integer minAdults, Integer maxAdults, Integer minKids, Integer maxKids) throws SQLException;
 } 
\ No newline at end of file
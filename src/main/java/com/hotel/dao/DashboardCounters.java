@@ -0,0 +1,468 @@
+package com.hotel.dao;
+
+import com.hotel.model.Booking;
+import com.hotel.models.DashboardSummary;
+import com.hotel.util.BusinessDateService;
+import com.hotel.util.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory dashboard figures, so the dashboard does not aggregate several tables on every refresh.
+ *
+ * The counters are seeded from the database on first use and on the first read of each new business day,
+ * then kept current by the DAO write paths: rooms, bookings, staff, payments and feedback.
+ * Revenue is seeded from the daily_revenue rollup rather than the payments table.
+ * Bookings and rooms are tracked by id, so repeated notifications of the same change are harmless.
+ *
+ * Changes made outside these DAOs (other tools, triggers) are not seen until the next
+ * reconciliation, which runs every {@link #RECONCILE_INTERVAL_MINUTES} minutes, compares the
+ * counters with the dashboard_summary view and reseeds them if they have drifted.
+ */
+public class DashboardCounters {
+
+    public static final long RECONCILE_INTERVAL_MINUTES = 5;
+    private static final int REVENUE_DAYS = 30;
+
+    private static final String VIEW_SQL = "SELECT * FROM dashboard_summary";
+    // The view's todays_bookings counts from the database's midnight in its own time zone; the
+    // counters count from the night audit in the hotel's zone, so that figure is recounted here
+    private static final String TODAYS_BOOKINGS_SQL = "SELECT COUNT(*) FROM bookings WHERE created_at >= ? AND created_at < ?";
+    private static final String ROOMS_SQL = "SELECT room_id, room_number, status FROM rooms";
+    private static final String STAFF_SQL = "SELECT COUNT(*) FROM staff";
+    private static final String BOOKINGS_SQL = "SELECT booking_id, check_in_date, check_out_date, booking_status, created_at " +
+            "FROM bookings WHERE check_in_date = ? OR check_out_date = ? OR (created_at >= ? AND created_at < ?)";
+    private static final String REVENUE_SQL = "SELECT COALESCE(SUM(CASE WHEN business_date >= ? THEN amount END), 0), " +
+            "COALESCE(SUM(amount), 0) FROM daily_revenue WHERE business_date >= ? AND business_date < ?";
+    private static final String FEEDBACK_SQL = "SELECT COUNT(rating), COALESCE(SUM(rating), 0) FROM feedback " +
+            "WHERE feedback_date >= ? AND feedback_date < ?";
+
+    private static final DashboardCounters INSTANCE = new DashboardCounters();
+
+    private final BusinessDateService businessDates = BusinessDateService.getInstance();
+
+    // Guarded by this
+    private boolean loaded;
+    private LocalDate today;
+    private final Map<Integer, RoomEntry> rooms = new HashMap<>();
+    private final Map<String, Integer> roomIdsByNumber = new HashMap<>();
+    private final Map<String, Integer> roomsByStatus = new HashMap<>();
+    private final Map<Integer, BookingEntry> todaysBookings = new HashMap<>();
+    private int totalStaff;
+    private int bookingsCreatedToday;
+    private int checkInsToday;
+    private int checkOutsToday;
+    private BigDecimal revenueToday = BigDecimal.ZERO;
+    private BigDecimal revenueLast30Days = BigDecimal.ZERO;
+    private long ratingSum30Days;
+    private int ratingCount30Days;
+    private ScheduledExecutorService reconciler;
+
+    DashboardCounters() {}
+
+    public static DashboardCounters getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current figures. Only the first call of the day touches the database.
+     *
+     * @throws SQLException if the counters have to be seeded and the seed fails
+     */
+    public synchronized DashboardSummary snapshot() throws SQLException {
+        if (!loaded || !today.equals(businessDates.getBusinessDate())) {
+            reload();
+        }
+        DashboardSummary summary = new DashboardSummary();
+        summary.setAvailableRooms(roomCount("Available"));
+        summary.setCleaningRooms(roomCount("Cleaning"));
+        summary.setMaintenanceRooms(roomCount("Maintenance"));
+        summary.setOutOfServiceRooms(roomCount("Out of Service"));
+        summary.setBookedRooms(roomCount("Booked"));
+        summary.setOccupiedRooms(roomCount("Occupied"));
+        summary.setTotalRooms(rooms.size());
+        summary.setTotalStaff(totalStaff);
+        summary.setTodaysBookings(bookingsCreatedToday);
+        summary.setTodaysCheckIns(checkInsToday);
+        summary.setTodaysCheckOuts(checkOutsToday);
+        summary.setAvgFeedbackRating30Days(ratingCount30Days == 0 ? 0.0 : (double) ratingSum30Days / ratingCount30Days);
+        summary.setTodaysRevenue(revenueToday);
+        summary.setRevenueLast30Days(revenueLast30Days);
+        return summary;
+    }
+
+    /**
+     * Discards the counters and seeds them again from the database.
+     */
+    public synchronized void reload() throws SQLException {
+        BusinessDateService.BusinessDay businessDay = businessDates.today();
+        LocalDate day = businessDay.getDate();
+        LocalDate windowStart = day.minusDays(REVENUE_DAYS - 1);
+        LocalDate tomorrow = day.plusDays(1);
+
+        Map<Integer, RoomEntry> seededRooms = new HashMap<>();
+        Map<Integer, BookingEntry> seededBookings = new HashMap<>();
+        int staff = 0;
+        BigDecimal seededRevenueToday = BigDecimal.ZERO;
+        BigDecimal seededRevenue30Days = BigDecimal.ZERO;
+        int ratingCount = 0;
+        long ratingSum = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(ROOMS_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    seededRooms.put(rs.getInt("room_id"), new RoomEntry(rs.getString("room_number"), rs.getString("status")));
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(STAFF_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    staff = rs.getInt(1);
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(BOOKINGS_SQL)) {
+                stmt.setDate(1, Date.valueOf(day));
+                stmt.setDate(2, Date.valueOf(day));
+                stmt.setTimestamp(3, businessDay.getStart());
+                stmt.setTimestamp(4, businessDay.getEnd());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Timestamp createdAt = rs.getTimestamp("created_at");
+                        boolean createdToday = createdAt != null && businessDay.contains(createdAt.toInstant());
+                        BookingEntry entry = BookingEntry.of(day, rs.getDate("check_in_date").toLocalDate(),
+                                rs.getDate("check_out_date").toLocalDate(), rs.getString("booking_status"), createdToday);
+                        if (entry != null) {
+                            seededBookings.put(rs.getInt("booking_id"), entry);
+                        }
+                    }
+                }
+            }
+            // Revenue comes from the daily_revenue rollup, a few rows per day
+            try (PreparedStatement stmt = conn.prepareStatement(REVENUE_SQL)) {
+                stmt.setDate(1, Date.valueOf(day));
+                stmt.setDate(2, Date.valueOf(windowStart));
+                stmt.setDate(3, Date.valueOf(tomorrow));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        seededRevenueToday = rs.getBigDecimal(1);
+                        seededRevenue30Days = rs.getBigDecimal(2);
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(FEEDBACK_SQL)) {
+                stmt.setTimestamp(1, businessDates.dayOf(windowStart).getStart());
+                stmt.setTimestamp(2, businessDay.getEnd());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        ratingCount = rs.getInt(1);
+                        ratingSum = rs.getLong(2);
+                    }
+                }
+            }
+        }
+
+        today = day;
+        rooms.clear();
+        roomIdsByNumber.clear();
+        roomsByStatus.clear();
+        for (Map.Entry<Integer, RoomEntry> room : seededRooms.entrySet()) {
+            putRoom(room.getKey(), room.getValue());
+        }
+        todaysBookings.clear();
+        bookingsCreatedToday = 0;
+        checkInsToday = 0;
+        checkOutsToday = 0;
+        for (Map.Entry<Integer, BookingEntry> booking : seededBookings.entrySet()) {
+            putBooking(booking.getKey(), booking.getValue());
+        }
+        totalStaff = staff;
+        revenueToday = seededRevenueToday;
+        revenueLast30Days = seededRevenue30Days;
+        ratingCount30Days = ratingCount;
+        ratingSum30Days = ratingSum;
+        loaded = true;
+        startReconciliation();
+        System.out.println("Dashboard counters seeded for " + day + ": " + rooms.size() + " rooms, "
+                + todaysBookings.size() + " bookings touching today");
+    }
+
+    /**
+     * Compares the counters with the dashboard_summary view and reseeds them if they differ.
+     *
+     * @return One line per differing figure; empty when the counters match the view.
+     */
+    public List<String> reconcile() throws SQLException {
+        List<String> discrepancies = new ArrayList<>();
+        DashboardSummary expected = readView(businessDates.today());
+        if (expected == null) {
+            // The view counts by the database's date, which differs from the business date
+            // around the night audit or when the database runs in another time zone
+            return discrepancies;
+        }
+        synchronized (this) {
+            DashboardSummary actual = snapshot();
+            compare(discrepancies, "available_rooms", expected.getAvailableRooms(), actual.getAvailableRooms());
+            compare(discrepancies, "cleaning_rooms", expected.getCleaningRooms(), actual.getCleaningRooms());
+            compare(discrepancies, "maintenance_rooms", expected.getMaintenanceRooms(), actual.getMaintenanceRooms());
+            compare(discrepancies, "out_of_service_rooms", expected.getOutOfServiceRooms(), actual.getOutOfServiceRooms());
+            compare(discrepancies, "booked_rooms", expected.getBookedRooms(), actual.getBookedRooms());
+            compare(discrepancies, "occupied_rooms", expected.getOccupiedRooms(), actual.getOccupiedRooms());
+            compare(discrepancies, "total_rooms", expected.getTotalRooms(), actual.getTotalRooms());
+            compare(discrepancies, "total_staff", expected.getTotalStaff(), actual.getTotalStaff());
+            compare(discrepancies, "todays_bookings", expected.getTodaysBookings(), actual.getTodaysBookings());
+            compare(discrepancies, "todays_check_ins", expected.getTodaysCheckIns(), actual.getTodaysCheckIns());
+            compare(discrepancies, "todays_check_outs", expected.getTodaysCheckOuts(), actual.getTodaysCheckOuts());
+            if (Math.abs(expected.getAvgFeedbackRating30Days() - actual.getAvgFeedbackRating30Days()) > 0.005) {
+                discrepancies.add("avg_feedback_rating_30_days: view " + expected.getAvgFeedbackRating30Days()
+                        + ", counters " + actual.getAvgFeedbackRating30Days());
+            }
+            compare(discrepancies, "todays_revenue", expected.getTodaysRevenue(), actual.getTodaysRevenue());
+            compare(discrepancies, "revenue_last_30_days", expected.getRevenueLast30Days(), actual.getRevenueLast30Days());
+            if (!discrepancies.isEmpty()) {
+                reload();
+            }
+        }
+        return discrepancies;
+    }
+
+    // Write-path notifications, called by the DAOs after a successful write
+
+    public synchronized void roomSaved(int roomId, String roomNumber, String status) {
+        if (loaded) {
+            removeRoom(roomId);
+            putRoom(roomId, new RoomEntry(roomNumber, status));
+        }
+    }
+
+    public synchronized void roomStatusChanged(String roomNumber, String status) {
+        Integer roomId = loaded ? roomIdsByNumber.get(roomNumber) : null;
+        if (roomId != null) {
+            roomSaved(roomId, roomNumber, status);
+        }
+    }
+
+    public synchronized void roomRemoved(int roomId) {
+        if (loaded) {
+            removeRoom(roomId);
+        }
+    }
+
+    /**
+     * Records a new or changed booking.
+     *
+     * @param created true when the booking was just inserted
+     */
+    public synchronized void bookingSaved(Booking booking, boolean created) {
+        if (!loaded || booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+            return;
+        }
+        BookingEntry previous = removeBooking(booking.getBookingId());
+        boolean createdToday = created || (previous != null && previous.createdToday);
+        BookingEntry entry = BookingEntry.of(today, booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getBookingStatus(), createdToday);
+        if (entry != null) {
+            putBooking(booking.getBookingId(), entry);
+        }
+    }
+
+    public synchronized void bookingRemoved(int bookingId) {
+        if (loaded) {
+            removeBooking(bookingId);
+        }
+    }
+
+    public synchronized void staffAdded() {
+        totalStaff++;
+    }
+
+    public synchronized void staffRemoved() {
+        totalStaff--;
+    }
+
+    public synchronized void paymentRecorded(LocalDate paymentDate, BigDecimal amount) {
+        if (!loaded || paymentDate == null || amount == null) {
+            return;
+        }
+        if (paymentDate.equals(today)) {
+            revenueToday = revenueToday.add(amount);
+        }
+        if (!paymentDate.isBefore(today.minusDays(REVENUE_DAYS - 1)) && !paymentDate.isAfter(today)) {
+            revenueLast30Days = revenueLast30Days.add(amount);
+        }
+    }
+
+    public synchronized void feedbackRecorded(int rating) {
+        if (loaded) {
+            ratingSum30Days += rating;
+            ratingCount30Days++;
+        }
+    }
+
+    private int roomCount(String status) {
+        return roomsByStatus.getOrDefault(normalize(status), 0);
+    }
+
+    private void putRoom(int roomId, RoomEntry room) {
+        rooms.put(roomId, room);
+        if (room.number != null) {
+            roomIdsByNumber.put(room.number, roomId);
+        }
+        roomsByStatus.merge(normalize(room.status), 1, Integer::sum);
+    }
+
+    private void removeRoom(int roomId) {
+        RoomEntry room = rooms.remove(roomId);
+        if (room != null) {
+            roomIdsByNumber.remove(room.number);
+            roomsByStatus.merge(normalize(room.status), -1, Integer::sum);
+        }
+    }
+
+    private void putBooking(int bookingId, BookingEntry entry) {
+        todaysBookings.put(bookingId, entry);
+        bookingsCreatedToday += entry.createdToday ? 1 : 0;
+        checkInsToday += entry.checkInToday ? 1 : 0;
+        checkOutsToday += entry.checkOutToday ? 1 : 0;
+    }
+
+    private BookingEntry removeBooking(int bookingId) {
+        BookingEntry entry = todaysBookings.remove(bookingId);
+        if (entry != null) {
+            bookingsCreatedToday -= entry.createdToday ? 1 : 0;
+            checkInsToday -= entry.checkInToday ? 1 : 0;
+            checkOutsToday -= entry.checkOutToday ? 1 : 0;
+        }
+        return entry;
+    }
+
+    private static String normalize(String status) {
+        return status == null ? "" : status.trim().toLowerCase();
+    }
+
+    private static void compare(List<String> discrepancies, String figure, Object expected, Object actual) {
+        boolean same = expected instanceof BigDecimal && actual instanceof BigDecimal
+                ? ((BigDecimal) expected).compareTo((BigDecimal) actual) == 0
+                : Objects.equals(expected, actual);
+        if (!same) {
+            discrepancies.add(figure + ": view " + expected + ", counters " + actual);
+        }
+    }
+
+    /**
+     * Reads the view, or returns null if the database's current date is not the given business date.
+     * todays_bookings is counted over the business day's own range rather than taken from the view.
+     */
+    private static DashboardSummary readView(BusinessDateService.BusinessDay businessDay) throws SQLException {
+        DashboardSummary summary = new DashboardSummary();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(VIEW_SQL);
+                 ResultSet rs = pstmt.executeQuery()) {
+
+                if (!rs.next()) {
+                    return summary;
+                }
+                if (!businessDay.getDate().equals(rs.getDate("as_of_date").toLocalDate())) {
+                    return null;
+                }
+                summary.setAvailableRooms(rs.getInt("available_rooms"));
+                summary.setCleaningRooms(rs.getInt("cleaning_rooms"));
+                summary.setMaintenanceRooms(rs.getInt("maintenance_rooms"));
+                summary.setOutOfServiceRooms(rs.getInt("out_of_service_rooms"));
+                summary.setBookedRooms(rs.getInt("booked_rooms"));
+                summary.setOccupiedRooms(rs.getInt("occupied_rooms"));
+                summary.setTotalRooms(rs.getInt("total_rooms"));
+                summary.setTotalStaff(rs.getInt("total_staff"));
+                summary.setTodaysCheckIns(rs.getInt("todays_check_ins"));
+                summary.setTodaysCheckOuts(rs.getInt("todays_check_outs"));
+                summary.setAvgFeedbackRating30Days(rs.getDouble("avg_feedback_rating_30_days"));
+                summary.setTodaysRevenue(rs.getBigDecimal("todays_revenue"));
+                summary.setRevenueLast30Days(rs.getBigDecimal("revenue_last_30_days"));
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(TODAYS_BOOKINGS_SQL)) {
+                pstmt.setTimestamp(1, businessDay.getStart());
+                pstmt.setTimestamp(2, businessDay.getEnd());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        summary.setTodaysBookings(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return summary;
+    }
+
+    private void startReconciliation() {
+        if (reconciler != null) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                List<String> discrepancies = reconcile();
+                if (!discrepancies.isEmpty()) {
+                    System.out.println("Dashboard counters drifted from dashboard_summary, reseeded: " + discrepancies);
+                }
+            } catch (Exception e) {
+                System.err.println("Dashboard reconciliation failed: " + e.getMessage());
+            }
+        }, RECONCILE_INTERVAL_MINUTES, RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private static class RoomEntry {
+        private final String number;
+        private final String status;
+
+        RoomEntry(String number, String status) {
+            this.number = number;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Which of today's booking figures a booking counts towards.
+     */
+    private static class BookingEntry {
+        private final boolean createdToday;
+        private final boolean checkInToday;
+        private final boolean checkOutToday;
+
+        private BookingEntry(boolean createdToday, boolean checkInToday, boolean checkOutToday) {
+            this.createdToday = createdToday;
+            this.checkInToday = checkInToday;
+            this.checkOutToday = checkOutToday;
+        }
+
+        /**
+         * Returns null when the booking does not count towards any of today's figures.
+         */
+        static BookingEntry of(LocalDate today, LocalDate checkIn, LocalDate checkOut, String status, boolean createdToday) {
+            boolean active = status == null || !status.equalsIgnoreCase("Cancelled");
+            boolean checkInToday = active && today.equals(checkIn);
+            boolean checkOutToday = active && today.equals(checkOut);
+            if (!createdToday && !checkInToday && !checkOutToday) {
+                return null;
+            }
+            return new BookingEntry(createdToday, checkInToday, checkOutToday);
+        }
+    }
+}
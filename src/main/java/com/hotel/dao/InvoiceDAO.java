@@ -3,7 +3,10 @@ package com.hotel.dao;
 import com.hotel.model.Invoice;
 import com.hotel.model.BookingService;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface InvoiceDAO {
     /**
@@ -28,4 +31,22 @@ public interface InvoiceDAO {
      * @throws SQLException if a database access error occurs
      */
     List<BookingService> getBookingServicesForBooking(int bookingId) throws SQLException;
+    
+    /**
+     * Retrieves the invoices to export in one batch, with the same details as {@link #getInvoiceDetails(int)}
+     * @param issuedFrom first issue date to include, or null for no lower bound
+     * @param issuedTo last issue date to include, or null for no upper bound
+     * @param status invoice status to match, or null for any status
+     * @return matching invoices ordered by invoice ID
+     * @throws SQLException if a database access error occurs
+     */
+    List<Invoice> findInvoicesForExport(LocalDate issuedFrom, LocalDate issuedTo, String status) throws SQLException;
+    
+    /**
+     * Retrieves the booking services of many bookings with a few IN-list queries
+     * @param bookingIds the IDs of the bookings
+     * @return services per booking ID; bookings without services are absent
+     * @throws SQLException if a database access error occurs
+     */
+    Map<Integer, List<BookingService>> getBookingServicesForBookings(Collection<Integer> bookingIds) throws SQLException;
 }
@@ -0,0 +1,542 @@
+package com.hotel.dao;
+
+import com.hotel.model.Booking;
+import com.hotel.util.BusinessDateService;
+import com.hotel.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Room x night occupancy matrix over a rolling two-year window (one year back, one year ahead).
+ *
+ * Each room is one {@code long[]} row with one bit per night, so occupancy counts, per-day
+ * percentages and "free for N consecutive nights" searches run as word-level AND / bitCount
+ * operations instead of SQL. Intended for the dashboard and a tape chart.
+ *
+ * Cancelled bookings are not shown. A Checked-out booking only occupies nights before today, so an
+ * early departure frees the remaining nights. The calendar is loaded lazily and kept current by
+ * {@code BookingDAOImpl} and {@code RoomDAOImpl}. When the date rolls past the window it is
+ * re-rendered from the stays already in memory.
+ */
+public class OccupancyCalendar {
+
+    private static final int PAST_DAYS = 365;
+    private static final int FUTURE_DAYS = 365;
+    private static final int WINDOW_DAYS = PAST_DAYS + FUTURE_DAYS;
+    private static final int WORDS_PER_ROW = (WINDOW_DAYS + 63) / 64;
+
+    private static final String ROOMS_SQL = "SELECT room_id FROM rooms";
+    private static final String BOOKINGS_SQL = "SELECT booking_id, room_id, check_in_date, check_out_date, booking_status " +
+            "FROM bookings WHERE (booking_status IS NULL OR booking_status <> 'Cancelled') " +
+            "AND check_out_date > ? AND check_in_date < ?";
+
+    private static final OccupancyCalendar INSTANCE =
+            new OccupancyCalendar(new DatabaseSource(), BusinessDateService.getInstance()::getBusinessDate);
+
+    /**
+     * Where the calendar reads rooms and bookings from.
+     */
+    interface Source {
+        List<Integer> readRoomIds() throws SQLException;
+
+        /**
+         * Bookings that are not cancelled and stay at least one night in [from, to).
+         */
+        List<Booking> readBookings(LocalDate from, LocalDate to) throws SQLException;
+    }
+
+    private final Source source;
+    private final Supplier<LocalDate> businessDate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // TreeMap keeps rows in room_id order for tape-chart rendering
+    private final Map<Integer, long[]> rows = new TreeMap<>();
+    private final Map<Integer, List<Stay>> staysByRoom = new HashMap<>();
+    private final Map<Integer, Stay> staysByBooking = new HashMap<>();
+    private long windowStart;
+    private boolean loaded;
+
+    OccupancyCalendar(Source source, Supplier<LocalDate> businessDate) {
+        this.source = source;
+        this.businessDate = businessDate;
+    }
+
+    public static OccupancyCalendar getInstance() {
+        return INSTANCE;
+    }
+
+    public LocalDate getWindowStart() throws SQLException {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            return LocalDate.ofEpochDay(windowStart);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LocalDate getWindowEnd() throws SQLException {
+        return getWindowStart().plusDays(WINDOW_DAYS);
+    }
+
+    public int getRoomCount() throws SQLException {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts rooms occupied on each night in [from, to).
+     *
+     * @return One count per night, index 0 being {@code from}.
+     */
+    public int[] getOccupiedRoomCounts(LocalDate from, LocalDate to) throws SQLException {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            int start = clampToWindow(from);
+            int end = clampToWindow(to);
+            int[] counts = new int[Math.max(0, (int) (to.toEpochDay() - from.toEpochDay()))];
+            int offset = (int) (windowStart + start - from.toEpochDay());
+            for (long[] row : rows.values()) {
+                for (int word = start >>> 6; word < WORDS_PER_ROW && word << 6 < end; word++) {
+                    long bits = row[word] & rangeMask(word, start, end);
+                    while (bits != 0) {
+                        int night = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        counts[night - start + offset]++;
+                        bits &= bits - 1;
+                    }
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Occupancy percentage (0-100) of each night in [from, to).
+     */
+    public double[] getOccupancyPercentages(LocalDate from, LocalDate to) throws SQLException {
+        int[] counts = getOccupiedRoomCounts(from, to);
+        int roomCount = getRoomCount();
+        double[] percentages = new double[counts.length];
+        if (roomCount > 0) {
+            for (int i = 0; i < counts.length; i++) {
+                percentages[i] = counts[i] * 100.0 / roomCount;
+            }
+        }
+        return percentages;
+    }
+
+    /**
+     * Total occupied room-nights in [from, to), via bitCount per row word.
+     */
+    public long countOccupiedRoomNights(LocalDate from, LocalDate to) throws SQLException {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            int start = clampToWindow(from);
+            int end = clampToWindow(to);
+            long total = 0;
+            for (long[] row : rows.values()) {
+                for (int word = start >>> 6; word < WORDS_PER_ROW && word << 6 < end; word++) {
+                    total += Long.bitCount(row[word] & rangeMask(word, start, end));
+                }
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rooms free on every night of [from, from + nights).
+     */
+    public List<Integer> findRoomsFreeFor(LocalDate from, int nights) throws SQLException {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            int start = clampToWindow(from);
+            int end = clampToWindow(from.plusDays(nights));
+            List<Integer> free = new ArrayList<>();
+            for (Map.Entry<Integer, long[]> entry : rows.entrySet()) {
+                long[] row = entry.getValue();
+                boolean clear = true;
+                for (int word = start >>> 6; clear && word < WORDS_PER_ROW && word << 6 < end; word++) {
+                    clear = (row[word] & rangeMask(word, start, end)) == 0;
+                }
+                if (clear) {
+                    free.add(entry.getKey());
+                }
+            }
+            return free;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rooms that have at least one run of {@code nights} consecutive free nights starting in [from, to).
+     *
+     * @return Room id mapped to the first night such a run starts.
+     */
+    public Map<Integer, LocalDate> findRoomsWithFreeRun(LocalDate from, LocalDate to, int nights) throws SQLException {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            int start = clampToWindow(from);
+            int end = clampToWindow(to.plusDays(nights - 1L));
+            Map<Integer, LocalDate> result = new TreeMap<>();
+            long[] free = new long[WORDS_PER_ROW];
+            for (Map.Entry<Integer, long[]> entry : rows.entrySet()) {
+                long[] row = entry.getValue();
+                for (int word = 0; word < WORDS_PER_ROW; word++) {
+                    free[word] = ~row[word] & rangeMask(word, start, end);
+                }
+                // After k rounds a set bit marks a night that starts k + 1 free nights in a row
+                for (int round = 1; round < nights; round++) {
+                    for (int word = 0; word < WORDS_PER_ROW; word++) {
+                        long next = word + 1 < WORDS_PER_ROW ? free[word + 1] : 0L;
+                        free[word] &= (free[word] >>> 1) | (next << 63);
+                    }
+                }
+                int lastStart = clampToWindow(to);
+                for (int word = 0; word < WORDS_PER_ROW; word++) {
+                    free[word] &= rangeMask(word, start, lastStart);
+                    if (free[word] != 0) {
+                        int night = (word << 6) + Long.numberOfTrailingZeros(free[word]);
+                        result.put(entry.getKey(), LocalDate.ofEpochDay(windowStart + night));
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Occupied nights of one room in [from, to), for drawing a tape-chart row.
+     *
+     * @return Bit i set when night {@code from + i} is occupied.
+     */
+    public BitSet getRoomOccupancy(int roomId, LocalDate from, LocalDate to) throws SQLException {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            BitSet occupancy = new BitSet();
+            long[] row = rows.get(roomId);
+            if (row == null) {
+                return occupancy;
+            }
+            int start = clampToWindow(from);
+            int end = clampToWindow(to);
+            int offset = (int) (windowStart - from.toEpochDay());
+            for (int night = start; night < end; night++) {
+                if ((row[night >>> 6] & (1L << night)) != 0) {
+                    occupancy.set(night + offset);
+                }
+            }
+            return occupancy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a booking's nights. Cancelled bookings are removed.
+     */
+    public void recordBooking(Booking booking) {
+        if (booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeLocked(booking.getBookingId());
+            Stay stay = toStay(booking.getBookingId(), booking.getRoomId(), booking.getCheckInDate(),
+                    booking.getCheckOutDate(), booking.getBookingStatus());
+            if (stay != null) {
+                addLocked(stay);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBooking(int bookingId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeLocked(bookingId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addRoom(int roomId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                rows.putIfAbsent(roomId, new long[WORDS_PER_ROW]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeRoom(int roomId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                rows.remove(roomId);
+                List<Stay> stays = staysByRoom.remove(roomId);
+                if (stays != null) {
+                    for (Stay stay : stays) {
+                        staysByBooking.remove(stay.bookingId);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the calendar from the rooms and bookings tables. Both are read before anything is
+     * replaced, so a failed reload leaves the previous calendar in place.
+     */
+    public void reload() throws SQLException {
+        lock.writeLock().lock();
+        try {
+            long newStart = currentWindowStart();
+            List<Integer> roomIds = source.readRoomIds();
+            List<Stay> stays = readStays(newStart, newStart + WINDOW_DAYS);
+            rows.clear();
+            staysByRoom.clear();
+            staysByBooking.clear();
+            windowStart = newStart;
+            for (int roomId : roomIds) {
+                rows.put(roomId, new long[WORDS_PER_ROW]);
+            }
+            for (Stay stay : stays) {
+                addLocked(stay);
+            }
+            loaded = true;
+            System.out.println("Occupancy calendar loaded " + rows.size() + " rooms, "
+                    + staysByBooking.size() + " stays from " + LocalDate.ofEpochDay(windowStart));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureCurrent() throws SQLException {
+        lock.readLock().lock();
+        try {
+            if (loaded && windowStart == currentWindowStart()) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                reload();
+            } else if (windowStart != currentWindowStart()) {
+                long oldEnd = windowStart + WINDOW_DAYS;
+                long newStart = currentWindowStart();
+                if (newStart - windowStart >= WINDOW_DAYS) {
+                    reload();
+                    return;
+                }
+                // Day rolled over: read the stays touching the newly exposed days first, so a failed
+                // read leaves the old window intact and is retried on the next call; then shift the
+                // window, forget the stays that left it and redraw every row
+                List<Stay> exposed = readStays(oldEnd, newStart + WINDOW_DAYS);
+                windowStart = newStart;
+                dropStaysBeforeLocked(newStart);
+                for (Stay stay : exposed) {
+                    if (!staysByBooking.containsKey(stay.bookingId)) {
+                        staysByBooking.put(stay.bookingId, stay);
+                        staysByRoom.computeIfAbsent(stay.roomId, id -> new ArrayList<>()).add(stay);
+                        rows.computeIfAbsent(stay.roomId, id -> new long[WORDS_PER_ROW]);
+                    }
+                }
+                for (Map.Entry<Integer, long[]> entry : rows.entrySet()) {
+                    long[] row = entry.getValue();
+                    Arrays.fill(row, 0L);
+                    List<Stay> stays = staysByRoom.get(entry.getKey());
+                    if (stays != null) {
+                        for (Stay stay : stays) {
+                            paint(row, stay);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the stays overlapping nights [from, to) without touching the calendar.
+     */
+    private List<Stay> readStays(long from, long to) throws SQLException {
+        List<Stay> stays = new ArrayList<>();
+        for (Booking booking : source.readBookings(LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to))) {
+            Stay stay = toStay(booking.getBookingId(), booking.getRoomId(), booking.getCheckInDate(),
+                    booking.getCheckOutDate(), booking.getBookingStatus());
+            if (stay != null) {
+                stays.add(stay);
+            }
+        }
+        return stays;
+    }
+
+    private void dropStaysBeforeLocked(long day) {
+        staysByBooking.values().removeIf(stay -> stay.checkOut <= day);
+        for (List<Stay> stays : staysByRoom.values()) {
+            stays.removeIf(stay -> stay.checkOut <= day);
+        }
+        staysByRoom.values().removeIf(List::isEmpty);
+    }
+
+    private long currentWindowStart() {
+        return businessDate.get().toEpochDay() - PAST_DAYS;
+    }
+
+    private Stay toStay(int bookingId, int roomId, LocalDate checkIn, LocalDate checkOut, String status) {
+        if (status != null && status.equalsIgnoreCase("Cancelled")) {
+            return null;
+        }
+        long in = checkIn.toEpochDay();
+        long out = checkOut.toEpochDay();
+        if (status != null && status.equalsIgnoreCase("Checked-out")) {
+            out = Math.min(out, businessDate.get().toEpochDay());
+        }
+        return out > in ? new Stay(bookingId, roomId, in, out) : null;
+    }
+
+    private void addLocked(Stay stay) {
+        staysByBooking.put(stay.bookingId, stay);
+        staysByRoom.computeIfAbsent(stay.roomId, id -> new ArrayList<>()).add(stay);
+        paint(rows.computeIfAbsent(stay.roomId, id -> new long[WORDS_PER_ROW]), stay);
+    }
+
+    private void removeLocked(int bookingId) {
+        Stay removed = staysByBooking.remove(bookingId);
+        if (removed == null) {
+            return;
+        }
+        List<Stay> stays = staysByRoom.get(removed.roomId);
+        stays.remove(removed);
+        // Redraw the row: clearing only the removed nights would also clear overlapping stays
+        long[] row = rows.get(removed.roomId);
+        if (row != null) {
+            Arrays.fill(row, 0L);
+            for (Stay stay : stays) {
+                paint(row, stay);
+            }
+        }
+    }
+
+    private void paint(long[] row, Stay stay) {
+        int start = (int) Math.max(0, stay.checkIn - windowStart);
+        int end = (int) Math.min(WINDOW_DAYS, stay.checkOut - windowStart);
+        for (int word = start >>> 6; word < WORDS_PER_ROW && word << 6 < end; word++) {
+            row[word] |= rangeMask(word, start, end);
+        }
+    }
+
+    private int clampToWindow(LocalDate date) {
+        return (int) Math.max(0, Math.min(WINDOW_DAYS, date.toEpochDay() - windowStart));
+    }
+
+    /**
+     * Bits of the given word that fall inside night range [start, end) of the window.
+     */
+    private static long rangeMask(int word, int start, int end) {
+        int wordStart = word << 6;
+        int from = Math.max(start - wordStart, 0);
+        int to = Math.min(end - wordStart, 64);
+        if (from >= to) {
+            return 0L;
+        }
+        long upper = to == 64 ? -1L : (1L << to) - 1;
+        return upper & (-1L << from);
+    }
+
+    private static class DatabaseSource implements Source {
+        @Override
+        public List<Integer> readRoomIds() throws SQLException {
+            List<Integer> roomIds = new ArrayList<>();
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(ROOMS_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    roomIds.add(rs.getInt("room_id"));
+                }
+            }
+            return roomIds;
+        }
+
+        @Override
+        public List<Booking> readBookings(LocalDate from, LocalDate to) throws SQLException {
+            List<Booking> bookings = new ArrayList<>();
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(BOOKINGS_SQL)) {
+                stmt.setDate(1, Date.valueOf(from));
+                stmt.setDate(2, Date.valueOf(to));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Booking booking = new Booking();
+                        booking.setBookingId(rs.getInt("booking_id"));
+                        booking.setRoomId(rs.getInt("room_id"));
+                        booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
+                        booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
+                        booking.setBookingStatus(rs.getString("booking_status"));
+                        bookings.add(booking);
+                    }
+                }
+            }
+            return bookings;
+        }
+    }
+
+    private static class Stay {
+        private final int bookingId;
+        private final int roomId;
+        private final long checkIn;
+        private final long checkOut;
+
+        Stay(int bookingId, int roomId, long checkIn, long checkOut) {
+            this.bookingId = bookingId;
+            this.roomId = roomId;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+    }
+}
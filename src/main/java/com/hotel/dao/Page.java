@@ -0,0 +1,59 @@
+package com.hotel.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query, with the cursors needed to fetch its neighbours.
+ *
+ * @param <T> the row type
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final Cursor first;
+    private final Cursor last;
+    private final boolean hasPrevious;
+    private final boolean hasNext;
+
+    public Page(List<T> items, Cursor first, Cursor last, boolean hasPrevious, boolean hasNext) {
+        this.items = Collections.unmodifiableList(items);
+        this.first = first;
+        this.last = last;
+        this.hasPrevious = hasPrevious;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getItems() { return items; }
+    public boolean isEmpty() { return items.isEmpty(); }
+
+    /** Cursor of the first row, or null for an empty page. */
+    public Cursor getFirst() { return first; }
+
+    /** Cursor of the last row, or null for an empty page. */
+    public Cursor getLast() { return last; }
+
+    public boolean hasPrevious() { return hasPrevious; }
+    public boolean hasNext() { return hasNext; }
+
+    /**
+     * Position of a row in the query's sort order: the sort column value plus the row id as tie-breaker.
+     */
+    public static class Cursor {
+        private final Object sortValue;
+        private final int id;
+
+        public Cursor(Object sortValue, int id) {
+            this.sortValue = sortValue;
+            this.id = id;
+        }
+
+        public Object getSortValue() { return sortValue; }
+        public int getId() { return id; }
+
+        @Override
+        public String toString() {
+            return "(" + sortValue + ", " + id + ")";
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.hotel.dao;
+
+/**
+ * Which page to fetch from a keyset-paginated query.
+ *
+ * Pages are addressed relative to a cursor of an already displayed page rather than by
+ * offset, so the database seeks straight to the anchor row through the sort index.
+ */
+public class PageRequest {
+
+    public enum Direction { FORWARD, BACKWARD }
+
+    private final int pageSize;
+    private final Direction direction;
+    private final Page.Cursor anchor;
+    private final boolean inclusive;
+
+    private PageRequest(int pageSize, Direction direction, Page.Cursor anchor, boolean inclusive) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.direction = direction;
+        this.anchor = anchor;
+        this.inclusive = inclusive;
+    }
+
+    /** The first {@code pageSize} rows. */
+    public static PageRequest first(int pageSize) {
+        return new PageRequest(pageSize, Direction.FORWARD, null, false);
+    }
+
+    /** The last {@code pageSize} rows. */
+    public static PageRequest last(int pageSize) {
+        return new PageRequest(pageSize, Direction.BACKWARD, null, false);
+    }
+
+    /** The rows following {@code cursor}, typically the last cursor of the current page. */
+    public static PageRequest after(Page.Cursor cursor, int pageSize) {
+        return new PageRequest(pageSize, Direction.FORWARD, cursor, false);
+    }
+
+    /** The rows preceding {@code cursor}, typically the first cursor of the current page. */
+    public static PageRequest before(Page.Cursor cursor, int pageSize) {
+        return new PageRequest(pageSize, Direction.BACKWARD, cursor, false);
+    }
+
+    /** The rows starting at {@code cursor}, used to refresh the current page in place. */
+    public static PageRequest startingAt(Page.Cursor cursor, int pageSize) {
+        return new PageRequest(pageSize, Direction.FORWARD, cursor, true);
+    }
+
+    public int getPageSize() { return pageSize; }
+    public Direction getDirection() { return direction; }
+    public Page.Cursor getAnchor() { return anchor; }
+    public boolean isInclusive() { return inclusive; }
+}
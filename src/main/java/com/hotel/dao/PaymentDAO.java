@@ -10,6 +10,18 @@ import java.util.List;
  * Data Access Object interface for Payment-related database operations
  */
 public interface PaymentDAO {
+
+    /**
+     * Receives payments one at a time from {@link #streamPayments(int, PaymentHandler)}
+     */
+    interface PaymentHandler {
+        /**
+         * @param payment The next payment, with the same related data as {@link #getAllPayments()}
+         * @return false to stop reading further rows
+         * @throws SQLException If the handler fails; this aborts the stream
+         */
+        boolean handle(Payment payment) throws SQLException;
+    }
     
     /**
      * Adds a new payment record to the database
@@ -28,6 +40,25 @@ public interface PaymentDAO {
      */
     List<Payment> getAllPayments() throws SQLException;
     
+    /**
+     * Counts all payment records, e.g. to report progress while streaming them
+     * 
+     * @return Number of payments
+     * @throws SQLException If a database error occurs
+     */
+    int countPayments() throws SQLException;
+    
+    /**
+     * Reads all payment records in the order of {@link #getAllPayments()} through a forward-only
+     * server-side cursor, so only about fetchSize rows are held in memory at a time
+     * 
+     * @param fetchSize Number of rows fetched from the server per round trip
+     * @param handler Receives each payment as it is read
+     * @return Number of payments passed to the handler
+     * @throws SQLException If a database error occurs or the handler fails
+     */
+    int streamPayments(int fetchSize, PaymentHandler handler) throws SQLException;
+    
     /**
      * Retrieves detailed information about a specific payment for receipt generation
      * 
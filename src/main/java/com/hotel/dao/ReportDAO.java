@@ -0,0 +1,31 @@
+package com.hotel.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Streams the raw data behind the occupancy report. Rows are handed over as primitives
+ * so that a multi-year report never holds more than one fetch of rows in memory.
+ */
+public interface ReportDAO {
+
+    /**
+     * Receives one group of identical rooms.
+     */
+    interface InventoryHandler {
+        void roomGroup(String roomType, int floor, int rooms);
+    }
+
+    /**
+     * Receives one stay. Dates are epoch days; the stay covers the nights [checkIn, checkOut).
+     */
+    interface StayHandler {
+        void stay(int checkInDay, int checkOutDay, String roomType, int floor, long roomRevenueCents, int guests);
+    }
+
+    // Passes the number of rooms per room type and floor
+    void loadRoomInventory(InventoryHandler handler) throws SQLException;
+
+    // Passes every non-cancelled stay with at least one night in [from, toExclusive); returns the number of stays
+    int streamStays(LocalDate from, LocalDate toExclusive, int fetchSize, StayHandler handler) throws SQLException;
+}
@@ -0,0 +1,31 @@
+package com.hotel.dao;
+
+import com.hotel.model.DailyRevenue;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The daily_revenue rollup: payment totals per business date and room type, so revenue figures
+ * are read from a few small rows instead of summing the payments table. New payments are added by
+ * {@link PaymentDAO#addPayment} in the same transaction; {@link #rebuild} recomputes a date range
+ * from the payments, e.g. for the initial backfill or after payments were changed outside the application.
+ */
+public interface RevenueRollupDAO {
+
+    // Sum of the payments taken on business dates in [from, toExclusive)
+    BigDecimal getRevenue(LocalDate from, LocalDate toExclusive) throws SQLException;
+
+    // Rollup rows in [from, toExclusive), ordered by date and room type
+    List<DailyRevenue> findDailyRevenue(LocalDate from, LocalDate toExclusive) throws SQLException;
+
+    // Replaces the rollup rows in [from, toExclusive) with totals recomputed from the payments; returns rows written
+    int rebuild(LocalDate from, LocalDate toExclusive) throws SQLException;
+
+    boolean isEmpty() throws SQLException;
+
+    Optional<LocalDate> findFirstPaymentDate() throws SQLException;
+}
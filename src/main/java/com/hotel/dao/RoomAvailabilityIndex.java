@@ -0,0 +1,368 @@
+package com.hotel.dao;
+
+import com.hotel.model.Booking;
+import com.hotel.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of active bookings per room, used to answer availability questions
+ * without running an anti-join over the bookings table.
+ *
+ * Stays are half-open night ranges [check-in, check-out): a guest checking out on a day
+ * does not block a new guest checking in that same day. Only bookings that still hold
+ * the room (anything but Cancelled or Checked-out) are indexed.
+ *
+ * The index is loaded lazily on first use and kept current by {@code BookingDAOImpl}
+ * on add, update, status change and delete. {@link #verifyAgainstDatabase()} reports any
+ * drift from the bookings table and {@link #reload()} repairs it.
+ */
+public class RoomAvailabilityIndex {
+
+    private static final String LOAD_SQL = "SELECT booking_id, room_id, check_in_date, check_out_date " +
+            "FROM bookings WHERE " + activeStatusCondition("booking_status");
+
+    private static final RoomAvailabilityIndex INSTANCE = new RoomAvailabilityIndex();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, RoomStays> staysByRoom = new HashMap<>();
+    private final Map<Integer, Stay> staysByBooking = new HashMap<>();
+    private boolean loaded;
+
+    RoomAvailabilityIndex() {}
+
+    public static RoomAvailabilityIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns true when the booking status means the booking still holds its room.
+     */
+    public static boolean isActiveStatus(String bookingStatus) {
+        return bookingStatus == null
+                || !(bookingStatus.equalsIgnoreCase("Cancelled") || bookingStatus.equalsIgnoreCase("Checked-out"));
+    }
+
+    /**
+     * The SQL form of {@link #isActiveStatus} for a booking status column, e.g. {@code "b.booking_status"},
+     * so queries that decide whether a room is taken agree with the index.
+     */
+    public static String activeStatusCondition(String statusColumn) {
+        return "(" + statusColumn + " IS NULL OR " + statusColumn + " NOT IN ('Cancelled', 'Checked-out'))";
+    }
+
+    /**
+     * Checks whether a room has no active booking overlapping [checkIn, checkOut).
+     *
+     * @throws SQLException if the index has to be loaded and the load fails
+     */
+    public boolean isAvailable(int roomId, LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        ensureLoaded();
+        long in = checkIn.toEpochDay();
+        long out = checkOut.toEpochDay();
+        lock.readLock().lock();
+        try {
+            RoomStays roomStays = staysByRoom.get(roomId);
+            return roomStays == null || !roomStays.overlaps(in, out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the rooms from the given candidates that are free for [checkIn, checkOut).
+     *
+     * @throws SQLException if the index has to be loaded and the load fails
+     */
+    public Set<Integer> findAvailableRoomIds(Collection<Integer> candidateRoomIds, LocalDate checkIn, LocalDate checkOut)
+            throws SQLException {
+        ensureLoaded();
+        long in = checkIn.toEpochDay();
+        long out = checkOut.toEpochDay();
+        Set<Integer> available = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Integer roomId : candidateRoomIds) {
+                RoomStays roomStays = staysByRoom.get(roomId);
+                if (roomStays == null || !roomStays.overlaps(in, out)) {
+                    available.add(roomId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return available;
+    }
+
+    /**
+     * Returns the rooms that have at least one active booking overlapping [checkIn, checkOut).
+     *
+     * @throws SQLException if the index has to be loaded and the load fails
+     */
+    public Set<Integer> findBookedRoomIds(LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        ensureLoaded();
+        long in = checkIn.toEpochDay();
+        long out = checkOut.toEpochDay();
+        Set<Integer> booked = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Integer, RoomStays> entry : staysByRoom.entrySet()) {
+                if (entry.getValue().overlaps(in, out)) {
+                    booked.add(entry.getKey());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return booked;
+    }
+
+    /**
+     * Adds or replaces a booking. Bookings whose status no longer holds the room are removed instead.
+     */
+    public void recordBooking(Booking booking) {
+        if (booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return; // The first query loads a fresh copy from the database
+            }
+            removeLocked(booking.getBookingId());
+            if (isActiveStatus(booking.getBookingStatus())) {
+                addLocked(new Stay(booking.getBookingId(), booking.getRoomId(),
+                        booking.getCheckInDate().toEpochDay(), booking.getCheckOutDate().toEpochDay()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a booking, e.g. after it was cancelled, checked out or deleted.
+     */
+    public void removeBooking(int bookingId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                removeLocked(bookingId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the in-memory state and reloads all active bookings from the database.
+     */
+    public void reload() throws SQLException {
+        // Hold the write lock across the read so no booking change can slip in between
+        // the snapshot and the swap
+        lock.writeLock().lock();
+        Map<Integer, Stay> snapshot;
+        try {
+            snapshot = loadSnapshot();
+            replaceLocked(snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Room availability index loaded " + snapshot.size() + " active bookings");
+    }
+
+    /**
+     * Replaces the in-memory state with the active ones of the given bookings, without a database.
+     * Used by the benchmarks.
+     */
+    void reload(Collection<Booking> bookings) {
+        Map<Integer, Stay> snapshot = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (isActiveStatus(booking.getBookingStatus())) {
+                snapshot.put(booking.getBookingId(), new Stay(booking.getBookingId(), booking.getRoomId(),
+                        booking.getCheckInDate().toEpochDay(), booking.getCheckOutDate().toEpochDay()));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            replaceLocked(snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the index with the bookings table.
+     *
+     * @return One line per discrepancy; empty when the index matches the database.
+     * @throws SQLException if the database snapshot cannot be read
+     */
+    public List<String> verifyAgainstDatabase() throws SQLException {
+        ensureLoaded();
+        Map<Integer, Stay> snapshot = loadSnapshot();
+        List<String> discrepancies = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Stay expected : snapshot.values()) {
+                Stay actual = staysByBooking.get(expected.bookingId);
+                if (actual == null) {
+                    discrepancies.add("Missing from index: " + expected);
+                } else if (!actual.sameAs(expected)) {
+                    discrepancies.add("Stale in index: " + actual + ", database has " + expected);
+                }
+            }
+            for (Stay actual : staysByBooking.values()) {
+                if (!snapshot.containsKey(actual.bookingId)) {
+                    discrepancies.add("Not active in database: " + actual);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return discrepancies;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return staysByBooking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() throws SQLException {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (this) {
+            if (!loaded) {
+                reload();
+            }
+        }
+    }
+
+    private Map<Integer, Stay> loadSnapshot() throws SQLException {
+        Map<Integer, Stay> snapshot = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(LOAD_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Stay stay = new Stay(rs.getInt("booking_id"), rs.getInt("room_id"),
+                        rs.getDate("check_in_date").toLocalDate().toEpochDay(),
+                        rs.getDate("check_out_date").toLocalDate().toEpochDay());
+                snapshot.put(stay.bookingId, stay);
+            }
+        }
+        return snapshot;
+    }
+
+    private void replaceLocked(Map<Integer, Stay> snapshot) {
+        staysByRoom.clear();
+        staysByBooking.clear();
+        for (Stay stay : snapshot.values()) {
+            addLocked(stay);
+        }
+        loaded = true;
+    }
+
+    private void addLocked(Stay stay) {
+        staysByBooking.put(stay.bookingId, stay);
+        staysByRoom.computeIfAbsent(stay.roomId, id -> new RoomStays()).add(stay);
+    }
+
+    private void removeLocked(int bookingId) {
+        Stay stay = staysByBooking.remove(bookingId);
+        if (stay != null) {
+            RoomStays roomStays = staysByRoom.get(stay.roomId);
+            if (roomStays != null) {
+                roomStays.remove(stay);
+                if (roomStays.isEmpty()) {
+                    staysByRoom.remove(stay.roomId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stays of one room ordered by check-in. Overlapping bookings in the data are tolerated:
+     * the overlap scan walks back from the query's check-out and stops once a stay starts
+     * too early to reach the query's check-in, using the longest stay seen for this room.
+     */
+    static class RoomStays {
+        private static final Comparator<Stay> BY_CHECK_IN =
+                Comparator.comparingLong((Stay s) -> s.checkIn).thenComparingInt(s -> s.bookingId);
+
+        private final NavigableSet<Stay> stays = new TreeSet<>(BY_CHECK_IN);
+        private long longestStay;
+
+        void add(Stay stay) {
+            stays.add(stay);
+            longestStay = Math.max(longestStay, stay.checkOut - stay.checkIn);
+        }
+
+        void remove(Stay stay) {
+            stays.remove(stay);
+        }
+
+        boolean isEmpty() {
+            return stays.isEmpty();
+        }
+
+        boolean overlaps(long in, long out) {
+            Stay upperBound = new Stay(Integer.MIN_VALUE, 0, out, out);
+            for (Stay stay : stays.headSet(upperBound, false).descendingSet()) {
+                if (stay.checkIn + longestStay <= in) {
+                    return false;
+                }
+                if (stay.checkOut > in) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static class Stay {
+        private final int bookingId;
+        private final int roomId;
+        private final long checkIn;
+        private final long checkOut;
+
+        Stay(int bookingId, int roomId, long checkIn, long checkOut) {
+            this.bookingId = bookingId;
+            this.roomId = roomId;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+
+        boolean sameAs(Stay other) {
+            return roomId == other.roomId && checkIn == other.checkIn && checkOut == other.checkOut;
+        }
+
+        @Override
+        public String toString() {
+            return "booking " + bookingId + " room " + roomId + " ["
+                    + LocalDate.ofEpochDay(checkIn) + ", " + LocalDate.ofEpochDay(checkOut) + ")";
+        }
+    }
+}
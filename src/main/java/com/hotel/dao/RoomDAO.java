@@ -12,6 +12,9 @@ public interface RoomDAO {
     boolean updateRoom(Room room) throws SQLException;
     boolean deleteRoom(int roomId) throws SQLException;
     List<Room> findAvailableRooms() throws SQLException;
+    // Paged listing: search matches a room number/type/status prefix or the floor; null type/status match any
+    Page<Room> findPage(String searchText, String type, String status, PageRequest pageRequest) throws SQLException;
+    int countRooms(String searchText, String type, String status) throws SQLException;
     
     // Dashboard methods
 
@@ -10,4 +10,7 @@ public interface ServiceDAO {
     Service updateService(Service service) throws SQLException;
     void deleteService(int serviceId) throws SQLException;
     Service getServiceById(int serviceId) throws SQLException;
+    // Paged listing: search matches the id exactly or a service name prefix
+    Page<Service> findPage(String searchText, PageRequest pageRequest) throws SQLException;
+    int countServices(String searchText) throws SQLException;
 }
@@ -0,0 +1,73 @@
+package com.hotel.dao.cache;
+
+import com.hotel.dao.CustomerDAO;
+import com.hotel.dao.RoomDAO;
+import com.hotel.dao.ServiceDAO;
+import com.hotel.dao.StaffDAO;
+import com.hotel.dao.impl.CustomerDAOImpl;
+import com.hotel.dao.impl.RoomDAOImpl;
+import com.hotel.dao.impl.ServiceDAOImpl;
+import com.hotel.dao.impl.StaffDAOImpl;
+import com.hotel.util.CacheStatistics;
+import com.hotel.util.QueryMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared caching DAOs for the reference data the screens read over and over.
+ *
+ * Controllers must all use these instances rather than creating their own DAOs, otherwise
+ * a write made through one DAO would leave stale entries in another's cache. The TTL bounds
+ * how long a change made outside the application (e.g. directly in the database) can go unseen.
+ */
+public final class CachedDAOs {
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    // The database-backed delegates are timed by QueryMetrics; cache hits are not
+    private static final CachingRoomDAO ROOM_DAO = new CachingRoomDAO(QueryMetrics.instrument(RoomDAO.class, new RoomDAOImpl()), MAX_ENTRIES, TIME_TO_LIVE);
+    private static final CachingCustomerDAO CUSTOMER_DAO = new CachingCustomerDAO(QueryMetrics.instrument(CustomerDAO.class, new CustomerDAOImpl()), MAX_ENTRIES, TIME_TO_LIVE);
+    private static final CachingServiceDAO SERVICE_DAO = new CachingServiceDAO(QueryMetrics.instrument(ServiceDAO.class, new ServiceDAOImpl()), MAX_ENTRIES, TIME_TO_LIVE);
+    private static final CachingStaffDAO STAFF_DAO = new CachingStaffDAO(QueryMetrics.instrument(StaffDAO.class, new StaffDAOImpl()), MAX_ENTRIES, TIME_TO_LIVE);
+
+    private CachedDAOs() {
+    }
+
+    public static CachingRoomDAO getRoomDAO() {
+        return ROOM_DAO;
+    }
+
+    public static CachingCustomerDAO getCustomerDAO() {
+        return CUSTOMER_DAO;
+    }
+
+    public static CachingServiceDAO getServiceDAO() {
+        return SERVICE_DAO;
+    }
+
+    public static CachingStaffDAO getStaffDAO() {
+        return STAFF_DAO;
+    }
+
+    /**
+     * Drops every cached entry, e.g. after the database was changed by another tool.
+     */
+    public static void invalidateAll() {
+        ROOM_DAO.invalidateAll();
+        CUSTOMER_DAO.invalidateAll();
+        SERVICE_DAO.invalidateAll();
+        STAFF_DAO.invalidateAll();
+    }
+
+    public static List<CacheStatistics> getStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        statistics.addAll(ROOM_DAO.getStatistics());
+        statistics.addAll(CUSTOMER_DAO.getStatistics());
+        statistics.addAll(SERVICE_DAO.getStatistics());
+        statistics.addAll(STAFF_DAO.getStatistics());
+        return statistics;
+    }
+}
@@ -0,0 +1,135 @@
+package com.hotel.dao.cache;
+
+import com.hotel.dao.CustomerDAO;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.model.Customer;
+import com.hotel.util.CacheStatistics;
+import com.hotel.util.LruCache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link CustomerDAO} that caches customer lookups and customer lists in front of another CustomerDAO.
+ * Every write through this DAO invalidates the cached lists and the written customer.
+ * Paged queries are passed through uncached.
+ */
+public class CachingCustomerDAO implements CustomerDAO {
+
+    private static final String ALL = "findAll";
+    private static final String BY_NAME = "findByName:";
+
+    private final CustomerDAO delegate;
+    private final LruCache<Integer, Optional<Customer>> byId;
+    private final LruCache<String, List<Customer>> lists;
+
+    public CachingCustomerDAO(CustomerDAO delegate, int maxEntries, Duration timeToLive) {
+        this.delegate = delegate;
+        this.byId = new LruCache<>("customers.byId", maxEntries, timeToLive);
+        this.lists = new LruCache<>("customers.lists", 64, timeToLive);
+    }
+
+    @Override
+    public Optional<Customer> findById(int customerId) throws SQLException {
+        return byId.get(customerId, () -> delegate.findById(customerId));
+    }
+
+    @Override
+    public List<Customer> findAll() throws SQLException {
+        List<Customer> customers = lists.get(ALL, () -> {
+            long loadVersion = byId.currentVersion();
+            List<Customer> loaded = List.copyOf(delegate.findAll());
+            for (Customer customer : loaded) {
+                byId.putIfUnchanged(customer.getCustomerId(), Optional.of(customer), loadVersion);
+            }
+            return loaded;
+        });
+        return new ArrayList<>(customers);
+    }
+
+    @Override
+    public boolean addCustomer(Customer customer) throws SQLException {
+        try {
+            return delegate.addCustomer(customer);
+        } finally {
+            // The new id may be cached as a miss
+            byId.invalidateAll();
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean updateCustomer(Customer customer) throws SQLException {
+        try {
+            return delegate.updateCustomer(customer);
+        } finally {
+            byId.invalidate(customer.getCustomerId());
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean deleteCustomer(int customerId) throws SQLException {
+        try {
+            return delegate.deleteCustomer(customerId);
+        } finally {
+            byId.invalidate(customerId);
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public List<Customer> findByName(String name) throws SQLException {
+        return new ArrayList<>(lists.get(BY_NAME + name, () -> List.copyOf(delegate.findByName(name))));
+    }
+
+    @Override
+    public Page<Customer> findPage(String searchText, Integer minAdults, Integer maxAdults, Integer minKids, Integer maxKids,
+                                   PageRequest pageRequest) throws SQLException {
+        return delegate.findPage(searchText, minAdults, maxAdults, minKids, maxKids, pageRequest);
+    }
+
+    @Override
+    public int countCustomers(String searchText, Integer minAdults, Integer maxAdults, Integer minKids, Integer maxKids)
+            throws SQLException {
+        return delegate.countCustomers(searchText, minAdults, maxAdults, minKids, maxKids);
+    }
+
+    /**
+     * Returns the token to read before loading a customer by another query and to pass to
+     * {@link #prime} afterwards.
+     */
+    public long loadVersion() {
+        return byId.currentVersion();
+    }
+
+    /**
+     * Caches a customer loaded by another query, e.g. a joined booking detail fetch. The customer
+     * is not cached if a write invalidated the cache after {@code loadVersion} was read.
+     */
+    public void prime(Customer customer, long loadVersion) {
+        byId.putIfUnchanged(customer.getCustomerId(), Optional.of(customer), loadVersion);
+    }
+
+    /**
+     * Returns the cached customer without loading it, or null when it is not cached.
+     */
+    public Customer peek(int customerId) {
+        Optional<Customer> cached = byId.peek(customerId);
+        return cached == null ? null : cached.orElse(null);
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        lists.invalidateAll();
+    }
+
+    public List<CacheStatistics> getStatistics() {
+        return Arrays.asList(byId.getStatistics(), lists.getStatistics());
+    }
+}
@@ -0,0 +1,176 @@
+package com.hotel.dao.cache;
+
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.RoomDAO;
+import com.hotel.model.Room;
+import com.hotel.util.CacheStatistics;
+import com.hotel.util.LruCache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link RoomDAO} that caches room lookups and room lists in front of another RoomDAO.
+ * Every write through this DAO invalidates the cached lists and the written room.
+ * Paged queries and dashboard counts are passed through uncached.
+ */
+public class CachingRoomDAO implements RoomDAO {
+
+    private static final String ALL = "findAll";
+    private static final String AVAILABLE = "findAvailableRooms";
+
+    private final RoomDAO delegate;
+    private final LruCache<Integer, Optional<Room>> byId;
+    private final LruCache<String, List<Room>> lists;
+
+    public CachingRoomDAO(RoomDAO delegate, int maxEntries, Duration timeToLive) {
+        this.delegate = delegate;
+        this.byId = new LruCache<>("rooms.byId", maxEntries, timeToLive);
+        this.lists = new LruCache<>("rooms.lists", 16, timeToLive);
+    }
+
+    @Override
+    public Optional<Room> findById(int roomId) throws SQLException {
+        return byId.get(roomId, () -> delegate.findById(roomId));
+    }
+
+    @Override
+    public List<Room> findAll() throws SQLException {
+        return new ArrayList<>(lists.get(ALL, () -> List.copyOf(delegate.findAll())));
+    }
+
+    @Override
+    public boolean addRoom(Room room) throws SQLException {
+        try {
+            return delegate.addRoom(room);
+        } finally {
+            // The new id may be cached as a miss
+            byId.invalidateAll();
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean updateRoom(Room room) throws SQLException {
+        try {
+            return delegate.updateRoom(room);
+        } finally {
+            byId.invalidate(room.getRoomId());
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean deleteRoom(int roomId) throws SQLException {
+        try {
+            return delegate.deleteRoom(roomId);
+        } finally {
+            byId.invalidate(roomId);
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public List<Room> findAvailableRooms() throws SQLException {
+        return new ArrayList<>(lists.get(AVAILABLE, () -> List.copyOf(delegate.findAvailableRooms())));
+    }
+
+    @Override
+    public Page<Room> findPage(String searchText, String type, String status, PageRequest pageRequest) throws SQLException {
+        return delegate.findPage(searchText, type, status, pageRequest);
+    }
+
+    @Override
+    public int countRooms(String searchText, String type, String status) throws SQLException {
+        return delegate.countRooms(searchText, type, status);
+    }
+
+    @Override
+    public int getAvailableRoomCount() throws SQLException {
+        return delegate.getAvailableRoomCount();
+    }
+
+    @Override
+    public int getOccupiedRoomCount() throws SQLException {
+        return delegate.getOccupiedRoomCount();
+    }
+
+    @Override
+    public int getCheckedInGuestsCount() throws SQLException {
+        return delegate.getCheckedInGuestsCount();
+    }
+
+    @Override
+    public int getCheckOutsDueToday() throws SQLException {
+        return delegate.getCheckOutsDueToday();
+    }
+
+    @Override
+    public int getExpectedCheckInsToday() throws SQLException {
+        return delegate.getExpectedCheckInsToday();
+    }
+
+    @Override
+    public int getReservationsToday() throws SQLException {
+        return delegate.getReservationsToday();
+    }
+
+    @Override
+    public int getNewBookingsToday() throws SQLException {
+        return delegate.getNewBookingsToday();
+    }
+
+    @Override
+    public boolean updateRoomStatus(String roomNumber, String newStatus) throws SQLException {
+        try {
+            return delegate.updateRoomStatus(roomNumber, newStatus);
+        } finally {
+            // Keyed by number, not id, so the affected byId entry is unknown
+            byId.invalidateAll();
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public int getTotalRoomCount() throws SQLException {
+        return delegate.getTotalRoomCount();
+    }
+
+    /**
+     * Returns the token to read before loading a room by another query and to pass to
+     * {@link #prime} afterwards.
+     */
+    public long loadVersion() {
+        return byId.currentVersion();
+    }
+
+    /**
+     * Caches a room loaded by another query, e.g. a joined booking detail fetch. The room
+     * is not cached if a write invalidated the cache after {@code loadVersion} was read.
+     */
+    public void prime(int roomId, Room room, long loadVersion) {
+        byId.putIfUnchanged(roomId, Optional.of(room), loadVersion);
+    }
+
+    /**
+     * Returns the cached room without loading it, or null when it is not cached.
+     */
+    public Room peek(int roomId) {
+        Optional<Room> cached = byId.peek(roomId);
+        return cached == null ? null : cached.orElse(null);
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        lists.invalidateAll();
+    }
+
+    public List<CacheStatistics> getStatistics() {
+        return Arrays.asList(byId.getStatistics(), lists.getStatistics());
+    }
+}
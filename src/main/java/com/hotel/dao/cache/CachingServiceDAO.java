@@ -0,0 +1,103 @@
+package com.hotel.dao.cache;
+
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.ServiceDAO;
+import com.hotel.model.Service;
+import com.hotel.util.CacheStatistics;
+import com.hotel.util.LruCache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link ServiceDAO} that caches the service catalogue in front of another ServiceDAO.
+ * Every write through this DAO invalidates the cached list and the written service.
+ * Paged queries are passed through uncached.
+ */
+public class CachingServiceDAO implements ServiceDAO {
+
+    private static final String ALL = "getAllServices";
+
+    private final ServiceDAO delegate;
+    private final LruCache<Integer, Optional<Service>> byId;
+    private final LruCache<String, List<Service>> lists;
+
+    public CachingServiceDAO(ServiceDAO delegate, int maxEntries, Duration timeToLive) {
+        this.delegate = delegate;
+        this.byId = new LruCache<>("services.byId", maxEntries, timeToLive);
+        this.lists = new LruCache<>("services.lists", 4, timeToLive);
+    }
+
+    @Override
+    public List<Service> getAllServices() throws SQLException {
+        List<Service> services = lists.get(ALL, () -> {
+            long loadVersion = byId.currentVersion();
+            List<Service> loaded = List.copyOf(delegate.getAllServices());
+            for (Service service : loaded) {
+                byId.putIfUnchanged(service.getServiceId(), Optional.of(service), loadVersion);
+            }
+            return loaded;
+        });
+        return new ArrayList<>(services);
+    }
+
+    @Override
+    public Service addService(Service service) throws SQLException {
+        try {
+            return delegate.addService(service);
+        } finally {
+            // The new id may be cached as a miss
+            byId.invalidateAll();
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public Service updateService(Service service) throws SQLException {
+        try {
+            return delegate.updateService(service);
+        } finally {
+            byId.invalidate(service.getServiceId());
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public void deleteService(int serviceId) throws SQLException {
+        try {
+            delegate.deleteService(serviceId);
+        } finally {
+            byId.invalidate(serviceId);
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public Service getServiceById(int serviceId) throws SQLException {
+        return byId.get(serviceId, () -> Optional.ofNullable(delegate.getServiceById(serviceId))).orElse(null);
+    }
+
+    @Override
+    public Page<Service> findPage(String searchText, PageRequest pageRequest) throws SQLException {
+        return delegate.findPage(searchText, pageRequest);
+    }
+
+    @Override
+    public int countServices(String searchText) throws SQLException {
+        return delegate.countServices(searchText);
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        lists.invalidateAll();
+    }
+
+    public List<CacheStatistics> getStatistics() {
+        return Arrays.asList(byId.getStatistics(), lists.getStatistics());
+    }
+}
@@ -0,0 +1,95 @@
+package com.hotel.dao.cache;
+
+import com.hotel.dao.StaffDAO;
+import com.hotel.model.Staff;
+import com.hotel.util.CacheStatistics;
+import com.hotel.util.LruCache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link StaffDAO} that caches staff lookups and staff lists in front of another StaffDAO.
+ * Every write through this DAO invalidates the cached lists and the written staff member.
+ */
+public class CachingStaffDAO implements StaffDAO {
+
+    private static final String ALL = "findAll";
+    private static final String BY_POSITION = "findByPosition:";
+
+    private final StaffDAO delegate;
+    private final LruCache<Integer, Optional<Staff>> byId;
+    private final LruCache<String, List<Staff>> lists;
+
+    public CachingStaffDAO(StaffDAO delegate, int maxEntries, Duration timeToLive) {
+        this.delegate = delegate;
+        this.byId = new LruCache<>("staff.byId", maxEntries, timeToLive);
+        this.lists = new LruCache<>("staff.lists", 16, timeToLive);
+    }
+
+    @Override
+    public List<Staff> findAll() throws SQLException {
+        List<Staff> staff = lists.get(ALL, () -> {
+            long loadVersion = byId.currentVersion();
+            List<Staff> loaded = List.copyOf(delegate.findAll());
+            for (Staff member : loaded) {
+                byId.putIfUnchanged(member.getUserId(), Optional.of(member), loadVersion);
+            }
+            return loaded;
+        });
+        return new ArrayList<>(staff);
+    }
+
+    @Override
+    public Optional<Staff> findById(int userId) throws SQLException {
+        return byId.get(userId, () -> delegate.findById(userId));
+    }
+
+    @Override
+    public boolean addStaff(Staff staff) throws SQLException {
+        try {
+            return delegate.addStaff(staff);
+        } finally {
+            byId.invalidate(staff.getUserId());
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean updateStaff(Staff staff) throws SQLException {
+        try {
+            return delegate.updateStaff(staff);
+        } finally {
+            byId.invalidate(staff.getUserId());
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean deleteStaff(int userId) throws SQLException {
+        try {
+            return delegate.deleteStaff(userId);
+        } finally {
+            byId.invalidate(userId);
+            lists.invalidateAll();
+        }
+    }
+
+    @Override
+    public List<Staff> findByPosition(String position) throws SQLException {
+        return new ArrayList<>(lists.get(BY_POSITION + position, () -> List.copyOf(delegate.findByPosition(position))));
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        lists.invalidateAll();
+    }
+
+    public List<CacheStatistics> getStatistics() {
+        return Arrays.asList(byId.getStatistics(), lists.getStatistics());
+    }
+}
@@ -0,0 +1,92 @@
+package com.hotel.dao.impl;
+
+import com.hotel.dao.AnalyticsDAO;
+import com.hotel.util.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.*;
+
+public class AnalyticsDAOImpl implements AnalyticsDAO {
+
+    @Override
+    public int streamBookings(int afterBookingId, int fetchSize, BookingRowHandler handler) throws SQLException {
+        String sql = "SELECT b.booking_id, b.room_id, b.customer_id, b.check_in_date, b.check_out_date, " +
+                     "b.created_at, b.booking_status, r.type " +
+                     "FROM bookings b LEFT JOIN rooms r ON r.room_id = b.room_id " +
+                     "WHERE b.booking_id > ? ORDER BY b.booking_id";
+        int count = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(fetchSize);
+            stmt.setInt(1, afterBookingId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    handler.booking(rs.getInt("booking_id"), rs.getInt("room_id"), rs.getInt("customer_id"),
+                            epochDay(rs.getDate("check_in_date")), epochDay(rs.getDate("check_out_date")),
+                            createdAt == null ? NO_DAY : (int) createdAt.toLocalDateTime().toLocalDate().toEpochDay(),
+                            rs.getString("booking_status"), rs.getString("type"));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int streamInvoices(int afterInvoiceId, int fetchSize, InvoiceRowHandler handler) throws SQLException {
+        String sql = "SELECT invoice_id, booking_id, issue_date, room_cost, service_cost, total_amount, paid_amount, " +
+                     "invoice_status FROM invoices WHERE invoice_id > ? ORDER BY invoice_id";
+        int count = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(fetchSize);
+            stmt.setInt(1, afterInvoiceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.invoice(rs.getInt("invoice_id"), rs.getInt("booking_id"), epochDay(rs.getDate("issue_date")),
+                            cents(rs.getBigDecimal("room_cost")), cents(rs.getBigDecimal("service_cost")),
+                            cents(rs.getBigDecimal("total_amount")), cents(rs.getBigDecimal("paid_amount")),
+                            rs.getString("invoice_status"));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int streamPayments(int afterPaymentId, int fetchSize, PaymentRowHandler handler) throws SQLException {
+        String sql = "SELECT payment_id, invoice_id, payment_date, amount, payment_method " +
+                     "FROM payments WHERE payment_id > ? ORDER BY payment_id";
+        int count = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(fetchSize);
+            stmt.setInt(1, afterPaymentId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.payment(rs.getInt("payment_id"), rs.getInt("invoice_id"), epochDay(rs.getDate("payment_date")),
+                            cents(rs.getBigDecimal("amount")), rs.getString("payment_method"));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int epochDay(Date date) {
+        return date == null ? NO_DAY : (int) date.toLocalDate().toEpochDay();
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+}
@@ -1,9 +1,17 @@
 package com.hotel.dao.impl;
 
 import com.hotel.dao.BookingDAO;
+import com.hotel.dao.DashboardCounters;
+import com.hotel.dao.OccupancyCalendar;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.RevenueRollupDAO;
+import com.hotel.dao.RoomAvailabilityIndex;
 import com.hotel.model.Booking;
+import com.hotel.model.BookingDetails;
 import com.hotel.model.Customer;
 import com.hotel.model.Room;
+import com.hotel.util.BusinessDateService;
 import com.hotel.util.DatabaseConnection;
 
 import java.sql.*;
@@ -12,9 +20,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class BookingDAOImpl implements BookingDAO {
 
+    private final RoomAvailabilityIndex availabilityIndex = RoomAvailabilityIndex.getInstance();
+    private final OccupancyCalendar occupancyCalendar = OccupancyCalendar.getInstance();
+    private final DashboardCounters dashboardCounters = DashboardCounters.getInstance();
+    private final RevenueRollupDAO revenueRollupDAO = new RevenueRollupDAOImpl();
+    private final BusinessDateService businessDates = BusinessDateService.getInstance();
+
     @Override
     public Optional<Booking> findById(int bookingId) throws SQLException {
         String sql = "SELECT * FROM bookings WHERE booking_id = ?";
@@ -25,13 +40,7 @@ public class BookingDAOImpl implements BookingDAO {
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                Booking booking = new Booking();
-                booking.setBookingId(rs.getInt("booking_id"));
-                booking.setRoomId(rs.getInt("room_id"));
-                booking.setCustomerId(rs.getInt("customer_id"));
-                booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
-                booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
-                return Optional.of(booking);
+                return Optional.of(mapRowToBooking(rs));
             }
         }
         return Optional.empty();
@@ -43,17 +52,11 @@ public class BookingDAOImpl implements BookingDAO {
         String sql = "SELECT * FROM bookings ORDER BY check_in_date";
         
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                Booking booking = new Booking();
-                booking.setBookingId(rs.getInt("booking_id"));
-                booking.setRoomId(rs.getInt("room_id"));
-                booking.setCustomerId(rs.getInt("customer_id"));
-                booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
-                booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
-                bookings.add(booking);
+                bookings.add(mapRowToBooking(rs));
             }
         }
         return bookings;
@@ -61,22 +64,78 @@ public class BookingDAOImpl implements BookingDAO {
 
     @Override
     public boolean addBooking(Booking booking) throws SQLException {
-        String sql = "INSERT INTO bookings (room_id, customer_id, check_in_date, check_out_date) VALUES (?, ?, ?, ?)";
+        boolean added;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            added = insertBooking(conn, booking);
+        }
+        if (added) {
+            bookingCommitted(booking, true);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean updateBooking(Booking booking) throws SQLException {
+        boolean updated;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            updated = updateBooking(conn, booking);
+        }
+        if (updated) {
+            bookingCommitted(booking, false);
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean lockRoom(Connection conn, int roomId) throws SQLException {
+        String sql = "SELECT room_id FROM rooms WHERE room_id = ? FOR UPDATE";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, roomId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasOverlappingBooking(Connection conn, Booking booking) throws SQLException {
+        String sql = "SELECT 1 FROM bookings WHERE room_id = ? AND booking_id <> ? " +
+                     "AND check_in_date < ? AND check_out_date > ? " +
+                     "AND " + RoomAvailabilityIndex.activeStatusCondition("booking_status") + " LIMIT 1";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, booking.getRoomId());
+            stmt.setInt(2, booking.getBookingId());
+            stmt.setDate(3, Date.valueOf(booking.getCheckOutDate()));
+            stmt.setDate(4, Date.valueOf(booking.getCheckInDate()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public boolean insertBooking(Connection conn, Booking booking) throws SQLException {
+        String sql = "INSERT INTO bookings (room_id, customer_id, check_in_date, check_out_date, number_of_adults, number_of_kids) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setInt(1, booking.getRoomId());
             stmt.setInt(2, booking.getCustomerId());
             stmt.setDate(3, Date.valueOf(booking.getCheckInDate()));
             stmt.setDate(4, Date.valueOf(booking.getCheckOutDate()));
+            stmt.setInt(5, booking.getNumberOfAdults());
+            stmt.setInt(6, booking.getNumberOfKids());
             
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
-                ResultSet generatedKeys = stmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    booking.setBookingId(generatedKeys.getInt(1));
-                    return true;
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        booking.setBookingId(generatedKeys.getInt(1));
+                        return true;
+                    }
                 }
             }
         }
@@ -84,22 +143,31 @@ public class BookingDAOImpl implements BookingDAO {
     }
 
     @Override
-    public boolean updateBooking(Booking booking) throws SQLException {
-        String sql = "UPDATE bookings SET room_id = ?, customer_id = ?, check_in_date = ?, check_out_date = ? WHERE booking_id = ?";
+    public boolean updateBooking(Connection conn, Booking booking) throws SQLException {
+        String sql = "UPDATE bookings SET room_id = ?, customer_id = ?, check_in_date = ?, check_out_date = ?, " +
+                     "number_of_adults = ?, number_of_kids = ? WHERE booking_id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, booking.getRoomId());
             stmt.setInt(2, booking.getCustomerId());
             stmt.setDate(3, Date.valueOf(booking.getCheckInDate()));
             stmt.setDate(4, Date.valueOf(booking.getCheckOutDate()));
-            stmt.setInt(5, booking.getBookingId());
+            stmt.setInt(5, booking.getNumberOfAdults());
+            stmt.setInt(6, booking.getNumberOfKids());
+            stmt.setInt(7, booking.getBookingId());
             
             return stmt.executeUpdate() > 0;
         }
     }
 
+    @Override
+    public void bookingCommitted(Booking booking, boolean created) {
+        availabilityIndex.recordBooking(booking);
+        occupancyCalendar.recordBooking(booking);
+        dashboardCounters.bookingSaved(booking, created);
+    }
+
     @Override
     public boolean deleteBooking(int bookingId) throws SQLException {
         String sql = "DELETE FROM bookings WHERE booking_id = ?";
@@ -108,8 +176,44 @@ public class BookingDAOImpl implements BookingDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, bookingId);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                availabilityIndex.removeBooking(bookingId);
+                occupancyCalendar.removeBooking(bookingId);
+                dashboardCounters.bookingRemoved(bookingId);
+            }
+            return deleted;
+        }
+    }
+
+    @Override
+    public boolean updateBookingStatus(int bookingId, String newStatus) throws SQLException {
+        String sql = "UPDATE bookings SET booking_status = ? WHERE booking_id = ?";
+        boolean updated;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, newStatus);
+            stmt.setInt(2, bookingId);
+            updated = stmt.executeUpdate() > 0;
         }
+
+        if (updated) {
+            // Both structures drop or trim the stay themselves depending on the new status
+            Optional<Booking> booking = findById(bookingId);
+            if (booking.isPresent()) {
+                booking.get().setBookingStatus(newStatus);
+                availabilityIndex.recordBooking(booking.get());
+                occupancyCalendar.recordBooking(booking.get());
+                dashboardCounters.bookingSaved(booking.get(), false);
+            } else {
+                availabilityIndex.removeBooking(bookingId);
+                occupancyCalendar.removeBooking(bookingId);
+                dashboardCounters.bookingRemoved(bookingId);
+            }
+        }
+        return updated;
     }
 
     @Override
@@ -125,13 +229,7 @@ public class BookingDAOImpl implements BookingDAO {
             
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                Booking booking = new Booking();
-                booking.setBookingId(rs.getInt("booking_id"));
-                booking.setRoomId(rs.getInt("room_id"));
-                booking.setCustomerId(rs.getInt("customer_id"));
-                booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
-                booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
-                bookings.add(booking);
+                bookings.add(mapRowToBooking(rs));
             }
         }
         return bookings;
@@ -149,13 +247,7 @@ public class BookingDAOImpl implements BookingDAO {
             ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
-                Booking booking = new Booking();
-                booking.setBookingId(rs.getInt("booking_id"));
-                booking.setRoomId(rs.getInt("room_id"));
-                booking.setCustomerId(rs.getInt("customer_id"));
-                booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
-                booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
-                bookings.add(booking);
+                bookings.add(mapRowToBooking(rs));
             }
         }
         return bookings;
@@ -189,27 +281,73 @@ public class BookingDAOImpl implements BookingDAO {
         return bookings;
     }
 
+    @Override
+    public Optional<BookingDetails> findBookingDetails(int bookingId) throws SQLException {
+        String sql = "SELECT b.booking_id, b.room_id, b.customer_id, b.check_in_date, b.check_out_date, " +
+                     "r.room_id AS r_room_id, r.room_number, r.type, r.price, r.status, r.floor, " +
+                     "c.customer_id AS c_customer_id, c.first_name, c.last_name, c.email, c.phone_number, " +
+                     "c.address, c.number_of_adults, c.number_of_kids " +
+                     "FROM bookings b " +
+                     "LEFT JOIN rooms r ON r.room_id = b.room_id " +
+                     "LEFT JOIN customers c ON c.customer_id = b.customer_id " +
+                     "WHERE b.booking_id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, bookingId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                Booking booking = new Booking();
+                booking.setBookingId(rs.getInt("booking_id"));
+                booking.setRoomId(rs.getInt("room_id"));
+                booking.setCustomerId(rs.getInt("customer_id"));
+                booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
+                booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
+
+                Room room = null;
+                rs.getInt("r_room_id");
+                if (!rs.wasNull()) {
+                    room = new Room();
+                    room.setRoomId(rs.getInt("r_room_id"));
+                    room.setRoomNumber(rs.getString("room_number"));
+                    room.setType(rs.getString("type"));
+                    room.setPrice(rs.getBigDecimal("price"));
+                    room.setStatus(rs.getString("status"));
+                    room.setFloor(rs.getInt("floor"));
+                }
+
+                Customer customer = null;
+                rs.getInt("c_customer_id");
+                if (!rs.wasNull()) {
+                    customer = new Customer(
+                        rs.getInt("c_customer_id"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("email"),
+                        rs.getString("phone_number"),
+                        rs.getString("address"),
+                        rs.getInt("number_of_adults"),
+                        rs.getInt("number_of_kids")
+                    );
+                }
+                return Optional.of(new BookingDetails(booking, room, customer));
+            }
+        }
+    }
+
     @Override
     public List<Room> getAllAvailableRooms(LocalDate checkIn, LocalDate checkOut) throws SQLException {
         List<Room> availableRooms = new ArrayList<>();
-        String sql = "SELECT r.room_id, r.room_number, r.type, r.price, r.status, r.floor FROM rooms r WHERE r.status = 'Available' " +
-                "AND r.room_id NOT IN (" +
-                "SELECT b.room_id FROM bookings b " +
-                "WHERE (? BETWEEN b.check_in_date AND b.check_out_date " +
-                "OR ? BETWEEN b.check_in_date AND b.check_out_date " +
-                "OR (b.check_in_date BETWEEN ? AND ? )) " +
-                "AND b.booking_status NOT IN ('Cancelled', 'Checked-out'))";
+        // Booking overlap is answered by the in-memory index; only the small rooms table is read here
+        String sql = "SELECT r.room_id, r.room_number, r.type, r.price, r.status, r.floor FROM rooms r WHERE r.status = 'Available'";
         
+        List<Room> candidates = new ArrayList<>();
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setDate(1, Date.valueOf(checkIn));
-            stmt.setDate(2, Date.valueOf(checkOut));
-            stmt.setDate(3, Date.valueOf(checkIn));
-            stmt.setDate(4, Date.valueOf(checkOut));
-            
-            ResultSet rs = stmt.executeQuery();
-            
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
             while (rs.next()) {
                 Room room = new Room();
                 room.setRoomId(rs.getInt("room_id"));
@@ -218,12 +356,58 @@ public class BookingDAOImpl implements BookingDAO {
                 room.setPrice(rs.getBigDecimal("price"));
                 room.setStatus(rs.getString("status"));
                 room.setFloor(rs.getInt("floor"));
-                    availableRooms.add(room);
+                candidates.add(room);
+            }
+        }
+
+        // Asked once the connection is back in the pool, since a cold index loads on its own connection
+        List<Integer> candidateIds = new ArrayList<>();
+        for (Room room : candidates) {
+            candidateIds.add(room.getRoomId());
+        }
+        Set<Integer> freeIds = availabilityIndex.findAvailableRoomIds(candidateIds, checkIn, checkOut);
+        for (Room room : candidates) {
+            if (freeIds.contains(room.getRoomId())) {
+                availableRooms.add(room);
             }
         }
         return availableRooms;
     }
 
+    @Override
+    public Page<Booking> findPage(String searchText, LocalDate checkInFrom, LocalDate checkInTo, PageRequest pageRequest)
+            throws SQLException {
+        return filteredQuery(searchText, checkInFrom, checkInTo).page(pageRequest, BookingDAOImpl::mapListRowToBooking);
+    }
+
+    @Override
+    public int countBookings(String searchText, LocalDate checkInFrom, LocalDate checkInTo) throws SQLException {
+        return filteredQuery(searchText, checkInFrom, checkInTo).count();
+    }
+
+    private KeysetQuery filteredQuery(String searchText, LocalDate checkInFrom, LocalDate checkInTo) {
+        KeysetQuery query = new KeysetQuery(
+                "booking_id, room_id, customer_id, check_in_date, check_out_date, booking_status, number_of_adults, number_of_kids",
+                "bookings", "check_in_date", "booking_id");
+        if (searchText != null && !searchText.trim().isEmpty()) {
+            Integer id = KeysetQuery.parseId(searchText);
+            if (id != null) {
+                query.where("booking_id = ? OR room_id = ? OR customer_id = ?", id, id, id);
+            } else {
+                String pattern = KeysetQuery.likePrefix(searchText.trim());
+                query.where("customer_id IN (SELECT customer_id FROM customers WHERE first_name LIKE ? OR last_name LIKE ?)",
+                        pattern, pattern);
+            }
+        }
+        if (checkInFrom != null) {
+            query.where("check_in_date >= ?", checkInFrom);
+        }
+        if (checkInTo != null) {
+            query.where("check_in_date <= ?", checkInTo);
+        }
+        return query;
+    }
+
     @Override
     public List<Booking> getAllBookings() throws SQLException {
         List<Booking> bookings = new ArrayList<>();
@@ -234,8 +418,8 @@ public class BookingDAOImpl implements BookingDAO {
                      "ORDER BY b.check_in_date DESC";
         
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
                 Booking booking = new Booking();
@@ -271,8 +455,8 @@ public class BookingDAOImpl implements BookingDAO {
         String sql = "SELECT * FROM customers ORDER BY last_name, first_name";
         
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
                 Customer customer = new Customer();
@@ -297,8 +481,8 @@ public class BookingDAOImpl implements BookingDAO {
     public int getCheckedInGuestsCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM bookings WHERE booking_status = 'Checked-in'";
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
                 return rs.getInt(1);
             }
@@ -308,12 +492,14 @@ public class BookingDAOImpl implements BookingDAO {
 
     @Override
     public int getExpectedCheckInsToday() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM bookings WHERE check_in_date = CURRENT_DATE AND booking_status = 'Confirmed'";
+        String sql = "SELECT COUNT(*) FROM bookings WHERE check_in_date = ? AND booking_status = 'Confirmed'";
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt(1);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, businessDates.today().getSqlDate());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
         }
         return 0;
@@ -321,12 +507,14 @@ public class BookingDAOImpl implements BookingDAO {
 
     @Override
     public int getExpectedCheckOutsToday() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM bookings WHERE check_out_date = CURRENT_DATE AND booking_status = 'Checked-in'";
+        String sql = "SELECT COUNT(*) FROM bookings WHERE check_out_date = ? AND booking_status = 'Checked-in'";
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt(1);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, businessDates.today().getSqlDate());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
         }
         return 0;
@@ -334,12 +522,17 @@ public class BookingDAOImpl implements BookingDAO {
 
     @Override
     public int getNewBookingsToday() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM bookings WHERE DATE(created_at) = CURRENT_DATE";
+        // Half-open range on created_at so an index on it can be used
+        String sql = "SELECT COUNT(*) FROM bookings WHERE created_at >= ? AND created_at < ?";
+        BusinessDateService.BusinessDay today = businessDates.today();
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt(1);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, today.getStart());
+            stmt.setTimestamp(2, today.getEnd());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
         }
         return 0;
@@ -347,15 +540,29 @@ public class BookingDAOImpl implements BookingDAO {
 
     @Override
     public double getRevenueToday() throws SQLException {
-        // Assuming there's a payment or invoice table linked to bookings
-        String sql = "SELECT COALESCE(SUM(amount), 0.0) FROM payments WHERE DATE(payment_date) = CURRENT_DATE";
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getDouble(1);
-            }
-        }
-        return 0.0;
+        // Read from the daily_revenue rollup rather than summing today's payments
+        LocalDate today = businessDates.getBusinessDate();
+        return revenueRollupDAO.getRevenue(today, today.plusDays(1)).doubleValue();
+    }
+
+    static Booking mapRowToBooking(ResultSet rs) throws SQLException {
+        Booking booking = new Booking();
+        booking.setBookingId(rs.getInt("booking_id"));
+        booking.setRoomId(rs.getInt("room_id"));
+        booking.setCustomerId(rs.getInt("customer_id"));
+        booking.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
+        booking.setCheckOutDate(rs.getDate("check_out_date").toLocalDate());
+        return booking;
+    }
+
+    /**
+     * Maps a row of the booking list, which also shows status and guest counts.
+     */
+    static Booking mapListRowToBooking(ResultSet rs) throws SQLException {
+        Booking booking = mapRowToBooking(rs);
+        booking.setBookingStatus(rs.getString("booking_status"));
+        booking.setNumberOfAdults(rs.getInt("number_of_adults"));
+        booking.setNumberOfKids(rs.getInt("number_of_kids"));
+        return booking;
     }
-}
\ No newline at end of file
+}
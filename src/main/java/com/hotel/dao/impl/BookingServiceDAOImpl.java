@@ -86,8 +86,8 @@ public class BookingServiceDAOImpl implements BookingServiceDAO {
         String sql = "SELECT * FROM booking_services";
         
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
                 BookingService bookingService = mapRowToBookingService(rs);
@@ -135,8 +135,8 @@ public class BookingServiceDAOImpl implements BookingServiceDAO {
                      "ORDER BY bs.service_date DESC, c.last_name, c.first_name";
         
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
                 BookingService bookingService = mapRowToBookingServiceWithDetails(rs);
@@ -1,6 +1,8 @@
 package com.hotel.dao.impl;
 
 import com.hotel.dao.CustomerDAO;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
 import com.hotel.model.Customer;
 import com.hotel.util.DatabaseConnection;
 
@@ -127,4 +129,54 @@ public class CustomerDAOImpl implements CustomerDAO {
         }
         return customers;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<Customer> findPage(String searchText, Integer minAdults, Integer maxAdults, Integer minKids, Integer maxKids,
+                                   PageRequest pageRequest) throws SQLException {
+        return filteredQuery(searchText, minAdults, maxAdults, minKids, maxKids).page(pageRequest, rs -> new Customer(
+            rs.getInt("customer_id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getString("phone_number"),
+            rs.getString("address"),
+            rs.getInt("number_of_adults"),
+            rs.getInt("number_of_kids")
+        ));
+    }
+
+    @Override
+    public int countCustomers(String searchText, Integer minAdults, Integer maxAdults, Integer minKids, Integer maxKids)
+            throws SQLException {
+        return filteredQuery(searchText, minAdults, maxAdults, minKids, maxKids).count();
+    }
+
+    private KeysetQuery filteredQuery(String searchText, Integer minAdults, Integer maxAdults, Integer minKids, Integer maxKids) {
+        var query = new KeysetQuery(
+            "customer_id, first_name, last_name, email, phone_number, address, number_of_adults, number_of_kids",
+            "customers", "customer_id", "customer_id");
+        if (searchText != null && !searchText.trim().isEmpty()) {
+            var pattern = KeysetQuery.likePrefix(searchText.trim());
+            var id = KeysetQuery.parseId(searchText);
+            if (id != null) {
+                query.where("customer_id = ? OR phone_number LIKE ?", id, pattern);
+            } else {
+                query.where("first_name LIKE ? OR last_name LIKE ? OR email LIKE ? OR phone_number LIKE ?",
+                    pattern, pattern, pattern, pattern);
+            }
+        }
+        if (minAdults != null) {
+            query.where("number_of_adults >= ?", minAdults);
+        }
+        if (maxAdults != null) {
+            query.where("number_of_adults <= ?", maxAdults);
+        }
+        if (minKids != null) {
+            query.where("number_of_kids >= ?", minKids);
+        }
+        if (maxKids != null) {
+            query.where("number_of_kids <= ?", maxKids);
+        }
+        return query;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotel.dao.impl;
 
+import com.hotel.dao.DashboardCounters;
 import com.hotel.dao.FeedbackDAO;
 import com.hotel.models.Feedback;
 import com.hotel.util.DatabaseConnection;
@@ -27,6 +28,7 @@ public class FeedbackDAOImpl implements FeedbackDAO {
             pstmt.setString(4, feedback.getComments());
             
             pstmt.executeUpdate();
+            DashboardCounters.getInstance().feedbackRecorded(feedback.getRating());
             
             try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
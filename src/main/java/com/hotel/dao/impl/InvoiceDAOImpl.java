@@ -3,14 +3,23 @@ package com.hotel.dao.impl;
 import com.hotel.dao.InvoiceDAO;
 import com.hotel.model.Invoice;
 import com.hotel.model.BookingService;
-import com.hotel.util.DatabaseUtil;
+import com.hotel.util.DatabaseConnection;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 public class InvoiceDAOImpl implements InvoiceDAO {
 
+    // Keeps IN lists well under server packet and placeholder limits
+    private static final int IN_LIST_CHUNK_SIZE = 500;
+
     @Override
     public List<Invoice> getAllInvoices() throws SQLException {
         List<Invoice> invoices = new ArrayList<>();
@@ -21,10 +30,10 @@ public class InvoiceDAOImpl implements InvoiceDAO {
                 "FROM invoices i " +
                 "JOIN bookings b ON i.booking_id = b.booking_id " +
                 "JOIN customers c ON b.customer_id = c.customer_id " +
-                "JOIN Rooms r ON b.room_id = r.room_id " +
+                "JOIN rooms r ON b.room_id = r.room_id " +
                 "ORDER BY i.invoice_id DESC";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -48,10 +57,10 @@ public class InvoiceDAOImpl implements InvoiceDAO {
                 "FROM invoices i " +
                 "JOIN bookings b ON i.booking_id = b.booking_id " +
                 "JOIN customers c ON b.customer_id = c.customer_id " +
-                "JOIN Rooms r ON b.room_id = r.room_id " +
+                "JOIN rooms r ON b.room_id = r.room_id " +
                 "WHERE i.invoice_id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, invoiceId);
@@ -77,24 +86,14 @@ public class InvoiceDAOImpl implements InvoiceDAO {
                 "JOIN services s ON bs.service_id = s.service_id " +
                 "WHERE bs.booking_id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, bookingId);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    BookingService bookingService = new BookingService();
-                    bookingService.setBookingServiceId(rs.getInt("booking_service_id"));
-                    bookingService.setBookingId(rs.getInt("booking_id"));
-                    bookingService.setServiceId(rs.getInt("service_id"));
-                    bookingService.setQuantity(rs.getInt("quantity"));
-                    bookingService.setServiceDate(rs.getDate("service_date"));
-                    
-                    // Set service details
-                    bookingService.setServiceName(rs.getString("service_name"));
-                    bookingService.setServicePrice(rs.getBigDecimal("price"));
-                    
+                    BookingService bookingService = mapBookingServiceFromResultSet(rs);
                     bookingServices.add(bookingService);
                 }
             }
@@ -103,6 +102,102 @@ public class InvoiceDAOImpl implements InvoiceDAO {
         return bookingServices;
     }
     
+    @Override
+    public List<Invoice> findInvoicesForExport(LocalDate issuedFrom, LocalDate issuedTo, String status) throws SQLException {
+        List<Invoice> invoices = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT i.*, " +
+                "b.check_in_date, b.check_out_date, " +
+                "CONCAT(c.first_name, ' ', c.last_name) AS customer_name, " +
+                "r.room_number " +
+                "FROM invoices i " +
+                "JOIN bookings b ON i.booking_id = b.booking_id " +
+                "JOIN customers c ON b.customer_id = c.customer_id " +
+                "JOIN rooms r ON b.room_id = r.room_id " +
+                "WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (issuedFrom != null) {
+            sql.append(" AND i.issue_date >= ?");
+            params.add(Date.valueOf(issuedFrom));
+        }
+        if (issuedTo != null) {
+            sql.append(" AND i.issue_date < ?");
+            params.add(Date.valueOf(issuedTo.plusDays(1)));
+        }
+        if (status != null) {
+            sql.append(" AND i.invoice_status = ?");
+            params.add(status);
+        }
+        sql.append(" ORDER BY i.invoice_id");
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Invoice invoice = mapInvoiceFromResultSet(rs);
+                    invoice.setCheckInDate(rs.getDate("check_in_date"));
+                    invoice.setCheckOutDate(rs.getDate("check_out_date"));
+                    invoices.add(invoice);
+                }
+            }
+        }
+        
+        return invoices;
+    }
+
+    @Override
+    public Map<Integer, List<BookingService>> getBookingServicesForBookings(Collection<Integer> bookingIds) throws SQLException {
+        Map<Integer, List<BookingService>> servicesByBooking = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(bookingIds));
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int start = 0; start < ids.size(); start += IN_LIST_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(start, Math.min(start + IN_LIST_CHUNK_SIZE, ids.size()));
+                String sql = "SELECT bs.*, s.service_name, s.price " +
+                        "FROM booking_services bs " +
+                        "JOIN services s ON bs.service_id = s.service_id " +
+                        "WHERE bs.booking_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            BookingService bookingService = mapBookingServiceFromResultSet(rs);
+                            servicesByBooking.computeIfAbsent(bookingService.getBookingId(), id -> new ArrayList<>())
+                                    .add(bookingService);
+                        }
+                    }
+                }
+            }
+        }
+        
+        return servicesByBooking;
+    }
+    
+    /**
+     * Helper method to map a ResultSet row joined with services to a BookingService object
+     */
+    private BookingService mapBookingServiceFromResultSet(ResultSet rs) throws SQLException {
+        BookingService bookingService = new BookingService();
+        bookingService.setBookingServiceId(rs.getInt("booking_service_id"));
+        bookingService.setBookingId(rs.getInt("booking_id"));
+        bookingService.setServiceId(rs.getInt("service_id"));
+        bookingService.setQuantity(rs.getInt("quantity"));
+        bookingService.setServiceDate(rs.getDate("service_date"));
+        
+        // Set service details
+        bookingService.setServiceName(rs.getString("service_name"));
+        bookingService.setServicePrice(rs.getBigDecimal("price"));
+        
+        return bookingService;
+    }
+    
     /**
      * Helper method to map a ResultSet to an Invoice object
      */
@@ -0,0 +1,172 @@
+package com.hotel.dao.impl;
+
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the filtered count and keyset page queries for one table.
+ *
+ * Rows are ordered by a sort column with the primary key as tie-breaker. A page is fetched
+ * by seeking past the anchor cursor ({@code sort > ? OR (sort = ? AND id > ?)}) and reading
+ * one row more than the page size to learn whether another page follows, so the cost of a
+ * page does not grow with how deep into the table it is.
+ */
+class KeysetQuery {
+
+    /**
+     * Maps the current row of a result set to an object.
+     */
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private final String columns;
+    private final String table;
+    private final String sortColumn;
+    private final String idColumn;
+    private final List<String> predicates = new ArrayList<>();
+    private final List<Object> parameters = new ArrayList<>();
+
+    /**
+     * @param columns the select list; must include the sort and id columns
+     * @param table the table to query
+     * @param sortColumn the column to order by; may equal {@code idColumn}
+     * @param idColumn the unique key used as tie-breaker
+     */
+    KeysetQuery(String columns, String table, String sortColumn, String idColumn) {
+        this.columns = columns;
+        this.table = table;
+        this.sortColumn = sortColumn;
+        this.idColumn = idColumn;
+    }
+
+    /**
+     * Adds a predicate ANDed with the others. Each {@code ?} takes the next of {@code values}.
+     */
+    KeysetQuery where(String predicate, Object... values) {
+        predicates.add("(" + predicate + ")");
+        Collections.addAll(parameters, values);
+        return this;
+    }
+
+    /**
+     * Turns user input into a LIKE prefix pattern, escaping LIKE wildcards. A prefix match
+     * can use an index on the column, unlike a leading wildcard.
+     */
+    static String likePrefix(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Parses search text as an id, or returns null when it is not a whole number.
+     */
+    static Integer parseId(String text) {
+        try {
+            return Integer.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    int count() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM " + table + whereClause(predicates);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, parameters);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    <T> Page<T> page(PageRequest request, RowMapper<T> mapper) throws SQLException {
+        boolean forward = request.getDirection() == PageRequest.Direction.FORWARD;
+        Page.Cursor anchor = request.getAnchor();
+        List<Object> pageParameters = new ArrayList<>();
+        String sql = pageSql(request, pageParameters);
+
+        List<T> items = new ArrayList<>();
+        List<Page.Cursor> cursors = new ArrayList<>();
+        boolean more = false;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, pageParameters);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == request.getPageSize()) {
+                        more = true;
+                        break;
+                    }
+                    items.add(mapper.map(rs));
+                    cursors.add(new Page.Cursor(rs.getObject(sortColumn), rs.getInt(idColumn)));
+                }
+            }
+        }
+        if (!forward) {
+            Collections.reverse(items);
+            Collections.reverse(cursors);
+        }
+        Page.Cursor first = cursors.isEmpty() ? null : cursors.get(0);
+        Page.Cursor last = cursors.isEmpty() ? null : cursors.get(cursors.size() - 1);
+        boolean hasPrevious = forward ? anchor != null : more;
+        boolean hasNext = forward ? more : anchor != null;
+        return new Page<>(items, first, last, hasPrevious, hasNext);
+    }
+
+    /**
+     * Builds the page query, adding its parameters to {@code pageParameters} in bind order.
+     */
+    String pageSql(PageRequest request, List<Object> pageParameters) {
+        boolean forward = request.getDirection() == PageRequest.Direction.FORWARD;
+        Page.Cursor anchor = request.getAnchor();
+
+        List<String> pagePredicates = new ArrayList<>(predicates);
+        pageParameters.addAll(parameters);
+        if (anchor != null) {
+            String op = forward ? ">" : "<";
+            String idOp = request.isInclusive() ? op + "=" : op;
+            if (sortColumn.equals(idColumn)) {
+                pagePredicates.add(idColumn + " " + idOp + " ?");
+                pageParameters.add(anchor.getId());
+            } else {
+                pagePredicates.add("(" + sortColumn + " " + op + " ? OR (" + sortColumn + " = ? AND "
+                        + idColumn + " " + idOp + " ?))");
+                pageParameters.add(anchor.getSortValue());
+                pageParameters.add(anchor.getSortValue());
+                pageParameters.add(anchor.getId());
+            }
+        }
+        String direction = forward ? "" : " DESC";
+        String orderBy = sortColumn.equals(idColumn)
+                ? idColumn + direction
+                : sortColumn + direction + ", " + idColumn + direction;
+        pageParameters.add(request.getPageSize() + 1);
+        return "SELECT " + columns + " FROM " + table + whereClause(pagePredicates)
+                + " ORDER BY " + orderBy + " LIMIT ?";
+    }
+
+    private static String whereClause(List<String> predicates) {
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private static void bind(PreparedStatement stmt, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value instanceof LocalDate) {
+                stmt.setDate(i + 1, java.sql.Date.valueOf((LocalDate) value));
+            } else {
+                stmt.setObject(i + 1, value);
+            }
+        }
+    }
+}
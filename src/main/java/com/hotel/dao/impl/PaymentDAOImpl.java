@@ -1,9 +1,10 @@
 package com.hotel.dao.impl;
 
+import com.hotel.dao.DashboardCounters;
 import com.hotel.dao.PaymentDAO;
 import com.hotel.model.Payment;
 import com.hotel.model.Invoice;
-import com.hotel.util.DatabaseUtil;
+import com.hotel.util.DatabaseConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -20,86 +21,140 @@ public class PaymentDAOImpl implements PaymentDAO {
         String sql = "INSERT INTO payments (invoice_id, payment_date, amount, payment_method, transaction_id, notes) " +
                      "VALUES (?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setInt(1, payment.getInvoiceId());
-            stmt.setDate(2, payment.getPaymentDate());
-            stmt.setBigDecimal(3, payment.getAmount());
-            stmt.setString(4, payment.getPaymentMethod());
-            stmt.setString(5, payment.getTransactionId());
-            stmt.setString(6, payment.getNotes());
-            
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Creating payment failed, no rows affected.");
-            }
-            
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    payment.setPaymentId(generatedKeys.getInt(1));
-                } else {
-                    throw new SQLException("Creating payment failed, no ID obtained.");
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // The payment and its daily_revenue increment are committed together
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                
+                stmt.setInt(1, payment.getInvoiceId());
+                stmt.setDate(2, payment.getPaymentDate());
+                stmt.setBigDecimal(3, payment.getAmount());
+                stmt.setString(4, payment.getPaymentMethod());
+                stmt.setString(5, payment.getTransactionId());
+                stmt.setString(6, payment.getNotes());
+                
+                int affectedRows = stmt.executeUpdate();
+                
+                if (affectedRows == 0) {
+                    throw new SQLException("Creating payment failed, no rows affected.");
+                }
+                
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        payment.setPaymentId(generatedKeys.getInt(1));
+                    } else {
+                        throw new SQLException("Creating payment failed, no ID obtained.");
+                    }
                 }
+                if (payment.getPaymentDate() != null && payment.getAmount() != null) {
+                    RevenueRollupDAOImpl.addPayment(conn, payment.getInvoiceId(), payment.getPaymentDate(), payment.getAmount());
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
         }
+        if (payment.getPaymentDate() != null) {
+            DashboardCounters.getInstance().paymentRecorded(payment.getPaymentDate().toLocalDate(), payment.getAmount());
+        }
     }
 
+    private static final String PAYMENT_LIST_SQL =
+            "SELECT p.payment_id, p.invoice_id, p.payment_date, p.amount, p.payment_method, " +
+            "p.transaction_id, p.notes, p.created_at, " +
+            "i.total_amount, i.paid_amount, i.invoice_status, " +
+            "b.booking_id, b.check_in_date, b.check_out_date, " +
+            "c.first_name, c.last_name, " +
+            "r.room_number " +
+            "FROM payments p " +
+            "JOIN invoices i ON p.invoice_id = i.invoice_id " +
+            "JOIN bookings b ON i.booking_id = b.booking_id " +
+            "JOIN customers c ON b.customer_id = c.customer_id " +
+            "JOIN rooms r ON b.room_id = r.room_id " +
+            "ORDER BY p.payment_date DESC";
+
     @Override
     public List<Payment> getAllPayments() throws SQLException {
         List<Payment> payments = new ArrayList<>();
         
-        String sql = "SELECT p.payment_id, p.invoice_id, p.payment_date, p.amount, p.payment_method, " +
-                     "p.transaction_id, p.notes, p.created_at, " +
-                     "i.total_amount, i.paid_amount, i.invoice_status, " +
-                     "b.booking_id, b.check_in_date, b.check_out_date, " +
-                     "c.first_name, c.last_name, " +
-                     "r.room_number " +
-                     "FROM payments p " +
-                     "JOIN invoices i ON p.invoice_id = i.invoice_id " +
-                     "JOIN bookings b ON i.booking_id = b.booking_id " +
-                     "JOIN customers c ON b.customer_id = c.customer_id " +
-                     "JOIN rooms r ON b.room_id = r.room_id " +
-                     "ORDER BY p.payment_date DESC";
-        
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(PAYMENT_LIST_SQL);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                Payment payment = new Payment();
-                payment.setPaymentId(rs.getInt("payment_id"));
-                payment.setInvoiceId(rs.getInt("invoice_id"));
-                payment.setPaymentDate(rs.getDate("payment_date"));
-                payment.setAmount(rs.getBigDecimal("amount"));
-                payment.setPaymentMethod(rs.getString("payment_method"));
-                payment.setTransactionId(rs.getString("transaction_id"));
-                payment.setNotes(rs.getString("notes"));
-                payment.setCreatedAt(rs.getTimestamp("created_at"));
-                
-                // Related data
-                payment.setInvoiceTotal(rs.getBigDecimal("total_amount"));
-                payment.setPaidAmount(rs.getBigDecimal("paid_amount"));
-                payment.setInvoiceStatus(rs.getString("invoice_status"));
-                payment.setBookingId(rs.getInt("booking_id"));
-                payment.setCheckInDate(rs.getDate("check_in_date"));
-                payment.setCheckOutDate(rs.getDate("check_out_date"));
-                payment.setCustomerName(rs.getString("first_name") + " " + rs.getString("last_name"));
-                payment.setRoomNumber(rs.getString("room_number"));
-                
-                // Calculate balance due
-                BigDecimal total = rs.getBigDecimal("total_amount");
-                BigDecimal paid = rs.getBigDecimal("paid_amount");
-                payment.setBalanceDue(total.subtract(paid));
-                
-                payments.add(payment);
+                payments.add(mapPaymentListRow(rs));
             }
         }
         
         return payments;
     }
 
+    @Override
+    public int countPayments() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM payments";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @Override
+    public int streamPayments(int fetchSize, PaymentHandler handler) throws SQLException {
+        int count = 0;
+        
+        // A positive fetch size makes the driver read through a server-side cursor (useCursorFetch)
+        // instead of buffering the whole result set
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(PAYMENT_LIST_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            stmt.setFetchSize(fetchSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    count++;
+                    if (!handler.handle(mapPaymentListRow(rs))) {
+                        break;
+                    }
+                }
+            }
+        }
+        
+        return count;
+    }
+
+    private Payment mapPaymentListRow(ResultSet rs) throws SQLException {
+        Payment payment = new Payment();
+        payment.setPaymentId(rs.getInt("payment_id"));
+        payment.setInvoiceId(rs.getInt("invoice_id"));
+        payment.setPaymentDate(rs.getDate("payment_date"));
+        payment.setAmount(rs.getBigDecimal("amount"));
+        payment.setPaymentMethod(rs.getString("payment_method"));
+        payment.setTransactionId(rs.getString("transaction_id"));
+        payment.setNotes(rs.getString("notes"));
+        payment.setCreatedAt(rs.getTimestamp("created_at"));
+        
+        // Related data
+        payment.setInvoiceTotal(rs.getBigDecimal("total_amount"));
+        payment.setPaidAmount(rs.getBigDecimal("paid_amount"));
+        payment.setInvoiceStatus(rs.getString("invoice_status"));
+        payment.setBookingId(rs.getInt("booking_id"));
+        payment.setCheckInDate(rs.getDate("check_in_date"));
+        payment.setCheckOutDate(rs.getDate("check_out_date"));
+        payment.setCustomerName(rs.getString("first_name") + " " + rs.getString("last_name"));
+        payment.setRoomNumber(rs.getString("room_number"));
+        
+        // Calculate balance due
+        BigDecimal total = rs.getBigDecimal("total_amount");
+        BigDecimal paid = rs.getBigDecimal("paid_amount");
+        payment.setBalanceDue(total.subtract(paid));
+        
+        return payment;
+    }
+
     @Override
     public Payment getPaymentDetailsForReceipt(int paymentId) throws SQLException {
         String sql = "SELECT p.*, i.total_amount, i.paid_amount, i.invoice_status, " +
@@ -112,7 +167,7 @@ public class PaymentDAOImpl implements PaymentDAO {
                      "JOIN rooms r ON b.room_id = r.room_id " +
                      "WHERE p.payment_id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, paymentId);
@@ -168,7 +223,7 @@ public class PaymentDAOImpl implements PaymentDAO {
                      "JOIN rooms r ON b.room_id = r.room_id " +
                      "ORDER BY i.invoice_status, i.due_date";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -0,0 +1,65 @@
+package com.hotel.dao.impl;
+
+import com.hotel.dao.ReportDAO;
+import com.hotel.util.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.*;
+import java.time.LocalDate;
+
+public class ReportDAOImpl implements ReportDAO {
+
+    @Override
+    public void loadRoomInventory(InventoryHandler handler) throws SQLException {
+        String sql = "SELECT type, floor, COUNT(*) AS rooms FROM rooms GROUP BY type, floor";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                handler.roomGroup(rs.getString("type"), rs.getInt("floor"), rs.getInt("rooms"));
+            }
+        }
+    }
+
+    @Override
+    public int streamStays(LocalDate from, LocalDate toExclusive, int fetchSize, StayHandler handler) throws SQLException {
+        // Room revenue is the invoiced room cost, or the list price for stays not invoiced yet.
+        // Guests are the party booked for the stay, not the customer's profile defaults.
+        String sql = "SELECT b.check_in_date, b.check_out_date, r.type, r.floor, r.price, i.room_cost, " +
+                     "b.number_of_adults, b.number_of_kids " +
+                     "FROM bookings b " +
+                     "JOIN rooms r ON r.room_id = b.room_id " +
+                     "LEFT JOIN invoices i ON i.booking_id = b.booking_id " +
+                     "WHERE b.check_in_date < ? AND b.check_out_date > ? " +
+                     "AND (b.booking_status IS NULL OR b.booking_status <> 'Cancelled')";
+        int count = 0;
+
+        // A positive fetch size makes the driver read through a server-side cursor (useCursorFetch)
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(fetchSize);
+            stmt.setDate(1, Date.valueOf(toExclusive));
+            stmt.setDate(2, Date.valueOf(from));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int checkIn = (int) rs.getDate("check_in_date").toLocalDate().toEpochDay();
+                    int checkOut = (int) rs.getDate("check_out_date").toLocalDate().toEpochDay();
+                    BigDecimal revenue = rs.getBigDecimal("room_cost");
+                    if (revenue == null) {
+                        BigDecimal price = rs.getBigDecimal("price");
+                        revenue = price == null ? BigDecimal.ZERO : price.multiply(BigDecimal.valueOf(checkOut - checkIn));
+                    }
+                    handler.stay(checkIn, checkOut, rs.getString("type"), rs.getInt("floor"),
+                            revenue.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue(),
+                            rs.getInt("number_of_adults") + rs.getInt("number_of_kids"));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
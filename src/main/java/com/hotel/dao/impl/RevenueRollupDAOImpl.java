@@ -0,0 +1,142 @@
+package com.hotel.dao.impl;
+
+import com.hotel.dao.RevenueRollupDAO;
+import com.hotel.model.DailyRevenue;
+import com.hotel.util.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the RevenueRollupDAO interface for database operations
+ */
+public class RevenueRollupDAOImpl implements RevenueRollupDAO {
+
+    // Payments whose booking or room is gone are kept under this room type rather than dropped
+    private static final String UNKNOWN_ROOM_TYPE = "Unknown";
+
+    private static final String ADD_PAYMENT_SQL =
+            "INSERT INTO daily_revenue (business_date, room_type, payment_count, amount) " +
+            "SELECT ?, COALESCE(r.type, '" + UNKNOWN_ROOM_TYPE + "'), 1, ? " +
+            "FROM invoices i " +
+            "LEFT JOIN bookings b ON b.booking_id = i.booking_id " +
+            "LEFT JOIN rooms r ON r.room_id = b.room_id " +
+            "WHERE i.invoice_id = ? " +
+            "ON DUPLICATE KEY UPDATE payment_count = payment_count + 1, amount = amount + ?";
+
+    /**
+     * Adds one payment to the rollup row of its date and room type. Called by
+     * {@link PaymentDAOImpl#addPayment} on the connection, and so in the transaction, that inserts the payment.
+     */
+    static void addPayment(Connection conn, int invoiceId, Date paymentDate, BigDecimal amount) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ADD_PAYMENT_SQL)) {
+            stmt.setDate(1, paymentDate);
+            stmt.setBigDecimal(2, amount);
+            stmt.setInt(3, invoiceId);
+            stmt.setBigDecimal(4, amount);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public BigDecimal getRevenue(LocalDate from, LocalDate toExclusive) throws SQLException {
+        String sql = "SELECT COALESCE(SUM(amount), 0) FROM daily_revenue WHERE business_date >= ? AND business_date < ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(toExclusive));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getBigDecimal(1);
+                }
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    @Override
+    public List<DailyRevenue> findDailyRevenue(LocalDate from, LocalDate toExclusive) throws SQLException {
+        String sql = "SELECT business_date, room_type, payment_count, amount FROM daily_revenue " +
+                     "WHERE business_date >= ? AND business_date < ? ORDER BY business_date, room_type";
+        List<DailyRevenue> rows = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(toExclusive));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new DailyRevenue(rs.getDate("business_date").toLocalDate(), rs.getString("room_type"),
+                            rs.getInt("payment_count"), rs.getBigDecimal("amount")));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate toExclusive) throws SQLException {
+        String deleteSql = "DELETE FROM daily_revenue WHERE business_date >= ? AND business_date < ?";
+        // Half-open range on payment_date itself so an index on it can be used
+        String insertSql = "INSERT INTO daily_revenue (business_date, room_type, payment_count, amount) " +
+                           "SELECT DATE(p.payment_date), COALESCE(r.type, '" + UNKNOWN_ROOM_TYPE + "'), COUNT(*), SUM(p.amount) " +
+                           "FROM payments p " +
+                           "JOIN invoices i ON i.invoice_id = p.invoice_id " +
+                           "LEFT JOIN bookings b ON b.booking_id = i.booking_id " +
+                           "LEFT JOIN rooms r ON r.room_id = b.room_id " +
+                           "WHERE p.payment_date >= ? AND p.payment_date < ? " +
+                           "GROUP BY DATE(p.payment_date), COALESCE(r.type, '" + UNKNOWN_ROOM_TYPE + "')";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                 PreparedStatement insert = conn.prepareStatement(insertSql)) {
+
+                delete.setDate(1, Date.valueOf(from));
+                delete.setDate(2, Date.valueOf(toExclusive));
+                delete.executeUpdate();
+
+                insert.setDate(1, Date.valueOf(from));
+                insert.setDate(2, Date.valueOf(toExclusive));
+                int rows = insert.executeUpdate();
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() throws SQLException {
+        String sql = "SELECT 1 FROM daily_revenue LIMIT 1";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            return !rs.next();
+        }
+    }
+
+    @Override
+    public Optional<LocalDate> findFirstPaymentDate() throws SQLException {
+        String sql = "SELECT MIN(payment_date) FROM payments";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next() && rs.getDate(1) != null) {
+                return Optional.of(rs.getDate(1).toLocalDate());
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -1,7 +1,12 @@
 package com.hotel.dao.impl;
 
+import com.hotel.dao.DashboardCounters;
+import com.hotel.dao.OccupancyCalendar;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
 import com.hotel.dao.RoomDAO;
 import com.hotel.model.Room;
+import com.hotel.util.BusinessDateService;
 import com.hotel.util.DatabaseConnection;
 
 import java.sql.*;
@@ -11,9 +16,13 @@ import java.util.Optional;
 
 public class RoomDAOImpl implements RoomDAO {
 
+    private final OccupancyCalendar occupancyCalendar = OccupancyCalendar.getInstance();
+    private final DashboardCounters dashboardCounters = DashboardCounters.getInstance();
+    private final BusinessDateService businessDates = BusinessDateService.getInstance();
+
     @Override
     public Optional<Room> findById(int roomId) throws SQLException {
-        String sql = "SELECT room_id, room_number, type, price, status, floor FROM Rooms WHERE room_id = ?";
+        String sql = "SELECT room_id, room_number, type, price, status, floor FROM rooms WHERE room_id = ?";
         Optional<Room> room = Optional.empty();
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -32,12 +41,12 @@ public class RoomDAOImpl implements RoomDAO {
 
     @Override
     public List<Room> findAll() throws SQLException {
-        String sql = "SELECT room_id, room_number, type, price, status, floor FROM Rooms ORDER BY room_number";
+        String sql = "SELECT room_id, room_number, type, price, status, floor FROM rooms ORDER BY room_number";
         List<Room> rooms = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
                 rooms.add(mapRowToRoom(rs));
@@ -50,7 +59,7 @@ public class RoomDAOImpl implements RoomDAO {
 
     @Override
     public boolean updateRoomStatus(String roomNumber, String newStatus) throws SQLException {
-        String sql = "UPDATE Rooms SET status = ? WHERE room_number = ?";
+        String sql = "UPDATE rooms SET status = ? WHERE room_number = ?";
         int affectedRows = 0;
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -61,16 +70,19 @@ public class RoomDAOImpl implements RoomDAO {
 
             affectedRows = pstmt.executeUpdate();
         }
+        if (affectedRows > 0) {
+            dashboardCounters.roomStatusChanged(roomNumber, newStatus);
+        }
         return affectedRows > 0;
     }
 
     @Override
     public boolean addRoom(Room room) throws SQLException {
-        String sql = "INSERT INTO Rooms (room_number, type, price, status, floor, description) VALUES (?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO rooms (room_number, type, price, status, floor, description) VALUES (?, ?, ?, ?, ?, ?)";
         int affectedRows = 0;
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setString(1, room.getRoomNumber());
             pstmt.setString(2, room.getType());
@@ -80,13 +92,20 @@ public class RoomDAOImpl implements RoomDAO {
             pstmt.setString(6, room.getDescription());
 
             affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                ResultSet generatedKeys = pstmt.getGeneratedKeys();
+                if (generatedKeys.next()) {
+                    occupancyCalendar.addRoom(generatedKeys.getInt(1));
+                    dashboardCounters.roomSaved(generatedKeys.getInt(1), room.getRoomNumber(), room.getStatus());
+                }
+            }
         }
         return affectedRows > 0;
     }
 
     @Override
     public boolean updateRoom(Room room) throws SQLException {
-        String sql = "UPDATE Rooms SET type = ?, price = ?, status = ?, floor = ?, description = ? WHERE room_id = ?";
+        String sql = "UPDATE rooms SET type = ?, price = ?, status = ?, floor = ?, description = ? WHERE room_id = ?";
         int affectedRows = 0;
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -101,12 +120,15 @@ public class RoomDAOImpl implements RoomDAO {
 
             affectedRows = pstmt.executeUpdate();
         }
+        if (affectedRows > 0) {
+            dashboardCounters.roomSaved(room.getRoomId(), room.getRoomNumber(), room.getStatus());
+        }
         return affectedRows > 0;
     }
 
     @Override
     public boolean deleteRoom(int roomId) throws SQLException {
-        String sql = "DELETE FROM Rooms WHERE room_id = ?";
+        String sql = "DELETE FROM rooms WHERE room_id = ?";
         int affectedRows = 0;
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -116,12 +138,16 @@ public class RoomDAOImpl implements RoomDAO {
 
             affectedRows = pstmt.executeUpdate();
         }
+        if (affectedRows > 0) {
+            occupancyCalendar.removeRoom(roomId);
+            dashboardCounters.roomRemoved(roomId);
+        }
         return affectedRows > 0;
     }
 
     @Override
     public List<Room> findAvailableRooms() throws SQLException {
-        String sql = "SELECT room_id, room_number, type, price, status, floor FROM Rooms WHERE status = ?";
+        String sql = "SELECT room_id, room_number, type, price, status, floor FROM rooms WHERE status = ?";
         List<Room> rooms = new ArrayList<>();
         String availableStatus = "Available";
 
@@ -138,12 +164,43 @@ public class RoomDAOImpl implements RoomDAO {
         return rooms;
     }
 
+    @Override
+    public Page<Room> findPage(String searchText, String type, String status, PageRequest pageRequest) throws SQLException {
+        return filteredQuery(searchText, type, status).page(pageRequest, RoomDAOImpl::mapRowToRoom);
+    }
+
+    @Override
+    public int countRooms(String searchText, String type, String status) throws SQLException {
+        return filteredQuery(searchText, type, status).count();
+    }
+
+    private KeysetQuery filteredQuery(String searchText, String type, String status) {
+        KeysetQuery query = new KeysetQuery("room_id, room_number, type, price, status, floor",
+                "rooms", "room_number", "room_id");
+        if (searchText != null && !searchText.trim().isEmpty()) {
+            String pattern = KeysetQuery.likePrefix(searchText.trim());
+            Integer floor = KeysetQuery.parseId(searchText);
+            if (floor != null) {
+                query.where("room_number LIKE ? OR floor = ?", pattern, floor);
+            } else {
+                query.where("room_number LIKE ? OR type LIKE ? OR status LIKE ?", pattern, pattern, pattern);
+            }
+        }
+        if (type != null) {
+            query.where("type = ?", type);
+        }
+        if (status != null) {
+            query.where("status = ?", status);
+        }
+        return query;
+    }
+
     @Override
     public int getTotalRoomCount() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM Rooms";
+        String sql = "SELECT COUNT(*) FROM rooms";
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
                 return rs.getInt(1);
             }
@@ -153,7 +210,7 @@ public class RoomDAOImpl implements RoomDAO {
 
     @Override
     public int getAvailableRoomCount() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM Rooms WHERE status = ?";
+        String sql = "SELECT COUNT(*) FROM rooms WHERE status = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -169,7 +226,7 @@ public class RoomDAOImpl implements RoomDAO {
 
     @Override
     public int getOccupiedRoomCount() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM Rooms WHERE status = ?";
+        String sql = "SELECT COUNT(*) FROM rooms WHERE status = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -190,8 +247,8 @@ public class RoomDAOImpl implements RoomDAO {
                 "WHERE b.status = 'CHECKED_IN'";
 
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
 
             if (rs.next()) {
                 return rs.getInt(1);
@@ -203,73 +260,60 @@ public class RoomDAOImpl implements RoomDAO {
     @Override
     public int getCheckOutsDueToday() throws SQLException {
         String sql = "SELECT COUNT(*) FROM bookings b " +
-                "JOIN rooms r ON b.room_number = r.room_number " +
-                "WHERE b.status = 'CHECKED_IN' " +
-                "AND DATE(b.check_out_date) = CURRENT_DATE";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-        return 0;
+                "WHERE b.booking_status = 'Checked-in' " +
+                "AND b.check_out_date = ?";
+        return countForBusinessDate(sql, false);
     }
 
     @Override
     public int getExpectedCheckInsToday() throws SQLException {
         String sql = "SELECT COUNT(*) FROM bookings b " +
-                "JOIN rooms r ON b.room_number = r.room_number " +
-                "WHERE b.status = 'CONFIRMED' " +
-                "AND DATE(b.check_in_date) = CURRENT_DATE";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-        return 0;
+                "WHERE b.booking_status = 'Confirmed' " +
+                "AND b.check_in_date = ?";
+        return countForBusinessDate(sql, false);
     }
 
     @Override
     public int getReservationsToday() throws SQLException {
         String sql = "SELECT COUNT(*) FROM bookings b " +
-                "WHERE DATE(b.created_at) = CURRENT_DATE";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-        return 0;
+                "WHERE b.created_at >= ? AND b.created_at < ?";
+        return countForBusinessDate(sql, true);
     }
 
     @Override
     public int getNewBookingsToday() throws SQLException {
         String sql = "SELECT COUNT(*) FROM bookings b " +
-                "WHERE DATE(b.created_at) = CURRENT_DATE " +
-                "AND b.status = 'CONFIRMED'";
+                "WHERE b.created_at >= ? AND b.created_at < ? " +
+                "AND b.booking_status = 'Confirmed'";
+        return countForBusinessDate(sql, true);
+    }
+
+    /**
+     * Runs a count for the current business date, binding either the date or the
+     * half-open timestamp range of the day, so the column is compared unwrapped.
+     */
+    private int countForBusinessDate(String sql, boolean timestampRange) throws SQLException {
+        BusinessDateService.BusinessDay today = businessDates.today();
 
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            if (rs.next()) {
-                return rs.getInt(1);
+            if (timestampRange) {
+                stmt.setTimestamp(1, today.getStart());
+                stmt.setTimestamp(2, today.getEnd());
+            } else {
+                stmt.setDate(1, today.getSqlDate());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
         }
         return 0;
     }
 
-    private Room mapRowToRoom(ResultSet rs) throws SQLException {
+    static Room mapRowToRoom(ResultSet rs) throws SQLException {
         Room room = new Room();
         room.setRoomId(rs.getInt("room_id"));
         room.setRoomNumber(rs.getString("room_number"));
@@ -277,6 +321,6 @@ public class RoomDAOImpl implements RoomDAO {
         room.setPrice(rs.getBigDecimal("price"));
         room.setStatus(rs.getString("status"));
         room.setFloor(rs.getInt("floor"));
-            return room;
+        return room;
     }
 } 
\ No newline at end of file
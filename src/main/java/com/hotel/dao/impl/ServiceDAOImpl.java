@@ -1,5 +1,7 @@
 package com.hotel.dao.impl;
 
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
 import com.hotel.dao.ServiceDAO;
 import com.hotel.model.Service;
 import com.hotel.util.DatabaseConnection;
@@ -14,8 +16,8 @@ public class ServiceDAOImpl implements ServiceDAO {
         List<Service> services = new ArrayList<>();
         String sql = "SELECT service_id, service_name, price, description, created_at, updated_at FROM services ORDER BY service_name ASC";
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 Service service = new Service(
                     rs.getInt("service_id"),
@@ -108,4 +110,36 @@ public class ServiceDAOImpl implements ServiceDAO {
             }
         }
     }
+
+    @Override
+    public Page<Service> findPage(String searchText, PageRequest pageRequest) throws SQLException {
+        return filteredQuery(searchText).page(pageRequest, rs -> new Service(
+            rs.getInt("service_id"),
+            rs.getString("service_name"),
+            rs.getBigDecimal("price"),
+            rs.getString("description"),
+            rs.getTimestamp("created_at"),
+            rs.getTimestamp("updated_at")
+        ));
+    }
+
+    @Override
+    public int countServices(String searchText) throws SQLException {
+        return filteredQuery(searchText).count();
+    }
+
+    private KeysetQuery filteredQuery(String searchText) {
+        KeysetQuery query = new KeysetQuery("service_id, service_name, price, description, created_at, updated_at",
+            "services", "service_name", "service_id");
+        if (searchText != null && !searchText.trim().isEmpty()) {
+            String pattern = KeysetQuery.likePrefix(searchText.trim());
+            Integer id = KeysetQuery.parseId(searchText);
+            if (id != null) {
+                query.where("service_id = ? OR service_name LIKE ?", id, pattern);
+            } else {
+                query.where("service_name LIKE ?", pattern);
+            }
+        }
+        return query;
+    }
 }
@@ -1,5 +1,6 @@
 package com.hotel.dao.impl;
 
+import com.hotel.dao.DashboardCounters;
 import com.hotel.dao.StaffDAO;
 import com.hotel.model.Staff;
 import com.hotel.util.DatabaseConnection;
@@ -17,8 +18,8 @@ public class StaffDAOImpl implements StaffDAO {
         List<Staff> staffList = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
                 staffList.add(mapRowToStaff(rs));
@@ -54,7 +55,11 @@ public class StaffDAOImpl implements StaffDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             setStaffParameters(pstmt, staff);
-            return pstmt.executeUpdate() > 0;
+            boolean added = pstmt.executeUpdate() > 0;
+            if (added) {
+                DashboardCounters.getInstance().staffAdded();
+            }
+            return added;
         }
     }
 
@@ -81,7 +86,11 @@ public class StaffDAOImpl implements StaffDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                DashboardCounters.getInstance().staffRemoved();
+            }
+            return deleted;
         }
     }
 
@@ -16,7 +16,7 @@ public class UserDAOImpl implements UserDAO {
     public Optional<User> findByUsername(String username) throws SQLException {
         // TODO: Implement actual database query logic
         System.out.println("UserDAOImpl: findByUsername called (placeholder)");
-        String sql = "SELECT user_id, username, password, role FROM Users WHERE username = ?";
+        String sql = "SELECT user_id, username, password, role FROM users WHERE username = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -42,7 +42,7 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public boolean addUser(User user) throws SQLException {
         // Ensure password hashing is implemented in a real application before storing
-        String sql = "INSERT INTO Users (username, password, role) VALUES (?, ?, ?)";
+        String sql = "INSERT INTO users (username, password, role) VALUES (?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -63,7 +63,7 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public boolean updateUser(User user) throws SQLException {
          // Ensure password hashing is implemented in a real application
-        String sql = "UPDATE Users SET username = ?, password = ?, role = ? WHERE user_id = ?";
+        String sql = "UPDATE users SET username = ?, password = ?, role = ? WHERE user_id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -83,7 +83,7 @@ public class UserDAOImpl implements UserDAO {
 
     @Override
     public boolean deleteUser(int userId) throws SQLException {
-        String sql = "DELETE FROM Users WHERE user_id = ?";
+        String sql = "DELETE FROM users WHERE user_id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
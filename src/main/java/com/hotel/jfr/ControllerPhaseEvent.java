@@ -0,0 +1,40 @@
+package com.hotel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One step of a controller's initialize(), e.g. setting up columns or loading the first page of data.
+ */
+@Name("com.hotel.ControllerPhase")
+@Label("Controller Initialize Phase")
+@Category({ "Hotel", "UI" })
+@StackTrace(false)
+public class ControllerPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Controller")
+    public String controller;
+
+    @Label("Phase")
+    public String phase;
+
+    /**
+     * Runs one initialize step of {@code controller} inside an event named after it.
+     */
+    public static void run(Object controller, String phase, Runnable step) {
+        ControllerPhaseEvent event = new ControllerPhaseEvent();
+        event.begin();
+        try {
+            step.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.controller = controller.getClass().getSimpleName();
+                event.phase = phase;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.hotel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a DAO method wrapped by {@link com.hotel.util.QueryMetrics#instrument}.
+ */
+@Name("com.hotel.DaoCall")
+@Label("DAO Call")
+@Category({ "Hotel", "Database" })
+@Description("A DAO method call and the statements it executed")
+@StackTrace(true)
+public class DaoCallEvent extends jdk.jfr.Event {
+
+    @Label("DAO Method")
+    public String method;
+
+    @Label("SQL")
+    @Description("The first statement the call executed, with literals redacted")
+    public String sql;
+
+    @Label("Statements")
+    public int statements;
+
+    @Label("Rows")
+    @Description("Rows read from result sets or affected by updates, over all statements of the call")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
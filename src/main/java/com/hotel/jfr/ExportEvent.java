@@ -0,0 +1,36 @@
+package com.hotel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writing one PDF or Excel document, or a batch of them.
+ */
+@Name("com.hotel.Export")
+@Label("Export")
+@Category({ "Hotel", "Export" })
+@StackTrace(false)
+public class ExportEvent extends jdk.jfr.Event {
+
+    @Label("Document")
+    public String document;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Records")
+    public long records;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
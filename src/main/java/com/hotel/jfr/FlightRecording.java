@@ -0,0 +1,96 @@
+package com.hotel.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts a continuous flight recording with the application's events enabled, so a terminal can be
+ * profiled in JDK Mission Control without attaching anything.
+ *
+ * Started by {@link #startIfConfigured()} when the JVM runs with -Dhotel.jfr.file=&lt;recording.jfr&gt;.
+ * The recording uses the JDK's "default" settings plus /com/hotel/jfr/hotel.jfc, keeps the last
+ * hotel.jfr.maxAgeMinutes (default 30) on disk and is written to the file when the application exits;
+ * {@code jcmd <pid> JFR.dump name=hotel filename=...} takes a snapshot while it runs.
+ */
+public final class FlightRecording {
+
+    public static final String SETTINGS_RESOURCE = "/com/hotel/jfr/hotel.jfc";
+    private static final String RECORDING_NAME = "hotel";
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts the recording if hotel.jfr.file is set. A recording that cannot be started is reported
+     * and otherwise ignored; the application runs the same without it.
+     */
+    public static synchronized void startIfConfigured() {
+        String file = System.getProperty("hotel.jfr.file");
+        if (file == null || recording != null) {
+            return;
+        }
+        try {
+            recording = start(Paths.get(file), Duration.ofMinutes(Long.getLong("hotel.jfr.maxAgeMinutes", 30)));
+            System.out.println("Flight recording started, written to " + file + " on exit");
+        } catch (IOException | ParseException | RuntimeException e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a recording with the JDK defaults and the application's events.
+     */
+    public static Recording start(Path destination, Duration maxAge) throws IOException, ParseException {
+        register();
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        settings.putAll(loadSettings().getSettings());
+
+        Recording started = new Recording(settings);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setDestination(destination);
+        started.setDumpOnExit(true);
+        started.start();
+        return started;
+    }
+
+    /**
+     * The application's event settings, for use with another recording.
+     */
+    public static Configuration loadSettings() throws IOException, ParseException {
+        try (InputStream in = FlightRecording.class.getResourceAsStream(SETTINGS_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Flight recorder settings not found: " + SETTINGS_RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return Configuration.create(reader);
+            }
+        }
+    }
+
+    // Registering up front makes the events show in JMC's event browser before the first one fires
+    private static void register() {
+        FlightRecorder.register(DaoCallEvent.class);
+        FlightRecorder.register(SqlStatementEvent.class);
+        FlightRecorder.register(ViewLoadEvent.class);
+        FlightRecorder.register(ControllerPhaseEvent.class);
+        FlightRecorder.register(ViewUpdateEvent.class);
+        FlightRecorder.register(ExportEvent.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hotel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One execution of a prepared statement, from execute until its result set is closed.
+ */
+@Name("com.hotel.SqlStatement")
+@Label("SQL Statement")
+@Category({ "Hotel", "Database" })
+@Description("A statement execution, including reading its result set")
+@StackTrace(false)
+public class SqlStatementEvent extends jdk.jfr.Event {
+
+    @Label("SQL")
+    @Description("Statement text with literals redacted")
+    public String sql;
+
+    @Label("DAO Method")
+    public String method;
+
+    @Label("Rows")
+    @Description("Rows read or affected; -1 for streamed result sets, which are not counted")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,25 @@
+package com.hotel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Loading one FXML view into the main window, including its controller's initialize().
+ */
+@Name("com.hotel.ViewLoad")
+@Label("FXML View Load")
+@Category({ "Hotel", "UI" })
+@StackTrace(false)
+public class ViewLoadEvent extends jdk.jfr.Event {
+
+    @Label("FXML File")
+    public String fxml;
+
+    @Label("Controller")
+    public String controller;
+
+    @Label("Failed")
+    public boolean failed;
+}
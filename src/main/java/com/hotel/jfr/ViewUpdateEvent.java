@@ -0,0 +1,45 @@
+package com.hotel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Applying freshly loaded data to a view that is already on screen, e.g. a dashboard refresh.
+ * Kept apart from {@link ControllerPhaseEvent} so periodic refreshes do not skew initialize() timings.
+ */
+@Name("com.hotel.ViewUpdate")
+@Label("View Update")
+@Category({ "Hotel", "UI" })
+@StackTrace(false)
+public class ViewUpdateEvent extends jdk.jfr.Event {
+
+    @Label("Controller")
+    public String controller;
+
+    @Label("Update")
+    public String update;
+
+    @Label("Automatic")
+    public boolean automatic;
+
+    /**
+     * Runs one view update of {@code controller} inside an event named after it.
+     */
+    public static void run(Object controller, String update, boolean automatic, Runnable step) {
+        ViewUpdateEvent event = new ViewUpdateEvent();
+        event.begin();
+        try {
+            step.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.controller = controller.getClass().getSimpleName();
+                event.update = update;
+                event.automatic = automatic;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.hotel.model;
+
+/**
+ * A booking together with its room and customer, as loaded by one joined query.
+ * The room or customer is null if it no longer exists.
+ */
+public class BookingDetails {
+    private final Booking booking;
+    private final Room room;
+    private final Customer customer;
+
+    public BookingDetails(Booking booking, Room room, Customer customer) {
+        this.booking = booking;
+        this.room = room;
+        this.customer = customer;
+    }
+
+    public Booking getBooking() { return booking; }
+    public Room getRoom() { return room; }
+    public Customer getCustomer() { return customer; }
+}
@@ -0,0 +1,31 @@
+package com.hotel.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of the daily_revenue rollup: the payments taken on one business date for one room type.
+ */
+public class DailyRevenue {
+    private final LocalDate businessDate;
+    private final String roomType;
+    private final int paymentCount;
+    private final BigDecimal amount;
+
+    public DailyRevenue(LocalDate businessDate, String roomType, int paymentCount, BigDecimal amount) {
+        this.businessDate = businessDate;
+        this.roomType = roomType;
+        this.paymentCount = paymentCount;
+        this.amount = amount;
+    }
+
+    public LocalDate getBusinessDate() { return businessDate; }
+    public String getRoomType() { return roomType; }
+    public int getPaymentCount() { return paymentCount; }
+    public BigDecimal getAmount() { return amount; }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %d payments, %s", businessDate, roomType, paymentCount, amount);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotel.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * One line of the occupancy report: the figures of one night for one room type on one floor.
+ * A totals line has a null date and covers every room type and floor.
+ */
+public class OccupancyReportRow {
+    private final LocalDate date;
+    private final String roomType;
+    private final int floor;
+    private final int roomsAvailable;
+    private final long roomNightsSold;
+    private final long guestNights;
+    private final int arrivals;
+    private final double averageLengthOfStay;
+    private final BigDecimal roomRevenue;
+
+    public OccupancyReportRow(LocalDate date, String roomType, int floor, int roomsAvailable, long roomNightsSold,
+                              long guestNights, int arrivals, double averageLengthOfStay, BigDecimal roomRevenue) {
+        this.date = date;
+        this.roomType = roomType;
+        this.floor = floor;
+        this.roomsAvailable = roomsAvailable;
+        this.roomNightsSold = roomNightsSold;
+        this.guestNights = guestNights;
+        this.arrivals = arrivals;
+        this.averageLengthOfStay = averageLengthOfStay;
+        this.roomRevenue = roomRevenue;
+    }
+
+    public LocalDate getDate() { return date; }
+    public String getRoomType() { return roomType; }
+    public int getFloor() { return floor; }
+    // For the totals line this is room nights available over the whole range
+    public int getRoomsAvailable() { return roomsAvailable; }
+    public long getRoomNightsSold() { return roomNightsSold; }
+    public long getGuestNights() { return guestNights; }
+    public int getArrivals() { return arrivals; }
+    public double getAverageLengthOfStay() { return averageLengthOfStay; }
+    public BigDecimal getRoomRevenue() { return roomRevenue; }
+
+    public double getOccupancyPercent() {
+        return roomsAvailable == 0 ? 0.0 : 100.0 * roomNightsSold / roomsAvailable;
+    }
+
+    // Average daily rate: room revenue per room night sold
+    public BigDecimal getAdr() {
+        return roomNightsSold == 0 ? BigDecimal.ZERO
+                : roomRevenue.divide(BigDecimal.valueOf(roomNightsSold), 2, RoundingMode.HALF_UP);
+    }
+
+    // Revenue per available room night
+    public BigDecimal getRevpar() {
+        return roomsAvailable == 0 ? BigDecimal.ZERO
+                : roomRevenue.divide(BigDecimal.valueOf(roomsAvailable), 2, RoundingMode.HALF_UP);
+    }
+}
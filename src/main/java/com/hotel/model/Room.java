@@ -1,16 +1,21 @@
 package com.hotel.model;
 
+import java.math.BigDecimal;
+
 public class Room {
-    private int roomNumber;
+    private int roomId;
+    private String roomNumber;
     private String type;
     private String status;
-    private double price;
+    private BigDecimal price;
     private int floor;
+    private String description;
 
     // Constructors
     public Room() {}
 
-    public Room(int roomNumber, String type, String status, double price, int floor) {
+    public Room(int roomId, String roomNumber, String type, String status, BigDecimal price, int floor) {
+        this.roomId = roomId;
         this.roomNumber = roomNumber;
         this.type = type;
         this.status = status;
@@ -18,20 +23,21 @@ public class Room {
         this.floor = floor;
     }
 
-    public Room(int roomNumber, String type, String status) {
-        this.roomNumber = roomNumber;
-        this.type = type;
-        this.status = status;
-        this.price = 0.0; // Default price
-        this.floor = roomNumber / 100; // Derive floor from room number
+    // Getters and Setters
+    public int getRoomId() {
+        return roomId;
     }
 
-    // Getters and Setters
-    public int getRoomNumber() {
+    public void setRoomId(int roomId) {
+        this.roomId = roomId;
+    }
+
+    // Matches rooms.room_number, which is text (e.g. "101A")
+    public String getRoomNumber() {
         return roomNumber;
     }
 
-    public void setRoomNumber(int roomNumber) {
+    public void setRoomNumber(String roomNumber) {
         this.roomNumber = roomNumber;
     }
 
@@ -51,11 +57,11 @@ public class Room {
         this.status = status;
     }
 
-    public double getPrice() {
+    public BigDecimal getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(BigDecimal price) {
         this.price = price;
     }
 
@@ -67,6 +73,14 @@ public class Room {
         this.floor = floor;
     }
 
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
     @Override
     public String toString() {
         return "Room " + roomNumber + " (" + type + ", Price: " + price + ", Floor: " + floor + ", Status: " + status + ")";
@@ -0,0 +1,79 @@
+package com.hotel.service;
+
+import com.hotel.dao.BookingDAO;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.RoomDAO;
+import com.hotel.dao.cache.CachedDAOs;
+import com.hotel.dao.impl.BookingDAOImpl;
+import com.hotel.model.Room;
+import com.hotel.util.BusinessDateService;
+import com.hotel.util.QueryMetrics;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Which rooms can be booked for a stay. Booking overlap is answered by the in-memory
+ * availability index behind {@link BookingDAO#getAllAvailableRooms(LocalDate, LocalDate)}.
+ * Also lists the rooms and sets their housekeeping status, through the shared room cache.
+ */
+public final class AvailabilityService {
+
+    private static final AvailabilityService INSTANCE = new AvailabilityService();
+
+    private final BookingDAO bookingDAO = QueryMetrics.instrument(BookingDAO.class, new BookingDAOImpl());
+    private final RoomDAO roomDAO = CachedDAOs.getRoomDAO();
+
+    private AvailabilityService() {}
+
+    public static AvailabilityService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Turns whatever dates the user has picked into a stay to search for: a missing check-in is
+     * today's business date, and a missing or too early check-out is the day after check-in.
+     */
+    public Stay correct(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null) {
+            checkIn = BusinessDateService.getInstance().getBusinessDate();
+        }
+        if (checkOut == null || checkOut.isBefore(checkIn.plusDays(1))) {
+            checkOut = checkIn.plusDays(1);
+        }
+        return new Stay(checkIn, checkOut);
+    }
+
+    public List<Room> findAvailableRooms(Stay stay) throws SQLException {
+        return bookingDAO.getAllAvailableRooms(stay.getCheckIn(), stay.getCheckOut());
+    }
+
+    /**
+     * {@link #findAvailableRooms(Stay)} on a {@link ServiceExecutor} thread.
+     */
+    public CompletableFuture<List<Room>> findAvailableRoomsAsync(Stay stay) {
+        return ServiceExecutor.submit(() -> findAvailableRooms(stay));
+    }
+
+    /**
+     * @see RoomDAO#findPage(String, String, String, PageRequest)
+     */
+    public Page<Room> findRoomPage(String searchText, String type, String status, PageRequest pageRequest)
+            throws SQLException {
+        return roomDAO.findPage(searchText, type, status, pageRequest);
+    }
+
+    public int countRooms(String searchText, String type, String status) throws SQLException {
+        return roomDAO.countRooms(searchText, type, status);
+    }
+
+    /**
+     * Sets a room's status, e.g. to Cleaning or Out of Service. Only rooms that are Available can be booked.
+     */
+    public boolean updateRoomStatus(String roomNumber, String newStatus) throws SQLException {
+        return roomDAO.updateRoomStatus(roomNumber, newStatus);
+    }
+}
@@ -0,0 +1,235 @@
+package com.hotel.service;
+
+import com.hotel.dao.BookingServiceDAO;
+import com.hotel.dao.InvoiceDAO;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.PaymentDAO;
+import com.hotel.dao.ServiceDAO;
+import com.hotel.dao.cache.CachedDAOs;
+import com.hotel.dao.impl.BookingServiceDAOImpl;
+import com.hotel.dao.impl.InvoiceDAOImpl;
+import com.hotel.dao.impl.PaymentDAOImpl;
+import com.hotel.model.BookingService;
+import com.hotel.model.Invoice;
+import com.hotel.model.Payment;
+import com.hotel.model.Service;
+import com.hotel.util.InvoiceBatchExporter;
+import com.hotel.util.QueryMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Charges and payments against invoices. Invoice totals and statuses are kept by the database
+ * triggers; this checks what is charged or paid before it is written.
+ *
+ * Each write here is a single statement, or for a payment the statement and its revenue rollup
+ * increment, which the payment DAO already commits together; the triggers run inside that same
+ * statement. So unlike {@link ReservationService} this service opens no transactions of its own.
+ * The services that can be charged are read and maintained through the shared service cache.
+ */
+public final class BillingService {
+
+    private static final BillingService INSTANCE = new BillingService();
+
+    private final PaymentDAO paymentDAO = QueryMetrics.instrument(PaymentDAO.class, new PaymentDAOImpl());
+    private final InvoiceDAO invoiceDAO = QueryMetrics.instrument(InvoiceDAO.class, new InvoiceDAOImpl());
+    private final BookingServiceDAO bookingServiceDAO =
+            QueryMetrics.instrument(BookingServiceDAO.class, new BookingServiceDAOImpl());
+    private final ServiceDAO serviceDAO = CachedDAOs.getServiceDAO();
+
+    private BillingService() {}
+
+    public static BillingService getInstance() {
+        return INSTANCE;
+    }
+
+    public List<Invoice> getInvoices() throws SQLException {
+        return paymentDAO.getAllInvoices();
+    }
+
+    /**
+     * Every invoice with its guest's name and room number, for the invoices screen.
+     */
+    public List<Invoice> getInvoicesWithDetails() throws SQLException {
+        return invoiceDAO.getAllInvoices();
+    }
+
+    public Invoice getInvoiceDetails(int invoiceId) throws SQLException {
+        return invoiceDAO.getInvoiceDetails(invoiceId);
+    }
+
+    public List<BookingService> getServiceChargesForBooking(int bookingId) throws SQLException {
+        return invoiceDAO.getBookingServicesForBooking(bookingId);
+    }
+
+    /**
+     * Renders the invoices issued in [issuedFrom, issuedTo] with the given status to PDF; see
+     * {@link InvoiceBatchExporter#export}. Runs on the calling thread.
+     */
+    public InvoiceBatchExporter.Result exportInvoices(LocalDate issuedFrom, LocalDate issuedTo, String status,
+                                                      InvoiceBatchExporter.Output output, File target,
+                                                      InvoiceBatchExporter.ProgressListener listener,
+                                                      BooleanSupplier cancelled) throws SQLException, IOException {
+        return new InvoiceBatchExporter(invoiceDAO).export(issuedFrom, issuedTo, status, output, target, listener,
+                cancelled);
+    }
+
+    public List<Payment> getPayments() throws SQLException {
+        return paymentDAO.getAllPayments();
+    }
+
+    public int countPayments() throws SQLException {
+        return paymentDAO.countPayments();
+    }
+
+    /**
+     * Reads every payment through a forward-only cursor, for exports; see
+     * {@link PaymentDAO#streamPayments(int, PaymentDAO.PaymentHandler)}.
+     */
+    public int streamPayments(int fetchSize, PaymentDAO.PaymentHandler handler) throws SQLException {
+        return paymentDAO.streamPayments(fetchSize, handler);
+    }
+
+    /**
+     * What is left to pay on an invoice; negative if it was overpaid. Missing amounts count as zero.
+     */
+    public BigDecimal balanceDue(Invoice invoice) {
+        BigDecimal total = invoice.getTotalAmount() != null ? invoice.getTotalAmount() : BigDecimal.ZERO;
+        BigDecimal paid = invoice.getPaidAmount() != null ? invoice.getPaidAmount() : BigDecimal.ZERO;
+        return total.subtract(paid);
+    }
+
+    /**
+     * Records a payment as entered on the payments screen.
+     *
+     * @param amountText the amount as typed; must be a number greater than zero
+     * @return the payment written
+     * @throws ValidationException for the first missing or invalid field, checked in form order
+     */
+    public Payment recordPayment(Invoice invoice, LocalDate paymentDate, String amountText, String paymentMethod,
+                                 String transactionId, String notes) throws ValidationException, SQLException {
+        if (invoice == null) {
+            throw new ValidationException("No Invoice Selected", "Please select an invoice for this payment.");
+        }
+        if (paymentDate == null) {
+            throw new ValidationException("No Date Selected", "Please select a payment date.");
+        }
+        String amountValue = amountText != null ? amountText.trim() : "";
+        if (amountValue.isEmpty()) {
+            throw new ValidationException("Amount Required", "Please enter a payment amount.");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(amountValue);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid Amount", "Please enter a valid number for the amount.");
+        }
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new ValidationException("Invalid Amount", "Payment amount must be greater than zero.");
+        }
+        if (paymentMethod == null || paymentMethod.isEmpty()) {
+            throw new ValidationException("Payment Method Required", "Please select a payment method.");
+        }
+
+        Payment payment = new Payment();
+        payment.setInvoiceId(invoice.getInvoiceId());
+        payment.setPaymentDate(Date.valueOf(paymentDate));
+        payment.setAmount(amount);
+        payment.setPaymentMethod(paymentMethod);
+        payment.setTransactionId(transactionId != null ? transactionId.trim() : "");
+        payment.setNotes(notes != null ? notes.trim() : "");
+        paymentDAO.addPayment(payment);
+        return payment;
+    }
+
+    /**
+     * Adds a service to a booking; the trigger adds its cost to the booking's invoice.
+     *
+     * @return the booking service with its generated id
+     * @throws ValidationException if the booking, service, quantity or date is missing
+     */
+    public BookingService addServiceCharge(BookingService bookingService) throws ValidationException, SQLException {
+        validate(bookingService);
+        return bookingServiceDAO.addBookingService(bookingService);
+    }
+
+    /**
+     * @throws ValidationException if the booking, service, quantity or date is missing
+     */
+    public void updateServiceCharge(BookingService bookingService) throws ValidationException, SQLException {
+        validate(bookingService);
+        bookingServiceDAO.updateBookingService(bookingService);
+    }
+
+    public void deleteServiceCharge(int bookingServiceId) throws SQLException {
+        bookingServiceDAO.deleteBookingService(bookingServiceId);
+    }
+
+    /**
+     * Every service that can be charged to a booking; served from the service cache.
+     */
+    public List<Service> getServices() throws SQLException {
+        return serviceDAO.getAllServices();
+    }
+
+    /**
+     * @see ServiceDAO#findPage(String, PageRequest)
+     */
+    public Page<Service> findServicePage(String searchText, PageRequest pageRequest) throws SQLException {
+        return serviceDAO.findPage(searchText, pageRequest);
+    }
+
+    public int countServices(String searchText) throws SQLException {
+        return serviceDAO.countServices(searchText);
+    }
+
+    public Service addService(Service service) throws SQLException {
+        return serviceDAO.addService(service);
+    }
+
+    public Service updateService(Service service) throws SQLException {
+        return serviceDAO.updateService(service);
+    }
+
+    public void deleteService(int serviceId) throws SQLException {
+        serviceDAO.deleteService(serviceId);
+    }
+
+    public List<BookingService> getServiceCharges() throws SQLException {
+        return bookingServiceDAO.getAllBookingServicesWithDetails();
+    }
+
+    /**
+     * Checks that a booking service names a booking and a service, has a quantity of at least one
+     * and a date. An id of 0 means none was chosen.
+     *
+     * @throws ValidationException listing every problem found, one per line
+     */
+    public void validate(BookingService bookingService) throws ValidationException {
+        List<String> problems = new ArrayList<>();
+        if (bookingService.getBookingId() <= 0) {
+            problems.add("Please select a booking.");
+        }
+        if (bookingService.getServiceId() <= 0) {
+            problems.add("Please select a service.");
+        }
+        if (bookingService.getQuantity() < 1) {
+            problems.add("Quantity must be at least 1.");
+        }
+        if (bookingService.getServiceDate() == null) {
+            problems.add("Please select a service date.");
+        }
+        if (!problems.isEmpty()) {
+            throw new ValidationException("Please correct invalid fields", problems);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.hotel.service;
+
+import com.hotel.dao.CustomerDAO;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.cache.CachedDAOs;
+import com.hotel.model.Customer;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Guest records. Reads and writes go through the shared customer cache, so a change made here
+ * is seen by the booking and feedback screens without a reload.
+ */
+public final class CustomerService {
+
+    private static final CustomerService INSTANCE = new CustomerService();
+
+    private final CustomerDAO customerDAO = CachedDAOs.getCustomerDAO();
+
+    private CustomerService() {}
+
+    public static CustomerService getInstance() {
+        return INSTANCE;
+    }
+
+    public List<Customer> getCustomers() throws SQLException {
+        return customerDAO.findAll();
+    }
+
+    /**
+     * @see CustomerDAO#findPage(String, Integer, Integer, Integer, Integer, PageRequest)
+     */
+    public Page<Customer> findPage(String searchText, Integer minAdults, Integer maxAdults, Integer minKids,
+                                   Integer maxKids, PageRequest pageRequest) throws SQLException {
+        return customerDAO.findPage(searchText, minAdults, maxAdults, minKids, maxKids, pageRequest);
+    }
+
+    public int countCustomers(String searchText, Integer minAdults, Integer maxAdults, Integer minKids,
+                              Integer maxKids) throws SQLException {
+        return customerDAO.countCustomers(searchText, minAdults, maxAdults, minKids, maxKids);
+    }
+
+    public boolean addCustomer(Customer customer) throws SQLException {
+        return customerDAO.addCustomer(customer);
+    }
+
+    public boolean updateCustomer(Customer customer) throws SQLException {
+        return customerDAO.updateCustomer(customer);
+    }
+
+    public boolean deleteCustomer(int customerId) throws SQLException {
+        return customerDAO.deleteCustomer(customerId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.service;
+
+import com.hotel.dao.FeedbackDAO;
+import com.hotel.dao.impl.FeedbackDAOImpl;
+import com.hotel.models.Feedback;
+import com.hotel.util.QueryMetrics;
+
+import java.util.List;
+
+/**
+ * Guest feedback. The customers and bookings feedback is given for come from
+ * {@link CustomerService} and {@link ReservationService}.
+ */
+public final class FeedbackService {
+
+    private static final FeedbackService INSTANCE = new FeedbackService();
+
+    private final FeedbackDAO feedbackDAO = QueryMetrics.instrument(FeedbackDAO.class, new FeedbackDAOImpl());
+
+    private FeedbackService() {}
+
+    public static FeedbackService getInstance() {
+        return INSTANCE;
+    }
+
+    public List<Feedback> getFeedback() {
+        return feedbackDAO.getAllFeedback();
+    }
+
+    public void addFeedback(Feedback feedback) {
+        feedbackDAO.addFeedback(feedback);
+    }
+}
@@ -0,0 +1,202 @@
+package com.hotel.service;
+
+import com.hotel.dao.BookingDAO;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.cache.CachedDAOs;
+import com.hotel.dao.cache.CachingCustomerDAO;
+import com.hotel.dao.cache.CachingRoomDAO;
+import com.hotel.dao.impl.BookingDAOImpl;
+import com.hotel.model.Booking;
+import com.hotel.model.BookingDetails;
+import com.hotel.model.Customer;
+import com.hotel.model.Room;
+import com.hotel.util.DatabaseConnection;
+import com.hotel.util.QueryMetrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Creating, changing and listing bookings. Bookings are checked here before they are written,
+ * so the booking screen and headless callers such as the load test reject the same input.
+ *
+ * Adding or changing a booking is one transaction on one connection: the room row is locked,
+ * overlapping bookings of the room are looked for, and the booking is written, so two clerks
+ * cannot book the same room for the same night. Rooms and customers shown with a booking are
+ * read through the shared caches.
+ */
+public final class ReservationService {
+
+    private static final ReservationService INSTANCE = new ReservationService();
+
+    /**
+     * One unit of work on a connection whose transaction the service commits or rolls back.
+     */
+    private interface Work<T> {
+        T run(Connection conn) throws ValidationException, SQLException;
+    }
+
+    private final BookingDAO bookingDAO = QueryMetrics.instrument(BookingDAO.class, new BookingDAOImpl());
+    private final CachingRoomDAO roomDAO = CachedDAOs.getRoomDAO();
+    private final CachingCustomerDAO customerDAO = CachedDAOs.getCustomerDAO();
+
+    private ReservationService() {}
+
+    public static ReservationService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true if the booking was saved; it then has its generated id
+     * @throws ValidationException if a room, customer or valid stay is missing, or the room is
+     *         already booked for part of the stay
+     */
+    public boolean addBooking(Booking booking) throws ValidationException, SQLException {
+        validate(booking);
+        boolean added = inTransaction(conn -> {
+            checkRoomFree(conn, booking);
+            return bookingDAO.insertBooking(conn, booking);
+        });
+        if (added) {
+            bookingDAO.bookingCommitted(booking, true);
+        }
+        return added;
+    }
+
+    /**
+     * @throws ValidationException if a room, customer or valid stay is missing, or the room is
+     *         already booked by another booking for part of the stay
+     */
+    public boolean updateBooking(Booking booking) throws ValidationException, SQLException {
+        validate(booking);
+        boolean updated = inTransaction(conn -> {
+            checkRoomFree(conn, booking);
+            return bookingDAO.updateBooking(conn, booking);
+        });
+        if (updated) {
+            bookingDAO.bookingCommitted(booking, false);
+        }
+        return updated;
+    }
+
+    public boolean deleteBooking(int bookingId) throws SQLException {
+        return bookingDAO.deleteBooking(bookingId);
+    }
+
+    public Optional<BookingDetails> findBookingDetails(int bookingId) throws SQLException {
+        return bookingDAO.findBookingDetails(bookingId);
+    }
+
+    /**
+     * The room and customer of a booking. Both are usually cached from earlier selections;
+     * otherwise one joined query loads them and caches them for the next time.
+     * The room or customer is null if it no longer exists.
+     */
+    public BookingDetails findBookingDetails(Booking booking) throws SQLException {
+        Room room = roomDAO.peek(booking.getRoomId());
+        Customer customer = customerDAO.peek(booking.getCustomerId());
+        if (room != null && customer != null) {
+            return new BookingDetails(booking, room, customer);
+        }
+        long roomVersion = roomDAO.loadVersion();
+        long customerVersion = customerDAO.loadVersion();
+        Optional<BookingDetails> details = bookingDAO.findBookingDetails(booking.getBookingId());
+        if (details.isPresent()) {
+            room = details.get().getRoom();
+            customer = details.get().getCustomer();
+            if (room != null) {
+                roomDAO.prime(booking.getRoomId(), room, roomVersion);
+            }
+            if (customer != null) {
+                customerDAO.prime(customer, customerVersion);
+            }
+        }
+        return new BookingDetails(booking, room, customer);
+    }
+
+    /**
+     * Every customer, for choosing who a booking is for; served from the customer cache.
+     */
+    public List<Customer> getCustomers() throws SQLException {
+        return customerDAO.findAll();
+    }
+
+    /**
+     * Every booking with its guest's name and room number, latest check-in first.
+     */
+    public List<Booking> getBookings() throws SQLException {
+        return bookingDAO.getAllBookings();
+    }
+
+    public int countBookings(String searchText, LocalDate checkInFrom, LocalDate checkInTo) throws SQLException {
+        return bookingDAO.countBookings(searchText, checkInFrom, checkInTo);
+    }
+
+    public Page<Booking> findPage(String searchText, LocalDate checkInFrom, LocalDate checkInTo, PageRequest pageRequest)
+            throws SQLException {
+        return bookingDAO.findPage(searchText, checkInFrom, checkInTo, pageRequest);
+    }
+
+    /**
+     * Checks that a booking names a room and a customer and stays at least one night.
+     * A room or customer id of 0 means none was chosen.
+     *
+     * @throws ValidationException listing every problem found, one per line
+     */
+    public void validate(Booking booking) throws ValidationException {
+        List<String> problems = new ArrayList<>();
+        if (booking.getRoomId() <= 0) {
+            problems.add("Room must be selected.");
+        }
+        if (booking.getCustomerId() <= 0) {
+            problems.add("Customer must be selected.");
+        }
+        if (booking.getCheckInDate() == null) {
+            problems.add("Check-in date is required.");
+        }
+        if (booking.getCheckOutDate() == null) {
+            problems.add("Check-out date is required.");
+        }
+        if (booking.getCheckInDate() != null && booking.getCheckOutDate() != null
+                && !booking.getCheckOutDate().isAfter(booking.getCheckInDate())) {
+            problems.add("Check-out date must be after check-in date.");
+        }
+        if (!problems.isEmpty()) {
+            throw new ValidationException("Invalid Input", problems);
+        }
+    }
+
+    /**
+     * Locks the booking's room until the transaction ends and fails if another booking overlaps
+     * the stay. The lock is taken before the overlap is read, so a concurrent booking of the room
+     * has either committed and is seen, or waits for this transaction.
+     */
+    private void checkRoomFree(Connection conn, Booking booking) throws ValidationException, SQLException {
+        if (!bookingDAO.lockRoom(conn, booking.getRoomId())) {
+            throw new ValidationException("Room Not Found", "The selected room no longer exists.");
+        }
+        if (bookingDAO.hasOverlappingBooking(conn, booking)) {
+            throw new ValidationException("Room Not Available",
+                    "The selected room is already booked for part of this stay. Please choose another room or other dates.");
+        }
+    }
+
+    private static <T> T inTransaction(Work<T> work) throws ValidationException, SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                T result = work.run(conn);
+                conn.commit();
+                return result;
+            } catch (ValidationException | SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
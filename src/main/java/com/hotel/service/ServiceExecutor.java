@@ -0,0 +1,52 @@
+package com.hotel.service;
+
+import com.hotel.util.DatabaseConnection;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs service calls off the caller's thread, e.g. off the JavaFX application thread.
+ *
+ * Every task holds a pooled connection while it runs, so there are as many threads as the pool has
+ * connections; more would only wait for one. Threads are daemons and end after a minute idle.
+ */
+public final class ServiceExecutor {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = newExecutor();
+
+    private ServiceExecutor() {}
+
+    /**
+     * Runs {@code task} in the background. The future completes with its result, or exceptionally with
+     * a {@link CompletionException} whose cause is what the task threw, e.g. an {@link java.sql.SQLException}.
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    private static ExecutorService newExecutor() {
+        int threads = DatabaseConnection.getPoolMaxSize();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "hotel-service-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotel.service;
+
+import com.hotel.dao.StaffDAO;
+import com.hotel.dao.cache.CachedDAOs;
+import com.hotel.model.Staff;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Staff records, read and written through the shared staff cache.
+ */
+public final class StaffService {
+
+    private static final StaffService INSTANCE = new StaffService();
+
+    private final StaffDAO staffDAO = CachedDAOs.getStaffDAO();
+
+    private StaffService() {}
+
+    public static StaffService getInstance() {
+        return INSTANCE;
+    }
+
+    public List<Staff> getStaff() throws SQLException {
+        return staffDAO.findAll();
+    }
+
+    public boolean addStaff(Staff staff) throws SQLException {
+        return staffDAO.addStaff(staff);
+    }
+
+    public boolean updateStaff(Staff staff) throws SQLException {
+        return staffDAO.updateStaff(staff);
+    }
+
+    public boolean deleteStaff(int userId) throws SQLException {
+        return staffDAO.deleteStaff(userId);
+    }
+}
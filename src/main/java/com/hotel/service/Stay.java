@@ -0,0 +1,30 @@
+package com.hotel.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A check-in and check-out date pair with at least one night between them,
+ * as produced by {@link AvailabilityService#correct(LocalDate, LocalDate)}.
+ */
+public final class Stay {
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+
+    Stay(LocalDate checkIn, LocalDate checkOut) {
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+
+    public LocalDate getCheckIn() { return checkIn; }
+    public LocalDate getCheckOut() { return checkOut; }
+
+    public int getNights() {
+        return (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+    }
+
+    @Override
+    public String toString() {
+        return checkIn + " to " + checkOut;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hotel.service;
+
+import java.util.List;
+
+/**
+ * Thrown by the services when the input for an operation is incomplete or inconsistent.
+ * Nothing has been written when it is thrown; the message is meant to be shown to the user as is.
+ */
+public class ValidationException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String summary;
+
+    public ValidationException(String summary, String message) {
+        super(message);
+        this.summary = summary;
+    }
+
+    /**
+     * One exception for several problems found together, one per line.
+     */
+    public ValidationException(String summary, List<String> problems) {
+        this(summary, String.join("\n", problems));
+    }
+
+    /** A short heading for the problem, e.g. for an alert's header. */
+    public String getSummary() {
+        return summary;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hotel.util;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * The hotel's business date, shared by every DAO so that "today" means the same day everywhere.
+ *
+ * The business date is the calendar date in the hotel's time zone, except that it only rolls over
+ * at the night audit time: with an audit at 03:00, a payment taken at 01:30 still belongs to the
+ * previous business date. Both come from system properties, hotel.timeZone (default: the JVM's
+ * zone) and hotel.nightAuditTime (HH:mm, default 00:00), and never from the database server clock.
+ *
+ * Queries should filter timestamp columns with the half-open range [getStart(), getEnd()) of a
+ * {@link BusinessDay} and date columns with equality on its date, so that indexes can be used;
+ * never with DATE(column) = CURRENT_DATE. The current day is computed once and cached until it ends.
+ */
+public final class BusinessDateService {
+
+    private static final BusinessDateService INSTANCE = new BusinessDateService(
+            ZoneId.of(System.getProperty("hotel.timeZone", ZoneId.systemDefault().getId())),
+            LocalTime.parse(System.getProperty("hotel.nightAuditTime", "00:00")),
+            Clock.systemUTC());
+
+    private final ZoneId zone;
+    private final LocalTime nightAuditTime;
+    private final Clock clock;
+    private volatile BusinessDay current;
+
+    BusinessDateService(ZoneId zone, LocalTime nightAuditTime, Clock clock) {
+        this.zone = zone;
+        this.nightAuditTime = nightAuditTime;
+        this.clock = clock;
+    }
+
+    public static BusinessDateService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current business day. Cheap enough to call for every query.
+     */
+    public BusinessDay today() {
+        BusinessDay day = current;
+        Instant now = clock.instant();
+        if (day == null || !day.contains(now)) {
+            day = dayOf(businessDateAt(now));
+            current = day;
+        }
+        return day;
+    }
+
+    public LocalDate getBusinessDate() {
+        return today().getDate();
+    }
+
+    /**
+     * Returns the bounds of any business date.
+     */
+    public BusinessDay dayOf(LocalDate date) {
+        return new BusinessDay(date, date.atTime(nightAuditTime).atZone(zone).toInstant(),
+                date.plusDays(1).atTime(nightAuditTime).atZone(zone).toInstant());
+    }
+
+    /**
+     * Returns the business date a point in time belongs to.
+     */
+    public LocalDate businessDateAt(Instant instant) {
+        ZonedDateTime local = instant.atZone(zone);
+        LocalDate date = local.toLocalDate();
+        return local.toLocalTime().isBefore(nightAuditTime) ? date.minusDays(1) : date;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public LocalTime getNightAuditTime() {
+        return nightAuditTime;
+    }
+
+    /**
+     * One business date and the instants it starts (inclusive) and ends (exclusive).
+     */
+    public static final class BusinessDay {
+        private final LocalDate date;
+        private final Instant start;
+        private final Instant end;
+
+        private BusinessDay(LocalDate date, Instant start, Instant end) {
+            this.date = date;
+            this.start = start;
+            this.end = end;
+        }
+
+        public LocalDate getDate() { return date; }
+        public Instant getStartInstant() { return start; }
+        public Instant getEndInstant() { return end; }
+
+        // Bounds for binding to timestamp parameters: column >= getStart() AND column < getEnd()
+        public Timestamp getStart() { return Timestamp.from(start); }
+        public Timestamp getEnd() { return Timestamp.from(end); }
+
+        // For binding to date parameters: column = getSqlDate()
+        public java.sql.Date getSqlDate() { return java.sql.Date.valueOf(date); }
+
+        public boolean contains(Instant instant) {
+            return !instant.isBefore(start) && instant.isBefore(end);
+        }
+
+        @Override
+        public String toString() {
+            return date + " [" + start + ", " + end + ")";
+        }
+    }
+}
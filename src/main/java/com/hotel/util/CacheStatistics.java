@@ -0,0 +1,47 @@
+package com.hotel.util;
+
+/**
+ * Immutable point-in-time snapshot of an {@link LruCache}'s counters.
+ */
+public class CacheStatistics {
+    private final String cacheName;
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+
+    public CacheStatistics(String cacheName, int size, int maxSize, long hits, long misses,
+                           long evictions, long expirations, long invalidations) {
+        this.cacheName = cacheName;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    public String getCacheName() { return cacheName; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getExpirations() { return expirations; }
+    public long getInvalidations() { return invalidations; }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{size=%d/%d, hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, expirations=%d, invalidations=%d}",
+                cacheName, size, maxSize, hits, misses, getHitRatio(), evictions, expirations, invalidations);
+    }
+}
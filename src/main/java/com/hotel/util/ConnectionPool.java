@@ -0,0 +1,469 @@
+package com.hotel.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe JDBC connection pool.
+ *
+ * Connections handed out by {@link #getConnection()} are proxies: calling {@code close()}
+ * returns the physical connection to the pool instead of closing it, so the DAOs can keep
+ * using try-with-resources. Idle connections are validated on borrow, evicted after
+ * {@link Config#getIdleTimeoutMillis()} (down to the minimum size) and connections held
+ * longer than {@link Config#getLeakDetectionThresholdMillis()} are reported as leaks.
+ * Each physical connection keeps a {@link StatementCache}, so {@code prepareStatement(sql)}
+ * reuses an already prepared statement when the same SQL was run on that connection before.
+ */
+public class ConnectionPool {
+
+    /**
+     * Pool sizing and timing settings. Defaults suit a single front-desk terminal.
+     */
+    public static class Config {
+        private int minSize = 2;
+        private int maxSize = 10;
+        private long borrowTimeoutMillis = 30_000;
+        private int validationTimeoutSeconds = 3;
+        private long validationBypassMillis = 500;
+        private long idleTimeoutMillis = 600_000;
+        private long leakDetectionThresholdMillis = 60_000;
+        private long housekeepingPeriodMillis = 30_000;
+        private int statementCacheSize = 64;
+
+        public int getMinSize() { return minSize; }
+        public void setMinSize(int minSize) { this.minSize = minSize; }
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public long getBorrowTimeoutMillis() { return borrowTimeoutMillis; }
+        public void setBorrowTimeoutMillis(long borrowTimeoutMillis) { this.borrowTimeoutMillis = borrowTimeoutMillis; }
+
+        public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+        public void setValidationTimeoutSeconds(int validationTimeoutSeconds) { this.validationTimeoutSeconds = validationTimeoutSeconds; }
+
+        /** Connections returned to the pool more recently than this are handed out without a ping. */
+        public long getValidationBypassMillis() { return validationBypassMillis; }
+        public void setValidationBypassMillis(long validationBypassMillis) { this.validationBypassMillis = validationBypassMillis; }
+
+        public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+        public void setIdleTimeoutMillis(long idleTimeoutMillis) { this.idleTimeoutMillis = idleTimeoutMillis; }
+
+        /** Zero disables leak detection. */
+        public long getLeakDetectionThresholdMillis() { return leakDetectionThresholdMillis; }
+        public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) { this.leakDetectionThresholdMillis = leakDetectionThresholdMillis; }
+
+        public long getHousekeepingPeriodMillis() { return housekeepingPeriodMillis; }
+        public void setHousekeepingPeriodMillis(long housekeepingPeriodMillis) { this.housekeepingPeriodMillis = housekeepingPeriodMillis; }
+
+        /** Prepared statements cached per connection. Zero disables statement caching. */
+        public int getStatementCacheSize() { return statementCacheSize; }
+        public void setStatementCacheSize(int statementCacheSize) { this.statementCacheSize = statementCacheSize; }
+    }
+
+    /**
+     * Sees every statement prepared on a pooled connection and may wrap it. Installed by test harnesses only.
+     */
+    interface StatementInterceptor {
+        PreparedStatement intercept(PreparedStatement statement, String sql);
+    }
+
+    private static volatile StatementInterceptor statementInterceptor;
+
+    private final String name;
+    private final String url;
+    private final Properties connectionProperties;
+    private final Config config;
+
+    // Most recently returned connections sit at the head, so the tail ages out first
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<Lease> activeLeases = ConcurrentHashMap.newKeySet();
+    private final Semaphore borrowPermits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsDestroyed = new LongAdder();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LatencyHistogram waitHistogram = new LatencyHistogram();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    public ConnectionPool(String name, String url, Properties connectionProperties, Config config) {
+        if (config.getMaxSize() < 1 || config.getMinSize() < 0 || config.getMinSize() > config.getMaxSize()) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + config.getMinSize() + ", max=" + config.getMaxSize());
+        }
+        this.name = name;
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.config = config;
+        this.borrowPermits = new Semaphore(config.getMaxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0,
+                config.getHousekeepingPeriodMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Installs the interceptor for statements prepared from now on, in every pool; null removes it.
+     */
+    static void setStatementInterceptor(StatementInterceptor interceptor) {
+        statementInterceptor = interceptor;
+    }
+
+    /**
+     * Borrows a connection, waiting up to {@link Config#getBorrowTimeoutMillis()} when the pool is exhausted.
+     *
+     * @return A pooled connection; closing it returns it to the pool.
+     * @throws SQLException if the pool is closed, the wait times out or a new connection cannot be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool " + name + " is closed");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getBorrowTimeoutMillis());
+        try {
+            if (!borrowPermits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMillis()
+                        + "ms waiting for a connection from pool " + name + " (" + getStatistics() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from pool " + name, e);
+        }
+
+        try {
+            PooledConnection pooled = acquire(deadline);
+            Lease lease = new Lease(pooled);
+            activeLeases.add(lease);
+
+            long waited = System.nanoTime() - start;
+            borrowCount.increment();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            waitHistogram.recordNanos(waited);
+            return lease.proxy;
+        } catch (SQLException | RuntimeException e) {
+            borrowPermits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection acquire(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idleConnections.pollFirst();
+            if (pooled == null) {
+                if (reserveSlot()) {
+                    return openConnection();
+                }
+                // Another thread is mid-creation or the housekeeper is topping up; wait for a return
+                try {
+                    pooled = idleConnections.pollFirst(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a connection from pool " + name, e);
+                }
+                if (pooled == null) {
+                    borrowTimeouts.increment();
+                    throw new SQLTimeoutException("Timed out waiting for an idle connection in pool " + name);
+                }
+            }
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            validationFailures.increment();
+            destroy(pooled);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long idleNanos = System.nanoTime() - pooled.lastReturnedAt;
+        if (idleNanos < TimeUnit.MILLISECONDS.toNanos(config.getValidationBypassMillis())) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= config.getMaxSize()) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, connectionProperties);
+            StatementCache statementCache = config.getStatementCacheSize() > 0
+                    ? new StatementCache(config.getStatementCacheSize(), statementCacheHits,
+                            statementCacheMisses, statementCacheEvictions)
+                    : null;
+            PooledConnection pooled = new PooledConnection(physical, statementCache);
+            connectionsCreated.increment();
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void release(Lease lease) {
+        activeLeases.remove(lease);
+        PooledConnection pooled = lease.pooled;
+        try {
+            if (closed || pooled.broken || !resetState(pooled.physical)) {
+                destroy(pooled);
+            } else {
+                pooled.lastReturnedAt = System.nanoTime();
+                idleConnections.offerFirst(pooled);
+            }
+        } finally {
+            borrowPermits.release();
+        }
+    }
+
+    /**
+     * Undoes per-borrower state so the next borrower gets a clean connection.
+     */
+    private boolean resetState(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Discarding connection from pool " + name + " after reset failure: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        connectionsDestroyed.increment();
+        try {
+            if (pooled.statementCache != null) {
+                pooled.statementCache.closeAll();
+            }
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.nanoTime();
+
+            // Evict connections that sat idle too long, but never below the minimum size
+            long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+            Iterator<PooledConnection> oldestFirst = idleConnections.descendingIterator();
+            while (oldestFirst.hasNext() && totalConnections.get() > config.getMinSize()) {
+                PooledConnection pooled = oldestFirst.next();
+                if (now - pooled.lastReturnedAt > idleTimeoutNanos && idleConnections.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+
+            long leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLeakDetectionThresholdMillis());
+            if (leakThresholdNanos > 0) {
+                for (Lease lease : activeLeases) {
+                    if (!lease.leakReported && now - lease.borrowedAt > leakThresholdNanos) {
+                        lease.leakReported = true;
+                        leaksDetected.increment();
+                        System.err.println("Possible connection leak in pool " + name + ": connection held for "
+                                + TimeUnit.NANOSECONDS.toMillis(now - lease.borrowedAt) + "ms by "
+                                + lease.borrowerThread + ", borrowed at:");
+                        lease.borrowSite.printStackTrace();
+                    }
+                }
+            }
+
+            while (!closed && totalConnections.get() < config.getMinSize() && reserveSlot()) {
+                PooledConnection pooled = openConnection();
+                pooled.lastReturnedAt = System.nanoTime();
+                idleConnections.offerLast(pooled);
+            }
+        } catch (Exception e) {
+            System.err.println("Connection pool " + name + " housekeeping error: " + e.getMessage());
+        }
+    }
+
+    public PoolStatistics getStatistics() {
+        int idle = idleConnections.size();
+        return new PoolStatistics(name, totalConnections.get(), idle, activeLeases.size(),
+                borrowPermits.getQueueLength(), connectionsCreated.sum(), connectionsDestroyed.sum(),
+                borrowCount.sum(), borrowTimeouts.sum(), validationFailures.sum(), leaksDetected.sum(),
+                totalWaitNanos.sum(), maxWaitNanos.get(), statementCacheHits.sum(),
+                statementCacheMisses.sum(), statementCacheEvictions.sum());
+    }
+
+    /**
+     * Distribution of the time callers of {@link #getConnection()} waited for a connection.
+     */
+    public LatencyHistogram getWaitHistogram() {
+        return waitHistogram;
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping. Connections still borrowed are
+     * closed as soon as they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            destroy(pooled);
+        }
+        System.out.println("Connection pool " + name + " shut down: " + getStatistics());
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private static class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastReturnedAt = System.nanoTime();
+        private volatile boolean broken;
+
+        PooledConnection(Connection physical, StatementCache statementCache) {
+            this.physical = physical;
+            this.statementCache = statementCache;
+        }
+    }
+
+    /**
+     * One borrow of a pooled connection. Each borrow gets its own proxy so a stale
+     * reference kept by a previous borrower cannot use the connection after closing it.
+     */
+    private class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final Connection proxy;
+        private final long borrowedAt = System.nanoTime();
+        private final String borrowerThread = Thread.currentThread().getName();
+        private final Throwable borrowSite;
+        private final AtomicBoolean returned = new AtomicBoolean();
+        private volatile boolean leakReported;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+            this.borrowSite = config.getLeakDetectionThresholdMillis() > 0
+                    ? new Throwable("Connection borrowed here") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + name + "]" + pooled.physical;
+                default:
+                    break;
+            }
+            if (returned.get()) {
+                throw new SQLException("Connection has already been returned to pool " + name);
+            }
+            Object result = delegate(proxy, method, args);
+            if (result instanceof PreparedStatement) {
+                PreparedStatement statement = QueryMetrics.getInstance().wrap((PreparedStatement) result, (String) args[0]);
+                StatementInterceptor interceptor = statementInterceptor;
+                return interceptor != null ? interceptor.intercept(statement, (String) args[0]) : statement;
+            }
+            return result;
+        }
+
+        private Object delegate(Object proxy, Method method, Object[] args) throws Throwable {
+            if (pooled.statementCache != null && method.getName().equals("prepareStatement")) {
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                if (parameterTypes.length == 1) {
+                    return pooled.statementCache.prepare(pooled.physical, (Connection) proxy, returned::get,
+                            (String) args[0], -1);
+                }
+                if (parameterTypes.length == 2 && parameterTypes[1] == int.class) {
+                    return pooled.statementCache.prepare(pooled.physical, (Connection) proxy, returned::get,
+                            (String) args[0], (Integer) args[1]);
+                }
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    // SQLSTATE class 08 means the connection itself is gone
+                    if (state != null && state.startsWith("08")) {
+                        pooled.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+}
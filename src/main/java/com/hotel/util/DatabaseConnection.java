@@ -1,8 +1,8 @@
 package com.hotel.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 public class DatabaseConnection {
 
@@ -12,48 +12,127 @@ public class DatabaseConnection {
     private static final String DB_PASSWORD = "qwert";
     // ---------------------------------------------------------------
 
-    private static Connection connection = null;
+    // Tools such as QueryPlanCheck point the pool at another database with -Dhotel.db.url etc.
+    private static final String URL = System.getProperty("hotel.db.url", DB_URL);
+    private static final String USER = System.getProperty("hotel.db.user", DB_USER);
+    private static final String PASSWORD = System.getProperty("hotel.db.password", DB_PASSWORD);
+
+    // Connection pool sizing
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_BORROW_TIMEOUT_MILLIS = 30_000;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 600_000;
+    private static final long POOL_LEAK_THRESHOLD_MILLIS = 60_000;
+    private static final int STATEMENT_CACHE_SIZE = 128;
+
+    private static volatile ConnectionPool pool = null;
 
     // Private constructor to prevent instantiation
     private DatabaseConnection() {}
 
     /**
-     * Gets a connection to the database.
-     * If a connection does not exist or is closed, it attempts to create a new one.
+     * Gets a connection to the database from the shared connection pool.
+     * Closing the returned connection hands it back to the pool rather than
+     * closing the underlying socket, so callers should keep using try-with-resources.
+     * Safe to call from any thread.
      *
-     * @return A Connection object to the database.
-     * @throws SQLException if a database access error occurs.
+     * @return A pooled Connection object to the database.
+     * @throws SQLException if a database access error occurs or no connection becomes available in time.
      */
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            try {
-                // Load the MySQL JDBC driver
-                // Class.forName("com.mysql.cj.jdbc.Driver"); // Usually not needed with modern JDBC
-
-                // Establish the connection
-                connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-                System.out.println("Database connection successful!"); // For debugging
-            } catch (SQLException e) {
-                System.err.println("Database Connection Error: " + e.getMessage());
-                // In a real app, provide better error handling or logging
-                throw e; // Re-throw the exception so calling code knows about the failure
+        try {
+            return getPool().getConnection();
+        } catch (SQLException e) {
+            System.err.println("Database Connection Error: " + e.getMessage());
+            throw e; // Re-throw the exception so calling code knows about the failure
+        }
+    }
+
+    /**
+     * Gets the shared connection pool, creating it on first use.
+     *
+     * @return The connection pool backing {@link #getConnection()}.
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool("hotel-db", URL, connectionProperties(), poolConfig());
+                    pool = current;
+                    System.out.println("Database connection pool started."); // For debugging
+                }
             }
         }
-        return connection;
+        return current;
+    }
+
+    /**
+     * Gets a snapshot of the connection pool counters.
+     *
+     * @return Current pool statistics.
+     */
+    public static PoolStatistics getPoolStatistics() {
+        return getPool().getStatistics();
+    }
+
+    /**
+     * Gets the most connections the pool hands out at once, e.g. to bound parallel queries.
+     *
+     * @return The maximum pool size.
+     */
+    public static int getPoolMaxSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    /**
+     * Cancels the query the given thread is currently executing, if any.
+     * Used to abort searches that a newer search has made obsolete.
+     *
+     * @param thread The thread running the query.
+     * @return true if a running query was found and cancelled.
+     */
+    public static boolean cancelRunningQuery(Thread thread) {
+        return RunningStatements.cancel(thread);
+    }
+
+    private static Properties connectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", USER);
+        properties.setProperty("password", PASSWORD);
+        // Prepare on the server so cached statements skip the parse/plan step on re-execution;
+        // caching itself is done per pooled connection by StatementCache
+        properties.setProperty("useServerPrepStmts", "true");
+        properties.setProperty("cachePrepStmts", "false");
+        // Statements that set a positive fetch size read through a server-side cursor,
+        // so large exports hold one fetch of rows in memory rather than the whole result
+        properties.setProperty("useCursorFetch", "true");
+        return properties;
+    }
+
+    private static ConnectionPool.Config poolConfig() {
+        ConnectionPool.Config config = new ConnectionPool.Config();
+        config.setMinSize(POOL_MIN_SIZE);
+        config.setMaxSize(POOL_MAX_SIZE);
+        config.setBorrowTimeoutMillis(POOL_BORROW_TIMEOUT_MILLIS);
+        config.setIdleTimeoutMillis(POOL_IDLE_TIMEOUT_MILLIS);
+        config.setLeakDetectionThresholdMillis(POOL_LEAK_THRESHOLD_MILLIS);
+        config.setStatementCacheSize(STATEMENT_CACHE_SIZE);
+        return config;
     }
 
     /**
-     * Closes the database connection if it's open.
+     * Shuts down the connection pool, closing all idle connections.
+     * A later call to {@link #getConnection()} starts a fresh pool.
      */
     public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                connection = null;
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
                 System.out.println("Database connection closed."); // For debugging
-            } catch (SQLException e) {
-                System.err.println("Error closing database connection: " + e.getMessage());
             }
         }
     }
-} 
\ No newline at end of file
+}
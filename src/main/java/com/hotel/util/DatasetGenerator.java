@@ -0,0 +1,736 @@
+package com.hotel.util;
+
+import com.hotel.dao.impl.RevenueRollupDAOImpl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with a synthetic hotel for load tests and benchmarks: rooms, customers, staff,
+ * services, and a booking history with its booking services, invoices, payments and feedback.
+ *
+ * The history runs from a start date chosen so the rooms are about {@code occupancy} full, up to
+ * {@code futureDays} after today. Arrivals follow the season (a summer peak and a Christmas bump) and
+ * the weekday; stays are mostly one to four nights; a share of bookings is cancelled; guests who have
+ * arrived use services, and most who have left paid in full. No room is double booked. The same seed,
+ * volumes and today's date give the same data.
+ *
+ * Rows are written with multi-row INSERTs sent as JDBC batches on one connection, with autocommit,
+ * foreign key and unique checks off and the invoice/payment triggers dropped for the load; invoices
+ * are written with the totals the triggers would have produced. The triggers and checks are restored
+ * afterwards, even when the load fails, and the daily revenue rollup is rebuilt.
+ *
+ * Run with -Dhotel.data.&lt;setting&gt;=&lt;value&gt;, e.g. for a large property:
+ * {@code -Dhotel.data.rooms=2000 -Dhotel.data.customers=1000000 -Dhotel.data.bookings=5000000}.
+ * Settings: seed, rooms, customers, bookings, staff, occupancy, cancellationRate, futureDays,
+ * today (yyyy-MM-dd, default the business date), rowsPerInsert and commitRows. Tables that already
+ * hold data are refused unless hotel.data.replace=true, which empties them first; users other than
+ * the generated staff accounts are kept.
+ */
+public class DatasetGenerator {
+
+    private static final String STAFF_USERNAME_PREFIX = "staff.";
+    private static final int STATEMENTS_PER_BATCH = 10;
+    private static final int ROOMS_PER_FLOOR = 40;
+    private static final double MEAN_NIGHTS = 3.0;
+
+    private static final String[] ROOM_TYPES = { "Single", "Double", "Deluxe", "Suite" };
+    private static final int[] ROOM_TYPE_SHARES = { 35, 40, 15, 10 };
+    private static final int[] ROOM_TYPE_PRICES = { 79, 119, 169, 259 };
+    private static final int[] ROOM_TYPE_MAX_ADULTS = { 1, 2, 3, 4 };
+
+    private static final String[] SERVICE_NAMES = {
+        "Breakfast", "Parking", "Room Service", "Laundry", "Minibar",
+        "Spa Treatment", "Airport Transfer", "Late Checkout", "Dinner Buffet", "Guided Tour"
+    };
+    private static final int[] SERVICE_PRICES = { 18, 20, 35, 15, 25, 90, 55, 40, 45, 60 };
+    private static final int[] SERVICE_WEIGHTS = { 30, 12, 14, 10, 12, 5, 6, 4, 5, 2 };
+    // Charged per night: breakfast per adult, parking per car
+    private static final boolean[] SERVICE_PER_NIGHT = { true, true, false, false, false, false, false, false, false, false };
+
+    private static final String[] PAYMENT_METHODS = {
+        "Credit Card", "Debit Card", "Cash", "Mobile Payment", "Bank Transfer", "Check", "Other"
+    };
+    private static final int[] PAYMENT_METHOD_WEIGHTS = { 45, 20, 15, 10, 8, 1, 1 };
+
+    private static final String[] STAFF_POSITIONS = { "Admin", "Manager", "Receptionist", "Housekeeper", "Maintenance", "Chef" };
+    private static final int[] STAFF_POSITION_WEIGHTS = { 1, 2, 6, 8, 3, 3 };
+    private static final int[] STAFF_POSITION_SALARIES = { 52_000, 61_000, 34_000, 29_000, 36_000, 41_000 };
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+        "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Margaret", "Ahmed", "Fatima",
+        "Wei", "Mei", "Carlos", "Sofia", "Luca", "Giulia", "Yusuf", "Amina", "Kenji", "Yuki"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Chen", "Wang", "Kim", "Nguyen", "Rossi", "Muller", "Haile", "Tesfaye", "Okafor", "Tanaka"
+    };
+    private static final String[] STREETS = {
+        "Main St", "Oak Ave", "Pine Rd", "Maple Dr", "Cedar Ln", "Elm St", "Lake View Rd", "Park Ave",
+        "Hill St", "River Rd", "Church St", "Market St"
+    };
+    private static final String[] CITIES = {
+        "Springfield", "Riverside", "Fairview", "Franklin", "Greenville", "Bristol", "Clinton", "Madison",
+        "Georgetown", "Salem", "Addis Ababa", "Toronto"
+    };
+    private static final String[][] FEEDBACK_COMMENTS = {
+        { "Room was not clean on arrival.", "Very disappointing stay.", "Noisy and the heating did not work." },
+        { "Slow check-in and the room was dated.", "Not worth the price." },
+        { "Average stay, nothing special.", "Fine for one night.", "Breakfast could be better." },
+        { "Comfortable room and friendly staff.", "Good location, would come back.", "Nice stay overall." },
+        { "Excellent service!", "Wonderful stay, spotless room.", "The staff went above and beyond." }
+    };
+    private static final int[] RATING_WEIGHTS = { 4, 6, 15, 35, 40 };
+
+    // Tables emptied by hotel.data.replace; staff and users are handled separately
+    private static final String[] DATA_TABLES = {
+        "feedback", "payments", "invoices", "booking_services", "bookings", "customers", "rooms", "services", "daily_revenue"
+    };
+
+    private final Config config;
+    private final Map<String, Long> rowsWritten = new LinkedHashMap<>();
+    private Connection conn;
+    private long rowsSinceCommit;
+
+    public DatasetGenerator(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * What to generate. {@link #fromSystemProperties()} reads the hotel.data.* settings.
+     */
+    public static class Config {
+        long seed = 42;
+        int rooms = 200;
+        int customers = 20_000;
+        int bookings = 100_000;
+        int staff = 40;
+        double occupancy = 0.7;
+        double cancellationRate = 0.08;
+        int futureDays = 120;
+        LocalDate today;
+        int rowsPerInsert = 1_000;
+        int commitRows = 50_000;
+        boolean replace;
+
+        public static Config fromSystemProperties() {
+            Config config = new Config();
+            config.seed = Long.getLong("hotel.data.seed", config.seed);
+            config.rooms = Integer.getInteger("hotel.data.rooms", config.rooms);
+            config.customers = Integer.getInteger("hotel.data.customers", config.customers);
+            config.bookings = Integer.getInteger("hotel.data.bookings", config.bookings);
+            config.staff = Integer.getInteger("hotel.data.staff", config.staff);
+            config.occupancy = Double.parseDouble(System.getProperty("hotel.data.occupancy", String.valueOf(config.occupancy)));
+            config.cancellationRate = Double.parseDouble(
+                    System.getProperty("hotel.data.cancellationRate", String.valueOf(config.cancellationRate)));
+            config.futureDays = Integer.getInteger("hotel.data.futureDays", config.futureDays);
+            String today = System.getProperty("hotel.data.today");
+            config.today = today != null ? LocalDate.parse(today) : BusinessDateService.getInstance().getBusinessDate();
+            config.rowsPerInsert = Integer.getInteger("hotel.data.rowsPerInsert", config.rowsPerInsert);
+            config.commitRows = Integer.getInteger("hotel.data.commitRows", config.commitRows);
+            config.replace = Boolean.getBoolean("hotel.data.replace");
+            if (config.rooms < 1 || config.customers < 1 || config.bookings < 0 || config.staff < 0
+                    || config.occupancy <= 0 || config.occupancy > 1 || config.rowsPerInsert < 1) {
+                throw new IllegalArgumentException("Invalid dataset settings");
+            }
+            return config;
+        }
+    }
+
+    /**
+     * Brings the schema up to date and loads the dataset.
+     *
+     * @return rows written per table, in the order the tables were loaded
+     * @throws SQLException if the load fails; what was committed so far stays
+     * @throws IOException if a migration script cannot be read
+     * @throws IllegalStateException if the tables hold data and hotel.data.replace is not set
+     */
+    public Map<String, Long> generate() throws SQLException, IOException {
+        new SchemaMigrator().migrate();
+        long started = System.nanoTime();
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            conn = connection;
+            execute("SET FOREIGN_KEY_CHECKS = 0");
+            execute("SET UNIQUE_CHECKS = 0");
+            try {
+                List<String> triggers = triggerStatements();
+                if (config.replace) {
+                    clearTables();
+                } else {
+                    requireEmptyTables();
+                }
+                for (String sql : triggers) {
+                    if (sql.regionMatches(true, 0, "DROP TRIGGER", 0, 12)) {
+                        execute(sql);
+                    }
+                }
+                try {
+                    conn.setAutoCommit(false);
+                    load();
+                    conn.commit();
+                } finally {
+                    conn.setAutoCommit(true);
+                    for (String sql : triggers) {
+                        execute(sql);
+                    }
+                }
+            } finally {
+                execute("SET UNIQUE_CHECKS = 1");
+                execute("SET FOREIGN_KEY_CHECKS = 1");
+                conn = null;
+            }
+        }
+        long loadMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        long total = rowsWritten.values().stream().mapToLong(Long::longValue).sum();
+        System.out.println("Dataset loaded: " + rowsWritten + ", " + total + " rows in " + loadMillis / 1000
+                + " s (" + total * 1000 / loadMillis + " rows/s)");
+
+        LocalDate firstDay = firstDay();
+        new RevenueRollupBackfill(new RevenueRollupDAOImpl()).backfill(firstDay, config.today.plusDays(1));
+        return rowsWritten;
+    }
+
+    private void load() throws SQLException {
+        Random random = new Random(config.seed);
+        writeServices();
+        writeCustomers(new Random(random.nextLong()));
+        writeStaff(new Random(random.nextLong()));
+        int[] roomTypes = assignRoomTypes(new Random(random.nextLong()));
+        BitSet[] occupied = writeBookings(new Random(random.nextLong()), roomTypes);
+        writeRooms(new Random(random.nextLong()), roomTypes, occupied);
+    }
+
+    private void writeServices() throws SQLException {
+        try (TableWriter services = new TableWriter("services", "service_id", "service_name", "price", "description")) {
+            for (int i = 0; i < SERVICE_NAMES.length; i++) {
+                services.add(i + 1, SERVICE_NAMES[i], money(SERVICE_PRICES[i]),
+                        SERVICE_PER_NIGHT[i] ? "Charged per night" : null);
+            }
+        }
+    }
+
+    private void writeCustomers(Random random) throws SQLException {
+        try (TableWriter customers = new TableWriter("customers", "customer_id", "first_name", "last_name", "email",
+                "phone_number", "address", "number_of_adults", "number_of_kids")) {
+            for (int id = 1; id <= config.customers; id++) {
+                String firstName = pick(random, FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                double party = random.nextDouble();
+                int adults = party < 0.3 ? 1 : party < 0.9 ? 2 : 3 + random.nextInt(2);
+                int kids = random.nextInt(10) < 6 ? 0 : 1 + random.nextInt(3);
+                customers.add(id, firstName, lastName, email(firstName, lastName, id), phone(random),
+                        address(random), adults, kids);
+            }
+        }
+    }
+
+    private void writeStaff(Random random) throws SQLException {
+        if (config.staff == 0) {
+            return;
+        }
+        int firstUserId;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(user_id), 0) + 1 FROM users")) {
+            rs.next();
+            firstUserId = rs.getInt(1);
+        }
+        try (TableWriter users = new TableWriter("users", "user_id", "username", "password", "role");
+             TableWriter staff = new TableWriter("staff", "user_id", "first_name", "last_name", "phone_number",
+                     "email", "position", "hire_date", "salary", "address")) {
+            for (int i = 0; i < config.staff; i++) {
+                int userId = firstUserId + i;
+                int position = pickWeighted(random, STAFF_POSITION_WEIGHTS);
+                String firstName = pick(random, FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                users.add(userId, String.format(Locale.ROOT, "%s%04d", STAFF_USERNAME_PREFIX, i + 1), "changeme",
+                        position <= 1 ? "admin" : "staff");
+                BigDecimal salary = money(STAFF_POSITION_SALARIES[position] * (90 + random.nextInt(30)) / 100);
+                staff.add(userId, firstName, lastName, phone(random),
+                        firstName.toLowerCase(Locale.ROOT) + "." + lastName.toLowerCase(Locale.ROOT) + (i + 1) + "@hotel.example",
+                        STAFF_POSITIONS[position], config.today.minusDays(30 + random.nextInt(3650)), salary, address(random));
+            }
+        }
+    }
+
+    private int[] assignRoomTypes(Random random) {
+        int[] types = new int[config.rooms];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = pickWeighted(random, ROOM_TYPE_SHARES);
+        }
+        return types;
+    }
+
+    /**
+     * Walks the calendar from the first day, generating each day's arrivals and everything that
+     * follows from them.
+     *
+     * @return per room, the nights it is occupied, as offsets from the first day
+     */
+    private BitSet[] writeBookings(Random random, int[] roomTypes) throws SQLException {
+        LocalDate firstDay = firstDay();
+        int days = (int) (config.today.toEpochDay() - firstDay.toEpochDay()) + config.futureDays;
+        int todayOffset = (int) (config.today.toEpochDay() - firstDay.toEpochDay());
+
+        double[] weights = new double[days];
+        double totalWeight = 0;
+        for (int d = 0; d < days; d++) {
+            weights[d] = arrivalWeight(firstDay.plusDays(d), d - todayOffset);
+            totalWeight += weights[d];
+        }
+
+        List<List<Integer>> roomsByType = new ArrayList<>();
+        for (int t = 0; t < ROOM_TYPES.length; t++) {
+            roomsByType.add(new ArrayList<>());
+        }
+        for (int room = 0; room < roomTypes.length; room++) {
+            roomsByType.get(roomTypes[room]).add(room);
+        }
+        BitSet[] occupied = new BitSet[config.rooms];
+        for (int room = 0; room < occupied.length; room++) {
+            occupied[room] = new BitSet(days);
+        }
+
+        int bookingId = 0;
+        long bookingServiceId = 0;
+        long paymentId = 0;
+        long feedbackId = 0;
+        int turnedAway = 0;
+        int progressStep = Math.max(1, config.bookings / 10);
+        double arrivals = 0;
+        try (TableWriter bookings = new TableWriter("bookings", "booking_id", "room_id", "customer_id", "check_in_date",
+                "check_out_date", "booking_status", "number_of_adults", "number_of_kids", "created_at");
+             TableWriter bookingServices = new TableWriter("booking_services", "booking_service_id", "booking_id",
+                     "service_id", "quantity", "service_date", "created_at");
+             TableWriter invoices = new TableWriter("invoices", "invoice_id", "booking_id", "issue_date", "due_date",
+                     "room_cost", "service_cost", "total_amount", "paid_amount", "invoice_status");
+             TableWriter payments = new TableWriter("payments", "payment_id", "invoice_id", "payment_date", "amount",
+                     "payment_method", "transaction_id", "notes", "created_at");
+             TableWriter feedback = new TableWriter("feedback", "feedback_id", "customer_id", "booking_id", "rating",
+                     "comments", "feedback_date")) {
+
+            for (int d = 0; d < days && bookingId < config.bookings; d++) {
+                // Carry the fraction over so the day counts add up to the requested total
+                arrivals += config.bookings * weights[d] / totalWeight;
+                int arriving = (int) arrivals;
+                arrivals -= arriving;
+                for (int a = 0; a < arriving && bookingId < config.bookings; a++) {
+                    int nights = sampleNights(random);
+                    boolean cancelled = random.nextDouble() < config.cancellationRate;
+                    int room = findFreeRoom(random, roomsByType, roomTypes, occupied, d, nights);
+                    if (room < 0) {
+                        turnedAway++;
+                        continue;
+                    }
+                    if (!cancelled) {
+                        occupied[room].set(d, d + nights);
+                    }
+                    bookingId++;
+
+                    LocalDate checkIn = firstDay.plusDays(d);
+                    LocalDate checkOut = checkIn.plusDays(nights);
+                    int type = roomTypes[room];
+                    int customerId = random.nextInt(10) < 3
+                            ? 1 + random.nextInt(Math.max(1, config.customers / 20))
+                            : 1 + random.nextInt(config.customers);
+                    int adults = 1 + random.nextInt(ROOM_TYPE_MAX_ADULTS[type]);
+                    int kids = type >= 2 && random.nextInt(3) == 0 ? 1 + random.nextInt(2) : 0;
+                    String status = cancelled ? "Cancelled"
+                            : !checkOut.isAfter(config.today) ? "Checked-out"
+                            : !checkIn.isAfter(config.today) ? "Checked-in"
+                            : "Confirmed";
+                    LocalDateTime createdAt = bookedAt(random, checkIn);
+                    bookings.add(bookingId, room + 1, customerId, checkIn, checkOut, status, adults, kids, createdAt);
+
+                    BigDecimal roomCost = money(roomPrice(room, type)).multiply(BigDecimal.valueOf(Math.max(nights, 1)));
+                    BigDecimal serviceCost = BigDecimal.ZERO;
+                    if (!cancelled && !checkIn.isAfter(config.today)) {
+                        int lines = 0;
+                        while (lines < 6 && random.nextDouble() < 0.55) {
+                            lines++;
+                            int service = pickWeighted(random, SERVICE_WEIGHTS);
+                            int quantity = SERVICE_PER_NIGHT[service]
+                                    ? Math.min(99, nights * (service == 0 ? adults : 1))
+                                    : 1 + random.nextInt(2);
+                            LocalDate serviceDate = checkIn.plusDays(random.nextInt(nights));
+                            if (serviceDate.isAfter(config.today)) {
+                                serviceDate = config.today;
+                            }
+                            bookingServices.add(++bookingServiceId, bookingId, service + 1, quantity, serviceDate,
+                                    serviceDate.atTime(7 + random.nextInt(15), random.nextInt(60)));
+                            serviceCost = serviceCost.add(money(SERVICE_PRICES[service]).multiply(BigDecimal.valueOf(quantity)));
+                        }
+                    }
+                    BigDecimal total = roomCost.add(serviceCost);
+
+                    BigDecimal paid = BigDecimal.ZERO;
+                    if (!cancelled) {
+                        if (random.nextInt(10) < 4) {
+                            BigDecimal deposit = roomCost.multiply(BigDecimal.valueOf(20)).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+                            LocalDateTime paidAt = createdAt.plusMinutes(random.nextInt(120));
+                            paymentId++;
+                            payments.add(paymentId, bookingId, paidAt, deposit, pickPaymentMethod(random),
+                                    transactionId(paymentId), "Deposit", paidAt);
+                            paid = paid.add(deposit);
+                        }
+                        if (status.equals("Checked-out")) {
+                            double settles = random.nextDouble();
+                            BigDecimal balance = total.subtract(paid);
+                            if (settles < 0.97 && balance.signum() > 0) {
+                                BigDecimal amount = settles < 0.93 ? balance
+                                        : balance.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+                                LocalDateTime paidAt = checkOut.atTime(8 + random.nextInt(4), random.nextInt(60));
+                                paymentId++;
+                                payments.add(paymentId, bookingId, paidAt, amount, pickPaymentMethod(random),
+                                        transactionId(paymentId), settles < 0.93 ? "Final payment" : "Partial payment", paidAt);
+                                paid = paid.add(amount);
+                            }
+                        }
+                    }
+                    // Invoice id equals booking id; status as trg_payments_after_insert would set it
+                    String invoiceStatus = paid.signum() > 0 && paid.compareTo(total) >= 0 ? "Paid"
+                            : paid.signum() > 0 ? "Partially Paid"
+                            : "Pending";
+                    invoices.add(bookingId, bookingId, createdAt.toLocalDate(), checkOut, roomCost, serviceCost, total,
+                            paid, invoiceStatus);
+
+                    if (status.equals("Checked-out") && random.nextInt(100) < 15) {
+                        int rating = 1 + pickWeighted(random, RATING_WEIGHTS);
+                        LocalDateTime givenAt = checkOut.plusDays(random.nextInt(8)).atTime(9 + random.nextInt(13), random.nextInt(60));
+                        if (givenAt.toLocalDate().isAfter(config.today)) {
+                            givenAt = config.today.atTime(9, 0);
+                        }
+                        feedback.add(++feedbackId, customerId, bookingId, rating,
+                                pick(random, FEEDBACK_COMMENTS[rating - 1]), givenAt);
+                    }
+
+                    if (bookingId % progressStep == 0) {
+                        System.out.println("  " + bookingId + " of " + config.bookings + " bookings, up to " + checkIn);
+                    }
+                }
+            }
+        }
+        if (bookingId < config.bookings || turnedAway > 0) {
+            System.out.println("  " + bookingId + " bookings written, " + turnedAway
+                    + " turned away for lack of a free room; lower hotel.data.occupancy or add rooms for more");
+        }
+        return occupied;
+    }
+
+    private void writeRooms(Random random, int[] roomTypes, BitSet[] occupied) throws SQLException {
+        int todayOffset = (int) (config.today.toEpochDay() - firstDay().toEpochDay());
+        try (TableWriter rooms = new TableWriter("rooms", "room_id", "room_number", "type", "price", "status", "floor",
+                "description")) {
+            for (int room = 0; room < config.rooms; room++) {
+                int type = roomTypes[room];
+                int floor = 1 + room / ROOMS_PER_FLOOR;
+                int roll = random.nextInt(100);
+                String status = occupied[room].get(todayOffset) ? "Booked"
+                        : roll < 2 ? "Out of Service"
+                        : roll < 5 ? "Cleaning"
+                        : "Available";
+                rooms.add(room + 1, String.valueOf(floor * 100 + room % ROOMS_PER_FLOOR + 1), ROOM_TYPES[type],
+                        money(roomPrice(room, type)), status, floor, ROOM_TYPES[type] + " room on floor " + floor);
+            }
+        }
+    }
+
+    /**
+     * The first day of the history: far enough back that the bookings fill the rooms to the
+     * requested occupancy. Cancelled bookings do not occupy a room.
+     */
+    private LocalDate firstDay() {
+        double roomNights = config.bookings * (1 - config.cancellationRate) * MEAN_NIGHTS;
+        long days = (long) Math.ceil(roomNights / (config.rooms * config.occupancy));
+        return config.today.plusDays(config.futureDays).minusDays(Math.max(days, config.futureDays + 1));
+    }
+
+    // Fewer bookings reach far into the future; they have not been made yet
+    private double arrivalWeight(LocalDate date, int daysFromToday) {
+        double season = 1 + 0.35 * Math.cos(2 * Math.PI * (date.getDayOfYear() - 196) / 365.0);
+        MonthDay monthDay = MonthDay.from(date);
+        if (monthDay.isAfter(MonthDay.of(12, 19)) || monthDay.isBefore(MonthDay.of(1, 3))) {
+            season += 0.25;
+        }
+        DayOfWeek day = date.getDayOfWeek();
+        double weekday = day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY ? 1.25
+                : day == DayOfWeek.SUNDAY ? 0.8
+                : 1.0;
+        double leadTime = daysFromToday <= 0 ? 1.0 : Math.max(0.1, 1 - (double) daysFromToday / config.futureDays);
+        return season * weekday * leadTime;
+    }
+
+    // Mean of about three nights
+    private static int sampleNights(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 30) {
+            return 1;
+        } else if (roll < 55) {
+            return 2;
+        } else if (roll < 73) {
+            return 3;
+        } else if (roll < 83) {
+            return 4;
+        } else if (roll < 95) {
+            return 5 + random.nextInt(3);
+        }
+        return 8 + random.nextInt(7);
+    }
+
+    /**
+     * Picks a room free for the stay, preferring a random room type, or returns -1 if none was found.
+     */
+    private static int findFreeRoom(Random random, List<List<Integer>> roomsByType, int[] roomTypes, BitSet[] occupied,
+                                    int day, int nights) {
+        int wanted = pickWeighted(random, ROOM_TYPE_SHARES);
+        for (int attempt = 0; attempt < 24; attempt++) {
+            List<Integer> candidates = attempt < 12 ? roomsByType.get(wanted) : null;
+            int room = candidates != null && !candidates.isEmpty()
+                    ? candidates.get(random.nextInt(candidates.size()))
+                    : random.nextInt(roomTypes.length);
+            int next = occupied[room].nextSetBit(day);
+            if (next < 0 || next >= day + nights) {
+                return room;
+            }
+        }
+        return -1;
+    }
+
+    private LocalDateTime bookedAt(Random random, LocalDate checkIn) {
+        int leadDays = (int) Math.min(270, -Math.log(1 - random.nextDouble()) * 25);
+        LocalDate bookedOn = checkIn.minusDays(leadDays);
+        if (bookedOn.isAfter(config.today)) {
+            bookedOn = config.today;
+        }
+        return bookedOn.atTime(8, 0).plusSeconds(random.nextInt(14 * 3600));
+    }
+
+    private static int roomPrice(int room, int type) {
+        // Higher floors cost a little more
+        return ROOM_TYPE_PRICES[type] + 2 * (room / ROOMS_PER_FLOOR);
+    }
+
+    private static String pickPaymentMethod(Random random) {
+        return PAYMENT_METHODS[pickWeighted(random, PAYMENT_METHOD_WEIGHTS)];
+    }
+
+    private static String transactionId(long paymentId) {
+        return String.format(Locale.ROOT, "TXN-%010d", paymentId);
+    }
+
+    private static String email(String firstName, String lastName, int id) {
+        return firstName.toLowerCase(Locale.ROOT) + "." + lastName.toLowerCase(Locale.ROOT) + id + "@example.com";
+    }
+
+    private static String phone(Random random) {
+        return String.format(Locale.ROOT, "+1-555-%07d", random.nextInt(10_000_000));
+    }
+
+    private static String address(Random random) {
+        return (1 + random.nextInt(999)) + " " + pick(random, STREETS) + ", " + pick(random, CITIES);
+    }
+
+    private static BigDecimal money(int amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int pickWeighted(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * The DROP and CREATE TRIGGER statements of all migrations, in the order they ran.
+     */
+    private static List<String> triggerStatements() throws IOException {
+        List<String> statements = new ArrayList<>();
+        for (String fileName : SchemaMigrator.MIGRATIONS) {
+            for (String sql : SchemaMigrator.statementsOf(fileName)) {
+                if (sql.regionMatches(true, 0, "DROP TRIGGER", 0, 12) || sql.regionMatches(true, 0, "CREATE TRIGGER", 0, 14)) {
+                    statements.add(sql);
+                }
+            }
+        }
+        return statements;
+    }
+
+    private void requireEmptyTables() throws SQLException {
+        List<String> nonEmpty = new ArrayList<>();
+        for (String table : DATA_TABLES) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT 1 FROM " + table + " LIMIT 1")) {
+                if (rs.next()) {
+                    nonEmpty.add(table);
+                }
+            }
+        }
+        if (!nonEmpty.isEmpty()) {
+            throw new IllegalStateException("Tables already hold data: " + nonEmpty
+                    + "; run with -Dhotel.data.replace=true to replace it");
+        }
+    }
+
+    private void clearTables() throws SQLException {
+        System.out.println("Emptying " + String.join(", ", DATA_TABLES) + " and the generated staff accounts");
+        String staffUsers = "SELECT user_id FROM users WHERE username LIKE '" + STAFF_USERNAME_PREFIX + "%'";
+        execute("DELETE FROM staff WHERE user_id IN (" + staffUsers + ")");
+        execute("DELETE FROM users WHERE username LIKE '" + STAFF_USERNAME_PREFIX + "%'");
+        for (String table : DATA_TABLES) {
+            execute("TRUNCATE TABLE " + table);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private void committed(int rows) throws SQLException {
+        rowsSinceCommit += rows;
+        if (rowsSinceCommit >= config.commitRows) {
+            conn.commit();
+            rowsSinceCommit = 0;
+        }
+    }
+
+    /**
+     * Buffers rows for one table and writes them {@code rowsPerInsert} at a time as one multi-row
+     * INSERT, sending {@value #STATEMENTS_PER_BATCH} such statements per JDBC batch.
+     */
+    private final class TableWriter implements AutoCloseable {
+        private final String table;
+        private final String[] columns;
+        private final List<Object> pending = new ArrayList<>();
+        private PreparedStatement fullInsert;
+        private int batchedStatements;
+        private int batchedRows;
+        private long rows;
+
+        TableWriter(String table, String... columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+
+        void add(Object... values) throws SQLException {
+            for (Object value : values) {
+                pending.add(toJdbc(value));
+            }
+            if (pending.size() == config.rowsPerInsert * columns.length) {
+                if (fullInsert == null) {
+                    fullInsert = conn.prepareStatement(insertSql(config.rowsPerInsert));
+                }
+                bind(fullInsert);
+                fullInsert.addBatch();
+                batchedStatements++;
+                batchedRows += config.rowsPerInsert;
+                if (batchedStatements == STATEMENTS_PER_BATCH) {
+                    executeBatch();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                executeBatch();
+                int remaining = pending.size() / columns.length;
+                if (remaining > 0) {
+                    try (PreparedStatement insert = conn.prepareStatement(insertSql(remaining))) {
+                        bind(insert);
+                        insert.executeUpdate();
+                    }
+                    rows += remaining;
+                    committed(remaining);
+                }
+            } finally {
+                if (fullInsert != null) {
+                    fullInsert.close();
+                }
+            }
+            rowsWritten.merge(table, rows, Long::sum);
+            System.out.println("  " + table + ": " + rows + " rows");
+        }
+
+        private void executeBatch() throws SQLException {
+            if (batchedStatements > 0) {
+                fullInsert.executeBatch();
+                rows += batchedRows;
+                committed(batchedRows);
+                batchedStatements = 0;
+                batchedRows = 0;
+            }
+        }
+
+        private void bind(PreparedStatement insert) throws SQLException {
+            for (int i = 0; i < pending.size(); i++) {
+                insert.setObject(i + 1, pending.get(i));
+            }
+            pending.clear();
+        }
+
+        private String insertSql(int rowCount) {
+            String row = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                    + String.join(", ", Collections.nCopies(rowCount, row));
+        }
+
+        private Object toJdbc(Object value) {
+            if (value instanceof LocalDate) {
+                return java.sql.Date.valueOf((LocalDate) value);
+            }
+            if (value instanceof LocalDateTime) {
+                return Timestamp.valueOf((LocalDateTime) value);
+            }
+            return value;
+        }
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        // Every parameter would otherwise pass through the statement timing wrappers
+        if (System.getProperty("hotel.metrics.enabled") == null) {
+            System.setProperty("hotel.metrics.enabled", "false");
+        }
+        try {
+            new DatasetGenerator(Config.fromSystemProperties()).generate();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
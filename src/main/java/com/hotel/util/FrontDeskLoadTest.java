@@ -0,0 +1,354 @@
+package com.hotel.util;
+
+import com.hotel.dao.DashboardDAO;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.RoomAvailabilityIndex;
+import com.hotel.dao.impl.DashboardDAOImpl;
+import com.hotel.model.Booking;
+import com.hotel.model.BookingService;
+import com.hotel.model.Customer;
+import com.hotel.model.Invoice;
+import com.hotel.model.Room;
+import com.hotel.model.Service;
+import com.hotel.service.AvailabilityService;
+import com.hotel.service.BillingService;
+import com.hotel.service.ReservationService;
+import com.hotel.service.Stay;
+import com.hotel.service.ValidationException;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless load driver: N front-desk clerks working against the database at once, each making the
+ * calls the booking, booking services, payment and dashboard screens make, through the same
+ * services and instrumented, cached DAOs.
+ *
+ * One clerk session is: search for free rooms for a stay (with the booking form's date correction),
+ * book one of them and reload the bookings page, add a service to the booking and reload the services
+ * list, open the payments screen, pay part or all of the new invoice and reload invoices and payments.
+ * Between steps the clerk pauses for an exponentially distributed think time; the dashboard summary is
+ * refreshed every hotel.dashboard.refreshSeconds, as the dashboard's own timer does.
+ *
+ * At the end it prints sessions and steps per second, latency percentiles per step, the query metrics
+ * for the run (per DAO method, per statement and the pool's connection wait), pool counters, and the
+ * double bookings made during the run: overlapping stays in one room. Booking locks the room and
+ * checks for overlaps in the same transaction, so this should be zero; a clerk who loses the race for
+ * a room gets a "Room Not Available" error, counted against the booking step.
+ *
+ * Clerks run on virtual threads when the JVM has them (Java 21 and later), otherwise one platform
+ * thread each. All clerks share this JVM's caches and availability index, while real terminals each
+ * have their own; run several instances at once to include that staleness. Settings, as
+ * -Dhotel.load.&lt;setting&gt;=&lt;value&gt;: clerks (20), durationSeconds (120), thinkMillis (mean,
+ * 2000), seed (42), leadDays (60), maxNights (7), reloadLists (true: reload the screens' full
+ * lists after each change, as the controllers do). Load a dataset first with {@link DatasetGenerator}.
+ */
+public class FrontDeskLoadTest {
+
+    private static final String[] PAYMENT_METHODS = { "Credit Card", "Debit Card", "Cash", "Mobile Payment" };
+    private static final int ITEMS_PER_PAGE = 30;
+
+    private final int clerks = Integer.getInteger("hotel.load.clerks", 20);
+    private final long durationMillis = TimeUnit.SECONDS.toMillis(Long.getLong("hotel.load.durationSeconds", 120));
+    private final long thinkMillis = Long.getLong("hotel.load.thinkMillis", 2000);
+    private final long seed = Long.getLong("hotel.load.seed", 42);
+    private final int leadDays = Integer.getInteger("hotel.load.leadDays", 60);
+    private final int maxNights = Integer.getInteger("hotel.load.maxNights", 7);
+    private final boolean reloadLists = !"false".equals(System.getProperty("hotel.load.reloadLists"));
+    private final long dashboardRefreshMillis =
+            TimeUnit.SECONDS.toMillis(Long.getLong("hotel.dashboard.refreshSeconds", 30));
+
+    private final AvailabilityService availabilityService = AvailabilityService.getInstance();
+    private final ReservationService reservationService = ReservationService.getInstance();
+    private final BillingService billingService = BillingService.getInstance();
+    private final DashboardDAO dashboardDAO = QueryMetrics.instrument(DashboardDAO.class, new DashboardDAOImpl());
+
+    private final Step search = new Step("availability search");
+    private final Step book = new Step("add booking");
+    private final Step addService = new Step("add booking service");
+    private final Step pay = new Step("record payment");
+    private final Step dashboard = new Step("dashboard refresh");
+    private final Step[] steps = { search, book, addService, pay, dashboard };
+    private final AtomicLong sessions = new AtomicLong();
+    private final AtomicLong failedSessions = new AtomicLong();
+    private final AtomicLong noRoomFound = new AtomicLong();
+
+    private List<Customer> customers;
+    private List<Service> services;
+    private volatile long deadline;
+
+    /**
+     * Timings and failures of one step of a session.
+     */
+    private static final class Step {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+
+        Step(String name) {
+            this.name = name;
+        }
+
+        LatencyStatistics getStatistics() {
+            return LatencyStatistics.of(name, latency, errors.get(), 0, 0);
+        }
+    }
+
+    private interface Action<T> {
+        T run() throws ValidationException, SQLException;
+    }
+
+    /**
+     * Runs the clerks for the configured duration and prints the report.
+     */
+    public void run() throws SQLException, InterruptedException {
+        // What the screens load when they open; not part of the measured sessions
+        customers = reservationService.getCustomers();
+        services = billingService.getServices();
+        if (customers.isEmpty() || services.isEmpty()) {
+            throw new IllegalStateException("No customers or services to book with; load a dataset first");
+        }
+        int firstBookingId = maxBookingId() + 1;
+
+        QueryMetrics.getInstance().reset();
+        System.out.println("Running " + clerks + " clerks for " + durationMillis / 1000 + " s, mean think time "
+                + thinkMillis + " ms");
+        long started = System.nanoTime();
+        deadline = System.currentTimeMillis() + durationMillis;
+        ExecutorService executor = newClerkExecutor();
+        try {
+            for (int clerk = 0; clerk < clerks; clerk++) {
+                Random random = new Random(seed + clerk);
+                executor.execute(() -> runClerk(random));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(durationMillis + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+            System.err.println("Clerks still running five minutes after the end of the run; reporting anyway");
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        report(seconds, countDoubleBookings(firstBookingId));
+    }
+
+    private void runClerk(Random random) {
+        long nextDashboardRefresh = System.currentTimeMillis() + (long) (random.nextDouble() * dashboardRefreshMillis);
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                if (System.currentTimeMillis() >= nextDashboardRefresh) {
+                    nextDashboardRefresh += dashboardRefreshMillis;
+                    timed(dashboard, dashboardDAO::getDashboardSummary);
+                }
+                runSession(random);
+                sessions.incrementAndGet();
+            } catch (ValidationException | SQLException e) {
+                // Counted against the step; the clerk starts over, as after an error dialog
+                failedSessions.incrementAndGet();
+            } catch (RuntimeException e) {
+                // A bug rather than a rejected request; keep the clerk running so one failure does not end the run
+                if (failedSessions.incrementAndGet() <= 10) {
+                    System.err.println("Session failed: " + e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runSession(Random random) throws ValidationException, SQLException, InterruptedException {
+        LocalDate today = BusinessDateService.getInstance().getBusinessDate();
+        LocalDate checkIn = today.plusDays(random.nextInt(leadDays + 1));
+        // Same correction as the booking form: at least one night
+        Stay stay = availabilityService.correct(checkIn, checkIn.plusDays(random.nextInt(maxNights + 1)));
+        List<Room> rooms = timed(search, () -> availabilityService.findAvailableRooms(stay));
+        if (rooms.isEmpty()) {
+            noRoomFound.incrementAndGet();
+            think(random);
+            return;
+        }
+
+        think(random);
+        Customer customer = customers.get(random.nextInt(customers.size()));
+        Booking booking = new Booking();
+        booking.setRoomId(rooms.get(random.nextInt(rooms.size())).getRoomId());
+        booking.setCustomerId(customer.getCustomerId());
+        booking.setCheckInDate(stay.getCheckIn());
+        booking.setCheckOutDate(stay.getCheckOut());
+        booking.setNumberOfAdults(1 + random.nextInt(2));
+        booking.setNumberOfKids(random.nextInt(4) == 0 ? 1 : 0);
+        boolean added = timed(book, () -> {
+            if (!reservationService.addBooking(booking)) {
+                return false;
+            }
+            if (reloadLists) {
+                reservationService.countBookings("", null, null);
+                reservationService.findPage("", null, null, PageRequest.first(ITEMS_PER_PAGE));
+            }
+            return true;
+        });
+        if (!added) {
+            return;
+        }
+
+        think(random);
+        Service service = services.get(random.nextInt(services.size()));
+        BookingService bookingService = new BookingService();
+        bookingService.setBookingId(booking.getBookingId());
+        bookingService.setServiceId(service.getServiceId());
+        bookingService.setQuantity(1 + random.nextInt(3));
+        bookingService.setServiceDate(Date.valueOf(checkIn));
+        timed(addService, () -> {
+            billingService.addServiceCharge(bookingService);
+            if (reloadLists) {
+                billingService.getServiceCharges();
+            }
+            return null;
+        });
+
+        think(random);
+        timed(pay, () -> {
+            // Opening the payments screen loads the invoices to choose from
+            Invoice invoice = null;
+            for (Invoice candidate : billingService.getInvoices()) {
+                if (candidate.getBookingId() == booking.getBookingId()) {
+                    invoice = candidate;
+                    break;
+                }
+            }
+            if (invoice == null) {
+                throw new SQLException("No invoice for booking " + booking.getBookingId());
+            }
+            BigDecimal balance = billingService.balanceDue(invoice);
+            if (balance.signum() <= 0) {
+                return null;
+            }
+            BigDecimal amount = random.nextBoolean() ? balance : balance.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+            billingService.recordPayment(invoice, today, amount.toPlainString(),
+                    PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)], "", "Load test");
+            if (reloadLists) {
+                billingService.getInvoices();
+                billingService.getPayments();
+            }
+            return null;
+        });
+        think(random);
+    }
+
+    private static <T> T timed(Step step, Action<T> action) throws ValidationException, SQLException {
+        long started = System.nanoTime();
+        try {
+            return action.run();
+        } catch (ValidationException | SQLException | RuntimeException e) {
+            if (step.errors.incrementAndGet() <= 10) {
+                System.err.println(step.name + " failed: " + e.getMessage());
+            }
+            throw e;
+        } finally {
+            step.latency.recordNanos(System.nanoTime() - started);
+        }
+    }
+
+    private void think(Random random) throws InterruptedException {
+        if (thinkMillis > 0) {
+            long pause = (long) (-Math.log(1 - random.nextDouble()) * thinkMillis);
+            Thread.sleep(Math.min(pause, Math.max(0, deadline - System.currentTimeMillis())));
+        }
+    }
+
+    /**
+     * One virtual thread per clerk when the runtime has them, looked up reflectively so this still
+     * runs on Java 11; otherwise one platform thread per clerk.
+     */
+    private ExecutorService newClerkExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            System.out.println("Clerks run on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Virtual threads not available; clerks run on platform threads");
+            return Executors.newFixedThreadPool(clerks);
+        }
+    }
+
+    private static int maxBookingId() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(booking_id), 0) FROM bookings")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Counts pairs of stays in the same room that overlap, at least one of them booked during the run.
+     * A stay holds its room by the same status rule the availability search and the booking check use.
+     */
+    private static int countDoubleBookings(int firstBookingId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM bookings b1 " +
+                     "JOIN bookings b2 ON b2.room_id = b1.room_id AND b2.booking_id < b1.booking_id " +
+                     "AND b2.check_in_date < b1.check_out_date AND b2.check_out_date > b1.check_in_date " +
+                     "AND " + RoomAvailabilityIndex.activeStatusCondition("b2.booking_status") + " " +
+                     "WHERE b1.booking_id >= ? AND " + RoomAvailabilityIndex.activeStatusCondition("b1.booking_status");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, firstBookingId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private void report(double seconds, int doubleBookings) {
+        System.out.println();
+        System.out.printf("%d clerks, %.1f s: %d sessions, %.2f sessions/s%n",
+                clerks, seconds, sessions.get(), sessions.get() / seconds);
+        System.out.println("Sessions abandoned after an error: " + failedSessions.get());
+        System.out.println("Searches without a free room: " + noRoomFound.get());
+        System.out.println("Double bookings made during the run: " + doubleBookings);
+        System.out.println();
+        System.out.println("Steps");
+        for (Step step : steps) {
+            LatencyStatistics statistics = step.getStatistics();
+            System.out.printf("  %.2f/s %s%n", statistics.getCount() / seconds, statistics);
+        }
+        System.out.println();
+        System.out.println(DatabaseConnection.getPoolStatistics());
+        System.out.println();
+        try {
+            Writer out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            QueryMetrics.getInstance().getSnapshot().writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Could not print query metrics: " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) throws SQLException, InterruptedException {
+        try {
+            new FrontDeskLoadTest().run();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
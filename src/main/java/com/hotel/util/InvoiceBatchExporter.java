@@ -0,0 +1,247 @@
+package com.hotel.util;
+
+import com.hotel.dao.InvoiceDAO;
+import com.hotel.jfr.ExportEvent;
+import com.hotel.model.BookingService;
+import com.hotel.model.Invoice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders many invoices to PDF at once, e.g. for month-end.
+ *
+ * The invoices and all their booking services are loaded with two bulk queries up front. PDFs are
+ * rendered in parallel on a bounded pool and written either as files into a directory or as entries
+ * of one ZIP file. At most a few PDFs per thread are held in memory waiting to be written.
+ */
+public class InvoiceBatchExporter {
+
+    /**
+     * Receives progress after each invoice.
+     */
+    public interface ProgressListener {
+        void progress(int done, int total);
+    }
+
+    /**
+     * Where the PDFs go.
+     */
+    public enum Output { DIRECTORY, ZIP }
+
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final InvoiceDAO invoiceDAO;
+    private final int threads;
+
+    /**
+     * @param threads number of rendering threads; at least 1
+     */
+    public InvoiceBatchExporter(InvoiceDAO invoiceDAO, int threads) {
+        this.invoiceDAO = invoiceDAO;
+        this.threads = Math.max(1, threads);
+    }
+
+    public InvoiceBatchExporter(InvoiceDAO invoiceDAO) {
+        this(invoiceDAO, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Exports the invoices issued in [issuedFrom, issuedTo] with the given status.
+     *
+     * @param issuedFrom first issue date, or null for no lower bound
+     * @param issuedTo last issue date, or null for no upper bound
+     * @param status invoice status, or null for any
+     * @param target the directory to create files in, or the ZIP file to write
+     * @param cancelled polled between invoices; when it returns true the export stops early
+     * @return what was exported and how fast
+     * @throws SQLException if the invoices cannot be loaded
+     * @throws IOException if the output cannot be written
+     */
+    public Result export(LocalDate issuedFrom, LocalDate issuedTo, String status, Output output, File target,
+                         ProgressListener listener, BooleanSupplier cancelled) throws SQLException, IOException {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        Result result = null;
+        try {
+            result = exportInvoices(issuedFrom, issuedTo, status, output, target, listener, cancelled);
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.document = "Invoice batch";
+                event.format = output == Output.ZIP ? "ZIP" : "PDF";
+                event.target = target.getPath();
+                event.records = result != null ? result.getWritten() : 0;
+                event.bytes = result != null ? result.getBytes() : 0;
+                event.failed = result == null;
+                event.commit();
+            }
+        }
+    }
+
+    private Result exportInvoices(LocalDate issuedFrom, LocalDate issuedTo, String status, Output output, File target,
+                                  ProgressListener listener, BooleanSupplier cancelled) throws SQLException, IOException {
+        long started = System.nanoTime();
+        List<Invoice> invoices = invoiceDAO.findInvoicesForExport(issuedFrom, issuedTo, status);
+        List<Integer> bookingIds = new ArrayList<>(invoices.size());
+        for (Invoice invoice : invoices) {
+            bookingIds.add(invoice.getBookingId());
+        }
+        Map<Integer, List<BookingService>> services = invoiceDAO.getBookingServicesForBookings(bookingIds);
+        long loaded = System.nanoTime();
+
+        if (output == Output.DIRECTORY) {
+            Files.createDirectories(target.toPath());
+        }
+        List<String> failures = new ArrayList<>();
+        long bytes = 0;
+        int written = 0;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, invoices.size())), runnable -> {
+            Thread thread = new Thread(runnable, "invoice-pdf-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(pool);
+        try (ZipOutputStream zip = output == Output.ZIP ? new ZipOutputStream(new FileOutputStream(target)) : null) {
+            int maxInFlight = threads * IN_FLIGHT_PER_THREAD;
+            int submitted = 0;
+            int done = 0;
+            while (done < submitted || (submitted < invoices.size() && !cancelled.getAsBoolean())) {
+                // Keep the pool busy without letting rendered PDFs pile up in memory
+                while (submitted < invoices.size() && submitted - done < maxInFlight && !cancelled.getAsBoolean()) {
+                    Invoice invoice = invoices.get(submitted++);
+                    List<BookingService> invoiceServices =
+                            services.getOrDefault(invoice.getBookingId(), Collections.emptyList());
+                    completion.submit(() -> render(invoice, invoiceServices));
+                }
+                if (done == submitted) {
+                    break;
+                }
+                Rendered rendered = take(completion);
+                done++;
+                if (rendered.failure != null) {
+                    failures.add("Invoice " + rendered.invoiceId + ": " + rendered.failure.getMessage());
+                } else {
+                    String fileName = "Invoice_" + rendered.invoiceId + ".pdf";
+                    if (zip != null) {
+                        zip.putNextEntry(new ZipEntry(fileName));
+                        zip.write(rendered.pdf);
+                        zip.closeEntry();
+                    } else {
+                        Files.write(new File(target, fileName).toPath(), rendered.pdf);
+                    }
+                    bytes += rendered.pdf.length;
+                    written++;
+                }
+                if (listener != null) {
+                    listener.progress(done, invoices.size());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long finished = System.nanoTime();
+        Result result = new Result(invoices.size(), written, failures, bytes,
+                (loaded - started) / 1_000_000, (finished - loaded) / 1_000_000, cancelled.getAsBoolean());
+        System.out.println("Invoice batch export: " + result);
+        return result;
+    }
+
+    private static Rendered render(Invoice invoice, List<BookingService> services) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            InvoicePdfRenderer.render(invoice, services, out);
+            return new Rendered(invoice.getInvoiceId(), out.toByteArray(), null);
+        } catch (IOException | RuntimeException e) {
+            return new Rendered(invoice.getInvoiceId(), null, e);
+        }
+    }
+
+    private static Rendered take(CompletionService<Rendered> completion) throws IOException {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Invoice export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Invoice rendering failed", e.getCause());
+        }
+    }
+
+    private static class Rendered {
+        private final int invoiceId;
+        private final byte[] pdf;
+        private final Exception failure;
+
+        Rendered(int invoiceId, byte[] pdf, Exception failure) {
+            this.invoiceId = invoiceId;
+            this.pdf = pdf;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Outcome and throughput of one batch export.
+     */
+    public static class Result {
+        private final int selected;
+        private final int written;
+        private final List<String> failures;
+        private final long bytes;
+        private final long loadMillis;
+        private final long renderMillis;
+        private final boolean cancelled;
+
+        Result(int selected, int written, List<String> failures, long bytes, long loadMillis, long renderMillis,
+               boolean cancelled) {
+            this.selected = selected;
+            this.written = written;
+            this.failures = Collections.unmodifiableList(failures);
+            this.bytes = bytes;
+            this.loadMillis = loadMillis;
+            this.renderMillis = renderMillis;
+            this.cancelled = cancelled;
+        }
+
+        public int getSelected() { return selected; }
+        public int getWritten() { return written; }
+        public List<String> getFailures() { return failures; }
+        public long getBytes() { return bytes; }
+        public long getLoadMillis() { return loadMillis; }
+        public long getRenderMillis() { return renderMillis; }
+        public boolean isCancelled() { return cancelled; }
+
+        public double getInvoicesPerSecond() {
+            return renderMillis == 0 ? written : written * 1000.0 / renderMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Result{selected=%d, written=%d, failed=%d, bytes=%d, loadMillis=%d, renderMillis=%d, "
+                            + "invoicesPerSecond=%.1f, cancelled=%s}",
+                    selected, written, failures.size(), bytes, loadMillis, renderMillis, getInvoicesPerSecond(), cancelled);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.hotel.util;
+
+import com.hotel.model.BookingService;
+import com.hotel.model.Invoice;
+import com.hotel.jfr.ExportEvent;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
+import org.apache.pdfbox.pdmodel.font.encoding.WinAnsiEncoding;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lays out an invoice as a one-page A4 PDF. Safe to use from several threads at once.
+ *
+ * PDFBox shares the standard 14 fonts between documents, and each font caches the bytes of every
+ * character it encodes in a plain HashMap. All encodable characters are therefore encoded once when
+ * this class loads, so renders running in parallel only read those caches. Characters the fonts
+ * cannot encode are printed as '?'.
+ */
+public final class InvoicePdfRenderer {
+
+    private static final PDFont REGULAR = PDType1Font.HELVETICA;
+    private static final PDFont BOLD = PDType1Font.HELVETICA_BOLD;
+    private static final Set<Integer> ENCODABLE = preloadFonts(REGULAR, BOLD);
+
+    private static final float MARGIN = 50;
+    private static final float LINE_HEIGHT = 20;
+    private static final int FONT_SIZE = 12;
+    private static final int TITLE_FONT_SIZE = 18;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private InvoicePdfRenderer() {
+    }
+
+    /**
+     * Renders the invoice into a file, replacing it if it exists.
+     */
+    public static void render(Invoice invoice, List<BookingService> services, File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            render(invoice, services, out);
+        }
+    }
+
+    /**
+     * Renders the invoice into a stream. The stream is not closed.
+     */
+    public static void render(Invoice invoice, List<BookingService> services, OutputStream out) throws IOException {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            renderDocument(invoice, services, out);
+            failed = false;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.document = "Invoice";
+                event.format = "PDF";
+                event.target = "Invoice " + invoice.getInvoiceId();
+                event.records = 1;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static void renderDocument(Invoice invoice, List<BookingService> services, OutputStream out) throws IOException {
+        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(); // Not thread-safe, so one per render
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                float yPosition = page.getMediaBox().getHeight() - MARGIN;
+
+                // Hotel Name and Invoice Title
+                yPosition = line(contentStream, BOLD, TITLE_FONT_SIZE, yPosition, "Hotel Management System");
+                yPosition = line(contentStream, BOLD, FONT_SIZE, yPosition, "Invoice No: " + invoice.getInvoiceId());
+                yPosition = line(contentStream, REGULAR, FONT_SIZE, yPosition, "Customer Name: " + invoice.getCustomerName());
+                yPosition = line(contentStream, REGULAR, FONT_SIZE, yPosition, "Room Number: " + invoice.getRoomNumber());
+                yPosition = line(contentStream, REGULAR, FONT_SIZE, yPosition, "Issue Date: " + formatDate(invoice.getIssueDate()));
+                yPosition = line(contentStream, REGULAR, FONT_SIZE, yPosition, "Due Date: " + formatDate(invoice.getDueDate()));
+                yPosition = line(contentStream, BOLD, FONT_SIZE, yPosition, "Services:");
+
+                for (BookingService service : services) {
+                    BigDecimal price = service.getServicePrice();
+                    BigDecimal total = price.multiply(BigDecimal.valueOf(service.getQuantity()));
+                    yPosition = line(contentStream, REGULAR, FONT_SIZE, yPosition, service.getServiceName() + " x "
+                            + service.getQuantity() + " = " + formatCurrency(currencyFormat, total));
+                }
+
+                yPosition = line(contentStream, BOLD, FONT_SIZE, yPosition, "Room Cost: " + formatCurrency(currencyFormat, invoice.getRoomCost()));
+                yPosition = line(contentStream, BOLD, FONT_SIZE, yPosition, "Service Cost: " + formatCurrency(currencyFormat, invoice.getServiceCost()));
+                yPosition = line(contentStream, BOLD, FONT_SIZE, yPosition, "Total Amount: " + formatCurrency(currencyFormat, invoice.getTotalAmount()));
+                yPosition = line(contentStream, BOLD, FONT_SIZE, yPosition, "Paid Amount: " + formatCurrency(currencyFormat, invoice.getPaidAmount()));
+                line(contentStream, BOLD, FONT_SIZE, yPosition, "Balance Due: " + formatCurrency(currencyFormat, invoice.getBalanceDue()));
+            }
+            document.save(out);
+        }
+    }
+
+    private static float line(PDPageContentStream contentStream, PDFont font, int fontSize, float yPosition, String text)
+            throws IOException {
+        contentStream.beginText();
+        contentStream.setFont(font, fontSize);
+        contentStream.newLineAtOffset(MARGIN, yPosition);
+        contentStream.showText(printable(text));
+        contentStream.endText();
+        return yPosition - LINE_HEIGHT;
+    }
+
+    private static String printable(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        text.codePoints().forEach(c -> result.appendCodePoint(ENCODABLE.contains(c) ? c : '?'));
+        return result.toString();
+    }
+
+    private static String formatDate(java.sql.Date date) {
+        return date == null ? "N/A" : date.toLocalDate().format(DATE_FORMAT);
+    }
+
+    private static String formatCurrency(NumberFormat currencyFormat, BigDecimal amount) {
+        return amount == null ? "N/A" : currencyFormat.format(amount);
+    }
+
+    /**
+     * Encodes every WinAnsi character with each font to fill the fonts' encoding caches.
+     *
+     * @return the code points all the fonts can encode
+     */
+    private static Set<Integer> preloadFonts(PDFont... fonts) {
+        Set<Integer> encodable = new HashSet<>();
+        GlyphList glyphList = GlyphList.getAdobeGlyphList();
+        for (String name : WinAnsiEncoding.INSTANCE.getCodeToNameMap().values()) {
+            String unicode = glyphList.toUnicode(name);
+            if (unicode == null || unicode.codePointCount(0, unicode.length()) != 1) {
+                continue;
+            }
+            boolean encodedByAll = true;
+            for (PDFont font : fonts) {
+                try {
+                    font.encode(unicode);
+                } catch (IOException | IllegalArgumentException e) {
+                    encodedByAll = false;
+                }
+            }
+            if (encodedByAll) {
+                encodable.add(unicode.codePointAt(0));
+            }
+        }
+        return Collections.unmodifiableSet(encodable);
+    }
+}
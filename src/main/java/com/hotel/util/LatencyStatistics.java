@@ -0,0 +1,60 @@
+package com.hotel.util;
+
+/**
+ * Immutable point-in-time snapshot of the latencies recorded for one DAO method, SQL statement
+ * or the connection pool's borrow wait. Durations are in microseconds.
+ */
+public class LatencyStatistics {
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final long maxRows;
+    private final long totalMicros;
+    private final long p50Micros;
+    private final long p95Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    public LatencyStatistics(String name, long count, long errors, long rows, long maxRows, long totalMicros,
+                             long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+        this.name = name;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.maxRows = maxRows;
+        this.totalMicros = totalMicros;
+        this.p50Micros = p50Micros;
+        this.p95Micros = p95Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    static LatencyStatistics of(String name, LatencyHistogram histogram, long errors, long rows, long maxRows) {
+        return new LatencyStatistics(name, histogram.getCount(), errors, rows, maxRows, histogram.getTotalMicros(),
+                histogram.getPercentileMicros(50), histogram.getPercentileMicros(95),
+                histogram.getPercentileMicros(99), histogram.getMaxMicros());
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return count; }
+    public long getErrors() { return errors; }
+    /** Rows read from result sets, or affected by updates. */
+    public long getRows() { return rows; }
+    public long getMaxRows() { return maxRows; }
+    public long getTotalMicros() { return totalMicros; }
+    public long getP50Micros() { return p50Micros; }
+    public long getP95Micros() { return p95Micros; }
+    public long getP99Micros() { return p99Micros; }
+    public long getMaxMicros() { return maxMicros; }
+
+    public long getMeanMicros() {
+        return count == 0 ? 0 : totalMicros / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, errors=%d, mean=%dus, p50=%dus, p95=%dus, p99=%dus, max=%dus, rows=%d, maxRows=%d}",
+                name, count, errors, getMeanMicros(), p50Micros, p95Micros, p99Micros, maxMicros, rows, maxRows);
+    }
+}
@@ -0,0 +1,161 @@
+package com.hotel.util;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe LRU cache whose entries also expire after a fixed time to live.
+ *
+ * Values are loaded outside the lock. An invalidation that happens while a value is loading
+ * makes that load's result be returned to its caller but not stored, so a read racing a
+ * write cannot put the pre-write value back into the cache.
+ *
+ * @param <K> the key type
+ * @param <V> the value type; null values are not cached
+ */
+public class LruCache<K, V> {
+
+    /**
+     * Loads a value on a cache miss.
+     */
+    public interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<K, CacheEntry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private long version; // Guarded by this; bumped on every invalidation
+
+    public LruCache(String name, int maxSize, Duration timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or null if absent or expired. Does not count as a lookup
+     * for the hit ratio, so callers can peek before deciding how to load.
+     */
+    public synchronized V peek(K key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            expirations.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss.
+     */
+    public V get(K key, Loader<V> loader) throws SQLException {
+        long loadVersion;
+        synchronized (this) {
+            V cached = peek(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            loadVersion = version;
+        }
+        V value = loader.load();
+        if (value != null) {
+            synchronized (this) {
+                if (version == loadVersion) {
+                    entries.put(key, new CacheEntry<>(value, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the invalidation counter. Read it before loading a value by other means and pass it
+     * to {@link #putIfUnchanged} so the value is dropped if an invalidation happened meanwhile.
+     */
+    public synchronized long currentVersion() {
+        return version;
+    }
+
+    /**
+     * Caches a value loaded outside {@link #get} unless the cache was invalidated after
+     * {@code loadVersion} was read.
+     *
+     * @return true if the value was stored
+     */
+    public synchronized boolean putIfUnchanged(K key, V value, long loadVersion) {
+        if (value == null || version != loadVersion) {
+            return false;
+        }
+        entries.put(key, new CacheEntry<>(value, System.nanoTime() + ttlNanos));
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        version++;
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(name, size(), maxSize, hits.sum(), misses.sum(),
+                evictions.sum(), expirations.sum(), invalidations.sum());
+    }
+
+    private static class CacheEntry<V> {
+        private final V value;
+        private final long expiresAtNanos;
+
+        CacheEntry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.hotel.util;
+
+import com.hotel.dao.ReportDAO;
+import com.hotel.model.OccupancyReportRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates occupancy figures per night, room type and floor over a date range, in primitive arrays.
+ *
+ * Stays are clipped to the range, and each stay's room revenue is spread evenly over its nights.
+ * Arrivals and length of stay are counted on the check-in night only, so a stay crossing two ranges
+ * is never counted twice. Aggregators over adjacent or nested ranges can therefore be merged
+ * into one covering their union, in any order. Not thread-safe; use one per thread and merge.
+ */
+public class OccupancyAggregator implements ReportDAO.InventoryHandler, ReportDAO.StayHandler {
+
+    private final int firstDay;
+    private final int days;
+    private final Map<String, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * @param from first night of the range
+     * @param toExclusive night after the last night of the range
+     */
+    public OccupancyAggregator(LocalDate from, LocalDate toExclusive) {
+        this.firstDay = (int) from.toEpochDay();
+        this.days = (int) (toExclusive.toEpochDay() - from.toEpochDay());
+        if (days <= 0) {
+            throw new IllegalArgumentException("Empty report range: " + from + " to " + toExclusive);
+        }
+    }
+
+    public LocalDate getFrom() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    public LocalDate getToExclusive() {
+        return LocalDate.ofEpochDay(firstDay + days);
+    }
+
+    @Override
+    public void roomGroup(String roomType, int floor, int rooms) {
+        group(roomType, floor).rooms += rooms;
+    }
+
+    @Override
+    public void stay(int checkInDay, int checkOutDay, String roomType, int floor, long roomRevenueCents, int guests) {
+        int nights = checkOutDay - checkInDay;
+        if (nights <= 0) {
+            return;
+        }
+        Group group = group(roomType, floor);
+        int start = Math.max(checkInDay, firstDay) - firstDay;
+        int end = Math.min(checkOutDay, firstDay + days) - firstDay;
+        long nightlyCents = roomRevenueCents / nights;
+        long remainderCents = roomRevenueCents % nights;
+        for (int day = start; day < end; day++) {
+            group.roomNights[day]++;
+            group.guestNights[day] += guests;
+            // The remainder goes to the first night so the nightly amounts add up to the stay's revenue
+            group.revenueCents[day] += day + firstDay == checkInDay ? nightlyCents + remainderCents : nightlyCents;
+        }
+        if (checkInDay >= firstDay && checkInDay < firstDay + days) {
+            group.arrivals[checkInDay - firstDay]++;
+            group.arrivalNights[checkInDay - firstDay] += nights;
+        }
+    }
+
+    /**
+     * Adds the figures of an aggregator whose range lies within this one's.
+     * Room inventory is not added, as every aggregator loads the same inventory.
+     */
+    public void merge(OccupancyAggregator other) {
+        int offset = other.firstDay - firstDay;
+        if (offset < 0 || offset + other.days > days) {
+            throw new IllegalArgumentException("Cannot merge " + other.getFrom() + ".." + other.getToExclusive()
+                    + " into " + getFrom() + ".." + getToExclusive());
+        }
+        for (Group source : other.groups.values()) {
+            Group target = groups.get(source.key);
+            if (target == null) {
+                target = group(source.roomType, source.floor);
+                target.rooms = source.rooms;
+            }
+            addInto(source.roomNights, target.roomNights, offset);
+            addInto(source.guestNights, target.guestNights, offset);
+            addInto(source.revenueCents, target.revenueCents, offset);
+            addInto(source.arrivalNights, target.arrivalNights, offset);
+            for (int day = 0; day < other.days; day++) {
+                target.arrivals[offset + day] += source.arrivals[day];
+            }
+        }
+    }
+
+    /**
+     * Returns one row per night, room type and floor, ordered by night, then room type and floor.
+     * Groups without rooms and without stays on a night are left out.
+     */
+    public List<OccupancyReportRow> toRows() {
+        List<Group> ordered = new ArrayList<>(groups.values());
+        ordered.sort(Comparator.comparing((Group group) -> group.roomType, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(group -> group.floor));
+        List<OccupancyReportRow> rows = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            LocalDate date = LocalDate.ofEpochDay(firstDay + day);
+            for (Group group : ordered) {
+                if (group.rooms == 0 && group.roomNights[day] == 0 && group.arrivals[day] == 0) {
+                    continue;
+                }
+                rows.add(new OccupancyReportRow(date, group.roomType, group.floor, group.rooms,
+                        group.roomNights[day], group.guestNights[day], group.arrivals[day],
+                        averageStay(group.arrivalNights[day], group.arrivals[day]),
+                        BigDecimal.valueOf(group.revenueCents[day], 2)));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the figures of the whole range over all room types and floors.
+     */
+    public OccupancyReportRow totals() {
+        long roomNightsAvailable = 0;
+        long roomNights = 0;
+        long guestNights = 0;
+        long revenueCents = 0;
+        long arrivalNights = 0;
+        int arrivals = 0;
+        for (Group group : groups.values()) {
+            roomNightsAvailable += (long) group.rooms * days;
+            for (int day = 0; day < days; day++) {
+                roomNights += group.roomNights[day];
+                guestNights += group.guestNights[day];
+                revenueCents += group.revenueCents[day];
+                arrivalNights += group.arrivalNights[day];
+                arrivals += group.arrivals[day];
+            }
+        }
+        return new OccupancyReportRow(null, "All", 0, (int) Math.min(Integer.MAX_VALUE, roomNightsAvailable),
+                roomNights, guestNights, arrivals, averageStay(arrivalNights, arrivals),
+                BigDecimal.valueOf(revenueCents, 2));
+    }
+
+    private Group group(String roomType, int floor) {
+        String key = roomType + "\u0000" + floor;
+        return groups.computeIfAbsent(key, k -> new Group(k, roomType, floor, days));
+    }
+
+    private static double averageStay(long nights, int arrivals) {
+        return arrivals == 0 ? 0.0 : (double) nights / arrivals;
+    }
+
+    private static void addInto(long[] source, long[] target, int offset) {
+        for (int i = 0; i < source.length; i++) {
+            target[offset + i] += source[i];
+        }
+    }
+
+    /**
+     * Per-night figures of one room type on one floor, indexed by night within the range.
+     */
+    private static class Group {
+        private final String key;
+        private final String roomType;
+        private final int floor;
+        private int rooms;
+        private final long[] roomNights;
+        private final long[] guestNights;
+        private final long[] revenueCents;
+        private final long[] arrivalNights;
+        private final int[] arrivals;
+
+        Group(String key, String roomType, int floor, int days) {
+            this.key = key;
+            this.roomType = roomType;
+            this.floor = floor;
+            this.roomNights = new long[days];
+            this.guestNights = new long[days];
+            this.revenueCents = new long[days];
+            this.arrivalNights = new long[days];
+            this.arrivals = new int[days];
+        }
+    }
+}
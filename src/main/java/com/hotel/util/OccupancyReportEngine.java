@@ -0,0 +1,178 @@
+package com.hotel.util;
+
+import com.hotel.dao.ReportDAO;
+import com.hotel.model.OccupancyReportRow;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the occupancy, ADR and RevPAR report for a date range.
+ *
+ * The room inventory is loaded once, then every stay overlapping the range is streamed through a
+ * forward-only cursor straight into an {@link OccupancyAggregator}, so memory use depends on the
+ * number of nights, room types and floors, not on the number of bookings.
+ *
+ * With a parallelism above 1, ranges spanning several calendar months are split into one partition
+ * per month. Each partition streams its stays on its own pooled connection into its own aggregator,
+ * and the partial aggregators are merged as they finish. Higher parallelism lowers latency on long
+ * ranges at the cost of more concurrent queries, and is bounded by the connection pool size.
+ */
+public class OccupancyReportEngine {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int DEFAULT_PARALLELISM = Integer.getInteger("hotel.report.parallelism", 4);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final ReportDAO reportDAO;
+    private volatile int parallelism;
+
+    /**
+     * @param parallelism number of month partitions queried at once; 1 runs the report as one query
+     */
+    public OccupancyReportEngine(ReportDAO reportDAO, int parallelism) {
+        this.reportDAO = reportDAO;
+        setParallelism(parallelism);
+    }
+
+    public OccupancyReportEngine(ReportDAO reportDAO) {
+        this(reportDAO, DEFAULT_PARALLELISM);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, Math.min(parallelism, DatabaseConnection.getPoolMaxSize()));
+    }
+
+    /**
+     * Computes the report for the nights from startDate through endDate.
+     *
+     * @throws SQLException if the data cannot be read
+     */
+    public Result run(LocalDate startDate, LocalDate endDate) throws SQLException {
+        long started = System.nanoTime();
+        OccupancyAggregator aggregator = new OccupancyAggregator(startDate, endDate.plusDays(1));
+        reportDAO.loadRoomInventory(aggregator);
+        List<LocalDate[]> partitions = monthPartitions(startDate, endDate.plusDays(1));
+        int threads = Math.min(parallelism, partitions.size());
+        int stays = threads <= 1
+                ? reportDAO.streamStays(startDate, endDate.plusDays(1), FETCH_SIZE, aggregator)
+                : runPartitions(partitions, threads, aggregator);
+        Result result = new Result(aggregator.toRows(), aggregator.totals(), stays, (System.nanoTime() - started) / 1_000_000);
+        System.out.println("Occupancy report " + startDate + " to " + endDate + ": " + stays + " stays in "
+                + partitions.size() + " partitions on " + Math.max(1, threads) + " threads, "
+                + result.getRows().size() + " rows in " + result.getMillis() + " ms");
+        return result;
+    }
+
+    /**
+     * Aggregates each partition on the pool and merges the partial results into the total.
+     * A stay spanning several months is read by each of their partitions, but every aggregator
+     * only counts the nights and arrivals inside its own range, so the merged figures are exact.
+     *
+     * @return the number of distinct stays read
+     */
+    private int runPartitions(List<LocalDate[]> partitions, int threads, OccupancyAggregator total) throws SQLException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "occupancy-report-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Partial> completion = new ExecutorCompletionService<>(pool);
+        try {
+            for (LocalDate[] partition : partitions) {
+                boolean first = partition == partitions.get(0);
+                int partitionStart = (int) partition[0].toEpochDay();
+                completion.submit(() -> {
+                    OccupancyAggregator partial = new OccupancyAggregator(partition[0], partition[1]);
+                    int[] stays = {0};
+                    reportDAO.streamStays(partition[0], partition[1], FETCH_SIZE,
+                            (checkInDay, checkOutDay, roomType, floor, roomRevenueCents, guests) -> {
+                                // Count a stay spanning partitions only in the one it starts in
+                                if (first || checkInDay >= partitionStart) {
+                                    stays[0]++;
+                                }
+                                partial.stay(checkInDay, checkOutDay, roomType, floor, roomRevenueCents, guests);
+                            });
+                    return new Partial(partial, stays[0]);
+                });
+            }
+            int stays = 0;
+            for (int i = 0; i < partitions.size(); i++) {
+                Partial partial = completion.take().get();
+                total.merge(partial.aggregator);
+                stays += partial.stays;
+            }
+            return stays;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Occupancy report interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Occupancy report partition failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits [from, toExclusive) at the first of each month.
+     */
+    static List<LocalDate[]> monthPartitions(LocalDate from, LocalDate toExclusive) {
+        List<LocalDate[]> partitions = new ArrayList<>();
+        LocalDate start = from;
+        while (start.isBefore(toExclusive)) {
+            LocalDate nextMonth = start.withDayOfMonth(1).plusMonths(1);
+            LocalDate end = nextMonth.isBefore(toExclusive) ? nextMonth : toExclusive;
+            partitions.add(new LocalDate[] {start, end});
+            start = end;
+        }
+        return partitions;
+    }
+
+    private static class Partial {
+        private final OccupancyAggregator aggregator;
+        private final int stays;
+
+        Partial(OccupancyAggregator aggregator, int stays) {
+            this.aggregator = aggregator;
+            this.stays = stays;
+        }
+    }
+
+    /**
+     * The report lines, the totals over the whole range and how long they took.
+     */
+    public static class Result {
+        private final List<OccupancyReportRow> rows;
+        private final OccupancyReportRow totals;
+        private final int stays;
+        private final long millis;
+
+        Result(List<OccupancyReportRow> rows, OccupancyReportRow totals, int stays, long millis) {
+            this.rows = Collections.unmodifiableList(rows);
+            this.totals = totals;
+            this.stays = stays;
+            this.millis = millis;
+        }
+
+        public List<OccupancyReportRow> getRows() { return rows; }
+        public OccupancyReportRow getTotals() { return totals; }
+        public int getStays() { return stays; }
+        public long getMillis() { return millis; }
+    }
+}
@@ -0,0 +1,87 @@
+package com.hotel.util;
+
+/**
+ * Immutable point-in-time snapshot of a {@link ConnectionPool}'s counters.
+ */
+public class PoolStatistics {
+    private final String poolName;
+    private final int totalConnections;
+    private final int idleConnections;
+    private final int activeConnections;
+    private final int pendingThreads;
+    private final long connectionsCreated;
+    private final long connectionsDestroyed;
+    private final long borrowCount;
+    private final long borrowTimeouts;
+    private final long validationFailures;
+    private final long leaksDetected;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long statementCacheEvictions;
+
+    public PoolStatistics(String poolName, int totalConnections, int idleConnections, int activeConnections,
+                          int pendingThreads, long connectionsCreated, long connectionsDestroyed,
+                          long borrowCount, long borrowTimeouts, long validationFailures,
+                          long leaksDetected, long totalWaitNanos, long maxWaitNanos,
+                          long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+        this.poolName = poolName;
+        this.totalConnections = totalConnections;
+        this.idleConnections = idleConnections;
+        this.activeConnections = activeConnections;
+        this.pendingThreads = pendingThreads;
+        this.connectionsCreated = connectionsCreated;
+        this.connectionsDestroyed = connectionsDestroyed;
+        this.borrowCount = borrowCount;
+        this.borrowTimeouts = borrowTimeouts;
+        this.validationFailures = validationFailures;
+        this.leaksDetected = leaksDetected;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.statementCacheEvictions = statementCacheEvictions;
+    }
+
+    public String getPoolName() { return poolName; }
+    public int getTotalConnections() { return totalConnections; }
+    public int getIdleConnections() { return idleConnections; }
+    public int getActiveConnections() { return activeConnections; }
+    public int getPendingThreads() { return pendingThreads; }
+    public long getConnectionsCreated() { return connectionsCreated; }
+    public long getConnectionsDestroyed() { return connectionsDestroyed; }
+    public long getBorrowCount() { return borrowCount; }
+    public long getBorrowTimeouts() { return borrowTimeouts; }
+    public long getValidationFailures() { return validationFailures; }
+    public long getLeaksDetected() { return leaksDetected; }
+    public long getTotalWaitNanos() { return totalWaitNanos; }
+    public long getMaxWaitNanos() { return maxWaitNanos; }
+    public long getStatementCacheHits() { return statementCacheHits; }
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+    public long getStatementCacheEvictions() { return statementCacheEvictions; }
+
+    public double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0.0 : (totalWaitNanos / 1_000_000.0) / borrowCount;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    public double getStatementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{total=%d, idle=%d, active=%d, pending=%d, created=%d, destroyed=%d, " +
+                        "borrows=%d, timeouts=%d, validationFailures=%d, leaks=%d, avgWait=%.2fms, maxWait=%.2fms, " +
+                        "stmtCacheHits=%d, stmtCacheMisses=%d, stmtCacheEvictions=%d}",
+                poolName, totalConnections, idleConnections, activeConnections, pendingThreads,
+                connectionsCreated, connectionsDestroyed, borrowCount, borrowTimeouts,
+                validationFailures, leaksDetected, getAverageWaitMillis(), getMaxWaitMillis(),
+                statementCacheHits, statementCacheMisses, statementCacheEvictions);
+    }
+}
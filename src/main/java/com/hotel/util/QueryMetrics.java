@@ -0,0 +1,517 @@
+package com.hotel.util;
+
+import com.hotel.jfr.DaoCallEvent;
+import com.hotel.jfr.SqlStatementEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms for the DAO layer, per DAO method and per SQL statement, plus the slow-query log.
+ *
+ * Statements are timed by the connection pool, which wraps every prepared statement it hands out, so
+ * all SQL is covered whichever DAO issues it. DAO methods are timed by wrapping a DAO with
+ * {@link #instrument}. Rows are counted as they are read from result sets; statements that stream
+ * through a server-side cursor (a positive fetch size) are timed but their rows are not counted, to
+ * keep per-row overhead off exports and report scans.
+ *
+ * A statement that takes longer than hotel.slowQueryMillis (default 500) is logged with its SQL and the
+ * DAO method that ran it. Parameter values and string literals are never logged, only parameter types.
+ * The same wrappers emit the {@link DaoCallEvent} and {@link SqlStatementEvent} flight recorder events.
+ * hotel.metrics.enabled=false turns all of this off. {@link #getSnapshot()} returns the current
+ * figures and {@link #startPeriodicDump} rewrites them to a file at a fixed rate.
+ */
+public final class QueryMetrics {
+
+    private static final QueryMetrics INSTANCE = new QueryMetrics(
+            !"false".equals(System.getProperty("hotel.metrics.enabled")),
+            Long.getLong("hotel.slowQueryMillis", 500));
+
+    // Statement SQL is built with placeholders, so the number of distinct statements is small; the cap
+    // only guards against a caller that concatenates values into its SQL
+    private static final int MAX_STATEMENTS = 1000;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+
+    private final boolean enabled;
+    private volatile long slowQueryThresholdNanos;
+    private final Map<String, Stats> methods = new ConcurrentHashMap<>();
+    private final Map<String, Stats> statements = new ConcurrentHashMap<>();
+    private final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+    private ScheduledExecutorService dumpExecutor;
+
+    private QueryMetrics(boolean enabled, long slowQueryThresholdMillis) {
+        this.enabled = enabled;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a DAO whose method calls are timed, e.g. {@code QueryMetrics.instrument(BookingDAO.class, new BookingDAOImpl())}.
+     */
+    public static <T> T instrument(Class<T> daoType, T dao) {
+        if (!INSTANCE.enabled) {
+            return dao;
+        }
+        return daoType.cast(Proxy.newProxyInstance(daoType.getClassLoader(), new Class<?>[] { daoType },
+                INSTANCE.new TimedDao(daoType.getSimpleName(), dao)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryThresholdNanos);
+    }
+
+    public void setSlowQueryThresholdMillis(long millis) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Called by the connection pool for every statement it prepares.
+     */
+    PreparedStatement wrap(PreparedStatement statement, String sql) {
+        if (!enabled) {
+            return statement;
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, new TimedStatement(statement, sql));
+    }
+
+    public Snapshot getSnapshot() {
+        return new Snapshot(Instant.now(), snapshotOf(methods), snapshotOf(statements),
+                LatencyStatistics.of("connection wait", DatabaseConnection.getPool().getWaitHistogram(), 0, 0, 0));
+    }
+
+    /**
+     * Forgets everything recorded so far, e.g. between load test runs.
+     */
+    public void reset() {
+        methods.clear();
+        statements.clear();
+        DatabaseConnection.getPool().getWaitHistogram().reset();
+    }
+
+    /**
+     * Rewrites the snapshot to {@code file} every {@code periodSeconds}, on a daemon thread.
+     */
+    public synchronized void startPeriodicDump(Path file, long periodSeconds) {
+        stopPeriodicDump();
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "query-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumpExecutor.scheduleAtFixedRate(() -> {
+            try {
+                dump(file);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not write query metrics to " + file + ": " + e.getMessage());
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        System.out.println("Writing query metrics to " + file + " every " + periodSeconds + " s");
+    }
+
+    public synchronized void stopPeriodicDump() {
+        if (dumpExecutor != null) {
+            dumpExecutor.shutdownNow();
+            dumpExecutor = null;
+        }
+    }
+
+    /**
+     * Writes the current snapshot to {@code file}, replacing it in one step so readers never see half a dump.
+     */
+    public void dump(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            getSnapshot().writeTo(writer);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Stats statementStats(String sql) {
+        Stats stats = statements.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= MAX_STATEMENTS) {
+            return statements.computeIfAbsent(OTHER_STATEMENTS, Stats::new);
+        }
+        return statements.computeIfAbsent(sql, key -> new Stats(redact(key)));
+    }
+
+    private void logSlowStatement(long nanos, String sql, Map<Integer, String> parameterTypes) {
+        Call call = currentCall.get();
+        System.err.println("Slow query (" + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms"
+                + (call != null ? " in " + call.name : "") + "): " + redact(sql)
+                + (parameterTypes.isEmpty() ? "" : " " + parameterTypes.values()));
+    }
+
+    /**
+     * Collapses whitespace and replaces quoted literals, which may hold guest data, with '?'.
+     */
+    static String redact(String sql) {
+        return sql.trim().replaceAll("\\s+", " ").replaceAll("'(?:[^'\\\\]|\\\\.|'')*'", "'?'");
+    }
+
+    private static List<LatencyStatistics> snapshotOf(Map<String, Stats> registry) {
+        List<LatencyStatistics> snapshot = new ArrayList<>();
+        for (Stats stats : registry.values()) {
+            snapshot.add(stats.snapshot());
+        }
+        // Biggest total time first: that is where time is going
+        snapshot.sort(Comparator.comparingLong(LatencyStatistics::getTotalMicros).reversed());
+        return snapshot;
+    }
+
+    /**
+     * Counters for one DAO method or statement.
+     */
+    private static final class Stats {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAccumulator maxRows = new LongAccumulator(Math::max, 0);
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void addRows(long count) {
+            rows.add(count);
+            maxRows.accumulate(count);
+        }
+
+        LatencyStatistics snapshot() {
+            return LatencyStatistics.of(name, latency, errors.sum(), rows.sum(), maxRows.get());
+        }
+    }
+
+    /**
+     * The figures at one point in time, each list ordered by total time, largest first.
+     */
+    public static final class Snapshot {
+        private final Instant takenAt;
+        private final List<LatencyStatistics> methods;
+        private final List<LatencyStatistics> statements;
+        private final LatencyStatistics connectionWait;
+
+        Snapshot(Instant takenAt, List<LatencyStatistics> methods, List<LatencyStatistics> statements,
+                 LatencyStatistics connectionWait) {
+            this.takenAt = takenAt;
+            this.methods = methods;
+            this.statements = statements;
+            this.connectionWait = connectionWait;
+        }
+
+        public Instant getTakenAt() { return takenAt; }
+        public List<LatencyStatistics> getMethods() { return methods; }
+        public List<LatencyStatistics> getStatements() { return statements; }
+        public LatencyStatistics getConnectionWait() { return connectionWait; }
+
+        public void writeTo(Writer writer) throws IOException {
+            writer.write("Query metrics at " + takenAt + "\n\n");
+            writer.write(connectionWait + "\n\nDAO methods\n");
+            writeAll(writer, methods);
+            writer.write("\nStatements\n");
+            writeAll(writer, statements);
+        }
+
+        private static void writeAll(Writer writer, Collection<LatencyStatistics> statistics) throws IOException {
+            for (LatencyStatistics entry : statistics) {
+                writer.write("  " + entry + "\n");
+            }
+        }
+    }
+
+    /**
+     * The DAO call a thread is in, for the slow-query log and the DAO call flight recorder event.
+     */
+    private static final class Call {
+        private final String name;
+        private Stats firstStatement;
+        private int statements;
+        private long rows;
+
+        Call(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Times each call of one DAO and makes the method name available to the slow-query log.
+     */
+    private final class TimedDao implements InvocationHandler {
+        private final String daoName;
+        private final Object dao;
+
+        TimedDao(String daoName, Object dao) {
+            this.daoName = daoName;
+            this.dao = dao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(dao, args);
+            }
+            String name = daoName + "." + method.getName();
+            Stats stats = methods.computeIfAbsent(name, Stats::new);
+            Call outer = currentCall.get();
+            Call call = new Call(name);
+            currentCall.set(call);
+            DaoCallEvent event = new DaoCallEvent();
+            event.begin();
+            boolean failed = false;
+            long start = System.nanoTime();
+            try {
+                return method.invoke(dao, args);
+            } catch (InvocationTargetException e) {
+                failed = true;
+                stats.errors.increment();
+                throw e.getCause();
+            } finally {
+                stats.latency.recordNanos(System.nanoTime() - start);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.method = name;
+                    event.sql = call.firstStatement != null ? call.firstStatement.name : null;
+                    event.statements = call.statements;
+                    event.rows = call.rows;
+                    event.failed = failed;
+                    event.commit();
+                }
+                if (outer != null) {
+                    currentCall.set(outer);
+                } else {
+                    currentCall.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Times each execution of one prepared statement and counts the rows it returns.
+     */
+    private final class TimedStatement implements InvocationHandler {
+        private final PreparedStatement statement;
+        private final String sql;
+        private final Map<Integer, String> parameterTypes = new TreeMap<>();
+        private final List<CountedResultSet> openResultSets = new ArrayList<>(1);
+        private Stats stats;
+        private boolean streaming;
+
+        TimedStatement(PreparedStatement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class) {
+                parameterTypes.put((Integer) args[0], typeOf(name, args[1]));
+            } else if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+            } else if (name.equals("setFetchSize")) {
+                streaming = (Integer) args[0] != 0;
+            } else if (name.equals("close")) {
+                closeResultSets();
+            }
+            try {
+                Object result = method.invoke(statement, args);
+                return name.equals("getResultSet") && result != null ? count((ResultSet) result, null) : result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            if (stats == null) {
+                stats = statementStats(sql);
+            }
+            Call call = currentCall.get();
+            if (call != null) {
+                call.statements++;
+                if (call.firstStatement == null) {
+                    call.firstStatement = stats;
+                }
+            }
+            // Committed here, or when the result set has been read
+            SqlStatementEvent event = new SqlStatementEvent();
+            event.begin();
+            long rows = -1;
+            boolean failed = false;
+            long start = System.nanoTime();
+            try {
+                Object result = method.invoke(statement, args);
+                if (result instanceof ResultSet && !streaming) {
+                    Object counted = count((ResultSet) result, event);
+                    event = null;
+                    return counted;
+                }
+                if (result instanceof Integer || result instanceof Long) {
+                    rows = Math.max(0, ((Number) result).longValue());
+                } else if (result instanceof int[]) {
+                    rows = 0;
+                    for (int count : (int[]) result) {
+                        rows += Math.max(0, count);
+                    }
+                }
+                if (rows >= 0) {
+                    stats.addRows(rows);
+                    if (call != null) {
+                        call.rows += rows;
+                    }
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                failed = true;
+                stats.errors.increment();
+                throw e.getCause();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                stats.latency.recordNanos(elapsed);
+                if (elapsed >= slowQueryThresholdNanos) {
+                    logSlowStatement(elapsed, sql, parameterTypes);
+                }
+                if (event != null) {
+                    commit(event, stats, call, rows, failed);
+                }
+            }
+        }
+
+        private Object count(ResultSet resultSet, SqlStatementEvent event) {
+            if (streaming) {
+                return resultSet;
+            }
+            if (stats == null) {
+                stats = statementStats(sql);
+            }
+            CountedResultSet counted = new CountedResultSet(resultSet, stats, currentCall.get(), event);
+            openResultSets.add(counted);
+            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, counted);
+        }
+
+        // Many DAO methods leave their result set for the statement's close() to clean up
+        private void closeResultSets() {
+            for (CountedResultSet resultSet : openResultSets) {
+                resultSet.finish();
+            }
+            openResultSets.clear();
+        }
+
+        private String typeOf(String setter, Object value) {
+            if (setter.equals("setNull")) {
+                return "null";
+            }
+            if (setter.equals("setObject")) {
+                return value != null ? value.getClass().getSimpleName() : "null";
+            }
+            return setter.substring(3);
+        }
+    }
+
+    private static void commit(SqlStatementEvent event, Stats stats, Call call, long rows, boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = stats.name;
+            event.method = call != null ? call.name : null;
+            event.rows = rows;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts the rows read through one result set and records them once it is closed.
+     */
+    private static final class CountedResultSet implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final Stats stats;
+        private final Call call;
+        private final SqlStatementEvent event;
+        private long rows;
+        private boolean finished;
+
+        CountedResultSet(ResultSet resultSet, Stats stats, Call call, SqlStatementEvent event) {
+            this.resultSet = resultSet;
+            this.stats = stats;
+            this.call = call;
+            this.event = event;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                Object result = method.invoke(resultSet, args);
+                switch (method.getName()) {
+                    case "next":
+                        if ((Boolean) result) {
+                            rows++;
+                        }
+                        break;
+                    case "close":
+                        finish();
+                        break;
+                    default:
+                        break;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                stats.addRows(rows);
+                if (call != null) {
+                    call.rows += rows;
+                }
+                if (event != null) {
+                    commit(event, stats, call, rows, false);
+                }
+            }
+        }
+    }
+}
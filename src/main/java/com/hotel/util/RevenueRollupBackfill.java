@@ -0,0 +1,89 @@
+package com.hotel.util;
+
+import com.hotel.dao.RevenueRollupDAO;
+import com.hotel.dao.impl.RevenueRollupDAOImpl;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Fills the daily_revenue rollup from the payments table, one month per transaction so a long
+ * history never holds locks on the whole table.
+ *
+ * At startup {@link #startInBackground()} backfills the whole history once, when the rollup is
+ * still empty. To recompute a range after payments were changed outside the application, run
+ * this class with the first and last business date: {@code RevenueRollupBackfill 2024-01-01 2024-12-31}.
+ */
+public class RevenueRollupBackfill {
+
+    private final RevenueRollupDAO revenueRollupDAO;
+
+    public RevenueRollupBackfill(RevenueRollupDAO revenueRollupDAO) {
+        this.revenueRollupDAO = revenueRollupDAO;
+    }
+
+    /**
+     * Rebuilds the rollup for the business dates [from, toExclusive), month by month.
+     *
+     * @return the number of rollup rows written
+     */
+    public int backfill(LocalDate from, LocalDate toExclusive) throws SQLException {
+        long started = System.nanoTime();
+        int rows = 0;
+        LocalDate start = from;
+        while (start.isBefore(toExclusive)) {
+            LocalDate nextMonth = start.withDayOfMonth(1).plusMonths(1);
+            LocalDate end = nextMonth.isBefore(toExclusive) ? nextMonth : toExclusive;
+            rows += revenueRollupDAO.rebuild(start, end);
+            start = end;
+        }
+        System.out.println("Revenue rollup backfilled from " + from + " to " + toExclusive + ": " + rows
+                + " rows in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return rows;
+    }
+
+    /**
+     * Backfills the whole payment history if the rollup has no rows yet.
+     *
+     * @return the number of rollup rows written; 0 if the rollup was already filled
+     */
+    public int backfillIfEmpty() throws SQLException {
+        if (!revenueRollupDAO.isEmpty()) {
+            return 0;
+        }
+        Optional<LocalDate> firstPayment = revenueRollupDAO.findFirstPaymentDate();
+        if (!firstPayment.isPresent()) {
+            return 0;
+        }
+        return backfill(firstPayment.get(), BusinessDateService.getInstance().getBusinessDate().plusDays(1));
+    }
+
+    /**
+     * Runs {@link #backfillIfEmpty()} on a daemon thread.
+     */
+    public static void startInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                new RevenueRollupBackfill(new RevenueRollupDAOImpl()).backfillIfEmpty();
+            } catch (SQLException e) {
+                System.err.println("Revenue rollup backfill failed: " + e.getMessage());
+            }
+        }, "revenue-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length != 2) {
+            System.err.println("Usage: RevenueRollupBackfill <first business date> <last business date>");
+            System.exit(1);
+        }
+        try {
+            new RevenueRollupBackfill(new RevenueRollupDAOImpl())
+                    .backfill(LocalDate.parse(args[0]), LocalDate.parse(args[1]).plusDays(1));
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
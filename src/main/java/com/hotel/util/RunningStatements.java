@@ -0,0 +1,45 @@
+package com.hotel.util;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which statement each thread is currently executing, so another thread can cancel it.
+ * Statements handed out by {@link StatementCache} register themselves for the duration of each execute call.
+ */
+class RunningStatements {
+
+    private static final Map<Thread, Statement> RUNNING = new ConcurrentHashMap<>();
+
+    private RunningStatements() {}
+
+    static void started(Statement statement) {
+        RUNNING.put(Thread.currentThread(), statement);
+    }
+
+    static void finished() {
+        RUNNING.remove(Thread.currentThread());
+    }
+
+    /**
+     * Asks the server to abort the statement the thread is executing, if any. The executing
+     * thread then gets an SQLException from its execute call.
+     *
+     * @return true if a running statement was found and cancelled
+     */
+    static boolean cancel(Thread thread) {
+        Statement statement = RUNNING.get(thread);
+        if (statement == null) {
+            return false;
+        }
+        try {
+            statement.cancel();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error cancelling statement: " + e.getMessage());
+            return false;
+        }
+    }
+}
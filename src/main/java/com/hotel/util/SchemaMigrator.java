@@ -0,0 +1,271 @@
+package com.hotel.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Brings the database schema up to the version this build expects.
+ *
+ * Migrations are SQL scripts under /com/hotel/db/migration named V&lt;version&gt;__&lt;description&gt;.sql
+ * and listed in {@link #MIGRATIONS}. Each script runs once, in version order, and is then recorded in
+ * the schema_version table with a checksum; a script changed after it ran is reported but not rerun.
+ * Scripts may switch the statement delimiter with DELIMITER lines, as in the mysql client, to
+ * define triggers.
+ *
+ * MySQL commits each DDL statement on its own, so a script that fails halfway is not rolled back.
+ * Scripts are therefore written to be rerunnable: tables use IF NOT EXISTS, views CREATE OR REPLACE,
+ * triggers are dropped first, and an index that already exists under the same name is skipped.
+ * That also lets the first migration adopt a database created before migrations existed.
+ * A named database lock keeps two application instances from migrating at the same time.
+ *
+ * The billing triggers migration only replaces the triggers it creates itself. Before it runs, any
+ * other trigger on bookings, booking_services or payments makes the migration fail, since an older
+ * hand-made trigger that also creates invoices or adds up payments would double count.
+ */
+public class SchemaMigrator {
+
+    static final String[] MIGRATIONS = {
+        "V1__baseline_schema.sql",
+        "V2__hot_path_indexes.sql",
+        "V3__invoice_and_payment_triggers.sql",
+        "V4__daily_revenue_rollup.sql",
+        "V5__dashboard_summary_view.sql"
+    };
+
+    private static final String LOCATION = "/com/hotel/db/migration/";
+    private static final String LOCK_NAME = "hotel_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    private static final int BILLING_TRIGGERS_VERSION = 3;
+    private static final List<String> BILLING_TRIGGERS = Arrays.asList(
+            "trg_bookings_create_invoice",
+            "trg_booking_services_after_insert",
+            "trg_booking_services_after_update",
+            "trg_booking_services_after_delete",
+            "trg_payments_after_insert");
+
+    private static final String BILLING_TABLE_TRIGGERS_SQL =
+            "SELECT TRIGGER_NAME, ACTION_TIMING, EVENT_MANIPULATION, EVENT_OBJECT_TABLE " +
+            "FROM information_schema.TRIGGERS " +
+            "WHERE TRIGGER_SCHEMA = DATABASE() AND EVENT_OBJECT_TABLE IN ('bookings', 'booking_services', 'payments') " +
+            "ORDER BY EVENT_OBJECT_TABLE, TRIGGER_NAME";
+
+    private static final String CREATE_VERSION_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT PRIMARY KEY, " +
+            "description VARCHAR(200) NOT NULL, " +
+            "checksum BIGINT NOT NULL, " +
+            "execution_ms BIGINT NOT NULL, " +
+            "installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    /**
+     * Applies every migration the database has not run yet.
+     *
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails; later migrations are not attempted
+     * @throws IOException if a migration script cannot be read
+     */
+    public int migrate() throws SQLException, IOException {
+        long started = System.nanoTime();
+        int applied = 0;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            acquireLock(conn);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(CREATE_VERSION_TABLE_SQL);
+                }
+                Map<Integer, Long> appliedChecksums = loadAppliedChecksums(conn);
+                for (String fileName : MIGRATIONS) {
+                    int version = versionOf(fileName);
+                    String script = readScript(fileName);
+                    long checksum = checksum(script);
+                    Long appliedChecksum = appliedChecksums.get(version);
+                    if (appliedChecksum != null) {
+                        if (appliedChecksum != checksum) {
+                            System.err.println("Warning: migration " + fileName + " changed after it was applied");
+                        }
+                        continue;
+                    }
+                    if (version == BILLING_TRIGGERS_VERSION) {
+                        checkForeignBillingTriggers(conn);
+                    }
+                    apply(conn, version, fileName, script, checksum);
+                    applied++;
+                }
+            } finally {
+                releaseLock(conn);
+            }
+        }
+        System.out.println("Schema is at version " + versionOf(MIGRATIONS[MIGRATIONS.length - 1]) + ", "
+                + applied + " migrations applied in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return applied;
+    }
+
+    private void apply(Connection conn, int version, String fileName, String script, long checksum) throws SQLException {
+        System.out.println("Applying migration " + fileName);
+        long started = System.nanoTime();
+        for (String sql : splitStatements(script)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(sql);
+            } catch (SQLException e) {
+                if (e.getErrorCode() == ER_DUP_KEYNAME && sql.regionMatches(true, 0, "CREATE INDEX", 0, 12)) {
+                    System.out.println("  index exists, skipped: " + sql);
+                    continue;
+                }
+                throw new SQLException("Migration " + fileName + " failed at: " + sql, e.getSQLState(), e.getErrorCode(), e);
+            }
+        }
+        String insertSql = "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+            stmt.setInt(1, version);
+            stmt.setString(2, descriptionOf(fileName));
+            stmt.setLong(3, checksum);
+            stmt.setLong(4, (System.nanoTime() - started) / 1_000_000);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Fails if the billing tables have triggers the billing triggers migration would not replace.
+     */
+    private static void checkForeignBillingTriggers(Connection conn) throws SQLException {
+        List<String> foreign = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(BILLING_TABLE_TRIGGERS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String name = rs.getString("TRIGGER_NAME");
+                if (!BILLING_TRIGGERS.contains(name.toLowerCase())) {
+                    foreign.add(name + " (" + rs.getString("ACTION_TIMING") + " " + rs.getString("EVENT_MANIPULATION")
+                            + " ON " + rs.getString("EVENT_OBJECT_TABLE") + ")");
+                }
+            }
+        }
+        if (!foreign.isEmpty()) {
+            throw new SQLException("The database already has triggers on the billing tables: " + String.join(", ", foreign)
+                    + ". Migration " + BILLING_TRIGGERS_VERSION + " installs its own invoice and payment triggers, and"
+                    + " keeping both would create duplicate invoices or count payments twice. Drop these triggers,"
+                    + " or move their logic into the migration, then start the application again.");
+        }
+    }
+
+    private static Map<Integer, Long> loadAppliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> checksums = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT version, checksum FROM schema_version");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                checksums.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        }
+        return checksums;
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another instance to finish migrating the schema");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Could not release schema migration lock: " + e.getMessage());
+        }
+    }
+
+    private static String readScript(String fileName) throws IOException {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(LOCATION + fileName)) {
+            if (in == null) {
+                throw new IOException("Migration script not found: " + LOCATION + fileName);
+            }
+            StringBuilder script = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    script.append(line).append('\n');
+                }
+            }
+            return script.toString();
+        }
+    }
+
+    /**
+     * The statements of one migration script, for tools that need to rerun part of it.
+     */
+    static List<String> statementsOf(String fileName) throws IOException {
+        return splitStatements(readScript(fileName));
+    }
+
+    /**
+     * Splits a script into statements, dropping comment lines and honouring DELIMITER lines.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        String delimiter = ";";
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (current.length() == 0 && (trimmed.isEmpty() || trimmed.startsWith("--"))) {
+                continue;
+            }
+            if (current.length() == 0 && trimmed.regionMatches(true, 0, "DELIMITER ", 0, 10)) {
+                delimiter = trimmed.substring(10).trim();
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(delimiter)) {
+                String statement = current.toString().trim();
+                statements.add(statement.substring(0, statement.length() - delimiter.length()).trim());
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static int versionOf(String fileName) {
+        return Integer.parseInt(fileName.substring(1, fileName.indexOf("__")));
+    }
+
+    private static String descriptionOf(String fileName) {
+        return fileName.substring(fileName.indexOf("__") + 2, fileName.lastIndexOf('.')).replace('_', ' ');
+    }
+
+    private static long checksum(String script) {
+        CRC32 crc = new CRC32();
+        crc.update(script.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        try {
+            new SchemaMigrator().migrate();
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
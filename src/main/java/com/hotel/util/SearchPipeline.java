@@ -0,0 +1,148 @@
+package com.hotel.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Runs a controller's search queries off the JavaFX thread, keeping only the latest one.
+ *
+ * Each submission supersedes the previous: a query still waiting out its debounce delay is
+ * dropped, a query already running has its statement cancelled on the server, and a result
+ * that arrives late is discarded. Queries of one pipeline run one at a time, in submission
+ * order. Results and errors are delivered on the JavaFX thread.
+ *
+ * @param <T> the query result type
+ */
+public class SearchPipeline<T> {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ThreadFactory THREAD_FACTORY = runnable -> {
+        Thread thread = new Thread(runnable, "search-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    };
+    // Shared by all pipelines: one timer thread for debouncing, worker threads created on demand
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(THREAD_FACTORY);
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(THREAD_FACTORY);
+
+    private final long debounceMillis;
+    private final Consumer<T> onResult;
+    private final Consumer<Exception> onError;
+    private final ReentrantLock runLock = new ReentrantLock(true);
+
+    // Guarded by this
+    private long generation;
+    private ScheduledFuture<?> pendingTimer;
+    private Thread runningThread;
+
+    /**
+     * @param debounceMillis how long {@link #submit} waits for input to settle
+     * @param onResult receives the result of the latest query, on the JavaFX thread
+     * @param onError receives the failure of the latest query, on the JavaFX thread
+     */
+    public SearchPipeline(long debounceMillis, Consumer<T> onResult, Consumer<Exception> onError) {
+        this.debounceMillis = debounceMillis;
+        this.onResult = onResult;
+        this.onError = onError;
+    }
+
+    /**
+     * Runs the query once no other submission has arrived for the debounce delay.
+     * Meant for text fields and pickers that change on every keystroke or click.
+     */
+    public void submit(Callable<T> query) {
+        schedule(query, debounceMillis);
+    }
+
+    /**
+     * Runs the query right away, still superseding earlier queries.
+     * Meant for buttons such as paging and refresh.
+     */
+    public void submitNow(Callable<T> query) {
+        schedule(query, 0);
+    }
+
+    /**
+     * Drops the pending query and cancels the running one without starting another.
+     */
+    public synchronized void cancel() {
+        supersede();
+    }
+
+    private synchronized void schedule(Callable<T> query, long delayMillis) {
+        long current = supersede();
+        Runnable dispatch = () -> WORKERS.execute(() -> run(current, query));
+        if (delayMillis > 0) {
+            pendingTimer = TIMER.schedule(dispatch, delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            dispatch.run();
+        }
+    }
+
+    /**
+     * Starts a new generation, invalidating everything submitted before it. Caller holds the monitor.
+     */
+    private long supersede() {
+        generation++;
+        if (pendingTimer != null) {
+            pendingTimer.cancel(false);
+            pendingTimer = null;
+        }
+        if (runningThread != null) {
+            DatabaseConnection.cancelRunningQuery(runningThread);
+        }
+        return generation;
+    }
+
+    private void run(long queryGeneration, Callable<T> query) {
+        runLock.lock();
+        try {
+            synchronized (this) {
+                if (queryGeneration != generation) {
+                    return; // Superseded while waiting for the previous query to finish
+                }
+                runningThread = Thread.currentThread();
+            }
+            T result = null;
+            Exception failure = null;
+            try {
+                result = query.call();
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                // Cleared under the monitor so a cancel cannot hit a later statement on this thread
+                synchronized (this) {
+                    runningThread = null;
+                }
+            }
+            publish(queryGeneration, result, failure);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void publish(long queryGeneration, T result, Exception failure) {
+        Platform.runLater(() -> {
+            synchronized (this) {
+                if (queryGeneration != generation) {
+                    return; // A newer query owns the view; superseded failures are usually our own cancels
+                }
+            }
+            if (failure != null) {
+                onError.accept(failure);
+            } else {
+                onResult.accept(result);
+            }
+        });
+    }
+}
@@ -0,0 +1,198 @@
+package com.hotel.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ *
+ * With {@code useServerPrepStmts} enabled, each cached statement keeps its server-side
+ * prepared handle open, so repeated DAO lookups skip the parse/plan step on MySQL.
+ * Callers receive a proxy whose {@code close()} parks the statement back in the cache.
+ */
+class StatementCache {
+
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final Map<String, PreparedStatement> idleStatements;
+
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.idleStatements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    StatementCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached statement for the SQL, or prepares a new one on a miss.
+     *
+     * @param physical the physical connection that owns this cache
+     * @param owner the connection proxy the caller holds, returned from {@code getConnection()}
+     * @param ownerReleased true once the caller's borrow has ended
+     * @param sql the SQL text
+     * @param autoGeneratedKeys a {@link Statement} generated-keys flag, or -1 for the plain overload
+     */
+    synchronized PreparedStatement prepare(Connection physical, Connection owner, BooleanSupplier ownerReleased,
+                                           String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        PreparedStatement statement = idleStatements.remove(key);
+        if (statement != null && !statement.isClosed()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = autoGeneratedKeys == -1
+                    ? physical.prepareStatement(sql)
+                    : physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        CachedStatement handler = new CachedStatement(key, statement, owner, ownerReleased);
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, handler);
+    }
+
+    private synchronized void checkIn(String key, PreparedStatement statement) {
+        try {
+            if (statement.isClosed()) {
+                return;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+        // A nested use of the same SQL may already have parked a statement under this key
+        PreparedStatement previous = idleStatements.put(key, statement);
+        if (previous != null && previous != statement) {
+            closeQuietly(previous);
+        }
+    }
+
+    /**
+     * Closes every cached statement. Called before the physical connection is closed.
+     */
+    synchronized void closeAll() {
+        for (PreparedStatement statement : idleStatements.values()) {
+            closeQuietly(statement);
+        }
+        idleStatements.clear();
+    }
+
+    synchronized int size() {
+        return idleStatements.size();
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One checkout of a cached statement. Result sets opened through it are closed when the
+     * statement goes back to the cache, since many DAO methods leave them for close() to clean up.
+     */
+    private class CachedStatement implements InvocationHandler {
+        private final String key;
+        private final PreparedStatement statement;
+        private final Connection owner;
+        private final BooleanSupplier ownerReleased;
+        private final List<ResultSet> openResultSets = new ArrayList<>();
+        private boolean closed;
+
+        CachedStatement(String key, PreparedStatement statement, Connection owner, BooleanSupplier ownerReleased) {
+            this.key = key;
+            this.statement = statement;
+            this.owner = owner;
+            this.ownerReleased = ownerReleased;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        closeResultSets();
+                        if (ownerReleased.getAsBoolean()) {
+                            closeQuietly(statement);
+                        } else {
+                            checkIn(key, statement);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + statement;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            boolean executing = method.getName().startsWith("execute");
+            if (executing) {
+                RunningStatements.started(statement);
+            }
+            try {
+                Object result = method.invoke(statement, args);
+                if (result instanceof ResultSet) {
+                    openResultSets.add((ResultSet) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (executing) {
+                    RunningStatements.finished();
+                }
+            }
+        }
+
+        private void closeResultSets() {
+            for (ResultSet resultSet : openResultSets) {
+                try {
+                    resultSet.close();
+                } catch (SQLException e) {
+                    System.err.println("Error closing result set: " + e.getMessage());
+                }
+            }
+            openResultSets.clear();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+-- Indexes for the hot DAO predicates. Where a query reads only a few columns they are appended,
+-- so the index covers the query and the table rows are not read.
+-- An index that already exists under the same name is skipped by the migrator.
+
+-- Availability and room history: room_id equality, then the overlap test on the dates
+CREATE INDEX idx_bookings_room_dates ON bookings (room_id, check_in_date, check_out_date, booking_status);
+-- Bookings of a customer, in check-in order
+CREATE INDEX idx_bookings_customer ON bookings (customer_id, check_in_date);
+-- Checked-in guests and other status counts
+CREATE INDEX idx_bookings_status ON bookings (booking_status, check_in_date);
+-- Today's arrivals and departures: date equality, status filter
+CREATE INDEX idx_bookings_check_in ON bookings (check_in_date, booking_status);
+CREATE INDEX idx_bookings_check_out ON bookings (check_out_date, booking_status);
+-- Bookings created in a business day, as a half-open created_at range
+CREATE INDEX idx_bookings_created ON bookings (created_at);
+
+-- Revenue backfill and payment listings by date, covering the amount
+CREATE INDEX idx_payments_date ON payments (payment_date, invoice_id, amount);
+
+CREATE INDEX idx_booking_services_booking ON booking_services (booking_id, service_id, quantity);
+
+CREATE INDEX idx_feedback_customer_date ON feedback (customer_id, feedback_date);
+-- 30-day rating window on the dashboard
+CREATE INDEX idx_feedback_date_rating ON feedback (feedback_date, rating);
+
+-- Name search and the customer list order
+CREATE INDEX idx_customers_name ON customers (last_name, first_name);
+
+CREATE INDEX idx_invoices_booking ON invoices (booking_id);
+CREATE INDEX idx_invoices_issue_status ON invoices (issue_date, invoice_status);
+
+CREATE INDEX idx_rooms_status ON rooms (status);
+CREATE INDEX idx_rooms_type_floor ON rooms (type, floor);
+
+CREATE INDEX idx_staff_position_name ON staff (position, last_name, first_name);
@@ -0,0 +1,78 @@
+-- Invoices are kept up to date by the database: the application never inserts or totals them.
+-- A booking gets an invoice for its room, booking services are added to the service cost,
+-- and payments are added to the paid amount.
+
+DROP TRIGGER IF EXISTS trg_bookings_create_invoice;
+DROP TRIGGER IF EXISTS trg_booking_services_after_insert;
+DROP TRIGGER IF EXISTS trg_booking_services_after_update;
+DROP TRIGGER IF EXISTS trg_booking_services_after_delete;
+DROP TRIGGER IF EXISTS trg_payments_after_insert;
+
+DELIMITER $$
+
+CREATE TRIGGER trg_bookings_create_invoice AFTER INSERT ON bookings
+FOR EACH ROW
+BEGIN
+    DECLARE nightly_price DECIMAL(10,2);
+    SELECT price INTO nightly_price FROM rooms WHERE room_id = NEW.room_id;
+    INSERT INTO invoices (booking_id, issue_date, due_date, room_cost, service_cost, total_amount, paid_amount, invoice_status)
+    VALUES (NEW.booking_id, CURRENT_DATE, NEW.check_out_date,
+            COALESCE(nightly_price, 0) * GREATEST(DATEDIFF(NEW.check_out_date, NEW.check_in_date), 1), 0,
+            COALESCE(nightly_price, 0) * GREATEST(DATEDIFF(NEW.check_out_date, NEW.check_in_date), 1), 0, 'Pending');
+END$$
+
+CREATE TRIGGER trg_booking_services_after_insert AFTER INSERT ON booking_services
+FOR EACH ROW
+BEGIN
+    DECLARE line_cost DECIMAL(10,2);
+    SELECT price * NEW.quantity INTO line_cost FROM services WHERE service_id = NEW.service_id;
+    UPDATE invoices
+    SET service_cost = service_cost + COALESCE(line_cost, 0),
+        total_amount = total_amount + COALESCE(line_cost, 0)
+    WHERE booking_id = NEW.booking_id;
+END$$
+
+CREATE TRIGGER trg_booking_services_after_update AFTER UPDATE ON booking_services
+FOR EACH ROW
+BEGIN
+    DECLARE old_cost DECIMAL(10,2);
+    DECLARE new_cost DECIMAL(10,2);
+    SELECT price * OLD.quantity INTO old_cost FROM services WHERE service_id = OLD.service_id;
+    SELECT price * NEW.quantity INTO new_cost FROM services WHERE service_id = NEW.service_id;
+    UPDATE invoices
+    SET service_cost = service_cost - COALESCE(old_cost, 0),
+        total_amount = total_amount - COALESCE(old_cost, 0)
+    WHERE booking_id = OLD.booking_id;
+    UPDATE invoices
+    SET service_cost = service_cost + COALESCE(new_cost, 0),
+        total_amount = total_amount + COALESCE(new_cost, 0)
+    WHERE booking_id = NEW.booking_id;
+END$$
+
+CREATE TRIGGER trg_booking_services_after_delete AFTER DELETE ON booking_services
+FOR EACH ROW
+BEGIN
+    DECLARE line_cost DECIMAL(10,2);
+    SELECT price * OLD.quantity INTO line_cost FROM services WHERE service_id = OLD.service_id;
+    UPDATE invoices
+    SET service_cost = service_cost - COALESCE(line_cost, 0),
+        total_amount = total_amount - COALESCE(line_cost, 0)
+    WHERE booking_id = OLD.booking_id;
+END$$
+
+-- Referenced by PaymentDAO.addPayment: the payment updates its invoice's paid amount and status
+CREATE TRIGGER trg_payments_after_insert AFTER INSERT ON payments
+FOR EACH ROW
+BEGIN
+    -- MySQL applies the assignments in order, so the status sees the new paid amount
+    UPDATE invoices
+    SET paid_amount = paid_amount + NEW.amount,
+        invoice_status = CASE
+            WHEN paid_amount >= total_amount THEN 'Paid'
+            WHEN paid_amount > 0 THEN 'Partially Paid'
+            ELSE invoice_status
+        END
+    WHERE invoice_id = NEW.invoice_id;
+END$$
+
+DELIMITER ;
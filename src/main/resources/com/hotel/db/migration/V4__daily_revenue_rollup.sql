@@ -0,0 +1,11 @@
+-- Payment totals per business date and room type, maintained by PaymentDAOImpl.addPayment
+-- and filled for past dates by RevenueRollupBackfill.
+
+CREATE TABLE IF NOT EXISTS daily_revenue (
+    business_date DATE NOT NULL,
+    room_type VARCHAR(50) NOT NULL,
+    payment_count INT NOT NULL DEFAULT 0,
+    amount DECIMAL(12,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (business_date, room_type)
+);
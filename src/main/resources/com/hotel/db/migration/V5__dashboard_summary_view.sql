@@ -0,0 +1,31 @@
+-- The figures DashboardCounters keeps in memory, computed from the tables. The counters are
+-- reconciled against this view, so each column must count exactly what the counters count:
+-- room statuses compared trimmed and case-insensitively, today's check-ins and check-outs
+-- excluding cancelled bookings, and 30-day windows covering today and the 29 days before it.
+-- as_of_date is the database's CURRENT_DATE; the counters only compare on days they agree on it.
+
+CREATE OR REPLACE VIEW dashboard_summary AS
+SELECT
+    CURRENT_DATE AS as_of_date,
+    (SELECT COUNT(*) FROM rooms WHERE LOWER(TRIM(status)) = 'available') AS available_rooms,
+    (SELECT COUNT(*) FROM rooms WHERE LOWER(TRIM(status)) = 'cleaning') AS cleaning_rooms,
+    (SELECT COUNT(*) FROM rooms WHERE LOWER(TRIM(status)) = 'maintenance') AS maintenance_rooms,
+    (SELECT COUNT(*) FROM rooms WHERE LOWER(TRIM(status)) = 'out of service') AS out_of_service_rooms,
+    (SELECT COUNT(*) FROM rooms WHERE LOWER(TRIM(status)) = 'booked') AS booked_rooms,
+    (SELECT COUNT(*) FROM rooms WHERE LOWER(TRIM(status)) = 'occupied') AS occupied_rooms,
+    (SELECT COUNT(*) FROM rooms) AS total_rooms,
+    (SELECT COUNT(*) FROM staff) AS total_staff,
+    (SELECT COUNT(*) FROM bookings
+        WHERE created_at >= CURRENT_DATE AND created_at < CURRENT_DATE + INTERVAL 1 DAY) AS todays_bookings,
+    (SELECT COUNT(*) FROM bookings
+        WHERE check_in_date = CURRENT_DATE AND booking_status <> 'Cancelled') AS todays_check_ins,
+    (SELECT COUNT(*) FROM bookings
+        WHERE check_out_date = CURRENT_DATE AND booking_status <> 'Cancelled') AS todays_check_outs,
+    (SELECT COALESCE(AVG(rating), 0) FROM feedback
+        WHERE feedback_date >= CURRENT_DATE - INTERVAL 29 DAY
+          AND feedback_date < CURRENT_DATE + INTERVAL 1 DAY) AS avg_feedback_rating_30_days,
+    (SELECT COALESCE(SUM(amount), 0) FROM daily_revenue
+        WHERE business_date = CURRENT_DATE) AS todays_revenue,
+    (SELECT COALESCE(SUM(amount), 0) FROM daily_revenue
+        WHERE business_date >= CURRENT_DATE - INTERVAL 29 DAY
+          AND business_date <= CURRENT_DATE) AS revenue_last_30_days;
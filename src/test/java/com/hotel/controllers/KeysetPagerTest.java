@@ -0,0 +1,115 @@
+package com.hotel.controllers;
+
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeysetPagerTest {
+
+    private final List<Integer> rows = IntStream.rangeClosed(1, 23).boxed().collect(Collectors.toCollection(ArrayList::new));
+    private final KeysetPager<Integer> pager = new KeysetPager<>();
+
+    /**
+     * Answers page requests over {@link #rows} the way KeysetQuery answers them over a table sorted by id.
+     */
+    private Page<Integer> fetch(PageRequest request) {
+        boolean forward = request.getDirection() == PageRequest.Direction.FORWARD;
+        Page.Cursor anchor = request.getAnchor();
+        List<Integer> matching = rows.stream()
+                .filter(id -> anchor == null
+                        || (forward ? (request.isInclusive() ? id >= anchor.getId() : id > anchor.getId())
+                                    : id < anchor.getId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (!forward) {
+            Collections.reverse(matching);
+        }
+        boolean more = matching.size() > request.getPageSize();
+        List<Integer> items = new ArrayList<>(matching.subList(0, Math.min(matching.size(), request.getPageSize())));
+        if (!forward) {
+            Collections.reverse(items);
+        }
+        Page.Cursor first = items.isEmpty() ? null : new Page.Cursor(items.get(0), items.get(0));
+        Page.Cursor last = items.isEmpty() ? null : new Page.Cursor(items.get(items.size() - 1), items.get(items.size() - 1));
+        return new Page<>(items, first, last, forward ? anchor != null : more, forward ? more : anchor != null);
+    }
+
+    private KeysetPager.View<Integer> load() throws SQLException {
+        return pager.load(rows::size, this::fetch, 10);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    void loadShowsTheFirstPageAndCounts() throws SQLException {
+        KeysetPager.View<Integer> view = load();
+
+        assertEquals(range(1, 10), view.getItems());
+        assertEquals(1, view.getPageNumber());
+        assertEquals(23, view.getTotalItems());
+        assertEquals(3, view.getTotalPages());
+    }
+
+    @Test
+    void pagesForwardAndBack() throws SQLException {
+        load();
+
+        assertEquals(range(11, 20), pager.next().getItems());
+        KeysetPager.View<Integer> last = pager.next();
+        assertEquals(range(21, 23), last.getItems());
+        assertEquals(3, last.getPageNumber());
+        assertEquals(3, pager.next().getPageNumber()); // Already on the last page
+
+        KeysetPager.View<Integer> back = pager.previous();
+        assertEquals(range(11, 20), back.getItems());
+        assertEquals(2, back.getPageNumber());
+    }
+
+    @Test
+    void lastPageHasTheSameBoundariesAsPagingForward() throws SQLException {
+        load();
+
+        KeysetPager.View<Integer> last = pager.last();
+        assertEquals(range(21, 23), last.getItems());
+        assertEquals(3, last.getPageNumber());
+
+        assertEquals(range(11, 20), pager.previous().getItems());
+        assertEquals(range(1, 10), pager.previous().getItems());
+    }
+
+    @Test
+    void refreshKeepsThePageOnScreen() throws SQLException {
+        load();
+        pager.next();
+        rows.remove(Integer.valueOf(12));
+
+        KeysetPager.View<Integer> view = pager.refresh();
+
+        assertEquals(List.of(11, 13, 14, 15, 16, 17, 18, 19, 20, 21), view.getItems());
+        assertEquals(2, view.getPageNumber());
+        assertEquals(22, view.getTotalItems());
+    }
+
+    @Test
+    void refreshAfterTheLastPageWasDeletedShowsTheNewLastPage() throws SQLException {
+        load();
+        pager.last();
+        rows.removeAll(range(21, 23));
+
+        KeysetPager.View<Integer> view = pager.refresh();
+
+        assertEquals(range(11, 20), view.getItems());
+        assertEquals(2, view.getPageNumber());
+        assertEquals(2, view.getTotalPages());
+    }
+}
@@ -0,0 +1,147 @@
+package com.hotel.dao;
+
+import com.hotel.model.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OccupancyCalendarTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 15);
+
+    private final AtomicReference<LocalDate> businessDate = new AtomicReference<>(TODAY);
+    private final FakeSource source = new FakeSource();
+    private final OccupancyCalendar calendar = new OccupancyCalendar(source, businessDate::get);
+
+    /**
+     * Rooms and bookings held in memory, filtered the way the database query filters them.
+     */
+    private static class FakeSource implements OccupancyCalendar.Source {
+        private final List<Integer> roomIds = new ArrayList<>(List.of(1, 2));
+        private final List<Booking> bookings = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public List<Integer> readRoomIds() {
+            return roomIds;
+        }
+
+        @Override
+        public List<Booking> readBookings(LocalDate from, LocalDate to) throws SQLException {
+            if (failing) {
+                throw new SQLException("Connection lost");
+            }
+            return bookings.stream()
+                    .filter(b -> !"Cancelled".equals(b.getBookingStatus()))
+                    .filter(b -> b.getCheckOutDate().isAfter(from) && b.getCheckInDate().isBefore(to))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Booking booking(int bookingId, int roomId, LocalDate checkIn, LocalDate checkOut, String status) {
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setRoomId(roomId);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setBookingStatus(status);
+        return booking;
+    }
+
+    private static BitSet nights(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    @Test
+    void paintsEachNightOfAStay() throws SQLException {
+        source.bookings.add(booking(1, 1, TODAY, TODAY.plusDays(3), "Confirmed"));
+
+        assertEquals(nights(0, 1, 2), calendar.getRoomOccupancy(1, TODAY, TODAY.plusDays(5)));
+        assertEquals(nights(), calendar.getRoomOccupancy(2, TODAY, TODAY.plusDays(5)));
+        assertEquals(3, calendar.countOccupiedRoomNights(TODAY.minusDays(10), TODAY.plusDays(10)));
+    }
+
+    @Test
+    void paintsStaysAcrossWordBoundaries() throws SQLException {
+        source.bookings.add(booking(1, 1, TODAY.minusDays(100), TODAY.plusDays(100), "Checked-in"));
+
+        assertEquals(200, calendar.countOccupiedRoomNights(TODAY.minusDays(365), TODAY.plusDays(365)));
+        int[] counts = calendar.getOccupiedRoomCounts(TODAY.minusDays(101), TODAY.minusDays(99));
+        assertEquals(0, counts[0]);
+        assertEquals(1, counts[1]);
+    }
+
+    @Test
+    void checkedOutStayEndsToday() throws SQLException {
+        source.bookings.add(booking(1, 1, TODAY.minusDays(2), TODAY.plusDays(3), "Checked-out"));
+
+        assertEquals(nights(0, 1), calendar.getRoomOccupancy(1, TODAY.minusDays(2), TODAY.plusDays(3)));
+    }
+
+    @Test
+    void removingABookingKeepsOverlappingStays() throws SQLException {
+        source.bookings.add(booking(1, 1, TODAY, TODAY.plusDays(4), "Confirmed"));
+        source.bookings.add(booking(2, 1, TODAY.plusDays(2), TODAY.plusDays(6), "Confirmed"));
+        calendar.reload();
+
+        calendar.removeBooking(1);
+
+        assertEquals(nights(2, 3, 4, 5), calendar.getRoomOccupancy(1, TODAY, TODAY.plusDays(6)));
+    }
+
+    @Test
+    void cancellingABookingFreesItsNights() throws SQLException {
+        calendar.reload();
+        calendar.recordBooking(booking(1, 2, TODAY, TODAY.plusDays(2), "Confirmed"));
+        assertEquals(List.of(1), calendar.findRoomsFreeFor(TODAY, 2));
+
+        calendar.recordBooking(booking(1, 2, TODAY, TODAY.plusDays(2), "Cancelled"));
+
+        assertEquals(List.of(1, 2), calendar.findRoomsFreeFor(TODAY, 2));
+    }
+
+    @Test
+    void rolloverDropsPastStaysAndPaintsNewlyExposedNights() throws SQLException {
+        LocalDate firstNight = TODAY.minusDays(365);
+        LocalDate beyondWindow = TODAY.plusDays(365);
+        source.bookings.add(booking(1, 1, firstNight, firstNight.plusDays(1), "Checked-out"));
+        source.bookings.add(booking(2, 2, beyondWindow, beyondWindow.plusDays(2), "Confirmed"));
+        source.bookings.add(booking(3, 1, TODAY, TODAY.plusDays(1), "Confirmed"));
+        assertEquals(firstNight, calendar.getWindowStart());
+        assertEquals(nights(), calendar.getRoomOccupancy(2, beyondWindow, beyondWindow.plusDays(2)));
+
+        businessDate.set(TODAY.plusDays(1));
+
+        assertEquals(firstNight.plusDays(1), calendar.getWindowStart());
+        assertEquals(nights(0), calendar.getRoomOccupancy(2, beyondWindow, beyondWindow.plusDays(2)));
+        assertEquals(nights(0), calendar.getRoomOccupancy(1, TODAY, TODAY.plusDays(1)));
+        assertEquals(2, calendar.countOccupiedRoomNights(firstNight, beyondWindow.plusDays(2)));
+    }
+
+    @Test
+    void failedRolloverIsRetried() throws SQLException {
+        LocalDate beyondWindow = TODAY.plusDays(365);
+        source.bookings.add(booking(1, 1, beyondWindow, beyondWindow.plusDays(1), "Confirmed"));
+        calendar.reload();
+
+        businessDate.set(TODAY.plusDays(1));
+        source.failing = true;
+        assertThrows(SQLException.class, calendar::getWindowStart);
+
+        source.failing = false;
+        assertEquals(nights(0), calendar.getRoomOccupancy(1, beyondWindow, beyondWindow.plusDays(1)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomStaysTest {
+
+    private static RoomAvailabilityIndex.RoomStays roomWith(long[]... stays) {
+        RoomAvailabilityIndex.RoomStays roomStays = new RoomAvailabilityIndex.RoomStays();
+        int bookingId = 1;
+        for (long[] stay : stays) {
+            roomStays.add(new RoomAvailabilityIndex.Stay(bookingId++, 7, stay[0], stay[1]));
+        }
+        return roomStays;
+    }
+
+    @Test
+    void checkOutNightIsFreeForTheNextArrival() {
+        RoomAvailabilityIndex.RoomStays room = roomWith(new long[] {10, 13});
+
+        assertTrue(room.overlaps(12, 14));
+        assertTrue(room.overlaps(9, 11));
+        assertFalse(room.overlaps(13, 15));
+        assertFalse(room.overlaps(8, 10));
+    }
+
+    @Test
+    void findsLongStayBehindShorterLaterStays() {
+        // Walking back from the query meets the short stays first; only the longest stay bound
+        // tells the scan that the long stay starting earlier may still reach the query
+        RoomAvailabilityIndex.RoomStays room = roomWith(new long[] {0, 30}, new long[] {25, 26}, new long[] {26, 27});
+
+        assertTrue(room.overlaps(27, 28));
+    }
+
+    @Test
+    void stopsAtStaysThatStartTooEarlyToReachTheQuery() {
+        RoomAvailabilityIndex.RoomStays room = roomWith(new long[] {0, 2}, new long[] {5, 6}, new long[] {20, 22});
+
+        assertFalse(room.overlaps(3, 5));
+        assertFalse(room.overlaps(10, 20));
+        assertTrue(room.overlaps(10, 21));
+    }
+
+    @Test
+    void removedStayNoLongerOverlaps() {
+        RoomAvailabilityIndex.RoomStays room = new RoomAvailabilityIndex.RoomStays();
+        RoomAvailabilityIndex.Stay stay = new RoomAvailabilityIndex.Stay(1, 7, 10, 40);
+        room.add(stay);
+        room.add(new RoomAvailabilityIndex.Stay(2, 7, 50, 52));
+
+        room.remove(stay);
+
+        assertFalse(room.overlaps(20, 30));
+        assertTrue(room.overlaps(51, 53));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hotel.dao.impl;
+
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class KeysetQueryTest {
+
+    private static KeysetQuery customers() {
+        return new KeysetQuery("customer_id, last_name", "customers", "last_name", "customer_id")
+                .where("number_of_adults >= ?", 2);
+    }
+
+    @Test
+    void firstPageReadsOneRowMoreThanThePageSize() {
+        List<Object> parameters = new ArrayList<>();
+
+        String sql = customers().pageSql(PageRequest.first(10), parameters);
+
+        assertEquals("SELECT customer_id, last_name FROM customers WHERE (number_of_adults >= ?)"
+                + " ORDER BY last_name, customer_id LIMIT ?", sql);
+        assertEquals(List.of(2, 11), parameters);
+    }
+
+    @Test
+    void nextPageSeeksPastTheLastCursor() {
+        List<Object> parameters = new ArrayList<>();
+
+        String sql = customers().pageSql(PageRequest.after(new Page.Cursor("Smith", 42), 10), parameters);
+
+        assertEquals("SELECT customer_id, last_name FROM customers WHERE (number_of_adults >= ?)"
+                + " AND (last_name > ? OR (last_name = ? AND customer_id > ?))"
+                + " ORDER BY last_name, customer_id LIMIT ?", sql);
+        assertEquals(List.of(2, "Smith", "Smith", 42, 11), parameters);
+    }
+
+    @Test
+    void previousPageSeeksBackwardsInReverseOrder() {
+        List<Object> parameters = new ArrayList<>();
+
+        String sql = customers().pageSql(PageRequest.before(new Page.Cursor("Smith", 42), 10), parameters);
+
+        assertEquals("SELECT customer_id, last_name FROM customers WHERE (number_of_adults >= ?)"
+                + " AND (last_name < ? OR (last_name = ? AND customer_id < ?))"
+                + " ORDER BY last_name DESC, customer_id DESC LIMIT ?", sql);
+        assertEquals(List.of(2, "Smith", "Smith", 42, 11), parameters);
+    }
+
+    @Test
+    void refreshIncludesTheAnchorRow() {
+        List<Object> parameters = new ArrayList<>();
+        KeysetQuery byId = new KeysetQuery("room_id, room_number", "rooms", "room_id", "room_id");
+
+        String sql = byId.pageSql(PageRequest.startingAt(new Page.Cursor(7, 7), 5), parameters);
+
+        assertEquals("SELECT room_id, room_number FROM rooms WHERE room_id >= ? ORDER BY room_id LIMIT ?", sql);
+        assertEquals(List.of(7, 6), parameters);
+    }
+
+    @Test
+    void likePrefixEscapesWildcards() {
+        assertEquals("50\\%\\_off\\\\%", KeysetQuery.likePrefix("50%_off\\"));
+    }
+
+    @Test
+    void parseIdAcceptsOnlyWholeNumbers() {
+        assertEquals(Integer.valueOf(12), KeysetQuery.parseId(" 12 "));
+        assertNull(KeysetQuery.parseId("12a"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.hotel.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruCacheTest {
+
+    private final LruCache<Integer, String> cache = new LruCache<>("test", 2, Duration.ofMinutes(5));
+
+    @Test
+    void loadsOnceThenHits() throws SQLException {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, () -> "one-" + loads.incrementAndGet());
+        String value = cache.get(1, () -> "one-" + loads.incrementAndGet());
+
+        assertEquals("one-1", value);
+        assertEquals(1, cache.getStatistics().getHits());
+        assertEquals(1, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    void invalidationDuringLoadKeepsTheLoadedValueOutOfTheCache() throws SQLException {
+        String value = cache.get(1, () -> {
+            cache.invalidate(1); // A write committed while the read was in flight
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertNull(cache.peek(1));
+        assertEquals("fresh", cache.get(1, () -> "fresh"));
+        assertEquals("fresh", cache.peek(1));
+    }
+
+    @Test
+    void putIfUnchangedRejectsValuesReadBeforeAnInvalidation() {
+        long version = cache.currentVersion();
+        cache.invalidateAll();
+
+        assertFalse(cache.putIfUnchanged(1, "stale", version));
+        assertTrue(cache.putIfUnchanged(1, "fresh", cache.currentVersion()));
+        assertEquals("fresh", cache.peek(1));
+    }
+
+    @Test
+    void invalidatingOneKeyAlsoVoidsLoadsOfOtherKeys() {
+        long version = cache.currentVersion();
+        cache.invalidate(2);
+
+        assertFalse(cache.putIfUnchanged(1, "one", version));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() throws SQLException {
+        cache.get(1, () -> "one");
+        cache.get(2, () -> "two");
+        cache.get(1, () -> "one");
+
+        cache.get(3, () -> "three");
+
+        assertEquals("one", cache.peek(1));
+        assertNull(cache.peek(2));
+        assertEquals("three", cache.peek(3));
+        assertEquals(1, cache.getStatistics().getEvictions());
+    }
+}
@@ -0,0 +1,99 @@
+package com.hotel.util;
+
+import com.hotel.model.OccupancyReportRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OccupancyAggregatorTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 5, 1);
+    private static final LocalDate MIDDLE = FROM.plusDays(5);
+    private static final LocalDate TO = FROM.plusDays(10);
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * Feeds the same inventory and stays to an aggregator, as every range of one report sees them.
+     */
+    private static OccupancyAggregator aggregate(LocalDate from, LocalDate toExclusive) {
+        OccupancyAggregator aggregator = new OccupancyAggregator(from, toExclusive);
+        aggregator.roomGroup("Double", 1, 4);
+        aggregator.roomGroup("Suite", 2, 1);
+        // Crosses the middle of the range: three nights in the first half, two in the second
+        aggregator.stay(day(FROM.plusDays(2)), day(FROM.plusDays(7)), "Double", 1, 500_01, 2);
+        aggregator.stay(day(FROM), day(FROM.plusDays(1)), "Suite", 2, 300_00, 1);
+        aggregator.stay(day(FROM.plusDays(8)), day(FROM.plusDays(12)), "Double", 1, 400_00, 3);
+        return aggregator;
+    }
+
+    private static void assertSameRows(List<OccupancyReportRow> expected, List<OccupancyReportRow> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            OccupancyReportRow e = expected.get(i);
+            OccupancyReportRow a = actual.get(i);
+            assertEquals(e.getDate(), a.getDate());
+            assertEquals(e.getRoomType(), a.getRoomType());
+            assertEquals(e.getFloor(), a.getFloor());
+            assertEquals(e.getRoomsAvailable(), a.getRoomsAvailable());
+            assertEquals(e.getRoomNightsSold(), a.getRoomNightsSold());
+            assertEquals(e.getGuestNights(), a.getGuestNights());
+            assertEquals(e.getArrivals(), a.getArrivals());
+            assertEquals(e.getAverageLengthOfStay(), a.getAverageLengthOfStay());
+            assertEquals(e.getRoomRevenue(), a.getRoomRevenue());
+        }
+    }
+
+    @Test
+    void mergingAdjacentRangesMatchesOnePass() {
+        OccupancyAggregator whole = aggregate(FROM, TO);
+        OccupancyAggregator merged = new OccupancyAggregator(FROM, TO);
+        merged.roomGroup("Double", 1, 4);
+        merged.roomGroup("Suite", 2, 1);
+
+        // In reverse order, as parallel workers may finish
+        merged.merge(aggregate(MIDDLE, TO));
+        merged.merge(aggregate(FROM, MIDDLE));
+
+        assertSameRows(whole.toRows(), merged.toRows());
+        assertSameRows(List.of(whole.totals()), List.of(merged.totals()));
+    }
+
+    @Test
+    void mergeIntoAnEmptyAggregatorTakesTheInventory() {
+        OccupancyAggregator merged = new OccupancyAggregator(FROM, TO);
+
+        merged.merge(aggregate(FROM, MIDDLE));
+        merged.merge(aggregate(MIDDLE, TO));
+
+        assertEquals(50, merged.totals().getRoomsAvailable());
+    }
+
+    @Test
+    void staySpanningBothRangesArrivesOnce() {
+        OccupancyAggregator merged = new OccupancyAggregator(FROM, TO);
+        merged.merge(aggregate(FROM, MIDDLE));
+        merged.merge(aggregate(MIDDLE, TO));
+
+        OccupancyReportRow totals = merged.totals();
+
+        assertEquals(3, totals.getArrivals());
+        assertEquals(5 + 1 + 2, totals.getRoomNightsSold());
+        // 500.01 over five nights, 300.00 for one, and two of the four 100.00 nights
+        assertEquals(new BigDecimal("1000.01"), totals.getRoomRevenue());
+    }
+
+    @Test
+    void rejectsRangesOutsideItsOwn() {
+        OccupancyAggregator first = new OccupancyAggregator(FROM, MIDDLE);
+
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new OccupancyAggregator(FROM, TO)));
+    }
+}
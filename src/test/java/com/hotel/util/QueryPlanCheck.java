@@ -0,0 +1,649 @@
+package com.hotel.util;
+
+import com.hotel.dao.AnalyticsDAO;
+import com.hotel.dao.BookingDAO;
+import com.hotel.dao.BookingServiceDAO;
+import com.hotel.dao.CustomerDAO;
+import com.hotel.dao.DashboardDAO;
+import com.hotel.dao.FeedbackDAO;
+import com.hotel.dao.InvoiceDAO;
+import com.hotel.dao.Page;
+import com.hotel.dao.PageRequest;
+import com.hotel.dao.PaymentDAO;
+import com.hotel.dao.ReportDAO;
+import com.hotel.dao.RevenueRollupDAO;
+import com.hotel.dao.RoomDAO;
+import com.hotel.dao.ServiceDAO;
+import com.hotel.dao.StaffDAO;
+import com.hotel.dao.UserDAO;
+import com.hotel.dao.impl.AnalyticsDAOImpl;
+import com.hotel.dao.impl.BookingDAOImpl;
+import com.hotel.dao.impl.BookingServiceDAOImpl;
+import com.hotel.dao.impl.CustomerDAOImpl;
+import com.hotel.dao.impl.DashboardDAOImpl;
+import com.hotel.dao.impl.FeedbackDAOImpl;
+import com.hotel.dao.impl.InvoiceDAOImpl;
+import com.hotel.dao.impl.PaymentDAOImpl;
+import com.hotel.dao.impl.ReportDAOImpl;
+import com.hotel.dao.impl.RevenueRollupDAOImpl;
+import com.hotel.dao.impl.RoomDAOImpl;
+import com.hotel.dao.impl.ServiceDAOImpl;
+import com.hotel.dao.impl.StaffDAOImpl;
+import com.hotel.dao.impl.UserDAOImpl;
+import com.hotel.model.Booking;
+import com.hotel.model.BookingService;
+import com.hotel.model.Customer;
+import com.hotel.model.Room;
+import com.hotel.model.Staff;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Catches query plan regressions before they reach the front desk.
+ *
+ * Calls every method of every DAO in com.hotel.dao.impl with representative parameters taken from the
+ * database, records each statement the call executes together with its bound parameters, runs EXPLAIN on
+ * it and compares the plan with a baseline file. The check fails when a table that was read through an
+ * index is now fully scanned (access type ALL or index), or when the rows a table access examines grew past
+ * {@code hotel.planCheck.maxRowsGrowth} times the baseline (default 2) and by at least
+ * {@code hotel.planCheck.minRowsIncrease} rows (default 1000). A DAO method without a representative call
+ * below also fails the check, so new DAO methods cannot slip past it.
+ *
+ * Statements that change data are captured but never executed, so the check is safe to run against any
+ * database; plans are only meaningful against one seeded with realistic volumes. Point it there with
+ * -Dhotel.db.url, -Dhotel.db.user and -Dhotel.db.password, and run it with {@code mvn -Pplan-check verify}.
+ * The baseline (hotel.planCheck.baseline, default query-plans.tsv) is written on the first run and
+ * rewritten with -Dhotel.planCheck.record=true once a plan change has been reviewed.
+ * -Dhotel.planCheck.maxRows additionally fails any table access estimated above that many rows.
+ */
+public class QueryPlanCheck {
+
+    private static final String DAO_IMPL_PACKAGE = "com.hotel.dao.impl";
+    private static final String DAO_PACKAGE = "com.hotel.dao";
+
+    /**
+     * One row of EXPLAIN output: how one table is read.
+     */
+    static final class Access {
+        private final String id;
+        private final String table;
+        private final String type;
+        private final String key;
+        private final long rows;
+
+        Access(String id, String table, String type, String key, long rows) {
+            this.id = id;
+            this.table = table;
+            this.type = type;
+            this.key = key;
+            this.rows = rows;
+        }
+
+        String position() {
+            return id + ":" + table;
+        }
+
+        boolean isFullScan() {
+            return "ALL".equals(type) || "index".equals(type);
+        }
+
+        @Override
+        public String toString() {
+            return table + " " + type + (key != null ? " via " + key : "") + ", " + rows + " rows";
+        }
+    }
+
+    /**
+     * One distinct statement, the DAO methods that issue it and its current plan.
+     */
+    static final class CheckedStatement {
+        private final String sql;
+        private final List<Object> parameters;
+        private final Set<String> callers = new TreeSet<>();
+        private List<Access> plan = Collections.emptyList();
+
+        CheckedStatement(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        String key() {
+            return statementKey(sql);
+        }
+    }
+
+    private final double maxRowsGrowth;
+    private final long minRowsIncrease;
+    private final long maxRows;
+
+    private final List<StatementCapture.Captured> captured = new ArrayList<>();
+    private final Set<String> calledMethods = new TreeSet<>();
+    private final List<String> callFailures = new ArrayList<>();
+
+    public QueryPlanCheck(double maxRowsGrowth, long minRowsIncrease, long maxRows) {
+        this.maxRowsGrowth = maxRowsGrowth;
+        this.minRowsIncrease = minRowsIncrease;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Runs the check against the database the connection pool points at.
+     *
+     * @param baseline the baseline file; written instead of compared against when it does not exist or {@code record} is set
+     * @return the regressions found, empty when the check passed
+     */
+    public List<String> run(Path baseline, boolean record) throws SQLException, IOException {
+        StatementCapture.install();
+        try {
+            exerciseDaos();
+        } finally {
+            StatementCapture.uninstall();
+        }
+        List<String> problems = new ArrayList<>(findUncoveredMethods());
+        Map<String, CheckedStatement> statements = explainAll();
+
+        for (String failure : callFailures) {
+            System.out.println("  note: " + failure);
+        }
+        if (record || !Files.exists(baseline)) {
+            writeBaseline(baseline, statements.values());
+            System.out.println("Query plan baseline written to " + baseline + " (" + statements.size() + " statements)");
+            return problems;
+        }
+        problems.addAll(compare(readBaseline(baseline), statements));
+        return problems;
+    }
+
+    /**
+     * Calls every DAO method once, or twice where the SQL depends on the arguments. Ids, names and
+     * dates are taken from existing rows so that lookups hit data the way the application's do.
+     */
+    private void exerciseDaos() throws SQLException {
+        LocalDate today = BusinessDateService.getInstance().getBusinessDate();
+        LocalDate monthAgo = today.minusDays(30);
+        int bookingId = sampleInt("SELECT MIN(booking_id) FROM bookings");
+        int customerId = sampleInt("SELECT MIN(customer_id) FROM customers");
+        int roomId = sampleInt("SELECT MIN(room_id) FROM rooms");
+        int roomNumber = sampleInt("SELECT MIN(CAST(room_number AS UNSIGNED)) FROM rooms");
+        String roomNumberText = sampleString("SELECT MIN(room_number) FROM rooms");
+        String roomType = sampleString("SELECT MIN(type) FROM rooms");
+        String lastNamePrefix = prefix(sampleString("SELECT MIN(last_name) FROM customers"));
+        String serviceNamePrefix = prefix(sampleString("SELECT MIN(service_name) FROM services"));
+        int serviceId = sampleInt("SELECT MIN(service_id) FROM services");
+        int bookingServiceId = sampleInt("SELECT MIN(booking_service_id) FROM booking_services");
+        int invoiceId = sampleInt("SELECT MIN(invoice_id) FROM invoices");
+        int paymentId = sampleInt("SELECT MIN(payment_id) FROM payments");
+        int feedbackId = sampleInt("SELECT MIN(feedback_id) FROM feedback");
+        int staffId = sampleInt("SELECT MIN(user_id) FROM staff");
+        String position = sampleString("SELECT MIN(position) FROM staff");
+        String username = sampleString("SELECT MIN(username) FROM users");
+        int userId = sampleInt("SELECT MIN(user_id) FROM users");
+        int pageSize = 50;
+
+        BookingDAO bookings = dao(BookingDAO.class, new BookingDAOImpl());
+        Booking booking = bookings.findById(bookingId).orElse(null);
+        bookings.findAll();
+        bookings.getAllBookings();
+        bookings.addBooking(booking);
+        bookings.updateBooking(booking);
+        bookings.deleteBooking(bookingId);
+        bookings.updateBookingStatus(bookingId, "Checked-In");
+        bookings.findByDateRange(monthAgo, today);
+        bookings.findByCustomerId(customerId);
+        bookings.findByRoomNumber(roomNumber);
+        bookings.findByRoomId(roomId);
+        bookings.findBookingDetails(bookingId);
+        bookings.getAllAvailableRooms(today, today.plusDays(3));
+        Page<Booking> bookingPage = bookings.findPage(null, null, null, PageRequest.first(pageSize));
+        if (bookingPage != null && bookingPage.hasNext()) {
+            bookings.findPage(null, null, null, PageRequest.after(bookingPage.getLast(), pageSize));
+        }
+        bookings.findPage(lastNamePrefix, monthAgo, today, PageRequest.first(pageSize));
+        bookings.countBookings(null, null, null);
+        bookings.countBookings(lastNamePrefix, monthAgo, today);
+        bookings.getCheckedInGuestsCount();
+        bookings.getExpectedCheckInsToday();
+        bookings.getExpectedCheckOutsToday();
+        bookings.getNewBookingsToday();
+        bookings.getRevenueToday();
+
+        BookingServiceDAO bookingServices = dao(BookingServiceDAO.class, new BookingServiceDAOImpl());
+        List<BookingService> servicesOfBooking = bookingServices.getBookingServicesByBookingId(bookingId);
+        BookingService bookingService = servicesOfBooking.isEmpty() ? null : servicesOfBooking.get(0);
+        bookingServices.addBookingService(bookingService);
+        bookingServices.updateBookingService(bookingService);
+        bookingServices.deleteBookingService(bookingServiceId);
+        bookingServices.getAllBookingServices();
+        bookingServices.getAllBookingServicesWithDetails();
+
+        CustomerDAO customers = dao(CustomerDAO.class, new CustomerDAOImpl());
+        Customer customer = customers.findById(customerId).orElse(null);
+        customers.findAll();
+        customers.addCustomer(customer);
+        customers.updateCustomer(customer);
+        customers.deleteCustomer(customerId);
+        customers.findByName(lastNamePrefix);
+        Page<Customer> customerPage = customers.findPage(null, null, null, null, null, PageRequest.first(pageSize));
+        if (customerPage != null && customerPage.hasNext()) {
+            customers.findPage(null, null, null, null, null, PageRequest.after(customerPage.getLast(), pageSize));
+        }
+        customers.findPage(lastNamePrefix, 1, 4, 0, 2, PageRequest.first(pageSize));
+        customers.countCustomers(null, null, null, null, null);
+        customers.countCustomers(lastNamePrefix, 1, 4, 0, 2);
+
+        DashboardDAO dashboard = dao(DashboardDAO.class, new DashboardDAOImpl());
+        dashboard.refreshDashboardData();
+        dashboard.getDashboardSummary();
+
+        FeedbackDAO feedback = dao(FeedbackDAO.class, new FeedbackDAOImpl());
+        feedback.addFeedback(feedback.getFeedbackById(feedbackId));
+        feedback.getAllFeedback();
+        feedback.getFeedbackByCustomerId(customerId);
+        feedback.getFeedbackByBookingId(bookingId);
+        feedback.getAverageRating();
+
+        InvoiceDAO invoices = dao(InvoiceDAO.class, new InvoiceDAOImpl());
+        invoices.getAllInvoices();
+        invoices.getInvoiceDetails(invoiceId);
+        invoices.getBookingServicesForBooking(bookingId);
+        invoices.findInvoicesForExport(monthAgo, today, null);
+        invoices.findInvoicesForExport(monthAgo, today, "Pending");
+        invoices.getBookingServicesForBookings(Arrays.asList(bookingId, bookingId + 1, bookingId + 2));
+
+        PaymentDAO payments = dao(PaymentDAO.class, new PaymentDAOImpl());
+        payments.addPayment(payments.getPaymentDetailsForReceipt(paymentId));
+        payments.getAllPayments();
+        payments.countPayments();
+        payments.streamPayments(500, noOp(PaymentDAO.PaymentHandler.class));
+        payments.getAllInvoices();
+
+        ReportDAO reports = dao(ReportDAO.class, new ReportDAOImpl());
+        reports.loadRoomInventory(noOp(ReportDAO.InventoryHandler.class));
+        reports.streamStays(monthAgo, today, 500, noOp(ReportDAO.StayHandler.class));
+
+        RevenueRollupDAO revenue = dao(RevenueRollupDAO.class, new RevenueRollupDAOImpl());
+        revenue.getRevenue(monthAgo, today);
+        revenue.findDailyRevenue(monthAgo, today);
+        revenue.rebuild(monthAgo, today);
+        revenue.isEmpty();
+        revenue.findFirstPaymentDate();
+
+        RoomDAO rooms = dao(RoomDAO.class, new RoomDAOImpl());
+        Room room = rooms.findById(roomId).orElse(null);
+        rooms.findAll();
+        rooms.addRoom(room);
+        rooms.updateRoom(room);
+        rooms.deleteRoom(roomId);
+        rooms.findAvailableRooms();
+        Page<Room> roomPage = rooms.findPage(null, null, null, PageRequest.first(pageSize));
+        if (roomPage != null && roomPage.hasNext()) {
+            rooms.findPage(null, null, null, PageRequest.after(roomPage.getLast(), pageSize));
+        }
+        rooms.findPage(roomNumberText, roomType, "Available", PageRequest.first(pageSize));
+        rooms.countRooms(null, null, null);
+        rooms.countRooms(roomNumberText, roomType, "Available");
+        rooms.getAvailableRoomCount();
+        rooms.getOccupiedRoomCount();
+        rooms.getCheckedInGuestsCount();
+        rooms.getCheckOutsDueToday();
+        rooms.getExpectedCheckInsToday();
+        rooms.getReservationsToday();
+        rooms.getNewBookingsToday();
+        rooms.updateRoomStatus(roomNumberText, "Maintenance");
+        rooms.getTotalRoomCount();
+
+        ServiceDAO services = dao(ServiceDAO.class, new ServiceDAOImpl());
+        com.hotel.model.Service service = services.getServiceById(serviceId);
+        services.getAllServices();
+        services.addService(service);
+        services.updateService(service);
+        services.deleteService(serviceId);
+        Page<com.hotel.model.Service> servicePage = services.findPage(null, PageRequest.first(pageSize));
+        if (servicePage != null && servicePage.hasNext()) {
+            services.findPage(null, PageRequest.after(servicePage.getLast(), pageSize));
+        }
+        services.findPage(serviceNamePrefix, PageRequest.first(pageSize));
+        services.countServices(null);
+        services.countServices(serviceNamePrefix);
+
+        StaffDAO staff = dao(StaffDAO.class, new StaffDAOImpl());
+        Staff staffMember = staff.findById(staffId).orElse(null);
+        staff.findAll();
+        staff.addStaff(staffMember);
+        staff.updateStaff(staffMember);
+        staff.deleteStaff(staffId);
+        staff.findByPosition(position);
+
+        UserDAO users = dao(UserDAO.class, new UserDAOImpl());
+        users.addUser(users.findByUsername(username).orElse(null));
+        users.updateUser(users.findByUsername(username).orElse(null));
+        users.deleteUser(userId);
+
+        AnalyticsDAO analytics = dao(AnalyticsDAO.class, new AnalyticsDAOImpl());
+        analytics.streamBookings(0, 1000, noOp(AnalyticsDAO.BookingRowHandler.class));
+        analytics.streamInvoices(0, 1000, noOp(AnalyticsDAO.InvoiceRowHandler.class));
+        analytics.streamPayments(0, 1000, noOp(AnalyticsDAO.PaymentRowHandler.class));
+    }
+
+    /**
+     * Wraps a DAO so that each call records its statements, labelled with the method, and a call that
+     * throws is noted and answered with an empty value rather than ending the run. Write calls often
+     * fail on purpose: their statements are not executed, so they see no generated keys.
+     */
+    private <T> T dao(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            String caller = target.getClass().getSimpleName() + "." + method.getName();
+            calledMethods.add(signature(method));
+            StatementCapture.begin(caller, captured);
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                callFailures.add(caller + " threw " + e.getCause());
+                return emptyValue(method.getReturnType());
+            } finally {
+                StatementCapture.end();
+            }
+        }));
+    }
+
+    private static <T> T noOp(Class<T> handlerType) {
+        return handlerType.cast(Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[] { handlerType },
+                (proxy, method, args) -> emptyValue(method.getReturnType())));
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == Optional.class) return Optional.empty();
+        if (type == List.class) return Collections.emptyList();
+        if (type == Map.class) return Collections.emptyMap();
+        return null;
+    }
+
+    private static int sampleInt(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 1;
+        }
+    }
+
+    private static String sampleString(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            String value = rs.next() ? rs.getString(1) : null;
+            return value != null ? value : "A";
+        }
+    }
+
+    private static String prefix(String value) {
+        return value.length() > 3 ? value.substring(0, 3) : value;
+    }
+
+    /**
+     * Lists the DAO interface methods of the classes in com.hotel.dao.impl that {@link #exerciseDaos()} did not call.
+     */
+    private List<String> findUncoveredMethods() throws IOException {
+        List<String> problems = new ArrayList<>();
+        for (Class<?> implementation : findDaoImplementations()) {
+            Set<String> interfaceMethods = new TreeSet<>();
+            for (Class<?> daoInterface : implementation.getInterfaces()) {
+                if (!daoInterface.getPackage().getName().equals(DAO_PACKAGE)) {
+                    continue;
+                }
+                for (Method method : daoInterface.getMethods()) {
+                    if (Modifier.isStatic(method.getModifiers())) {
+                        continue;
+                    }
+                    interfaceMethods.add(method.getName() + Arrays.toString(method.getParameterTypes()));
+                    if (!calledMethods.contains(signature(method))) {
+                        problems.add("No representative call for " + signature(method)
+                                + "; add one to QueryPlanCheck.exerciseDaos");
+                    }
+                }
+            }
+            for (Method method : implementation.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && !method.isSynthetic()
+                        && !interfaceMethods.contains(method.getName() + Arrays.toString(method.getParameterTypes()))) {
+                    System.out.println("  note: " + implementation.getSimpleName() + "." + method.getName()
+                            + " is not on a DAO interface and is not checked");
+                }
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Finds the public DAO implementations by listing the package on the class path, in a directory or a jar.
+     */
+    static List<Class<?>> findDaoImplementations() throws IOException {
+        String path = DAO_IMPL_PACKAGE.replace('.', '/');
+        URL url = QueryPlanCheck.class.getClassLoader().getResource(path);
+        if (url == null) {
+            throw new IOException("Package " + DAO_IMPL_PACKAGE + " not found on the class path");
+        }
+        List<String> classNames = new ArrayList<>();
+        if ("jar".equals(url.getProtocol())) {
+            JarURLConnection connection = (JarURLConnection) url.openConnection();
+            connection.setUseCaches(false);
+            try (JarFile jar = connection.getJarFile()) {
+                Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    String name = entries.nextElement().getName();
+                    if (name.startsWith(path + "/") && name.indexOf('/', path.length() + 1) < 0) {
+                        classNames.add(name.substring(path.length() + 1));
+                    }
+                }
+            }
+        } else {
+            try (Stream<Path> files = Files.list(Paths.get(url.toURI()))) {
+                files.forEach(file -> classNames.add(file.getFileName().toString()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Cannot list " + url, e);
+            }
+        }
+
+        List<Class<?>> implementations = new ArrayList<>();
+        for (String fileName : classNames) {
+            if (!fileName.endsWith(".class") || fileName.contains("$")) {
+                continue;
+            }
+            String className = DAO_IMPL_PACKAGE + "." + fileName.substring(0, fileName.length() - ".class".length());
+            try {
+                Class<?> type = Class.forName(className);
+                int modifiers = type.getModifiers();
+                if (Modifier.isPublic(modifiers) && !Modifier.isAbstract(modifiers) && !type.isInterface()) {
+                    implementations.add(type);
+                }
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Cannot load " + className, e);
+            }
+        }
+        return implementations;
+    }
+
+    private static String signature(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName)
+                        .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private Map<String, CheckedStatement> explainAll() throws SQLException {
+        Map<String, CheckedStatement> statements = new LinkedHashMap<>();
+        for (StatementCapture.Captured capture : captured) {
+            String sql = normalize(capture.getSql());
+            CheckedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = new CheckedStatement(sql, capture.getParameters());
+                statements.put(sql, statement);
+            }
+            statement.callers.add(capture.getCaller());
+        }
+        for (CheckedStatement statement : statements.values()) {
+            try {
+                statement.plan = explain(statement.sql, statement.parameters);
+            } catch (SQLException e) {
+                callFailures.add("EXPLAIN failed for " + statement.callers + ": " + e.getMessage());
+            }
+        }
+        Map<String, CheckedStatement> byKey = new LinkedHashMap<>();
+        for (CheckedStatement statement : statements.values()) {
+            byKey.put(statement.key(), statement);
+        }
+        return byKey;
+    }
+
+    private static List<Access> explain(String sql, List<Object> parameters) throws SQLException {
+        List<Access> plan = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String selectType = rs.getString("select_type");
+                    String type = rs.getString("type");
+                    // Rows written by INSERT or REPLACE are not read; "no matching row" and similar have no access type
+                    if (type == null || "INSERT".equals(selectType) || "REPLACE".equals(selectType)) {
+                        continue;
+                    }
+                    plan.add(new Access(rs.getString("id"), rs.getString("table"), type, rs.getString("key"),
+                            rs.getLong("rows")));
+                }
+            }
+        }
+        return plan;
+    }
+
+    private List<String> compare(Map<String, List<Access>> baseline, Map<String, CheckedStatement> statements) {
+        List<String> problems = new ArrayList<>();
+        for (CheckedStatement statement : statements.values()) {
+            String label = String.join(", ", statement.callers);
+            List<Access> previous = baseline.get(statement.key());
+            if (previous == null) {
+                System.out.println("  new statement in " + label + ": " + statement.plan);
+            }
+            Map<String, Access> previousByPosition = new HashMap<>();
+            if (previous != null) {
+                for (Access access : previous) {
+                    previousByPosition.put(access.position(), access);
+                }
+                if (previous.size() != statement.plan.size()) {
+                    System.out.println("  plan changed in " + label + ": " + previous + " -> " + statement.plan);
+                }
+            }
+            for (Access access : statement.plan) {
+                if (maxRows > 0 && access.rows > maxRows) {
+                    problems.add(label + ": " + access + " exceeds " + maxRows + " rows\n    " + statement.sql);
+                }
+                Access before = previousByPosition.get(access.position());
+                if (before == null) {
+                    continue;
+                }
+                if (access.isFullScan() && !before.isFullScan()) {
+                    problems.add(label + ": " + access + ", was " + before + "\n    " + statement.sql);
+                } else if (access.rows > before.rows * maxRowsGrowth && access.rows - before.rows >= minRowsIncrease) {
+                    problems.add(label + ": " + access + ", was " + before.rows + " rows\n    " + statement.sql);
+                }
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!statements.containsKey(key)) {
+                System.out.println("  statement " + key + " from the baseline is no longer issued");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Writes one tab-separated line per table access: statement key, select id, table, access type,
+     * key and rows. Each statement is preceded by a comment line with its callers and SQL.
+     */
+    private static void writeBaseline(Path file, Iterable<CheckedStatement> statements) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Query plan baseline written by com.hotel.util.QueryPlanCheck\n");
+            for (CheckedStatement statement : statements) {
+                writer.write("# " + statement.key() + " " + statement.callers + " " + statement.sql + "\n");
+                for (Access access : statement.plan) {
+                    writer.write(String.join("\t", statement.key(), access.id, access.table, access.type,
+                            access.key != null ? access.key : "-", Long.toString(access.rows)) + "\n");
+                }
+            }
+        }
+    }
+
+    private static Map<String, List<Access>> readBaseline(Path file) throws IOException {
+        Map<String, List<Access>> baseline = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.startsWith("#")) {
+                // A statement whose plan has no table access still has to count as known
+                String[] header = line.split(" ", 3);
+                if (header.length == 3 && header[1].length() == 8) {
+                    baseline.computeIfAbsent(header[1], k -> new ArrayList<>());
+                }
+                continue;
+            }
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length != 6) {
+                throw new IOException("Malformed baseline line: " + line);
+            }
+            baseline.computeIfAbsent(fields[0], k -> new ArrayList<>()).add(new Access(fields[1], fields[2], fields[3],
+                    "-".equals(fields[4]) ? null : fields[4], Long.parseLong(fields[5])));
+        }
+        return baseline;
+    }
+
+    static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+
+    static String statementKey(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(normalize(sql).getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+}
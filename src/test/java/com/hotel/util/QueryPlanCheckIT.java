@@ -0,0 +1,37 @@
+package com.hotel.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link QueryPlanCheck} in the plan-check profile:
+ * mvn -Pplan-check verify -Dhotel.db.url=jdbc:mysql://host:3306/seeded_db
+ */
+class QueryPlanCheckIT {
+
+    @AfterAll
+    static void closePool() {
+        DatabaseConnection.closeConnection();
+    }
+
+    @Test
+    void queryPlansMatchBaseline() throws Exception {
+        Path baseline = Paths.get(System.getProperty("hotel.planCheck.baseline", "query-plans.tsv"));
+        boolean record = Boolean.getBoolean("hotel.planCheck.record");
+        QueryPlanCheck check = new QueryPlanCheck(
+                Double.parseDouble(System.getProperty("hotel.planCheck.maxRowsGrowth", "2")),
+                Long.getLong("hotel.planCheck.minRowsIncrease", 1000),
+                Long.getLong("hotel.planCheck.maxRows", 0));
+
+        List<String> problems = check.run(baseline, record);
+
+        assertTrue(problems.isEmpty(), () -> problems.size() + " query plan problems:\n  "
+                + String.join("\n  ", problems));
+    }
+}
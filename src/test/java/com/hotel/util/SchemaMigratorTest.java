@@ -0,0 +1,57 @@
+package com.hotel.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchemaMigratorTest {
+
+    @Test
+    void splitsOnSemicolonsAndDropsComments() {
+        String script = "-- Rooms\n"
+                + "CREATE TABLE rooms (\n"
+                + "    room_id INT PRIMARY KEY\n"
+                + ");\n"
+                + "\n"
+                + "CREATE INDEX idx_rooms_status ON rooms (status);\n";
+
+        assertEquals(List.of(
+                "CREATE TABLE rooms (\n    room_id INT PRIMARY KEY\n)",
+                "CREATE INDEX idx_rooms_status ON rooms (status)"),
+                SchemaMigrator.splitStatements(script));
+    }
+
+    @Test
+    void keepsTriggerBodiesWholeBetweenDelimiterLines() {
+        String script = "DROP TRIGGER IF EXISTS trg_payment;\n"
+                + "DELIMITER $$\n"
+                + "CREATE TRIGGER trg_payment AFTER INSERT ON payments\n"
+                + "FOR EACH ROW\n"
+                + "BEGIN\n"
+                + "    UPDATE invoices SET paid_amount = paid_amount + NEW.amount;\n"
+                + "    UPDATE invoices SET status = 'Paid' WHERE paid_amount >= total_amount;\n"
+                + "END$$\n"
+                + "DELIMITER ;\n"
+                + "-- Back to plain statements\n"
+                + "ANALYZE TABLE invoices;\n";
+
+        List<String> statements = SchemaMigrator.splitStatements(script);
+
+        assertEquals(3, statements.size());
+        assertEquals("DROP TRIGGER IF EXISTS trg_payment", statements.get(0));
+        assertEquals("CREATE TRIGGER trg_payment AFTER INSERT ON payments\n"
+                + "FOR EACH ROW\n"
+                + "BEGIN\n"
+                + "    UPDATE invoices SET paid_amount = paid_amount + NEW.amount;\n"
+                + "    UPDATE invoices SET status = 'Paid' WHERE paid_amount >= total_amount;\n"
+                + "END", statements.get(1));
+        assertEquals("ANALYZE TABLE invoices", statements.get(2));
+    }
+
+    @Test
+    void keepsAnUnterminatedLastStatement() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), SchemaMigrator.splitStatements("SELECT 1;\nSELECT 2\n"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.hotel.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records the SQL and bound parameters of the statements a thread executes, for {@link QueryPlanCheck}.
+ *
+ * Capturing is off unless the hook is installed in the connection pool and the thread is between
+ * {@link #begin} and {@link #end}; statements prepared anywhere else are handed out unwrapped. Statements that change data are recorded but never sent
+ * to the server, so capturing is safe against any database: updates report zero rows.
+ */
+final class StatementCapture {
+
+    /**
+     * One executed statement and the parameter values it was executed with, in parameter order.
+     */
+    static final class Captured {
+        private final String caller;
+        private final String sql;
+        private final List<Object> parameters;
+
+        Captured(String caller, String sql, List<Object> parameters) {
+            this.caller = caller;
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        String getCaller() { return caller; }
+        String getSql() { return sql; }
+        List<Object> getParameters() { return parameters; }
+    }
+
+    private static final class Session {
+        private final String caller;
+        private final List<Captured> sink;
+        private final Session previous;
+
+        Session(String caller, List<Captured> sink, Session previous) {
+            this.caller = caller;
+            this.sink = sink;
+            this.previous = previous;
+        }
+    }
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private StatementCapture() {}
+
+    /**
+     * Hooks capturing into the connection pool. Production code never installs it.
+     */
+    static void install() {
+        ConnectionPool.setStatementInterceptor(StatementCapture::wrap);
+    }
+
+    static void uninstall() {
+        ConnectionPool.setStatementInterceptor(null);
+    }
+
+    /**
+     * Starts recording the statements this thread executes into {@code sink}, labelled with {@code caller}.
+     */
+    static void begin(String caller, List<Captured> sink) {
+        CURRENT.set(new Session(caller, sink, CURRENT.get()));
+    }
+
+    static void end() {
+        Session session = CURRENT.get();
+        if (session != null && session.previous != null) {
+            CURRENT.set(session.previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Returns a recording wrapper for a statement just prepared on this thread, or the statement itself
+     * when the thread is not capturing.
+     */
+    static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Session session = CURRENT.get();
+        if (session == null) {
+            return statement;
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, new Recorder(session, statement, sql));
+    }
+
+    static boolean changesData(String sql) {
+        String trimmed = sql.trim();
+        return !(trimmed.regionMatches(true, 0, "SELECT", 0, 6) || trimmed.regionMatches(true, 0, "WITH", 0, 4)
+                || trimmed.startsWith("("));
+    }
+
+    private static final class Recorder implements InvocationHandler {
+        private final Session session;
+        private final PreparedStatement statement;
+        private final String sql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private List<Object> lastBatch = Collections.emptyList();
+
+        Recorder(Session session, PreparedStatement statement, String sql) {
+            this.session = session;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && method.getParameterTypes()[0] == int.class) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch") && (args == null || args.length == 0)) {
+                lastBatch = new ArrayList<>(parameters.values());
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                record(lastBatch);
+                return name.equals("executeBatch") ? (Object) new int[0] : (Object) new long[0];
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                record(new ArrayList<>(parameters.values()));
+                if (!name.equals("executeQuery") && changesData(sql)) {
+                    switch (name) {
+                        case "executeUpdate":
+                            return 0;
+                        case "executeLargeUpdate":
+                            return 0L;
+                        default:
+                            return false;
+                    }
+                }
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void record(List<Object> values) {
+            synchronized (session.sink) {
+                session.sink.add(new Captured(session.caller, sql, values));
+            }
+        }
+    }
+}